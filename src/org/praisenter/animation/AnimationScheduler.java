@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.animation;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.swing.SwingUtilities;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Single clock used to drive all running {@link TransitionAnimator}s.
+ * <p>
+ * Ticks are scheduled against {@link System#nanoTime()} at a fixed period that is aligned
+ * to the refresh rate of the fastest display, so the clock does not drift like a set of
+ * independent timers would.  Each tick is posted to the EDT as a single event that advances
+ * every running animator with the same tick time, which keeps windows animating at the same
+ * time in lockstep.
+ * <p>
+ * If the EDT has not processed the previous tick when the next is due, the tick is dropped
+ * and counted as missed (see {@link #getMissedTickCount()}).
+ * <p>
+ * The clock thread only runs while there are running animators.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public final class AnimationScheduler {
+	/** The class level logger */
+	private static final Logger LOGGER = Logger.getLogger(AnimationScheduler.class);
+	
+	/** The refresh rate used when the refresh rate of the displays is unknown */
+	public static final int DEFAULT_REFRESH_RATE = 60;
+	
+	/** The shared instance */
+	private static final AnimationScheduler INSTANCE = new AnimationScheduler();
+	
+	/**
+	 * Returns the shared animation scheduler.
+	 * @return {@link AnimationScheduler}
+	 */
+	public static final AnimationScheduler getInstance() {
+		return INSTANCE;
+	}
+	
+	/** The running animators */
+	private final List<TransitionAnimator> animators;
+	
+	/** The lock for the clock thread and tick state */
+	private final Object lock;
+	
+	/** The clock thread; null if no animators are running */
+	private ClockThread thread;
+	
+	/** The refresh period of the fastest display in nanoseconds */
+	private long refreshPeriod;
+	
+	/** The current tick period in nanoseconds */
+	private volatile long period;
+	
+	/** True if a tick has been posted to the EDT but not processed yet */
+	private boolean tickPending;
+	
+	/** The total number of missed ticks */
+	private volatile long missedTickCount;
+	
+	/**
+	 * Hidden default constructor.
+	 */
+	private AnimationScheduler() {
+		this.animators = new CopyOnWriteArrayList<TransitionAnimator>();
+		this.lock = new Object();
+		this.thread = null;
+		this.refreshPeriod = 1000000000l / DEFAULT_REFRESH_RATE;
+		this.period = this.refreshPeriod;
+		this.tickPending = false;
+		this.missedTickCount = 0;
+	}
+	
+	/**
+	 * Adds the given animator to the running animators.
+	 * <p>
+	 * The animator will be advanced by {@link TransitionAnimator#tick(long, long)} on the EDT
+	 * until it reports that it is complete or it's removed by {@link #cancel(TransitionAnimator)}.
+	 * @param animator the animator
+	 */
+	public void schedule(TransitionAnimator animator) {
+		synchronized (this.lock) {
+			if (!this.animators.contains(animator)) {
+				this.animators.add(animator);
+			}
+			if (this.thread == null) {
+				// the displays could have changed since the clock last ran
+				this.refreshPeriod = 1000000000l / getRefreshRate();
+				this.tickPending = false;
+				this.period = this.computePeriod();
+				this.thread = new ClockThread();
+				this.thread.start();
+			} else {
+				this.period = this.computePeriod();
+			}
+		}
+	}
+	
+	/**
+	 * Removes the given animator from the running animators.
+	 * @param animator the animator
+	 */
+	public void cancel(TransitionAnimator animator) {
+		synchronized (this.lock) {
+			if (this.animators.remove(animator)) {
+				this.period = this.computePeriod();
+			}
+		}
+	}
+	
+	/**
+	 * Returns true if the given animator is being driven by this scheduler.
+	 * @param animator the animator
+	 * @return boolean
+	 */
+	public boolean isScheduled(TransitionAnimator animator) {
+		return this.animators.contains(animator);
+	}
+	
+	/**
+	 * Returns the current time between ticks in nanoseconds.
+	 * @return long
+	 */
+	public long getPeriod() {
+		return this.period;
+	}
+	
+	/**
+	 * Returns the total number of ticks that were missed because the EDT
+	 * was busy or the clock thread was not scheduled in time.
+	 * @return long
+	 */
+	public long getMissedTickCount() {
+		return this.missedTickCount;
+	}
+	
+	/**
+	 * Returns the tick period for the running animators.
+	 * <p>
+	 * The period is the smallest animator delay rounded to a whole number
+	 * of display refreshes (but never less than one).
+	 * <p>
+	 * Must be called while holding the lock.
+	 * @return long
+	 */
+	private long computePeriod() {
+		int delay = Integer.MAX_VALUE;
+		for (TransitionAnimator animator : this.animators) {
+			delay = Math.min(delay, animator.getDelay());
+		}
+		if (delay == Integer.MAX_VALUE) {
+			return this.refreshPeriod;
+		}
+		long refreshes = Math.round((double)delay * 1000000.0 / (double)this.refreshPeriod);
+		return this.refreshPeriod * Math.max(1, refreshes);
+	}
+	
+	/**
+	 * Returns the highest refresh rate of all the displays.
+	 * <p>
+	 * Returns {@link #DEFAULT_REFRESH_RATE} if the refresh rate is unknown.
+	 * @return int
+	 */
+	static final int getRefreshRate() {
+		int rate = 0;
+		if (!GraphicsEnvironment.isHeadless()) {
+			try {
+				for (GraphicsDevice device : GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices()) {
+					DisplayMode mode = device.getDisplayMode();
+					if (mode != null && mode.getRefreshRate() != DisplayMode.REFRESH_RATE_UNKNOWN) {
+						rate = Math.max(rate, mode.getRefreshRate());
+					}
+				}
+			} catch (Exception e) {
+				LOGGER.debug("Failed to get the display refresh rates: ", e);
+			}
+		}
+		return rate > 0 ? rate : DEFAULT_REFRESH_RATE;
+	}
+	
+	/**
+	 * Advances all the running animators to the given time.
+	 * <p>
+	 * Must be called on the EDT.
+	 * @param time the tick time in nanoseconds
+	 * @param period the tick period in nanoseconds
+	 */
+	private void tick(long time, long period) {
+		synchronized (this.lock) {
+			this.tickPending = false;
+		}
+		for (TransitionAnimator animator : this.animators) {
+			try {
+				if (animator.tick(time, period)) {
+					this.cancel(animator);
+				}
+			} catch (Exception e) {
+				LOGGER.error("An animator failed during a tick. Removing it: ", e);
+				this.cancel(animator);
+			}
+		}
+	}
+	
+	/**
+	 * Thread used to post ticks to the EDT at a fixed period.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private class ClockThread extends Thread {
+		/**
+		 * Default constructor.
+		 */
+		public ClockThread() {
+			super("AnimationClockThread");
+			this.setDaemon(true);
+			this.setPriority(Thread.MAX_PRIORITY);
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.lang.Thread#run()
+		 */
+		@Override
+		public void run() {
+			long period = 0;
+			long origin = 0;
+			long n = 0;
+			while (true) {
+				synchronized (lock) {
+					// stop when there's nothing left to animate
+					if (animators.isEmpty()) {
+						thread = null;
+						return;
+					}
+					// restart the schedule when the period changes
+					if (period != AnimationScheduler.this.period) {
+						period = AnimationScheduler.this.period;
+						origin = System.nanoTime();
+						n = 0;
+					}
+				}
+				
+				// wait until the next tick is due
+				long deadline = origin + (n + 1) * period;
+				long remaining = deadline - System.nanoTime();
+				if (remaining > 0) {
+					try {
+						Thread.sleep(remaining / 1000000l, (int)(remaining % 1000000l));
+					} catch (InterruptedException e) {
+						LOGGER.warn("Interrupted. Stopping thread gracefully.");
+						synchronized (lock) {
+							thread = null;
+						}
+						return;
+					}
+				}
+				final long now = System.nanoTime();
+				n++;
+				
+				// skip any ticks we slept through
+				long missed = (now - deadline) / period;
+				if (missed > 0) {
+					n += missed;
+				}
+				
+				synchronized (lock) {
+					if (tickPending) {
+						// the EDT hasn't caught up; don't queue another tick
+						missed++;
+					} else {
+						tickPending = true;
+						final long p = period;
+						SwingUtilities.invokeLater(new Runnable() {
+							@Override
+							public void run() {
+								tick(now, p);
+							}
+						});
+					}
+				}
+				
+				if (missed > 0) {
+					missedTickCount += missed;
+					if (LOGGER.isDebugEnabled()) {
+						LOGGER.debug("Animation clock missed " + missed + " tick(s).");
+					}
+				}
+			}
+		}
+	}
+}
@@ -29,19 +29,23 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.Serializable;
 
-import javax.swing.Timer;
-
 import org.praisenter.animation.easings.CubicEasing;
 import org.praisenter.animation.easings.Easing;
 import org.praisenter.animation.easings.Easings;
 import org.praisenter.animation.transitions.Swap;
 import org.praisenter.animation.transitions.Transition;
 import org.praisenter.animation.transitions.TransitionType;
+import org.praisenter.common.telemetry.FrameTelemetry;
+import org.praisenter.common.telemetry.FrameTelemetryType;
 
 /**
  * Represents an animator for a transtion.
+ * <p>
+ * The animator is normally driven by the shared {@link AnimationScheduler} using {@link #start(Component)}.  Renderers
+ * that render at their own fixed rate (an offscreen surface for example) can instead use
+ * {@link #begin(long)} and {@link #update(long)} to step the animator with their own clock.
  * @author William Bittle
- * @version 2.0.0
+ * @version 2.0.4
  * @since 1.0.0
  */
 public class TransitionAnimator implements ActionListener, Serializable {
@@ -62,9 +66,6 @@ public class TransitionAnimator implements ActionListener, Serializable {
 	
 	/** The easing for the transition */
 	protected Easing easing;
-	
-	/** The timer for the transition */
-	protected transient Timer timer;
 
 	/** The transitioning component */
 	protected transient Component component;
@@ -81,6 +82,9 @@ public class TransitionAnimator implements ActionListener, Serializable {
 	/** True if the transition should do one more iteration */
 	protected boolean lastIteration;
 	
+	/** The telemetry to record timer events to; can be null */
+	protected transient FrameTelemetry telemetry;
+	
 	/**
 	 * Minimal constructor.
 	 * @param transition the transition
@@ -142,27 +146,70 @@ public class TransitionAnimator implements ActionListener, Serializable {
 	
 	/**
 	 * Starts this transition.
+	 * <p>
+	 * The transition is advanced by the shared {@link AnimationScheduler} at roughly the
+	 * delay of this animator (aligned to the display refresh rate) and the given component
+	 * is repainted each time.  This method should be called on the EDT.
 	 * @param component the component to repaint
 	 */
 	public void start(Component component) {
+		if (this.telemetry != null) {
+			this.telemetry.reset(FrameTelemetryType.ANIMATION_TICK);
+		}
 		this.component = component;
 		this.time = System.nanoTime();
 		this.percentComplete = 0.0;
 		this.complete = false;
 		this.lastIteration = false;
 		
-		// setup the timer
-		this.timer = new Timer(0, this);
-		this.timer.setDelay(this.delay);
-		
-		this.timer.start();
+		AnimationScheduler.getInstance().schedule(this);
+	}
+	
+	/**
+	 * Begins this transition without the {@link AnimationScheduler}.
+	 * <p>
+	 * The transition will not advance on its own.  Use {@link #update(long)}
+	 * to advance the transition to a specific time.
+	 * @param time the start time in nanoseconds
+	 * @since 2.0.4
+	 */
+	public void begin(long time) {
+		AnimationScheduler.getInstance().cancel(this);
+		this.component = null;
+		this.time = time;
+		this.percentComplete = 0.0;
+		this.complete = false;
+		this.lastIteration = false;
+	}
+	
+	/**
+	 * Advances this transition to the given time.
+	 * <p>
+	 * This should only be used when the transition was started with {@link #begin(long)}.
+	 * @param time the time in nanoseconds
+	 * @return boolean true if the transition is complete
+	 * @since 2.0.4
+	 */
+	public boolean update(long time) {
+		if (this.complete) {
+			return true;
+		}
+		long dt = time - this.time;
+		this.percentComplete = this.computePercentComplete(dt);
+		// a duration of zero basically means swap
+		if (this.duration <= 0 || dt >= this.duration) {
+			this.percentComplete = 1.0;
+			this.complete = true;
+			this.lastIteration = true;
+		}
+		return this.complete;
 	}
 	
 	/**
 	 * Stops this transition.
 	 */
 	public void stop() {
-		this.timer.stop();
+		AnimationScheduler.getInstance().cancel(this);
 		this.percentComplete = 1.0;
 		this.complete = true;
 		this.lastIteration = true;
@@ -189,6 +236,31 @@ public class TransitionAnimator implements ActionListener, Serializable {
 		return nanoToMilli(this.duration);
 	}
 	
+	/**
+	 * Sets the total duration of this transition.
+	 * <p>
+	 * This has no effect on a transition that has already started.
+	 * @param duration the duration in milliseconds
+	 * @since 2.0.4
+	 */
+	public void setDuration(int duration) {
+		if (duration < 0 || this.transition instanceof Swap) {
+			duration = 0;
+		}
+		this.duration = milliToNano(duration);
+	}
+	
+	/**
+	 * Returns the delay between timer events in milliseconds.
+	 * <p>
+	 * The {@link AnimationScheduler} rounds this to a whole number of display refreshes.
+	 * @return int
+	 * @since 2.0.4
+	 */
+	public int getDelay() {
+		return this.delay;
+	}
+	
 	/**
 	 * Returns the transition.
 	 * @return {@link Transition}
@@ -205,46 +277,102 @@ public class TransitionAnimator implements ActionListener, Serializable {
 		return this.percentComplete;
 	}
 	
+	/**
+	 * Returns the percent complete at the given time.
+	 * <p>
+	 * Unlike {@link #getPercentComplete()}, which returns the percent complete as of the
+	 * last timer event, this method computes the percent complete for the given time.  This
+	 * allows renderers that are not driven by the {@link AnimationScheduler} to render the transition
+	 * at the correct position.  This method does not modify the state of this animator.
+	 * @param time the time in nanoseconds (see {@link System#nanoTime()})
+	 * @return double
+	 * @since 2.0.4
+	 */
+	public double getPercentComplete(long time) {
+		if (this.complete) {
+			return this.percentComplete;
+		}
+		return this.computePercentComplete(time - this.time);
+	}
+	
+	/**
+	 * Returns the percent complete for the given elapsed time.
+	 * @param dt the elapsed time in nanoseconds
+	 * @return double
+	 */
+	private double computePercentComplete(long dt) {
+		// a duration of zero basically means swap
+		if (this.duration <= 0 || dt > this.duration) {
+			return 1.0;
+		}
+		// do the ease in/out depending on the transition type
+		Easing easing = Easings.getEvaluator(this.easing);
+		if (this.transition.getType() == TransitionType.IN) {
+			return easing.easeIn(dt, this.duration);
+		} else {
+			return easing.easeOut(dt, this.duration);
+		}
+	}
+	
 	/* (non-Javadoc)
 	 * @see java.awt.event.ActionListener#actionPerformed(java.awt.event.ActionEvent)
 	 */
 	@Override
 	public void actionPerformed(ActionEvent e) {
+		this.tick(System.nanoTime(), milliToNano(this.delay));
+	}
+	
+	/**
+	 * Advances this transition to the given tick time and repaints the component.
+	 * <p>
+	 * This is called by the {@link AnimationScheduler} on the EDT.  All the animators
+	 * running at the same time are given the same tick time so that they stay in lockstep.
+	 * @param time the tick time in nanoseconds
+	 * @param period the expected time between ticks in nanoseconds
+	 * @return boolean true if this animator no longer needs ticks
+	 * @since 2.0.4
+	 */
+	boolean tick(long time, long period) {
 		long t1 = System.nanoTime();
-		// compute the delta time
-		long dt = t1 - this.time;
+		FrameTelemetry telemetry = this.telemetry;
+		// compute the delta time (this animator could have been
+		// started after the tick time was taken)
+		long dt = Math.max(0, time - this.time);
 		
 		if (this.lastIteration) {
 			this.stop();
 		}
 		
 		// compute the percent complete
-		if (this.duration > 0) {
-			// we need to stop animating when the elapsed time is greater than the duration
-			if (dt > this.duration) {
-				this.lastIteration = true;
-				this.percentComplete = 1.0;
-			} else {
-				// do the ease in/out depending on the transition type
-				if (this.transition.getType() == TransitionType.IN) {
-					this.percentComplete = this.easing.easeIn(dt, this.duration);
-				} else {
-					this.percentComplete = this.easing.easeOut(dt, this.duration);
-				}
-			}
-		} else {
-			// a duration of zero basically means swap
-			this.percentComplete = 1.0;
+		this.percentComplete = this.computePercentComplete(dt);
+		// we need to stop animating when the elapsed time is greater than the duration
+		// (a duration of zero basically means swap)
+		if (this.duration <= 0 || dt > this.duration) {
 			this.lastIteration = true;
 		}
 		
 		if (this.component != null) {
 			this.component.repaint();
+			
+			if (!this.component.isDisplayable()) {
+				this.stop();
+			}
 		}
 		
-		if (!this.component.isDisplayable()) {
-			this.stop();
+		if (telemetry != null) {
+			telemetry.record(FrameTelemetryType.ANIMATION_TICK, t1, System.nanoTime() - t1, period);
 		}
+		
+		return this.complete;
+	}
+	
+	/**
+	 * Sets the telemetry that timer events should be recorded to.
+	 * @param telemetry the telemetry; can be null
+	 * @since 2.0.4
+	 */
+	public void setTelemetry(FrameTelemetry telemetry) {
+		this.telemetry = telemetry;
 	}
 
 	/**
@@ -0,0 +1,619 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.animation;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.DisplayMode;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.log4j.Logger;
+import org.praisenter.animation.easings.Easing;
+import org.praisenter.animation.easings.Easings;
+import org.praisenter.animation.transitions.Transition;
+import org.praisenter.animation.transitions.TransitionType;
+import org.praisenter.animation.transitions.Transitions;
+
+/**
+ * Benchmark used to measure the cost of rendering each {@link Transition}.
+ * <p>
+ * Every transition is rendered with every easing at each resolution into each render target.
+ * The frames of a run are spread over the transition as if it were animated, so the easing
+ * changes which percentages are measured.  The results contain the frame time percentiles
+ * and the average number of bytes allocated per frame.
+ * <p>
+ * Accelerated targets are skipped when running headless or when volatile images are not
+ * available.  Since accelerated rendering is asynchronous, one pixel of the target is read
+ * back after each frame to make sure the frame was actually rendered.
+ * <p>
+ * The benchmark can be run from the command line (see {@link #main(String[])}).
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public class TransitionBenchmark {
+	/** The class level logger */
+	private static final Logger LOGGER = Logger.getLogger(TransitionBenchmark.class);
+	
+	/** The default resolutions (720p, 1080p and 4K) */
+	public static final Dimension[] DEFAULT_RESOLUTIONS = new Dimension[] {
+		new Dimension(1280, 720),
+		new Dimension(1920, 1080),
+		new Dimension(3840, 2160)
+	};
+	
+	/** The default number of measured frames per run */
+	public static final int DEFAULT_FRAME_COUNT = 60;
+	
+	/** The default number of frames rendered before measuring */
+	public static final int DEFAULT_WARMUP_FRAME_COUNT = 10;
+	
+	/** The percentile used to decide if a transition is recommended */
+	public static final double RECOMMENDED_PERCENTILE = 0.9;
+	
+	/** The transitions to benchmark */
+	protected Transition[] transitions;
+	
+	/** The easings to benchmark */
+	protected Easing[] easings;
+	
+	/** The resolutions to benchmark */
+	protected Dimension[] resolutions;
+	
+	/** The render targets to benchmark */
+	protected TransitionBenchmarkTarget[] targets;
+	
+	/** The number of measured frames per run */
+	protected int frameCount;
+	
+	/** The number of frames rendered before measuring */
+	protected int warmupFrameCount;
+	
+	/**
+	 * Default constructor.
+	 * <p>
+	 * Benchmarks all in and out transitions with all easings at the default
+	 * resolutions using both software and accelerated targets.
+	 */
+	public TransitionBenchmark() {
+		List<Transition> transitions = new ArrayList<Transition>();
+		transitions.addAll(Arrays.asList(Transitions.IN));
+		transitions.addAll(Arrays.asList(Transitions.OUT));
+		this.transitions = transitions.toArray(new Transition[0]);
+		this.easings = Easings.EASINGS;
+		this.resolutions = DEFAULT_RESOLUTIONS;
+		this.targets = TransitionBenchmarkTarget.values();
+		this.frameCount = DEFAULT_FRAME_COUNT;
+		this.warmupFrameCount = DEFAULT_WARMUP_FRAME_COUNT;
+	}
+	
+	/**
+	 * Runs the benchmark and returns the results.
+	 * <p>
+	 * This can take a long time depending on the number of transitions, easings,
+	 * resolutions and targets.  It should not be called on the EDT.
+	 * @return List&lt;{@link TransitionBenchmarkResult}&gt;
+	 */
+	public List<TransitionBenchmarkResult> run() {
+		List<TransitionBenchmarkResult> results = new ArrayList<TransitionBenchmarkResult>();
+		GraphicsConfiguration gc = null;
+		if (!GraphicsEnvironment.isHeadless()) {
+			gc = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+		}
+		
+		for (Dimension size : this.resolutions) {
+			for (TransitionBenchmarkTarget target : this.targets) {
+				if (target == TransitionBenchmarkTarget.ACCELERATED && gc == null) {
+					LOGGER.info("Skipping the accelerated target at " + size.width + "x" + size.height + " since the environment is headless.");
+					continue;
+				}
+				
+				Targets images = null;
+				try {
+					images = new Targets(gc, size.width, size.height, target);
+					for (Transition transition : this.transitions) {
+						for (Easing easing : this.easings) {
+							results.add(this.run(transition, easing, images));
+						}
+					}
+				} catch (Exception e) {
+					LOGGER.warn("Failed to benchmark the " + target + " target at " + size.width + "x" + size.height + ": ", e);
+				} finally {
+					if (images != null) {
+						images.flush();
+					}
+				}
+			}
+		}
+		
+		return results;
+	}
+	
+	/**
+	 * Benchmarks the given transition and easing using the given targets.
+	 * @param transition the transition
+	 * @param easing the easing
+	 * @param images the source and destination images
+	 * @return {@link TransitionBenchmarkResult}
+	 */
+	private TransitionBenchmarkResult run(Transition transition, Easing easing, Targets images) {
+		int n = Math.max(1, this.frameCount);
+		int m = Math.max(0, this.warmupFrameCount);
+		
+		// render the frames as if the transition was animated
+		double[] pcs = new double[n];
+		for (int i = 0; i < n; i++) {
+			long time = n > 1 ? (long)i * 1000l / (n - 1) : 1000l;
+			if (transition.getType() == TransitionType.IN) {
+				pcs[i] = easing.easeIn(time, 1000l);
+			} else {
+				pcs[i] = easing.easeOut(time, 1000l);
+			}
+		}
+		
+		for (int i = 0; i < m; i++) {
+			images.render(transition, pcs[i % n]);
+		}
+		
+		long[] times = new long[n];
+		long bytes = getAllocatedBytes();
+		for (int i = 0; i < n; i++) {
+			long t0 = System.nanoTime();
+			images.render(transition, pcs[i]);
+			times[i] = System.nanoTime() - t0;
+		}
+		if (bytes >= 0) {
+			bytes = (getAllocatedBytes() - bytes) / n;
+		}
+		Arrays.sort(times);
+		
+		return new TransitionBenchmarkResult(transition, easing, images.width, images.height, images.target, times, bytes);
+	}
+	
+	/**
+	 * Returns the number of bytes allocated by the current thread.
+	 * <p>
+	 * Returns -1 if the JVM doesn't support measuring allocations.
+	 * @return long
+	 */
+	private static final long getAllocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean tbean = (com.sun.management.ThreadMXBean)bean;
+			if (tbean.isThreadAllocatedMemorySupported() && tbean.isThreadAllocatedMemoryEnabled()) {
+				return tbean.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Returns the default time a transition frame can take on this machine in nanoseconds.
+	 * <p>
+	 * This is half the refresh period of the fastest display, leaving the other half
+	 * for rendering the slides and presenting the frame.
+	 * @return long
+	 */
+	public static final long getDefaultFrameBudget() {
+		return 1000000000l / AnimationScheduler.getRefreshRate() / 2;
+	}
+	
+	/**
+	 * Returns the ids of the transitions that are affordable at the given resolution and target.
+	 * <p>
+	 * A transition is recommended if the {@link #RECOMMENDED_PERCENTILE} frame time of every
+	 * result for it (in and out, with every easing) is within the given budget.  Only results
+	 * for the given resolution and target are considered.  The ids are returned in the same
+	 * order as {@link Transitions#IN}.
+	 * @param results the benchmark results
+	 * @param width the width
+	 * @param height the height
+	 * @param target the render target
+	 * @param budget the frame budget in nanoseconds
+	 * @return List&lt;Integer&gt;
+	 */
+	public static final List<Integer> getRecommendedTransitionIds(List<TransitionBenchmarkResult> results, int width, int height, TransitionBenchmarkTarget target, long budget) {
+		List<Integer> ids = new ArrayList<Integer>();
+		for (Transition transition : Transitions.IN) {
+			boolean found = false;
+			boolean affordable = true;
+			for (TransitionBenchmarkResult result : results) {
+				if (result.width == width && 
+					result.height == height && 
+					result.target == target && 
+					result.transition.getId() == transition.getId()) {
+					found = true;
+					if (result.getPercentile(RECOMMENDED_PERCENTILE) > budget) {
+						affordable = false;
+						break;
+					}
+				}
+			}
+			if (found && affordable) {
+				ids.add(transition.getId());
+			}
+		}
+		return ids;
+	}
+	
+	/**
+	 * Writes the given results in CSV format to the given writer.
+	 * <p>
+	 * Times are written in milliseconds.
+	 * @param results the results
+	 * @param writer the writer
+	 * @throws IOException if an IO error occurs
+	 */
+	public static final void writeCsv(List<TransitionBenchmarkResult> results, Writer writer) throws IOException {
+		writer.write("Transition,Type,Easing,Width,Height,Target,Frames,P50,P90,P99,Max,BytesPerFrame\n");
+		for (TransitionBenchmarkResult result : results) {
+			writer.write(String.format(Locale.ENGLISH, "%s,%s,%s,%d,%d,%s,%d,%.3f,%.3f,%.3f,%.3f,%d\n",
+					result.transition.getClass().getSimpleName(),
+					result.transition.getType(),
+					result.easing.getClass().getSimpleName(),
+					result.width,
+					result.height,
+					result.target,
+					result.getFrameCount(),
+					result.getMedian() / 1.0e6,
+					result.getPercentile(0.9) / 1.0e6,
+					result.getPercentile(0.99) / 1.0e6,
+					result.getMaximum() / 1.0e6,
+					result.allocatedBytesPerFrame));
+		}
+		writer.flush();
+	}
+	
+	/**
+	 * Runs the benchmark from the command line.
+	 * <p>
+	 * Arguments (all optional, in order):
+	 * <ol>
+	 * <li>The number of measured frames per run (default {@link #DEFAULT_FRAME_COUNT})</li>
+	 * <li>A comma separated list of resolutions like 1280x720,1920x1080 (default {@link #DEFAULT_RESOLUTIONS})</li>
+	 * <li>A comma separated list of targets like software,accelerated (default both)</li>
+	 * <li>A file to write the results to in CSV format (default the results are written to standard out)</li>
+	 * </ol>
+	 * Use -Djava.awt.headless=true to run without a display (software target only).
+	 * @param args the command line arguments
+	 * @throws IOException if the results could not be written
+	 */
+	public static void main(String[] args) throws IOException {
+		TransitionBenchmark benchmark = new TransitionBenchmark();
+		if (args.length > 0) {
+			benchmark.setFrameCount(Integer.parseInt(args[0]));
+		}
+		if (args.length > 1) {
+			String[] values = args[1].split(",");
+			Dimension[] resolutions = new Dimension[values.length];
+			for (int i = 0; i < values.length; i++) {
+				String[] wh = values[i].trim().toLowerCase().split("x");
+				resolutions[i] = new Dimension(Integer.parseInt(wh[0]), Integer.parseInt(wh[1]));
+			}
+			benchmark.setResolutions(resolutions);
+		}
+		if (args.length > 2) {
+			String[] values = args[2].split(",");
+			TransitionBenchmarkTarget[] targets = new TransitionBenchmarkTarget[values.length];
+			for (int i = 0; i < values.length; i++) {
+				targets[i] = TransitionBenchmarkTarget.valueOf(values[i].trim().toUpperCase());
+			}
+			benchmark.setTargets(targets);
+		}
+		
+		List<TransitionBenchmarkResult> results = benchmark.run();
+		
+		if (args.length > 3) {
+			try (FileWriter writer = new FileWriter(args[3])) {
+				writeCsv(results, writer);
+			}
+			System.out.println("Wrote " + results.size() + " results to " + args[3] + ".");
+		} else {
+			writeCsv(results, new PrintWriter(System.out));
+		}
+		
+		// recommend transitions for the resolution of the default display
+		Dimension size = benchmark.resolutions.length > 0 ? benchmark.resolutions[0] : DEFAULT_RESOLUTIONS[1];
+		if (!GraphicsEnvironment.isHeadless()) {
+			DisplayMode mode = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDisplayMode();
+			size = getClosestResolution(benchmark.resolutions, mode.getWidth(), mode.getHeight());
+		}
+		TransitionBenchmarkTarget target = TransitionBenchmarkTarget.SOFTWARE;
+		for (TransitionBenchmarkResult result : results) {
+			if (result.target == TransitionBenchmarkTarget.ACCELERATED) {
+				target = TransitionBenchmarkTarget.ACCELERATED;
+				break;
+			}
+		}
+		long budget = getDefaultFrameBudget();
+		List<Integer> ids = getRecommendedTransitionIds(results, size.width, size.height, target, budget);
+		StringBuilder sb = new StringBuilder();
+		for (Transition transition : Transitions.IN) {
+			if (ids.contains(transition.getId())) {
+				if (sb.length() > 0) {
+					sb.append(", ");
+				}
+				sb.append(transition.getClass().getSimpleName());
+			}
+		}
+		System.out.println(String.format(Locale.ENGLISH, "Recommended transitions at %dx%d (%s, %.1fms budget): %s", 
+				size.width, 
+				size.height, 
+				target, 
+				budget / 1.0e6, 
+				sb.length() > 0 ? sb.toString() : "none"));
+	}
+	
+	/**
+	 * Returns the smallest resolution that is at least as large as the given size.
+	 * <p>
+	 * Returns the largest resolution if none are large enough.
+	 * @param resolutions the resolutions
+	 * @param width the width
+	 * @param height the height
+	 * @return Dimension
+	 */
+	public static final Dimension getClosestResolution(Dimension[] resolutions, int width, int height) {
+		Dimension best = null;
+		Dimension largest = null;
+		for (Dimension size : resolutions) {
+			long area = (long)size.width * size.height;
+			if (largest == null || area > (long)largest.width * largest.height) {
+				largest = size;
+			}
+			if (area >= (long)width * height && (best == null || area < (long)best.width * best.height)) {
+				best = size;
+			}
+		}
+		return best != null ? best : largest;
+	}
+	
+	/**
+	 * Returns the transitions to benchmark.
+	 * @return {@link Transition}[]
+	 */
+	public Transition[] getTransitions() {
+		return this.transitions;
+	}
+	
+	/**
+	 * Sets the transitions to benchmark.
+	 * @param transitions the transitions
+	 */
+	public void setTransitions(Transition... transitions) {
+		this.transitions = transitions;
+	}
+	
+	/**
+	 * Returns the easings to benchmark.
+	 * @return {@link Easing}[]
+	 */
+	public Easing[] getEasings() {
+		return this.easings;
+	}
+	
+	/**
+	 * Sets the easings to benchmark.
+	 * @param easings the easings
+	 */
+	public void setEasings(Easing... easings) {
+		this.easings = easings;
+	}
+	
+	/**
+	 * Returns the resolutions to benchmark.
+	 * @return Dimension[]
+	 */
+	public Dimension[] getResolutions() {
+		return this.resolutions;
+	}
+	
+	/**
+	 * Sets the resolutions to benchmark.
+	 * @param resolutions the resolutions
+	 */
+	public void setResolutions(Dimension... resolutions) {
+		this.resolutions = resolutions;
+	}
+	
+	/**
+	 * Returns the render targets to benchmark.
+	 * @return {@link TransitionBenchmarkTarget}[]
+	 */
+	public TransitionBenchmarkTarget[] getTargets() {
+		return this.targets;
+	}
+	
+	/**
+	 * Sets the render targets to benchmark.
+	 * @param targets the targets
+	 */
+	public void setTargets(TransitionBenchmarkTarget... targets) {
+		this.targets = targets;
+	}
+	
+	/**
+	 * Returns the number of measured frames per run.
+	 * @return int
+	 */
+	public int getFrameCount() {
+		return this.frameCount;
+	}
+	
+	/**
+	 * Sets the number of measured frames per run.
+	 * @param frameCount the frame count
+	 */
+	public void setFrameCount(int frameCount) {
+		this.frameCount = frameCount;
+	}
+	
+	/**
+	 * Returns the number of frames rendered before measuring.
+	 * @return int
+	 */
+	public int getWarmupFrameCount() {
+		return this.warmupFrameCount;
+	}
+	
+	/**
+	 * Sets the number of frames rendered before measuring.
+	 * @param warmupFrameCount the warm up frame count
+	 */
+	public void setWarmupFrameCount(int warmupFrameCount) {
+		this.warmupFrameCount = warmupFrameCount;
+	}
+	
+	/**
+	 * The source and destination images for one resolution and render target.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private static final class Targets {
+		/** The width */
+		private final int width;
+		
+		/** The height */
+		private final int height;
+		
+		/** The render target */
+		private final TransitionBenchmarkTarget target;
+		
+		/** The current image */
+		private final Image image0;
+		
+		/** The next image */
+		private final Image image1;
+		
+		/** The image transitions are rendered to */
+		private final Image destination;
+		
+		/** The image used to read back accelerated frames */
+		private final BufferedImage readback;
+		
+		/**
+		 * Full constructor.
+		 * @param gc the graphics configuration; can be null for software targets
+		 * @param width the width
+		 * @param height the height
+		 * @param target the render target
+		 */
+		public Targets(GraphicsConfiguration gc, int width, int height, TransitionBenchmarkTarget target) {
+			this.width = width;
+			this.height = height;
+			this.target = target;
+			if (target == TransitionBenchmarkTarget.ACCELERATED) {
+				this.image0 = gc.createCompatibleVolatileImage(width, height, Transparency.TRANSLUCENT);
+				this.image1 = gc.createCompatibleVolatileImage(width, height, Transparency.TRANSLUCENT);
+				this.destination = gc.createCompatibleVolatileImage(width, height, Transparency.OPAQUE);
+				this.readback = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+			} else {
+				this.image0 = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+				this.image1 = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+				this.destination = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+				this.readback = null;
+			}
+			paint(this.image0, new Color(20, 40, 120), new Color(60, 120, 200));
+			paint(this.image1, new Color(120, 30, 20), new Color(220, 160, 60));
+		}
+		
+		/**
+		 * Renders one frame of the given transition.
+		 * @param transition the transition
+		 * @param pc the percentage complete
+		 */
+		public void render(Transition transition, double pc) {
+			Graphics2D g2d = (Graphics2D)this.destination.getGraphics();
+			try {
+				g2d.setColor(Color.BLACK);
+				g2d.fillRect(0, 0, this.width, this.height);
+				transition.render(g2d, this.image0, this.image1, pc);
+			} finally {
+				g2d.dispose();
+			}
+			if (this.readback != null) {
+				// force the accelerated pipeline to finish the frame
+				Graphics2D rg = this.readback.createGraphics();
+				rg.drawImage(this.destination, 0, 0, 1, 1, 0, 0, 1, 1, null);
+				rg.dispose();
+			}
+		}
+		
+		/**
+		 * Releases the images.
+		 */
+		public void flush() {
+			this.image0.flush();
+			this.image1.flush();
+			this.destination.flush();
+		}
+		
+		/**
+		 * Paints sample slide content to the given image.
+		 * @param image the image
+		 * @param c0 the top background color
+		 * @param c1 the bottom background color
+		 */
+		private static final void paint(Image image, Color c0, Color c1) {
+			int w = image.getWidth(null);
+			int h = image.getHeight(null);
+			Graphics2D g2d = (Graphics2D)image.getGraphics();
+			try {
+				g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+				g2d.setPaint(new GradientPaint(0, 0, c0, 0, h, c1));
+				g2d.fillRect(0, 0, w, h);
+				// a translucent text box with some lines of "text"
+				g2d.setColor(new Color(0, 0, 0, 128));
+				g2d.fillRoundRect(w / 10, h / 2, w * 8 / 10, h * 4 / 10, 20, 20);
+				g2d.setColor(Color.WHITE);
+				int lh = Math.max(2, h / 20);
+				for (int i = 0; i < 4; i++) {
+					g2d.fillRect(w / 8, h / 2 + lh + i * lh * 2, w * 3 / 4 - i * w / 16, lh);
+				}
+			} finally {
+				g2d.dispose();
+			}
+		}
+	}
+}
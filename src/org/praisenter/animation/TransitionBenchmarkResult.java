@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.animation;
+
+import org.praisenter.animation.easings.Easing;
+import org.praisenter.animation.transitions.Transition;
+
+/**
+ * Represents the result of benchmarking one transition with one easing at one
+ * resolution and render target.
+ * <p>
+ * All times are in nanoseconds.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public class TransitionBenchmarkResult {
+	/** The transition */
+	protected final Transition transition;
+	
+	/** The easing */
+	protected final Easing easing;
+	
+	/** The width */
+	protected final int width;
+	
+	/** The height */
+	protected final int height;
+	
+	/** The render target */
+	protected final TransitionBenchmarkTarget target;
+	
+	/** The sorted frame times */
+	protected final long[] times;
+	
+	/** The average number of bytes allocated per frame; -1 if not supported */
+	protected final long allocatedBytesPerFrame;
+	
+	/**
+	 * Full constructor.
+	 * @param transition the transition
+	 * @param easing the easing
+	 * @param width the width
+	 * @param height the height
+	 * @param target the render target
+	 * @param times the sorted frame times
+	 * @param allocatedBytesPerFrame the average number of bytes allocated per frame; -1 if not supported
+	 */
+	public TransitionBenchmarkResult(Transition transition, Easing easing, int width, int height, TransitionBenchmarkTarget target, long[] times, long allocatedBytesPerFrame) {
+		this.transition = transition;
+		this.easing = easing;
+		this.width = width;
+		this.height = height;
+		this.target = target;
+		this.times = times;
+		this.allocatedBytesPerFrame = allocatedBytesPerFrame;
+	}
+	
+	/**
+	 * Returns the frame time at the given percentile.
+	 * @param percentile the percentile in the range [0, 1]
+	 * @return long
+	 */
+	public long getPercentile(double percentile) {
+		if (this.times.length == 0) {
+			return 0;
+		}
+		int i = (int)Math.ceil(percentile * this.times.length) - 1;
+		return this.times[Math.max(0, Math.min(this.times.length - 1, i))];
+	}
+	
+	/**
+	 * Returns the median frame time.
+	 * @return long
+	 */
+	public long getMedian() {
+		return this.getPercentile(0.5);
+	}
+	
+	/**
+	 * Returns the maximum frame time.
+	 * @return long
+	 */
+	public long getMaximum() {
+		return this.times.length > 0 ? this.times[this.times.length - 1] : 0;
+	}
+	
+	/**
+	 * Returns the transition.
+	 * @return {@link Transition}
+	 */
+	public Transition getTransition() {
+		return this.transition;
+	}
+	
+	/**
+	 * Returns the easing.
+	 * @return {@link Easing}
+	 */
+	public Easing getEasing() {
+		return this.easing;
+	}
+	
+	/**
+	 * Returns the width.
+	 * @return int
+	 */
+	public int getWidth() {
+		return this.width;
+	}
+	
+	/**
+	 * Returns the height.
+	 * @return int
+	 */
+	public int getHeight() {
+		return this.height;
+	}
+	
+	/**
+	 * Returns the render target.
+	 * @return {@link TransitionBenchmarkTarget}
+	 */
+	public TransitionBenchmarkTarget getTarget() {
+		return this.target;
+	}
+	
+	/**
+	 * Returns the number of frames measured.
+	 * @return int
+	 */
+	public int getFrameCount() {
+		return this.times.length;
+	}
+	
+	/**
+	 * Returns the average number of bytes allocated per frame.
+	 * <p>
+	 * Returns -1 if the JVM doesn't support measuring allocations.
+	 * @return long
+	 */
+	public long getAllocatedBytesPerFrame() {
+		return this.allocatedBytesPerFrame;
+	}
+}
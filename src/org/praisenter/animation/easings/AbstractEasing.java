@@ -29,12 +29,24 @@ import java.io.Serializable;
 /**
  * Abstract implementation of an easing function.
  * @author William Bittle
- * @version 2.0.0
+ * @version 2.0.4
  * @since 2.0.0
  */
 public abstract class AbstractEasing implements Easing, Serializable {
 	/** The version id */
 	private static final long serialVersionUID = -8743695495294612040L;
+	
+	/**
+	 * Returns true if this easing is more expensive to evaluate than a table lookup.
+	 * <p>
+	 * Expensive easings are evaluated using an {@link EasingTable} when precomputed
+	 * curves are enabled (see {@link Easings#getEvaluator(Easing)}).
+	 * @return boolean
+	 * @since 2.0.4
+	 */
+	public boolean isExpensive() {
+		return false;
+	}
 
 	/* (non-Javadoc)
 	 * @see java.lang.Object#equals(java.lang.Object)
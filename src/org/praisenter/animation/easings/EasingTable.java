@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.animation.easings;
+
+import java.io.Serializable;
+
+/**
+ * An {@link Easing} that evaluates another easing using precomputed tables.
+ * <p>
+ * Each of the in, out and in-out curves is sampled at evenly spaced times and evaluated
+ * using linear interpolation between the samples, which avoids the {@link Math#pow(double, double)},
+ * {@link Math#sin(double)} and {@link Math#sqrt(double)} calls of some easings.  The curves are
+ * only tabulated over the duration; times outside the duration are clamped.
+ * <p>
+ * The table has the same id as the easing it was created from.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public class EasingTable extends AbstractEasing implements Easing, Serializable {
+	/** The version id */
+	private static final long serialVersionUID = 5230815346311429014L;
+
+	/** The default number of samples */
+	public static final int DEFAULT_SIZE = 2049;
+	
+	/** The largest acceptable difference between a table and its easing */
+	public static final double MAXIMUM_ERROR = 1.0e-5;
+	
+	/** The tabulated easing */
+	protected final Easing easing;
+	
+	/** The ease in samples */
+	protected final double[] in;
+	
+	/** The ease out samples */
+	protected final double[] out;
+	
+	/** The ease in-out samples */
+	protected final double[] inOut;
+	
+	/** True if this table is within {@link #MAXIMUM_ERROR} of the easing */
+	protected final boolean accurate;
+	
+	/**
+	 * Minimal constructor.
+	 * @param easing the easing to tabulate
+	 */
+	public EasingTable(Easing easing) {
+		this(easing, DEFAULT_SIZE);
+	}
+	
+	/**
+	 * Full constructor.
+	 * @param easing the easing to tabulate
+	 * @param size the number of samples; must be 2 or more
+	 * @throws IllegalArgumentException if size is less than 2
+	 */
+	public EasingTable(Easing easing, int size) {
+		if (size < 2) {
+			throw new IllegalArgumentException();
+		}
+		this.easing = easing;
+		this.in = new double[size];
+		this.out = new double[size];
+		this.inOut = new double[size];
+		long n = size - 1;
+		for (int i = 0; i < size; i++) {
+			this.in[i] = easing.easeIn(i, n);
+			this.out[i] = easing.easeOut(i, n);
+			this.inOut[i] = easing.easeInOut(i, n);
+		}
+		// check between the samples
+		this.accurate = this.getMaximumError(size * 4 - 1) <= MAXIMUM_ERROR;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.praisenter.animation.easings.Easing#easeIn(long, long)
+	 */
+	@Override
+	public double easeIn(long time, long duration) {
+		return lookup(this.in, time, duration);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.praisenter.animation.easings.Easing#easeOut(long, long)
+	 */
+	@Override
+	public double easeOut(long time, long duration) {
+		return lookup(this.out, time, duration);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.praisenter.animation.easings.Easing#easeInOut(long, long)
+	 */
+	@Override
+	public double easeInOut(long time, long duration) {
+		return lookup(this.inOut, time, duration);
+	}
+	
+	/**
+	 * Returns the interpolated value of the given table at the given time.
+	 * @param table the table
+	 * @param time the current time
+	 * @param duration the duration
+	 * @return double
+	 */
+	private static final double lookup(double[] table, long time, long duration) {
+		int n = table.length - 1;
+		if (duration <= 0 || time >= duration) {
+			return table[n];
+		}
+		if (time <= 0) {
+			return table[0];
+		}
+		double x = (double)time / (double)duration * n;
+		int i = (int)x;
+		double f = x - i;
+		return table[i] + (table[i + 1] - table[i]) * f;
+	}
+	
+	/**
+	 * Returns the largest difference between this table and its easing.
+	 * <p>
+	 * The in, out and in-out curves are compared at the given number of evenly
+	 * spaced times, which should not line up with the samples of this table.
+	 * @param samples the number of times to compare
+	 * @return double
+	 */
+	public double getMaximumError(int samples) {
+		double error = 0.0;
+		for (int i = 0; i <= samples; i++) {
+			error = Math.max(error, Math.abs(this.easeIn(i, samples) - this.easing.easeIn(i, samples)));
+			error = Math.max(error, Math.abs(this.easeOut(i, samples) - this.easing.easeOut(i, samples)));
+			error = Math.max(error, Math.abs(this.easeInOut(i, samples) - this.easing.easeInOut(i, samples)));
+		}
+		return error;
+	}
+	
+	/**
+	 * Returns true if this table is within {@link #MAXIMUM_ERROR} of its easing.
+	 * <p>
+	 * Linear interpolation is not accurate enough for curves with very steep sections.
+	 * @return boolean
+	 */
+	public boolean isAccurate() {
+		return this.accurate;
+	}
+	
+	/**
+	 * Returns the tabulated easing.
+	 * @return {@link Easing}
+	 */
+	public Easing getEasing() {
+		return this.easing;
+	}
+	
+	/**
+	 * Returns the number of samples.
+	 * @return int
+	 */
+	public int getSize() {
+		return this.in.length;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.praisenter.animation.easings.Easing#getId()
+	 */
+	@Override
+	public int getId() {
+		return this.easing.getId();
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.animation.easings;
+
+import java.util.Locale;
+
+/**
+ * Command line report comparing the precomputed easing tables to the easing functions.
+ * <p>
+ * For each easing the report shows the largest difference between the table and the
+ * function, the average cost of evaluating each and whether the animator uses the table
+ * (see {@link Easings#getEvaluator(Easing)}).  The animator evaluates one easing per
+ * transition per tick, so the cost per call is also the easing cost per frame.
+ * <p>
+ * The report exits with a non-zero status if a table used by the animator is less
+ * accurate than {@link EasingTable#MAXIMUM_ERROR}.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public final class EasingTableReport {
+	/** The number of times to compare when checking accuracy (not a multiple of the table size) */
+	private static final int ACCURACY_SAMPLES = 100003;
+	
+	/** The number of calls to time */
+	private static final int CALLS = 2000000;
+	
+	/** The duration used for timing (in nanoseconds, like the animator) */
+	private static final long DURATION = 400000000l;
+	
+	/** Hidden default constructor */
+	private EasingTableReport() {}
+	
+	/**
+	 * Runs the report.
+	 * @param args the command line arguments (not used)
+	 */
+	public static void main(String[] args) {
+		boolean accurate = true;
+		double sink = 0.0;
+		System.out.println(String.format(Locale.ENGLISH, "%-20s %12s %14s %14s %8s", "Easing", "Max Error", "Function ns", "Table ns", "Used"));
+		for (Easing easing : Easings.EASINGS) {
+			EasingTable table = Easings.getTable(easing);
+			double error = table.getMaximumError(ACCURACY_SAMPLES);
+			boolean used = Easings.getEvaluator(easing) == table;
+			if (used && error > EasingTable.MAXIMUM_ERROR) {
+				accurate = false;
+			}
+			
+			// warm up both, then time them
+			sink += time(easing);
+			sink += time(table);
+			long t0 = System.nanoTime();
+			sink += time(easing);
+			long t1 = System.nanoTime();
+			sink += time(table);
+			long t2 = System.nanoTime();
+			
+			System.out.println(String.format(Locale.ENGLISH, "%-20s %12.2e %14.1f %14.1f %8s%s", 
+					easing.getClass().getSimpleName(), 
+					error, 
+					(t1 - t0) / (double)CALLS, 
+					(t2 - t1) / (double)CALLS,
+					used ? "yes" : "no",
+					error > EasingTable.MAXIMUM_ERROR ? "  INACCURATE" : ""));
+		}
+		// print the sink so the timed calls can't be optimized away
+		System.out.println(String.format(Locale.ENGLISH, "Checksum: %.3f", sink));
+		if (!accurate) {
+			System.exit(1);
+		}
+	}
+	
+	/**
+	 * Evaluates the given easing {@link #CALLS} times over its duration.
+	 * @param easing the easing
+	 * @return double the sum of the results
+	 */
+	private static final double time(Easing easing) {
+		double sum = 0.0;
+		long step = DURATION / CALLS;
+		for (int i = 0; i < CALLS; i++) {
+			sum += easing.easeIn(i * step, DURATION);
+		}
+		return sum;
+	}
+}
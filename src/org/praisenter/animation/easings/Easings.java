@@ -24,10 +24,13 @@
  */
 package org.praisenter.animation.easings;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Static class for managing easings.
  * @author William Bittle
- * @version 1.0.0
+ * @version 2.0.4
  * @since 1.0.0
  */
 public final class Easings {
@@ -62,4 +65,74 @@ public final class Easings {
 		}
 		return null;
 	}
+	
+	// precomputed curves
+	
+	/** The precomputed tables by easing id */
+	private static final Map<Integer, EasingTable> TABLES = new ConcurrentHashMap<Integer, EasingTable>();
+	
+	/** True if easings should be evaluated using precomputed tables */
+	private static volatile boolean precomputedCurvesEnabled = true;
+	
+	/**
+	 * Returns the precomputed table for the given easing.
+	 * <p>
+	 * Tables are created on first use and shared.
+	 * @param easing the easing
+	 * @return {@link EasingTable}
+	 * @since 2.0.4
+	 */
+	public static final EasingTable getTable(Easing easing) {
+		if (easing instanceof EasingTable) {
+			return (EasingTable)easing;
+		}
+		EasingTable table = TABLES.get(easing.getId());
+		if (table == null || table.getEasing().getClass() != easing.getClass()) {
+			table = new EasingTable(easing);
+			TABLES.put(easing.getId(), table);
+		}
+		return table;
+	}
+	
+	/**
+	 * Returns the easing that should be used to evaluate the given easing.
+	 * <p>
+	 * Returns the precomputed table for the easing if precomputed curves are enabled,
+	 * the easing is expensive (see {@link AbstractEasing#isExpensive()}) and the table
+	 * is accurate, otherwise the easing itself is returned.
+	 * @param easing the easing
+	 * @return {@link Easing}
+	 * @see #setPrecomputedCurvesEnabled(boolean)
+	 * @since 2.0.4
+	 */
+	public static final Easing getEvaluator(Easing easing) {
+		if (precomputedCurvesEnabled && easing instanceof AbstractEasing && ((AbstractEasing)easing).isExpensive()) {
+			EasingTable table = getTable(easing);
+			if (table.isAccurate()) {
+				return table;
+			}
+		}
+		return easing;
+	}
+	
+	/**
+	 * Returns true if easings are evaluated using precomputed tables.
+	 * @return boolean
+	 * @since 2.0.4
+	 */
+	public static final boolean isPrecomputedCurvesEnabled() {
+		return precomputedCurvesEnabled;
+	}
+	
+	/**
+	 * Toggles the evaluation of easings using precomputed tables.
+	 * <p>
+	 * This is enabled by default.  The tables differ from the easing functions
+	 * by less than {@link EasingTable#MAXIMUM_ERROR}.
+	 * @param flag true if precomputed tables should be used
+	 * @since 2.0.4
+	 */
+	public static final void setPrecomputedCurvesEnabled(boolean flag) {
+		precomputedCurvesEnabled = flag;
+	}
 }
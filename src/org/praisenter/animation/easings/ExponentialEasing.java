@@ -29,7 +29,7 @@ import java.io.Serializable;
 /**
  * Exponential easing from http://gizma.com/easing/.
  * @author William Bittle
- * @version 1.0.0
+ * @version 2.0.4
  * @since 1.0.0
  */
 public class ExponentialEasing extends AbstractEasing implements Easing, Serializable {
@@ -68,7 +68,16 @@ public class ExponentialEasing extends AbstractEasing implements Easing, Seriali
 			return Math.pow(2.0, 10.0 * (t - 1)) * 0.5;
 		}
 		t -= 1.0;
-		return (-Math.pow(2.0, 10.0 * t) + 2.0) * 0.5;
+		return (-Math.pow(2.0, -10.0 * t) + 2.0) * 0.5;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.praisenter.animation.easings.AbstractEasing#isExpensive()
+	 */
+	@Override
+	public boolean isExpensive() {
+		// Math.pow is slower than a table lookup
+		return true;
 	}
 	
 	/* (non-Javadoc)
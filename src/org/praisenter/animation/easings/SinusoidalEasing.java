@@ -29,7 +29,7 @@ import java.io.Serializable;
 /**
  * Sinusoidal easing from http://gizma.com/easing/.
  * @author William Bittle
- * @version 1.0.0
+ * @version 2.0.4
  * @since 1.0.0
  */
 public class SinusoidalEasing extends AbstractEasing implements Easing, Serializable {
@@ -66,6 +66,15 @@ public class SinusoidalEasing extends AbstractEasing implements Easing, Serializ
 		return -(Math.cos(t * Math.PI) - 1) * 0.5;
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.praisenter.animation.easings.AbstractEasing#isExpensive()
+	 */
+	@Override
+	public boolean isExpensive() {
+		// Math.cos is slower than a table lookup
+		return true;
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.praisenter.transitions.easing.Easing#getEasingId()
 	 */
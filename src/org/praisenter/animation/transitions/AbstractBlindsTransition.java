@@ -24,12 +24,23 @@
  */
 package org.praisenter.animation.transitions;
 
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
 import java.io.Serializable;
 
 /**
  * Represents an abstract blinds {@link Transition}.
+ * <p>
+ * The blind positions are computed once per size and reused for every frame.  When
+ * drawing without a transform, each visible band is drawn with a rectangular clip
+ * covering the same pixels a shape clip of the blinds would.
  * @author William Bittle
- * @version 2.0.3
+ * @version 2.0.4
  * @since 2.0.3
  */
 public abstract class AbstractBlindsTransition extends AbstractTransition implements Transition, Serializable {
@@ -39,6 +50,9 @@ public abstract class AbstractBlindsTransition extends AbstractTransition implem
 	/** The vertical blink count factor: 12 bars for 1280 pixels */
 	protected static final double BLIND_COUNT_FACTOR = 12.0 / 1280.0;
 	
+	/** The blind positions for the last size rendered */
+	private transient volatile Blinds blinds;
+	
 	/**
 	 * Full constructor.
 	 * @param type the transition type
@@ -46,4 +60,199 @@ public abstract class AbstractBlindsTransition extends AbstractTransition implem
 	public AbstractBlindsTransition(TransitionType type) {
 		super(type);
 	} 
+	
+	/**
+	 * Renders the blinds transition.
+	 * @param g2d the graphics to render to
+	 * @param image0 the current image
+	 * @param image1 the next image
+	 * @param pc the percentage complete
+	 * @param horizontal true if the blinds are horizontal bars
+	 * @since 2.0.4
+	 */
+	protected final void renderBlinds(Graphics2D g2d, Image image0, Image image1, double pc, boolean horizontal) {
+		boolean in = this.type == TransitionType.IN;
+		Image image = in ? image1 : image0;
+		int w = image.getWidth(null);
+		int h = image.getHeight(null);
+		
+		Blinds blinds = this.getBlinds(horizontal ? h : w);
+		
+		// draw the animation
+		Shape shape = g2d.getClip();
+		if (in) {
+			g2d.drawImage(image0, 0, 0, null);
+		}
+		if (g2d.getTransform().isIdentity()) {
+			// draw the visible bands using rectangular clips
+			boolean normalize = g2d.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL) != RenderingHints.VALUE_STROKE_PURE;
+			int[] bands = blinds.getBands(pc, in, normalize);
+			for (int i = 0; i < bands.length; i += 2) {
+				int s = bands[i];
+				int l = bands[i + 1] - s;
+				if (horizontal) {
+					g2d.setClip(0, s, w, l);
+				} else {
+					g2d.setClip(s, 0, l, h);
+				}
+				g2d.drawImage(image, 0, 0, null);
+			}
+		} else {
+			g2d.setClip(blinds.getShape(w, h, pc, in, horizontal));
+			g2d.drawImage(image, 0, 0, null);
+		}
+		g2d.setClip(shape);
+	}
+	
+	/**
+	 * Returns the blind positions for the given length.
+	 * @param length the width of vertical blinds or the height of horizontal blinds
+	 * @return {@link Blinds}
+	 */
+	private Blinds getBlinds(int length) {
+		Blinds blinds = this.blinds;
+		if (blinds == null || blinds.length != length) {
+			blinds = new Blinds(length);
+			this.blinds = blinds;
+		}
+		return blinds;
+	}
+	
+	/**
+	 * The blind positions along the width or height of a given size.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private static final class Blinds {
+		/** The width or height */
+		private final int length;
+		
+		/** The size of each blind */
+		private final double size;
+		
+		/** The start of each blind */
+		private final double[] starts;
+		
+		/**
+		 * Minimal constructor.
+		 * @param length the width or height
+		 */
+		public Blinds(int length) {
+			this.length = length;
+			// compute the number of blinds
+			int count = (int)Math.ceil((double)length * BLIND_COUNT_FACTOR);
+			// compute the blind size
+			this.size = (double)length / (double)count;
+			this.starts = new double[count];
+			// accumulate the same way the blinds have always been positioned
+			double p = 0;
+			for (int i = 0; i < count; i++) {
+				this.starts[i] = p;
+				p += this.size;
+			}
+		}
+		
+		/**
+		 * Returns the blind rectangle for the given index.
+		 * @param i the blind index
+		 * @param w the width
+		 * @param h the height
+		 * @param pc the percentage complete
+		 * @param horizontal true if the blinds are horizontal bars
+		 * @return Rectangle2D
+		 */
+		private Rectangle2D getBlind(int i, int w, int h, double pc, boolean horizontal) {
+			if (horizontal) {
+				return new Rectangle2D.Double(0, this.starts[i] + this.size * pc, w, this.size * (1.0 - pc));
+			}
+			return new Rectangle2D.Double(this.starts[i] + this.size * pc, 0, this.size * (1.0 - pc), h);
+		}
+		
+		/**
+		 * Returns the clip shape to draw the visible image through.
+		 * <p>
+		 * For the IN transition this is the area between the blinds, otherwise its the blinds.
+		 * @param w the width
+		 * @param h the height
+		 * @param pc the percentage complete
+		 * @param in true for the IN transition
+		 * @param horizontal true if the blinds are horizontal bars
+		 * @return Shape
+		 */
+		public Shape getShape(int w, int h, double pc, boolean in, boolean horizontal) {
+			Path2D.Double path = new Path2D.Double(in ? Path2D.WIND_EVEN_ODD : Path2D.WIND_NON_ZERO);
+			if (in) {
+				path.append(new Rectangle(0, 0, w, h), false);
+			}
+			for (int i = 0; i < this.starts.length; i++) {
+				path.append(this.getBlind(i, w, h, pc, horizontal), false);
+			}
+			return path;
+		}
+		
+		/**
+		 * Returns the visible pixel bands as pairs of start (inclusive) and end (exclusive) offsets.
+		 * <p>
+		 * For the IN transition these are the bands between the blinds, otherwise they are the
+		 * blinds.  The pixels are chosen the same way they are for a shape clip.
+		 * @param pc the percentage complete
+		 * @param in true for the IN transition
+		 * @param normalize true if the stroke control hint is not pure
+		 * @return int[]
+		 */
+		public int[] getBands(double pc, boolean in, boolean normalize) {
+			int n = this.starts.length;
+			int[] bands = new int[(n + 1) * 2];
+			int k = 0;
+			int end = 0;
+			for (int i = 0; i < n; i++) {
+				double start = this.starts[i] + this.size * pc;
+				int s = toPixel(start, normalize);
+				int e = toPixel(start + this.size * (1.0 - pc), normalize);
+				if (in) {
+					// the band before this blind
+					if (s > end) {
+						bands[k++] = end;
+						bands[k++] = s;
+					}
+				} else if (e > s) {
+					// merge touching blinds
+					if (k > 0 && bands[k - 1] >= s) {
+						bands[k - 1] = Math.max(bands[k - 1], e);
+					} else {
+						bands[k++] = s;
+						bands[k++] = e;
+					}
+				}
+				end = Math.max(end, e);
+			}
+			// the band after the last blind
+			if (in && this.length > end) {
+				bands[k++] = end;
+				bands[k++] = this.length;
+			}
+			int[] result = new int[k];
+			System.arraycopy(bands, 0, result, 0, k);
+			return result;
+		}
+		
+		/**
+		 * Returns the first pixel a shape clip edge at the given offset includes.
+		 * <p>
+		 * Shape clips are rasterized from single precision outlines and include the pixels whose
+		 * centers are inside.  Unless stroke control is pure, the outline is first normalized
+		 * by snapping it to the nearest quarter pixel.
+		 * @param offset the offset
+		 * @param normalize true if the outline is normalized
+		 * @return int
+		 */
+		private static final int toPixel(double offset, boolean normalize) {
+			float v = (float)offset;
+			if (normalize) {
+				return (int)Math.floor(v + 0.25f);
+			}
+			return (int)Math.ceil(v - 0.5f);
+		}
+	}
 }
@@ -24,12 +24,16 @@
  */
 package org.praisenter.animation.transitions;
 
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
 import java.io.Serializable;
 
 /**
  * Represents a transition from one image to another.
  * @author William Bittle
- * @version 2.0.0
+ * @version 2.0.4
  * @since 2.0.0
  */
 public abstract class AbstractTransition implements Transition, Serializable {
@@ -39,6 +43,9 @@ public abstract class AbstractTransition implements Transition, Serializable {
 	/** The transition type */
 	protected TransitionType type;
 	
+	/** The clips built for the last frame (see {@link #getCachedClips(int, int, double)}) */
+	private transient volatile Clips clips;
+	
 	/**
 	 * Minimal constructor.
 	 * @param type the transition type
@@ -91,4 +98,113 @@ public abstract class AbstractTransition implements Transition, Serializable {
 	protected static final float clamp(float value, float min, float max) {
 		return Math.max(Math.min(value, max), min);
 	}
+	
+	/**
+	 * Returns the region of the given size not covered by the given shape.
+	 * <p>
+	 * This is the same region as an {@link Area} exclusive-or of the rectangle and the
+	 * shape, but it's built by appending the two outlines to an even-odd path rather than
+	 * with constructive area geometry, which is expensive at full screen sizes.
+	 * @param w the width
+	 * @param h the height
+	 * @param shape the shape to exclude
+	 * @return Shape
+	 * @since 2.0.4
+	 */
+	protected static final Shape exclusiveOr(int w, int h, Shape shape) {
+		Path2D.Double path = new Path2D.Double(Path2D.WIND_EVEN_ODD);
+		path.append(new Rectangle(0, 0, w, h), false);
+		path.append(shape, false);
+		return path;
+	}
+	
+	/**
+	 * Returns the clips cached for the given size and percentage.
+	 * <p>
+	 * Building clips with constructive area geometry is expensive at full screen sizes
+	 * and the same frame is often rendered more than once (the display can refresh faster
+	 * than the transition advances), so transitions that need an {@link Area} should cache
+	 * it with {@link #setCachedClips(int, int, double, Shape...)}.
+	 * <p>
+	 * Returns null if the clips for the given size and percentage have not been cached.
+	 * @param w the width
+	 * @param h the height
+	 * @param pc the percentage complete
+	 * @return Shape[]
+	 * @since 2.0.4
+	 */
+	protected final Shape[] getCachedClips(int w, int h, double pc) {
+		Clips clips = this.clips;
+		if (clips != null && clips.w == w && clips.h == h && clips.pc == pc) {
+			return clips.shapes;
+		}
+		return null;
+	}
+	
+	/**
+	 * Caches the given clips for the given size and percentage.
+	 * <p>
+	 * The clips must not be modified after they are cached.
+	 * @param w the width
+	 * @param h the height
+	 * @param pc the percentage complete
+	 * @param shapes the clips
+	 * @since 2.0.4
+	 */
+	protected final void setCachedClips(int w, int h, double pc, Shape... shapes) {
+		this.clips = new Clips(w, h, pc, shapes);
+	}
+	
+	/**
+	 * Returns the union of the given shapes.
+	 * <p>
+	 * The shapes must not overlap.  This is the same region as adding the shapes to an
+	 * {@link Area}, without the constructive area geometry.
+	 * @param shapes the shapes
+	 * @return Shape
+	 * @since 2.0.4
+	 */
+	protected static final Shape union(Shape... shapes) {
+		Path2D.Double path = new Path2D.Double(Path2D.WIND_NON_ZERO);
+		for (Shape shape : shapes) {
+			path.append(shape, false);
+		}
+		return path;
+	}
+	
+	/**
+	 * The clips built for a size and percentage.
+	 * <p>
+	 * Transitions are shared between displays, so this is immutable and replaced as a whole.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private static final class Clips {
+		/** The width */
+		private final int w;
+		
+		/** The height */
+		private final int h;
+		
+		/** The percentage complete */
+		private final double pc;
+		
+		/** The clips */
+		private final Shape[] shapes;
+		
+		/**
+		 * Full constructor.
+		 * @param w the width
+		 * @param h the height
+		 * @param pc the percentage complete
+		 * @param shapes the clips
+		 */
+		public Clips(int w, int h, double pc, Shape[] shapes) {
+			this.w = w;
+			this.h = h;
+			this.pc = pc;
+			this.shapes = shapes;
+		}
+	}
 }
@@ -25,17 +25,17 @@
 package org.praisenter.animation.transitions;
 
 import java.awt.Graphics2D;
+import java.awt.Image;
 import java.awt.Rectangle;
 import java.awt.Shape;
 import java.awt.geom.Area;
 import java.awt.geom.Ellipse2D;
-import java.awt.image.BufferedImage;
 import java.io.Serializable;
 
 /**
  * Represents a circular expand {@link Transition}.
  * @author William Bittle
- * @version 1.0.0
+ * @version 2.0.4
  * @since 1.0.0
  */
 public class CircularExpand extends AbstractTransition implements Transition, Serializable {
@@ -62,36 +62,59 @@ public class CircularExpand extends AbstractTransition implements Transition, Se
 	}
 	
 	/* (non-Javadoc)
-	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.image.BufferedImage, java.awt.image.BufferedImage, double)
+	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.Image, java.awt.Image, double)
 	 */
 	@Override
-	public void render(Graphics2D g2d, BufferedImage image0, BufferedImage image1, double pc) {
+	public void render(Graphics2D g2d, Image image0, Image image1, double pc) {
 		Shape shape = g2d.getClip();
 		
+		// the clips only change with the percentage
+		Shape[] clips = this.getCachedClips(image0.getWidth(null), image0.getHeight(null), pc);
+		if (clips == null) {
+			clips = this.getClips(image0, image1, pc);
+			this.setCachedClips(image0.getWidth(null), image0.getHeight(null), pc, clips);
+		}
+		
+		if (image0 != null) {
+			g2d.setClip(clips[0]);
+			g2d.drawImage(image0, 0, 0, null);
+		}
+		if (this.type == TransitionType.IN && image1 != null) {
+			g2d.setClip(clips[1]);
+			g2d.drawImage(image1, 0, 0, null);
+		}
+		
+		g2d.setClip(shape);
+	}
+	
+	/**
+	 * Returns the clips for the current and next images.
+	 * @param image0 the current image
+	 * @param image1 the next image
+	 * @param pc the percentage complete
+	 * @return Shape[]
+	 */
+	private Shape[] getClips(Image image0, Image image1, double pc) {
 		// compute the circular area
-		double hw = (double)image0.getWidth() / 2.0;
-		double hh = (double)image0.getHeight() / 2.0;
+		double hw = (double)image0.getWidth(null) / 2.0;
+		double hh = (double)image0.getHeight(null) / 2.0;
 		double r = Math.sqrt(hw * hw + hh * hh) * pc;
 		double s = 2.0 * r;
 		double x = hw - r;
 		double y = hh - r;
 		Ellipse2D.Double circle = new Ellipse2D.Double(x, y, s, s);
 		
-		if (image0 != null) {
-			Area area = new Area(new Rectangle(0, 0, image0.getWidth(), image0.getHeight()));
-			area.exclusiveOr(new Area(circle));
-			g2d.setClip(area);
-			g2d.drawImage(image0, 0, 0, null);
-		}
+		Shape[] clips = new Shape[2];
+		Area area = new Area(new Rectangle(0, 0, image0.getWidth(null), image0.getHeight(null)));
+		area.exclusiveOr(new Area(circle));
+		clips[0] = area;
 		if (this.type == TransitionType.IN && image1 != null) {
 			// unfortunately we need to do the EXACT opposite clipping operation
 			// for pixel perfect results (we can't just clip by the circle)
-			Area area = new Area(new Rectangle(0, 0, image1.getWidth(), image1.getHeight()));
+			area = new Area(new Rectangle(0, 0, image1.getWidth(null), image1.getHeight(null)));
 			area.intersect(new Area(circle));
-			g2d.setClip(area);
-			g2d.drawImage(image1, 0, 0, null);
+			clips[1] = area;
 		}
-		
-		g2d.setClip(shape);
+		return clips;
 	}
 }
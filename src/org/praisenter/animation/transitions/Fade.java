@@ -27,7 +27,7 @@ package org.praisenter.animation.transitions;
 import java.awt.AlphaComposite;
 import java.awt.Composite;
 import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
+import java.awt.Image;
 import java.io.Serializable;
 
 /**
@@ -60,10 +60,10 @@ public class Fade extends AbstractTransition implements Transition, Serializable
 	}
 	
 	/* (non-Javadoc)
-	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.image.BufferedImage, java.awt.image.BufferedImage, double)
+	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.Image, java.awt.Image, double)
 	 */
 	@Override
-	public void render(Graphics2D g2d, BufferedImage image0, BufferedImage image1, double pc) {
+	public void render(Graphics2D g2d, Image image0, Image image1, double pc) {
 		// apply alpha composite
 		Composite composite = g2d.getComposite();
 		float alpha = clamp((float)pc, 0.0f, 1.0f);
@@ -25,17 +25,13 @@
 package org.praisenter.animation.transitions;
 
 import java.awt.Graphics2D;
-import java.awt.Rectangle;
-import java.awt.Shape;
-import java.awt.geom.Area;
-import java.awt.geom.Rectangle2D;
-import java.awt.image.BufferedImage;
+import java.awt.Image;
 import java.io.Serializable;
 
 /**
  * Represents a horizontal blinds {@link Transition}.
  * @author William Bittle
- * @version 2.0.3
+ * @version 2.0.4
  * @since 2.0.3
  */
 public class HorizontalBlinds extends AbstractBlindsTransition implements Transition, Serializable {
@@ -62,53 +58,10 @@ public class HorizontalBlinds extends AbstractBlindsTransition implements Transi
 	}
 	
 	/* (non-Javadoc)
-	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.image.BufferedImage, java.awt.image.BufferedImage, double)
+	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.Image, java.awt.Image, double)
 	 */
 	@Override
-	public void render(Graphics2D g2d, BufferedImage image0, BufferedImage image1, double pc) {
-		int w = 0;
-		int h = 0;
-		
-		Area area = null;
-		if (this.type == TransitionType.IN) {
-			// for the IN transition we will subtract areas from the full rectangle
-			w = image1.getWidth();
-			h = image1.getHeight();
-			area = new Area(new Rectangle(0, 0, w, h));
-		} else {
-			// for the OUT transition we will add areas
-			w = image0.getWidth();
-			h = image0.getHeight();
-			area = new Area();
-		}
-		
-		// compute the number of blinds
-		final int blinds = (int)Math.ceil((double)h * BLIND_COUNT_FACTOR);
-		double y = 0;
-		// compute the blind width
-		double bh = (double)h / (double)blinds;
-		// compute the area that needs to be painted by either removing
-		// vertical bars or adding vertical bars
-		for (int i = 0; i < blinds; i++) {
-			Rectangle2D.Double blind = new Rectangle2D.Double(0, y + bh * pc, w, bh * (1.0 - pc));
-			if (this.type == TransitionType.IN) {
-				area.subtract(new Area(blind));
-			} else {
-				area.add(new Area(blind));
-			}
-			y += bh;
-		}
-		
-		// draw the animation
-		Shape shape = g2d.getClip();
-		if (this.type == TransitionType.IN) {
-			g2d.drawImage(image0, 0, 0, null);
-			g2d.setClip(area);
-			g2d.drawImage(image1, 0, 0, null);
-		} else {
-			g2d.setClip(area);
-			g2d.drawImage(image0, 0, 0, null);
-		}
-		g2d.setClip(shape);
+	public void render(Graphics2D g2d, Image image0, Image image1, double pc) {
+		this.renderBlinds(g2d, image0, image1, pc, true);
 	}
 }
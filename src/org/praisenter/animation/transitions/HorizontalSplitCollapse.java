@@ -25,16 +25,15 @@
 package org.praisenter.animation.transitions;
 
 import java.awt.Graphics2D;
+import java.awt.Image;
 import java.awt.Rectangle;
 import java.awt.Shape;
-import java.awt.geom.Area;
-import java.awt.image.BufferedImage;
 import java.io.Serializable;
 
 /**
  * Represents a horizontal split collapse {@link Transition}.
  * @author William Bittle
- * @version 1.0.0
+ * @version 2.0.4
  * @since 1.0.0
  */
 public class HorizontalSplitCollapse extends AbstractTransition implements Transition, Serializable {
@@ -61,10 +60,10 @@ public class HorizontalSplitCollapse extends AbstractTransition implements Trans
 	}
 	
 	/* (non-Javadoc)
-	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.image.BufferedImage, java.awt.image.BufferedImage, double)
+	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.Image, java.awt.Image, double)
 	 */
 	@Override
-	public void render(Graphics2D g2d, BufferedImage image0, BufferedImage image1, double pc) {
+	public void render(Graphics2D g2d, Image image0, Image image1, double pc) {
 		Shape shape = g2d.getClip();
 		// to get pixel perfect results we need to make sure we use the y and height from
 		// image0 so that image1 will be clipped appropriately (this is only necessary when
@@ -72,18 +71,18 @@ public class HorizontalSplitCollapse extends AbstractTransition implements Trans
 		int y0 = 0;
 		int h0 = 0;
 		if (image0 != null) {
-			int hh = image0.getHeight() / 2;
+			int hh = image0.getHeight(null) / 2;
 			y0 = (int)Math.floor((double)hh * pc);
-			h0 = (int)Math.floor(image0.getHeight() * (1.0 - pc));
-			g2d.setClip(0, y0, image0.getWidth(), h0);
+			h0 = (int)Math.floor(image0.getHeight(null) * (1.0 - pc));
+			g2d.setClip(0, y0, image0.getWidth(null), h0);
 			g2d.drawImage(image0, 0, 0, null);
 		}
 		if (this.type == TransitionType.IN && image1 != null) {
-			int w = image1.getWidth();
+			int w = image1.getWidth(null);
 			int h = 0;
 			int y = 0;
-			// create two rectangles and merge them into one area for the clip
-			int hh = image1.getHeight() / 2;
+			// create two rectangles and merge them into one clip
+			int hh = image1.getHeight(null) / 2;
 			if (image0 != null) {
 				h = y0;
 				y = y0 + h0;
@@ -91,14 +90,11 @@ public class HorizontalSplitCollapse extends AbstractTransition implements Trans
 				// h = hh - hh * pc
 				h = (int)Math.ceil((double)hh * pc);
 				// y = hh + hh * pc
-				y = (int)Math.ceil((double)image1.getHeight() - (double)hh * pc);
+				y = (int)Math.ceil((double)image1.getHeight(null) - (double)hh * pc);
 			}
 			Rectangle left = new Rectangle(0, 0, w, h);
-			Rectangle right = new Rectangle(0, y, w, Math.max(image1.getHeight() - y, 0));
-			Area area = new Area();
-			area.add(new Area(left));
-			area.add(new Area(right));
-			g2d.setClip(area);
+			Rectangle right = new Rectangle(0, y, w, Math.max(image1.getHeight(null) - y, 0));
+			g2d.setClip(union(left, right));
 			g2d.drawImage(image1, 0, 0, null);
 		}
 		g2d.setClip(shape);
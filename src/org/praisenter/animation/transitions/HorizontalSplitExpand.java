@@ -25,16 +25,15 @@
 package org.praisenter.animation.transitions;
 
 import java.awt.Graphics2D;
+import java.awt.Image;
 import java.awt.Rectangle;
 import java.awt.Shape;
-import java.awt.geom.Area;
-import java.awt.image.BufferedImage;
 import java.io.Serializable;
 
 /**
  * Represents a horizontal split expand {@link Transition}.
  * @author William Bittle
- * @version 1.0.0
+ * @version 2.0.4
  * @since 1.0.0
  */
 public class HorizontalSplitExpand extends AbstractTransition implements Transition, Serializable {
@@ -61,10 +60,10 @@ public class HorizontalSplitExpand extends AbstractTransition implements Transit
 	}
 	
 	/* (non-Javadoc)
-	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.image.BufferedImage, java.awt.image.BufferedImage, double)
+	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.Image, java.awt.Image, double)
 	 */
 	@Override
-	public void render(Graphics2D g2d, BufferedImage image0, BufferedImage image1, double pc) {
+	public void render(Graphics2D g2d, Image image0, Image image1, double pc) {
 		Shape shape = g2d.getClip();
 		// to get pixel perfect results we need to make sure we use the y and height from
 		// image0 so that image1 will be clipped appropriately (this is only necessary when
@@ -72,23 +71,20 @@ public class HorizontalSplitExpand extends AbstractTransition implements Transit
 		int y0 = 0;
 		int h0 = 0;
 		if (image0 != null) {
-			// create two rectangles and merge them into one area for the clip
-			double hh = (double)image0.getHeight() / 2.0;
+			// create two rectangles and merge them into one clip
+			double hh = (double)image0.getHeight(null) / 2.0;
 			// h = hh - hh * pc
 			h0 = (int)Math.floor(hh * (1.0 - pc));
-			int w = image0.getWidth();
+			int w = image0.getWidth(null);
 			// y = hh + hh * pc
 			y0 = (int)Math.ceil(hh * (1.0 + pc));
 			if (pc >= 1.0) {
 				h0 = 0;
-				y0 = image0.getHeight();
+				y0 = image0.getHeight(null);
 			}
 			Rectangle left = new Rectangle(0, 0, w, h0);
-			Rectangle right = new Rectangle(0, y0, w, Math.max(image0.getHeight() - y0, 0));
-			Area area = new Area();
-			area.add(new Area(left));
-			area.add(new Area(right));
-			g2d.setClip(area);
+			Rectangle right = new Rectangle(0, y0, w, Math.max(image0.getHeight(null) - y0, 0));
+			g2d.setClip(union(left, right));
 			g2d.drawImage(image0, 0, 0, null);
 		}
 		if (this.type == TransitionType.IN && image1 != null) {
@@ -98,11 +94,11 @@ public class HorizontalSplitExpand extends AbstractTransition implements Transit
 				h = y0 - h0;
 				y = h0;
 			} else {
-				int hh = image1.getHeight() / 2;
+				int hh = image1.getHeight(null) / 2;
 				y = (int)Math.ceil((double)hh * (1.0 - pc));
-				h = (int)Math.ceil(image1.getHeight() * pc);
+				h = (int)Math.ceil(image1.getHeight(null) * pc);
 			}
-			g2d.setClip(0, y, image1.getWidth(), h);
+			g2d.setClip(0, y, image1.getWidth(null), h);
 			g2d.drawImage(image1, 0, 0, null);
 		}
 		g2d.setClip(shape);
@@ -25,8 +25,8 @@
 package org.praisenter.animation.transitions;
 
 import java.awt.Graphics2D;
+import java.awt.Image;
 import java.awt.Shape;
-import java.awt.image.BufferedImage;
 import java.io.Serializable;
 
 /**
@@ -59,17 +59,17 @@ public class SwipeDown extends AbstractTransition implements Transition, Seriali
 	}
 	
 	/* (non-Javadoc)
-	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.image.BufferedImage, java.awt.image.BufferedImage, double)
+	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.Image, java.awt.Image, double)
 	 */
 	@Override
-	public void render(Graphics2D g2d, BufferedImage image0, BufferedImage image1, double pc) {
+	public void render(Graphics2D g2d, Image image0, Image image1, double pc) {
 		Shape shape = g2d.getClip();
 		if (image0 != null) {
-			g2d.setClip(0, (int)Math.ceil(image0.getHeight() * pc), image0.getWidth(), image0.getHeight());
+			g2d.setClip(0, (int)Math.ceil(image0.getHeight(null) * pc), image0.getWidth(null), image0.getHeight(null));
 			g2d.drawImage(image0, 0, 0, null);
 		}
 		if (this.type == TransitionType.IN && image1 != null) {
-			g2d.setClip(0, 0, image1.getWidth(), (int)Math.ceil(image1.getHeight() * pc));
+			g2d.setClip(0, 0, image1.getWidth(null), (int)Math.ceil(image1.getHeight(null) * pc));
 			g2d.drawImage(image1, 0, 0, null);
 		}
 		g2d.setClip(shape);
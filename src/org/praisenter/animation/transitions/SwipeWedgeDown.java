@@ -25,17 +25,17 @@
 package org.praisenter.animation.transitions;
 
 import java.awt.Graphics2D;
+import java.awt.Image;
 import java.awt.Rectangle;
 import java.awt.Shape;
 import java.awt.geom.Arc2D;
 import java.awt.geom.Area;
-import java.awt.image.BufferedImage;
 import java.io.Serializable;
 
 /**
  * Represents a swipe wedge down {@link Transition}.
  * @author William Bittle
- * @version 2.0.3
+ * @version 2.0.4
  * @since 2.0.3
  */
 public class SwipeWedgeDown extends AbstractTransition implements Transition, Serializable {
@@ -62,10 +62,10 @@ public class SwipeWedgeDown extends AbstractTransition implements Transition, Se
 	}
 	
 	/* (non-Javadoc)
-	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.image.BufferedImage, java.awt.image.BufferedImage, double)
+	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.Image, java.awt.Image, double)
 	 */
 	@Override
-	public void render(Graphics2D g2d, BufferedImage image0, BufferedImage image1, double pc) {
+	public void render(Graphics2D g2d, Image image0, Image image1, double pc) {
 		// clamp the percentage
 		pc = clamp((float)pc, 0.0f, 1.0f);
 
@@ -73,18 +73,7 @@ public class SwipeWedgeDown extends AbstractTransition implements Transition, Se
 		Shape clip = g2d.getClip();
 		
 		// build the clip shape
-		double w = image1.getWidth();
-		double h = image1.getHeight();
-		double a = -Math.PI * pc;
-		double hyp = Math.hypot(w, h);
-		Arc2D.Double arc = new Arc2D.Double(
-				w * 0.5 - hyp * 0.5,
-				h * 0.5 - hyp * 0.5,
-				hyp,
-				hyp,
-				90.0 + Math.toDegrees(a),
-				-2.0 * Math.toDegrees(a),
-				Arc2D.PIE);
+		Arc2D.Double arc = this.getArc(image1, pc);
 		
 		if (this.type == TransitionType.IN) {
 			// draw the old
@@ -94,10 +83,15 @@ public class SwipeWedgeDown extends AbstractTransition implements Transition, Se
 			g2d.setClip(arc);
 			g2d.drawImage(image1, 0, 0, null);
 		} else {
-			// do an xor clipping op here
-			Area area = new Area(new Rectangle(0, 0, image0.getWidth(), image0.getHeight()));
-			area.exclusiveOr(new Area(arc));
-			g2d.setClip(area);
+			// do an xor clipping op here (which only changes with the percentage)
+			Shape[] clips = this.getCachedClips(image0.getWidth(null), image0.getHeight(null), pc);
+			if (clips == null) {
+				Area area = new Area(new Rectangle(0, 0, image0.getWidth(null), image0.getHeight(null)));
+				area.exclusiveOr(new Area(arc));
+				clips = new Shape[] { area };
+				this.setCachedClips(image0.getWidth(null), image0.getHeight(null), pc, clips);
+			}
+			g2d.setClip(clips[0]);
 				
 			g2d.drawImage(image0, 0, 0, null);
 		}
@@ -105,4 +99,25 @@ public class SwipeWedgeDown extends AbstractTransition implements Transition, Se
 		// restore the old clip
 		g2d.setClip(clip);
 	}
+	
+	/**
+	 * Returns the swipe arc for the given image and percentage.
+	 * @param image1 the next image
+	 * @param pc the percentage complete
+	 * @return Arc2D.Double
+	 */
+	private Arc2D.Double getArc(Image image1, double pc) {
+		double w = image1.getWidth(null);
+		double h = image1.getHeight(null);
+		double a = -Math.PI * pc;
+		double hyp = Math.hypot(w, h);
+		return new Arc2D.Double(
+				w * 0.5 - hyp * 0.5,
+				h * 0.5 - hyp * 0.5,
+				hyp,
+				hyp,
+				90.0 + Math.toDegrees(a),
+				-2.0 * Math.toDegrees(a),
+				Arc2D.PIE);
+	}
 }
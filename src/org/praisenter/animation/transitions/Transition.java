@@ -25,7 +25,7 @@
 package org.praisenter.animation.transitions;
 
 import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
+import java.awt.Image;
 import java.io.Serializable;
 
 /**
@@ -43,7 +43,7 @@ public interface Transition extends Serializable {
 	 * @param image1 the ending image
 	 * @param pc the percentage completed; this can be less than zero or greater than 1 depending on the easing
 	 */
-	public abstract void render(Graphics2D g2d, BufferedImage image0, BufferedImage image1, double pc);
+	public abstract void render(Graphics2D g2d, Image image0, Image image1, double pc);
 	
 	/**
 	 * Returns a unique transition id for a transition sub class.
@@ -25,16 +25,15 @@
 package org.praisenter.animation.transitions;
 
 import java.awt.Graphics2D;
+import java.awt.Image;
 import java.awt.Rectangle;
 import java.awt.Shape;
-import java.awt.geom.Area;
-import java.awt.image.BufferedImage;
 import java.io.Serializable;
 
 /**
  * Represents a vertical split collapse {@link Transition}.
  * @author William Bittle
- * @version 1.0.0
+ * @version 2.0.4
  * @since 1.0.0
  */
 public class VerticalSplitCollapse extends AbstractTransition implements Transition, Serializable {
@@ -61,10 +60,10 @@ public class VerticalSplitCollapse extends AbstractTransition implements Transit
 	}
 	
 	/* (non-Javadoc)
-	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.image.BufferedImage, java.awt.image.BufferedImage, double)
+	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.Image, java.awt.Image, double)
 	 */
 	@Override
-	public void render(Graphics2D g2d, BufferedImage image0, BufferedImage image1, double pc) {
+	public void render(Graphics2D g2d, Image image0, Image image1, double pc) {
 		Shape shape = g2d.getClip();
 		// to get pixel perfect results we need to make sure we use the x and width from
 		// image0 so that image1 will be clipped appropriately (this is only necessary when
@@ -72,33 +71,30 @@ public class VerticalSplitCollapse extends AbstractTransition implements Transit
 		int x0 = 0;
 		int w0 = 0;
 		if (image0 != null) {
-			int hw = image0.getWidth() / 2;
+			int hw = image0.getWidth(null) / 2;
 			x0 = (int)Math.floor((double)hw * pc);
-			w0 = (int)Math.floor((double)image0.getWidth() * (1.0 - pc));
-			g2d.setClip(x0, 0, w0, image0.getHeight());
+			w0 = (int)Math.floor((double)image0.getWidth(null) * (1.0 - pc));
+			g2d.setClip(x0, 0, w0, image0.getHeight(null));
 			g2d.drawImage(image0, 0, 0, null);
 		}
 		if (this.type == TransitionType.IN && image1 != null) {
-			// create two rectangles and merge them into one area for the clip
+			// create two rectangles and merge them into one clip
 			int w = 0;
 			int x = 0;
-			int h = image1.getHeight();
+			int h = image1.getHeight(null);
 			if (image0 != null) {
 				w = x0;
 				x = x0 + w0;
 			} else {
-				int hw = image1.getWidth() / 2;
+				int hw = image1.getWidth(null) / 2;
 				// w = hw * pc
 				w = (int)Math.ceil((double)hw * pc);
 				// x = w - hw * pc
-				x = (int)Math.ceil((double)image1.getWidth() - (double)hw * pc);
+				x = (int)Math.ceil((double)image1.getWidth(null) - (double)hw * pc);
 			}
 			Rectangle left = new Rectangle(0, 0, w, h);
-			Rectangle right = new Rectangle(x, 0, Math.max(image1.getWidth() - x, 0), h);
-			Area area = new Area();
-			area.add(new Area(left));
-			area.add(new Area(right));
-			g2d.setClip(area);
+			Rectangle right = new Rectangle(x, 0, Math.max(image1.getWidth(null) - x, 0), h);
+			g2d.setClip(union(left, right));
 			g2d.drawImage(image1, 0, 0, null);
 		}
 		g2d.setClip(shape);
@@ -25,16 +25,15 @@
 package org.praisenter.animation.transitions;
 
 import java.awt.Graphics2D;
+import java.awt.Image;
 import java.awt.Rectangle;
 import java.awt.Shape;
-import java.awt.geom.Area;
-import java.awt.image.BufferedImage;
 import java.io.Serializable;
 
 /**
  * Represents a vertical split expand {@link Transition}.
  * @author William Bittle
- * @version 1.0.0
+ * @version 2.0.4
  * @since 1.0.0
  */
 public class VerticalSplitExpand extends AbstractTransition implements Transition, Serializable {
@@ -61,10 +60,10 @@ public class VerticalSplitExpand extends AbstractTransition implements Transitio
 	}
 	
 	/* (non-Javadoc)
-	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.image.BufferedImage, java.awt.image.BufferedImage, double)
+	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.Image, java.awt.Image, double)
 	 */
 	@Override
-	public void render(Graphics2D g2d, BufferedImage image0, BufferedImage image1, double pc) {
+	public void render(Graphics2D g2d, Image image0, Image image1, double pc) {
 		Shape shape = g2d.getClip();
 		// to get pixel perfect results we need to make sure we use the x and width from
 		// image0 so that image1 will be clipped appropriately (this is only necessary when
@@ -72,23 +71,20 @@ public class VerticalSplitExpand extends AbstractTransition implements Transitio
 		int x0 = 0;
 		int w0 = 0;
 		if (image0 != null) {
-			// create two rectangles and merge them into one area for the clip
-			double hw = (double)image0.getWidth() / 2.0;
+			// create two rectangles and merge them into one clip
+			double hw = (double)image0.getWidth(null) / 2.0;
 			// w = hw - hw * pc
 			w0 = (int)Math.floor(hw * (1.0 - pc));
-			int h = image0.getHeight();
+			int h = image0.getHeight(null);
 			// x = hw + hw * pc
 			x0 = (int)Math.ceil(hw * (1.0 + pc));
 			if (pc >= 1.0) {
 				w0 = 0;
-				x0 = image0.getWidth();
+				x0 = image0.getWidth(null);
 			}
 			Rectangle left = new Rectangle(0, 0, w0, h);
-			Rectangle right = new Rectangle(x0, 0, Math.max(image0.getWidth() - x0, 0), h);
-			Area area = new Area();
-			area.add(new Area(left));
-			area.add(new Area(right));
-			g2d.setClip(area);
+			Rectangle right = new Rectangle(x0, 0, Math.max(image0.getWidth(null) - x0, 0), h);
+			g2d.setClip(union(left, right));
 			g2d.drawImage(image0, 0, 0, null);
 		}
 		if (this.type == TransitionType.IN && image1 != null) {
@@ -98,11 +94,11 @@ public class VerticalSplitExpand extends AbstractTransition implements Transitio
 				w = x0 - w0;
 				x = w0;
 			} else {
-				int hw = image1.getWidth() / 2;
+				int hw = image1.getWidth(null) / 2;
 				x = (int)Math.ceil((double)hw * (1.0 - pc));
-				w = (int)Math.ceil(image1.getWidth() * pc);
+				w = (int)Math.ceil(image1.getWidth(null) * pc);
 			}
-			g2d.setClip(x, 0, w, image1.getHeight());
+			g2d.setClip(x, 0, w, image1.getHeight(null));
 			g2d.drawImage(image1, 0, 0, null);
 		}
 		g2d.setClip(shape);
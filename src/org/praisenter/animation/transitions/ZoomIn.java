@@ -25,17 +25,15 @@
 package org.praisenter.animation.transitions;
 
 import java.awt.Graphics2D;
-import java.awt.Rectangle;
+import java.awt.Image;
 import java.awt.Shape;
-import java.awt.geom.Area;
 import java.awt.geom.Rectangle2D;
-import java.awt.image.BufferedImage;
 import java.io.Serializable;
 
 /**
  * Represents a zoom-in {@link Transition}.
  * @author William Bittle
- * @version 2.0.3
+ * @version 2.0.4
  * @since 2.0.3
  */
 public class ZoomIn extends AbstractTransition implements Transition, Serializable {
@@ -62,10 +60,10 @@ public class ZoomIn extends AbstractTransition implements Transition, Serializab
 	}
 	
 	/* (non-Javadoc)
-	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.image.BufferedImage, java.awt.image.BufferedImage, double)
+	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.Image, java.awt.Image, double)
 	 */
 	@Override
-	public void render(Graphics2D g2d, BufferedImage image0, BufferedImage image1, double pc) {
+	public void render(Graphics2D g2d, Image image0, Image image1, double pc) {
 		// clamp the percentage
 		pc = clamp((float)pc, 0.0f, 1.0f);
 		if (this.type == TransitionType.IN) {
@@ -75,10 +73,10 @@ public class ZoomIn extends AbstractTransition implements Transition, Serializab
 			if (pc > 0.0) {
 				g2d.drawImage(
 						image1, 
-						(int)Math.floor(image1.getWidth() * 0.5 * (1.0 - pc)), 
-						(int)Math.floor(image1.getHeight() * 0.5 * (1.0 - pc)),
-						(int)Math.floor(image1.getWidth() * pc), 
-						(int)Math.floor(image1.getHeight() * pc),
+						(int)Math.floor(image1.getWidth(null) * 0.5 * (1.0 - pc)), 
+						(int)Math.floor(image1.getHeight(null) * 0.5 * (1.0 - pc)),
+						(int)Math.floor(image1.getWidth(null) * pc), 
+						(int)Math.floor(image1.getHeight(null) * pc),
 						null);
 			}
 		} else {
@@ -86,13 +84,11 @@ public class ZoomIn extends AbstractTransition implements Transition, Serializab
 			Shape clip = g2d.getClip();
 			// don't bother with a clip region if pc <= 0
 			if (pc > 0.0) {
-				Area area = new Area(new Rectangle(0, 0, image0.getWidth(), image0.getHeight()));
-				area.exclusiveOr(new Area(new Rectangle2D.Double(
-						(1.0 - pc) * image0.getWidth() * 0.5,
-						(1.0 - pc) * image0.getHeight() * 0.5,
-						pc * image0.getWidth(),
-						pc * image0.getHeight())));
-				g2d.setClip(area);
+				g2d.setClip(exclusiveOr(image0.getWidth(null), image0.getHeight(null), new Rectangle2D.Double(
+						(1.0 - pc) * image0.getWidth(null) * 0.5,
+						(1.0 - pc) * image0.getHeight(null) * 0.5,
+						pc * image0.getWidth(null),
+						pc * image0.getHeight(null))));
 			}
 			g2d.drawImage(image0, 0, 0, null);
 			// restore the old clip
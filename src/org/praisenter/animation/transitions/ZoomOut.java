@@ -25,17 +25,15 @@
 package org.praisenter.animation.transitions;
 
 import java.awt.Graphics2D;
-import java.awt.Rectangle;
+import java.awt.Image;
 import java.awt.Shape;
-import java.awt.geom.Area;
 import java.awt.geom.Rectangle2D;
-import java.awt.image.BufferedImage;
 import java.io.Serializable;
 
 /**
  * Represents a zoom-out {@link Transition}.
  * @author William Bittle
- * @version 2.0.3
+ * @version 2.0.4
  * @since 2.0.3
  */
 public class ZoomOut extends AbstractTransition implements Transition, Serializable {
@@ -62,21 +60,19 @@ public class ZoomOut extends AbstractTransition implements Transition, Serializa
 	}
 	
 	/* (non-Javadoc)
-	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.image.BufferedImage, java.awt.image.BufferedImage, double)
+	 * @see org.praisenter.transitions.Transition#render(java.awt.Graphics2D, java.awt.Image, java.awt.Image, double)
 	 */
 	@Override
-	public void render(Graphics2D g2d, BufferedImage image0, BufferedImage image1, double pc) {
+	public void render(Graphics2D g2d, Image image0, Image image1, double pc) {
 		// clamp the percentage
 		pc = clamp((float)pc, 0.0f, 1.0f);
 		if (this.type == TransitionType.IN) {
 			Shape clip = g2d.getClip();
-			Area area = new Area(new Rectangle(0, 0, image1.getWidth(), image1.getHeight()));
-			area.exclusiveOr(new Area(new Rectangle2D.Double(
-					image1.getWidth() * 0.5 * pc,
-					image1.getHeight() * 0.5 * pc,
-					image1.getWidth() * (1.0 - pc),
-					image1.getHeight() * (1.0 - pc))));
-			g2d.setClip(area);
+			g2d.setClip(exclusiveOr(image1.getWidth(null), image1.getHeight(null), new Rectangle2D.Double(
+					image1.getWidth(null) * 0.5 * pc,
+					image1.getHeight(null) * 0.5 * pc,
+					image1.getWidth(null) * (1.0 - pc),
+					image1.getHeight(null) * (1.0 - pc))));
 			// draw the new behind the old
 			g2d.drawImage(image1, 0, 0, null);
 			g2d.setClip(clip);
@@ -84,19 +80,19 @@ public class ZoomOut extends AbstractTransition implements Transition, Serializa
 			if (pc > 0.0) {
 				g2d.drawImage(
 						image0, 
-						(int)Math.floor(image0.getWidth() * 0.5 * pc), 
-						(int)Math.floor(image0.getHeight() * 0.5 * pc),
-						(int)Math.floor(image0.getWidth() * (1.0 - pc)), 
-						(int)Math.floor(image0.getHeight() * (1.0 - pc)),
+						(int)Math.floor(image0.getWidth(null) * 0.5 * pc), 
+						(int)Math.floor(image0.getHeight(null) * 0.5 * pc),
+						(int)Math.floor(image0.getWidth(null) * (1.0 - pc)), 
+						(int)Math.floor(image0.getHeight(null) * (1.0 - pc)),
 						null);
 			}
 		} else {
 			g2d.drawImage(
 					image0, 
-					(int)Math.floor(image0.getWidth() * 0.5 * pc), 
-					(int)Math.floor(image0.getHeight() * 0.5 * pc),
-					(int)Math.floor(image0.getWidth() * (1.0 - pc)), 
-					(int)Math.floor(image0.getHeight() * (1.0 - pc)),
+					(int)Math.floor(image0.getWidth(null) * 0.5 * pc), 
+					(int)Math.floor(image0.getHeight(null) * 0.5 * pc),
+					(int)Math.floor(image0.getWidth(null) * (1.0 - pc)), 
+					(int)Math.floor(image0.getHeight(null) * (1.0 - pc)),
 					null);
 		}
 	}
@@ -28,12 +28,16 @@ import java.awt.Container;
 import java.awt.Dialog.ModalityType;
 import java.awt.Dimension;
 import java.awt.Font;
+import java.awt.Graphics2D;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.awt.image.BufferedImage;
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.text.MessageFormat;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.mail.MessagingException;
 import javax.swing.GroupLayout;
@@ -73,18 +77,24 @@ import org.praisenter.slide.SlideLibrary;
 /**
  * Dialog used to pre-load application resources like fonts.
  * @author William Bittle
- * @version 2.0.0
+ * @version 2.0.4
  * @since 1.0.0
  */
 public final class ApplicationLoader implements ProgressListener {
 	/** The class level logger */
 	private static final Logger LOGGER = Logger.getLogger(ApplicationLoader.class);
+	
+	/** The maximum number of threads used to preload fonts */
+	private static final int MAXIMUM_FONT_PRELOAD_THREADS = 4;
+	
+	/** The time between progress updates while preloading fonts in milliseconds */
+	private static final int FONT_PRELOAD_PROGRESS_INTERVAL = 50;
 			
 	/** The loading dialog */
 	private JDialog dialog;
 	
 	/** True if the preload thread should stop */
-	private boolean stop;
+	private volatile boolean stop;
 	
 	/** Progress bar for loading */
 	private JProgressBar barProgress;
@@ -452,28 +462,64 @@ public final class ApplicationLoader implements ProgressListener {
 	 * <p>
 	 * Getting the fonts or font family names from the graphics environment does not load everything.
 	 * This causes a slow down in the first window that displays the fonts.  To pre-load the fonts the
-	 * font must be placed on a visible component and rendered.  This method will set the font of the
-	 * {@link #lblLoadingText} label to each font on the system and will wait for the label to be
-	 * repainted before continuing to the next font.
+	 * font must be rendered.  This method renders the name of each font family on the system with
+	 * its font to an image using a small number of threads.  The {@link #lblLoadingText} label shows
+	 * the most recently loaded font as the fonts are loaded.
+	 * <p>
+	 * The glyph coverage saved by the last run and the fallback font families are also loaded here
+	 * and any newly computed coverage is saved afterwards.
 	 */
 	private void preloadFonts() {
 		updateProgress(true, MessageFormat.format(Messages.getString("dialog.preload.fonts.label"), FontManager.getFontFamilyNames().length));
 		// this will load the font family names
 		String[] families = FontManager.getFontFamilyNames();
+		
+		// load the glyph coverage from the last run
+		try {
+			FontManager.loadGlyphCoverage(Constants.FONT_COVERAGE_FILE_PATH);
+		} catch (IOException e) {
+			LOGGER.warn("Unable to load the glyph coverage file: ", e);
+		}
+		// set the fallback fonts
+		FontManager.setFallbackFontFamilies(Preferences.getInstance().getSlidePreferences().getFallbackFontFamilies());
+		
 		// get the default label font size
 		Font defaultFont = FontManager.getDefaultFont();
 		int size = defaultFont.getSize();
-		// loop over the fonts and create them
+		
+		// start the threads
+		int n = Math.max(1, Math.min(MAXIMUM_FONT_PRELOAD_THREADS, Runtime.getRuntime().availableProcessors()));
+		AtomicInteger next = new AtomicInteger();
+		AtomicInteger loaded = new AtomicInteger();
+		FontPreloadThread[] threads = new FontPreloadThread[n];
+		for (int i = 0; i < n; i++) {
+			threads[i] = new FontPreloadThread(families, size, next, loaded);
+			threads[i].start();
+		}
+		
+		// update the progress until all the threads have finished
 		double max = families.length;
-		double cur = 0.0;
-		for (String family : families) {
-			// get the font from the font manager
-			Font font = FontManager.getFont(family, Font.PLAIN, size);
-			cur++;
-			// update the progress bar on the EDT
-			updateProgress(true, (int)Math.floor(cur / max * 100), font);
-			// check if we need to stop
-			if (this.stop) break;
+		for (FontPreloadThread thread : threads) {
+			while (thread.isAlive()) {
+				try {
+					thread.join(FONT_PRELOAD_PROGRESS_INTERVAL);
+				} catch (InterruptedException e) {
+					this.stop = true;
+				}
+				// update the progress bar on the EDT (without waiting
+				// so that the threads don't wait on the EDT)
+				Font font = thread.font;
+				if (font != null) {
+					updateProgress(false, (int)Math.floor(loaded.get() / max * 100), font);
+				}
+			}
+		}
+		
+		// save any coverage computed while preloading
+		try {
+			FontManager.saveGlyphCoverage(Constants.FONT_COVERAGE_FILE_PATH);
+		} catch (IOException e) {
+			LOGGER.warn("Unable to save the glyph coverage file: ", e);
 		}
 		updateProgress(true, 100, FontManager.getDefaultFont());
 	}
@@ -685,4 +731,79 @@ public final class ApplicationLoader implements ProgressListener {
 			lblLoadingText.setText(text);
 		}
 	}
+	
+	/**
+	 * Thread used to preload fonts.
+	 * <p>
+	 * Multiple threads can share the same list of font families.  Each thread
+	 * loads the next family that hasn't been loaded until all the families have
+	 * been loaded or the loading is stopped.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private class FontPreloadThread extends Thread {
+		/** The font families */
+		protected final String[] families;
+		
+		/** The font size to load */
+		protected final int size;
+		
+		/** The index of the next family to load */
+		protected final AtomicInteger next;
+		
+		/** The number of families loaded */
+		protected final AtomicInteger loaded;
+		
+		/** The last font loaded by this thread */
+		protected volatile Font font;
+		
+		/**
+		 * Full constructor.
+		 * @param families the font families
+		 * @param size the font size to load
+		 * @param next the index of the next family to load
+		 * @param loaded the number of families loaded
+		 */
+		public FontPreloadThread(String[] families, int size, AtomicInteger next, AtomicInteger loaded) {
+			super("FontPreloadThread");
+			this.setDaemon(true);
+			this.families = families;
+			this.size = size;
+			this.next = next;
+			this.loaded = loaded;
+			this.font = null;
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.lang.Thread#run()
+		 */
+		@Override
+		public void run() {
+			// the image used to render the font family names
+			BufferedImage image = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g2d = image.createGraphics();
+			try {
+				int i = 0;
+				while (!stop && (i = this.next.getAndIncrement()) < this.families.length) {
+					String family = this.families[i];
+					try {
+						// get the font from the font manager
+						Font font = FontManager.getFont(family, Font.PLAIN, this.size);
+						// render the family name with the font the same way the font lists do
+						if (FontManager.isPreviewable(family, this.size)) {
+							g2d.setFont(font);
+							g2d.drawString(family, 0, 0);
+						}
+						this.font = font;
+					} catch (Exception e) {
+						LOGGER.warn("Failed to preload font family [" + family + "]: ", e);
+					}
+					this.loaded.incrementAndGet();
+				}
+			} finally {
+				g2d.dispose();
+			}
+		}
+	}
 }
@@ -60,6 +60,9 @@ public final class Constants {
 	/** The log4j configuration file name and path */
 	public static final String LOG4J_FILE_PATH = CONFIGURATION_FILE_LOCATION + SEPARATOR + LOG4J_FILE_NAME;
 	
+	/** The glyph coverage cache file name and path */
+	public static final String FONT_COVERAGE_FILE_PATH = CONFIGURATION_FILE_LOCATION + SEPARATOR + "_fontcoverage.dat";
+	
 	/** The log file folder */
 	public static final String LOG_FILE_LOCATION = BASE_PATH + SEPARATOR + "logs";
 	
@@ -40,6 +40,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.List;
 
+import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JMenu;
@@ -59,7 +60,10 @@ import org.praisenter.application.errors.ui.ExceptionDialog;
 import org.praisenter.application.icons.Icons;
 import org.praisenter.application.media.ui.MediaLibraryDialog;
 import org.praisenter.application.notification.ui.NotificationPanel;
+import org.praisenter.application.preferences.Preferences;
+import org.praisenter.application.preferences.RemoteControlPreferences;
 import org.praisenter.application.preferences.ui.PreferencesDialog;
+import org.praisenter.application.remote.RemoteControlServer;
 import org.praisenter.application.resources.Messages;
 import org.praisenter.application.slide.ui.SlideLibraryDialog;
 import org.praisenter.application.slide.ui.SlidePanel;
@@ -71,6 +75,7 @@ import org.praisenter.application.ui.SystemDialog;
 import org.praisenter.application.ui.TaskProgressDialog;
 import org.praisenter.application.ui.ValidateFileChooser;
 import org.praisenter.common.threading.AbstractTask;
+import org.praisenter.common.utilities.FontManager;
 import org.praisenter.data.DataException;
 import org.praisenter.data.errors.ErrorMessage;
 import org.praisenter.data.errors.Errors;
@@ -79,7 +84,7 @@ import org.praisenter.presentation.PresentationManager;
 /**
  * Main window for the Praisenter application.
  * @author William Bittle
- * @version 2.0.2
+ * @version 2.0.4
  * @since 1.0.0
  */
 public class Praisenter extends JFrame implements ActionListener, PropertyChangeListener {
@@ -111,6 +116,11 @@ public class Praisenter extends JFrame implements ActionListener, PropertyChange
 	/** The song panel */
 	private SongsPanel pnlSongs;
 	
+	// remote control
+	
+	/** The remote control server */
+	private RemoteControlServer remoteControlServer;
+	
 	/**
 	 * Default constructor.
 	 */
@@ -244,6 +254,21 @@ public class Praisenter extends JFrame implements ActionListener, PropertyChange
 					mnuLogs.addActionListener(this);
 					mnuHelp.add(mnuLogs);
 				}
+				
+				mnuHelp.addSeparator();
+				
+				// performance overlay menu
+				JCheckBoxMenuItem mnuOverlay = new JCheckBoxMenuItem(Messages.getString("menu.help.overlay"));
+				mnuOverlay.setSelected(PresentationManager.getInstance().isPerformanceOverlayEnabled());
+				mnuOverlay.setActionCommand("overlay");
+				mnuOverlay.addActionListener(this);
+				mnuHelp.add(mnuOverlay);
+				
+				// frame telemetry menu
+				JMenuItem mnuTelemetry = new JMenuItem(Messages.getString("menu.help.telemetry"));
+				mnuTelemetry.setActionCommand("telemetry");
+				mnuTelemetry.addActionListener(this);
+				mnuHelp.add(mnuTelemetry);
 
 				mnuHelp.addSeparator();
 				
@@ -268,8 +293,16 @@ public class Praisenter extends JFrame implements ActionListener, PropertyChange
 		this.addWindowListener(new java.awt.event.WindowAdapter() {
 			@Override
 			public void windowClosing(WindowEvent e) {
+				// stop accepting remote control commands
+				remoteControlServer.stop();
 				// dispose of the presentation manager
 				PresentationManager.getInstance().dispose();
+				// save the glyph coverage computed during this run
+				try {
+					FontManager.saveGlyphCoverage(Constants.FONT_COVERAGE_FILE_PATH);
+				} catch (IOException ex) {
+					LOGGER.warn("Unable to save the glyph coverage file: ", ex);
+				}
 			}
 			@Override
 			public void windowClosed(WindowEvent e) {
@@ -316,6 +349,10 @@ public class Praisenter extends JFrame implements ActionListener, PropertyChange
 		
 		// put the window in the middle of the primary display
 		this.setLocationRelativeTo(null);
+		
+		// start the remote control server (if enabled)
+		this.remoteControlServer = new RemoteControlServer();
+		this.updateRemoteControlServer();
 	}
 	
 	/* (non-Javadoc)
@@ -335,6 +372,7 @@ public class Praisenter extends JFrame implements ActionListener, PropertyChange
 				this.pnlSlides.preferencesChanged();
 				this.pnlBible.preferencesChanged();
 				this.pnlSongs.preferencesChanged();
+				this.updateRemoteControlServer();
 			}
 		} else if ("size".equals(command)) {
 			this.showCurrentWindowSize();
@@ -364,6 +402,11 @@ public class Praisenter extends JFrame implements ActionListener, PropertyChange
 			}
 		} else if ("errors".equals(command)) {
 			this.exportSavedErrorReports();
+		} else if ("overlay".equals(command)) {
+			JCheckBoxMenuItem item = (JCheckBoxMenuItem)event.getSource();
+			PresentationManager.getInstance().setPerformanceOverlayEnabled(item.isSelected());
+		} else if ("telemetry".equals(command)) {
+			this.exportFrameTelemetry();
 		} else if ("formats".equals(command)) {
 			FormatsDialog.show(this);
 		} else if ("logs".equals(command)) {
@@ -393,6 +436,7 @@ public class Praisenter extends JFrame implements ActionListener, PropertyChange
 			this.pnlSlides.slideLibraryChanged();
 			this.pnlBible.slideLibraryChanged();
 			this.pnlSongs.slideLibraryChanged();
+			this.remoteControlServer.reset();
 		}
 	}
 	
@@ -472,6 +516,69 @@ public class Praisenter extends JFrame implements ActionListener, PropertyChange
 				JOptionPane.INFORMATION_MESSAGE);
 	}
 	
+	/**
+	 * Starts, restarts or stops the remote control server based on the preferences.
+	 */
+	private void updateRemoteControlServer() {
+		RemoteControlPreferences preferences = Preferences.getInstance().getRemoteControlPreferences();
+		// always stop it since the address, port or templates may have changed
+		this.remoteControlServer.stop();
+		this.remoteControlServer.reset();
+		if (preferences.isEnabled()) {
+			try {
+				this.remoteControlServer.start(preferences.getAddress(), preferences.getPort());
+			} catch (IOException e) {
+				LOGGER.error("Unable to start the remote control server on [" + preferences.getAddress() + ":" + preferences.getPort() + "]: ", e);
+			}
+		}
+	}
+	
+	/**
+	 * Exports the frame telemetry of the presentation windows to a user selected CSV file.
+	 */
+	private void exportFrameTelemetry() {
+		JFileChooser fileBrowser = new ValidateFileChooser();
+		fileBrowser.setMultiSelectionEnabled(false);
+		fileBrowser.setDialogTitle(Messages.getString("dialog.export.telemetry.title"));
+		fileBrowser.setSelectedFile(new File(Messages.getString("dialog.export.telemetry.defaultFileName")));
+		
+		int option = fileBrowser.showSaveDialog(this);
+		// check the option
+		if (option == JFileChooser.APPROVE_OPTION) {
+			final File file = fileBrowser.getSelectedFile();
+			// create a new file task
+			AbstractTask task = new AbstractTask() {
+				@Override
+				public void run() {
+					try {
+						PresentationManager.getInstance().exportFrameTelemetry(file);
+						this.setSuccessful(true);
+					} catch (Exception ex) {
+						this.handleException(ex);
+					}
+				}
+			};
+			
+			// run the task
+			TaskProgressDialog.show(this, Messages.getString("exporting"), task);
+			
+			// check the task result
+			if (task.isSuccessful()) {
+				JOptionPane.showMessageDialog(this, 
+						Messages.getString("dialog.export.telemetry.success.text"), 
+						Messages.getString("dialog.export.telemetry.success.title"), 
+						JOptionPane.INFORMATION_MESSAGE);
+			} else {
+				Exception ex = task.getException();
+				ExceptionDialog.show(this, 
+						Messages.getString("dialog.export.telemetry.error.title"), 
+						Messages.getString("dialog.export.telemetry.error.text"), 
+						ex);
+				LOGGER.error("An error occurred while exporting the frame telemetry:", ex);
+			}
+		}
+	}
+	
 	/**
 	 * Saves any saved error reports into the user selected file.
 	 */
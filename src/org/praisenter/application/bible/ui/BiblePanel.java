@@ -123,7 +123,7 @@ import org.praisenter.slide.text.TextComponent;
 /**
  * Panel for bible lookup and searching.
  * @author William Bittle
- * @version 2.0.1
+ * @version 2.0.4
  * @since 1.0.0
  */
 public class BiblePanel extends OpaquePanel implements ActionListener, ItemListener, PreferencesListener, SlideLibraryListener {
@@ -213,6 +213,12 @@ public class BiblePanel extends OpaquePanel implements ActionListener, ItemListe
 	/** This is used to store the previously selected template */
 	private Object previouslySelectedTemplate;
 	
+	/** The preview slide that was last staged */
+	private Slide stagedSource;
+	
+	/** The copy of the staged preview slide that will be sent */
+	private Slide stagedSlide;
+	
 	// preferences 
 	
 	/** A local reference to the preferences */
@@ -1516,11 +1522,54 @@ public class BiblePanel extends OpaquePanel implements ActionListener, ItemListe
 		Easing easing = Easings.getEasingForId(this.bPreferences.getSendTransitionEasingId());
 		TransitionAnimator animator = new TransitionAnimator(transition, duration, delay, easing);
 		Slide slide = this.pnlPreview.getSlide(1);
-		slide = slide.copy();
+		// copy the slide (or use the copy that was staged for it)
+		if (slide == this.stagedSource) {
+			slide = this.stagedSlide;
+		} else {
+			slide = slide.copy();
+		}
+		this.stagedSource = null;
+		this.stagedSlide = null;
 		// get the configuration
 		PresentationEventConfiguration configuration = this.preferences.getPresentationEventConfiguration(PresentationWindowType.FULLSCREEN);
 		// execute a new send event to the primary fullscreen display
 		PresentationManager.getInstance().execute(new SendEvent(configuration, animator, slide));
+		// the next verse is the most likely to be sent next
+		this.stageSlide(this.pnlPreview.getSlide(2));
+	}
+	
+	/**
+	 * Stages a copy of the given preview slide on the primary display.
+	 * <p>
+	 * The copy is kept so that it can be sent if the given slide is sent next.  If
+	 * the preview slide is modified before then, the copy is discarded.
+	 * @param slide the preview slide to stage
+	 * @since 2.0.4
+	 */
+	private void stageSlide(Slide slide) {
+		// check if its already staged
+		if (slide == null || slide == this.stagedSource) {
+			return;
+		}
+		Slide copy = slide.copy();
+		// get the configuration
+		PresentationEventConfiguration configuration = this.preferences.getPresentationEventConfiguration(PresentationWindowType.FULLSCREEN);
+		// stage the slide on the primary fullscreen display (the transition is chosen when its sent)
+		PresentationManager.getInstance().stage(new SendEvent(configuration, null, copy));
+		this.stagedSource = slide;
+		this.stagedSlide = copy;
+	}
+	
+	/**
+	 * Discards the staged copy of the given preview slide if the slide is being modified.
+	 * @param slide the preview slide
+	 * @since 2.0.4
+	 */
+	private void unstageSlide(Slide slide) {
+		if (slide == this.stagedSource) {
+			this.stagedSource = null;
+			this.stagedSlide = null;
+		}
 	}
 	
 	/**
@@ -1545,6 +1594,8 @@ public class BiblePanel extends OpaquePanel implements ActionListener, ItemListe
 	 * @param slide the slide
 	 */
 	private void setVerse(Verse verse, BibleSlide slide) {
+		this.unstageSlide(slide);
+		
 		String location = MessageFormat.format(Messages.getString("panel.bible.verse.location.pattern"), verse.getBook().getName(), verse.getChapter(), verse.getVerse());
 		slide.setName(location);
 		
@@ -1562,6 +1613,8 @@ public class BiblePanel extends OpaquePanel implements ActionListener, ItemListe
 	 * @param slide the slide
 	 */
 	private void setVerse(Verse verse1, Verse verse2, BibleSlide slide) {
+		this.unstageSlide(slide);
+		
 		String location = MessageFormat.format(Messages.getString("panel.bible.verse.location.pattern"), verse1.getBook().getName(), verse1.getChapter(), verse1.getVerse());
 		slide.setName(location);
 		
@@ -1577,6 +1630,7 @@ public class BiblePanel extends OpaquePanel implements ActionListener, ItemListe
 	 * @param slide the slide
 	 */
 	private void clearVerse(BibleSlide slide) {
+		this.unstageSlide(slide);
 		slide.setName("");
 		slide.getScriptureLocationComponent().setText("");
 		slide.getScriptureTextComponent().setText("");
@@ -1651,6 +1705,9 @@ public class BiblePanel extends OpaquePanel implements ActionListener, ItemListe
 
 		// repaint the preview
 		this.pnlPreview.repaint();
+		
+		// the current verse is the most likely to be sent next
+		this.stageSlide(sCurrent);
 	}
 	
 	/**
@@ -1681,6 +1738,10 @@ public class BiblePanel extends OpaquePanel implements ActionListener, ItemListe
 //			this.pnlPreview.getSlide(2).setName(Messages.getString("panel.bible.preview.next"));
 		}
 		
+		// the new current verse is the most likely to be sent next (its not
+		// modified below so it can be staged now)
+		this.stageSlide(this.pnlPreview.getSlide(1));
+		
 		// check for null
 		if (verse == null) {
 			// clear the verse
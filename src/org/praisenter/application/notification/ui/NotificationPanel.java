@@ -39,6 +39,7 @@ import java.util.List;
 
 import javax.swing.GroupLayout;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
 import javax.swing.JFormattedTextField;
 import javax.swing.JPanel;
@@ -69,18 +70,20 @@ import org.praisenter.presentation.PresentationEventConfiguration;
 import org.praisenter.presentation.PresentationManager;
 import org.praisenter.presentation.PresentationWindowType;
 import org.praisenter.presentation.SendWaitClearEvent;
+import org.praisenter.presentation.Ticker;
+import org.praisenter.presentation.TickerEvent;
 import org.praisenter.slide.NotificationSlide;
 import org.praisenter.slide.NotificationSlideTemplate;
-import org.praisenter.slide.Slide;
 import org.praisenter.slide.SlideFile;
 import org.praisenter.slide.SlideLibrary;
 import org.praisenter.slide.SlideLibraryException;
 import org.praisenter.slide.SlideThumbnail;
+import org.praisenter.slide.text.TextComponent;
 
 /**
  * Panel used to send notifications.
  * @author William Bittle
- * @version 2.0.1
+ * @version 2.0.4
  * @since 1.0.0
  */
 public class NotificationPanel extends JPanel implements ActionListener, ItemListener, PreferencesListener, SlideLibraryListener {
@@ -118,6 +121,15 @@ public class NotificationPanel extends JPanel implements ActionListener, ItemLis
 	/** The out transition duration */
 	private JFormattedTextField txtOutTransition;
 	
+	/** The ticker checkbox */
+	private JCheckBox chkTicker;
+	
+	/** The ticker speed */
+	private JFormattedTextField txtTickerSpeed;
+	
+	/** The number of times the ticker scrolls the text */
+	private JFormattedTextField txtTickerLoopCount;
+	
 	/** The send button */
 	private JButton btnSend;
 	
@@ -217,6 +229,22 @@ public class NotificationPanel extends JPanel implements ActionListener, ItemLis
 			this.txtOutTransition.setEnabled(false);
 		}
 		
+		this.chkTicker = new JCheckBox(Messages.getString("panel.notification.ticker"));
+		this.chkTicker.setToolTipText(Messages.getString("panel.notification.ticker.tooltip"));
+		this.chkTicker.addItemListener(this);
+		this.txtTickerSpeed = new JFormattedTextField(new DecimalFormat("0"));
+		this.txtTickerSpeed.addFocusListener(new SelectTextFocusListener(this.txtTickerSpeed));
+		this.txtTickerSpeed.setToolTipText(Messages.getString("panel.notification.ticker.speed.tooltip"));
+		this.txtTickerSpeed.setValue(this.nPreferences.getTickerSpeed());
+		this.txtTickerSpeed.setColumns(3);
+		this.txtTickerSpeed.setEnabled(false);
+		this.txtTickerLoopCount = new JFormattedTextField(new DecimalFormat("0"));
+		this.txtTickerLoopCount.addFocusListener(new SelectTextFocusListener(this.txtTickerLoopCount));
+		this.txtTickerLoopCount.setToolTipText(Messages.getString("panel.notification.ticker.loops.tooltip"));
+		this.txtTickerLoopCount.setValue(this.nPreferences.getTickerLoopCount());
+		this.txtTickerLoopCount.setColumns(2);
+		this.txtTickerLoopCount.setEnabled(false);
+		
 		this.btnSend = new JButton(Messages.getString("panel.notification.send"));
 		this.btnSend.setToolTipText(Messages.getString("panel.notification.send.tooltip"));
 		this.btnSend.addActionListener(this);
@@ -242,7 +270,10 @@ public class NotificationPanel extends JPanel implements ActionListener, ItemLis
 								.addComponent(this.cmbInTransition, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
 								.addComponent(this.txtInTransition, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
 								.addComponent(this.cmbOutTransition, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
-								.addComponent(this.txtOutTransition, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)))
+								.addComponent(this.txtOutTransition, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
+								.addComponent(this.chkTicker)
+								.addComponent(this.txtTickerSpeed, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
+								.addComponent(this.txtTickerLoopCount, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)))
 				.addGroup(layout.createParallelGroup()
 						.addComponent(this.btnSend)
 						.addComponent(this.btnClear)));
@@ -257,6 +288,9 @@ public class NotificationPanel extends JPanel implements ActionListener, ItemLis
 						.addComponent(this.txtInTransition, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
 						.addComponent(this.cmbOutTransition, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
 						.addComponent(this.txtOutTransition, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
+						.addComponent(this.chkTicker)
+						.addComponent(this.txtTickerSpeed, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
+						.addComponent(this.txtTickerLoopCount, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
 						.addComponent(this.btnClear, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)));
 	}
 	
@@ -361,6 +395,14 @@ public class NotificationPanel extends JPanel implements ActionListener, ItemLis
 	 */
 	@Override
 	public void itemStateChanged(ItemEvent e) {
+		if (e.getSource() == this.chkTicker) {
+			// the ticker's wait period is the time it takes to scroll the text
+			boolean ticker = this.chkTicker.isSelected();
+			this.txtWaitPeriod.setEnabled(!ticker);
+			this.txtTickerSpeed.setEnabled(ticker);
+			this.txtTickerLoopCount.setEnabled(ticker);
+			return;
+		}
 		// on deselection of a template, set the previously selected
 		// template.  This is useful for when the user selects the
 		// "Manage Templates.." option.  We will swap back the selected
@@ -497,7 +539,7 @@ public class NotificationPanel extends JPanel implements ActionListener, ItemLis
 				// set the text on the slide
 				this.slide.getTextComponent().setText(text);
 				// copy the slide
-				Slide slide = this.slide.copy();
+				NotificationSlide slide = this.slide.copy();
 				int delay = this.preferences.getTransitionDelay();
 				// create the transition animators
 				TransitionAnimator in = new TransitionAnimator(
@@ -510,12 +552,24 @@ public class NotificationPanel extends JPanel implements ActionListener, ItemLis
 						((Number)this.txtOutTransition.getValue()).intValue(),
 						delay,
 						Easings.getEasingForId(this.nPreferences.getClearTransitionEasingId()));
-				// get the wait duration
-				int wait = ((Number)this.txtWaitPeriod.getValue()).intValue();
 				// get the configuration
 				PresentationEventConfiguration configuration = this.preferences.getPresentationEventConfiguration(PresentationWindowType.WINDOWED);
-				// execute a new send event to the primary fullscreen display
-				PresentationManager.getInstance().execute(new SendWaitClearEvent(configuration, in, slide, out, wait));
+				if (this.chkTicker.isSelected()) {
+					// the ticker scrolls the text so the slide shouldn't render it
+					TextComponent component = slide.getTextComponent();
+					Ticker ticker = new Ticker(
+							component.copy(),
+							((Number)this.txtTickerSpeed.getValue()).intValue(),
+							((Number)this.txtTickerLoopCount.getValue()).intValue());
+					component.setTextVisible(false);
+					// execute a new ticker event to the primary fullscreen display
+					PresentationManager.getInstance().execute(new TickerEvent(configuration, in, slide, out, ticker));
+				} else {
+					// get the wait duration
+					int wait = ((Number)this.txtWaitPeriod.getValue()).intValue();
+					// execute a new send event to the primary fullscreen display
+					PresentationManager.getInstance().execute(new SendWaitClearEvent(configuration, in, slide, out, wait));
+				}
 			}
 		} else if ("clear".equals(command)) {
 			// create the out transition animator
@@ -32,11 +32,12 @@ import javax.xml.bind.annotation.XmlRootElement;
 import org.praisenter.animation.easings.CubicEasing;
 import org.praisenter.animation.transitions.PushDown;
 import org.praisenter.animation.transitions.VerticalSplitCollapse;
+import org.praisenter.presentation.PresentationQueuePolicy;
 
 /**
  * Class used to store notification preferences.
  * @author William Bittle
- * @version 2.0.0
+ * @version 2.0.4
  * @since 2.0.0
  */
 @XmlRootElement(name = "NotificationPreferences")
@@ -79,6 +80,22 @@ public class NotificationPreferences {
 	/** The clear transition easing id */
 	@XmlElement(name = "ClearTransitionEasingId", required = true, nillable = false)
 	protected int clearTransitionEasingId;
+	
+	// queue
+	
+	/** How notifications queued while a transition is in progress are handled */
+	@XmlElement(name = "QueuePolicy", required = false, nillable = true)
+	protected PresentationQueuePolicy queuePolicy;
+	
+	// ticker
+	
+	/** The default ticker speed in pixels per second */
+	@XmlElement(name = "TickerSpeed", required = false, nillable = false)
+	protected int tickerSpeed;
+	
+	/** The default number of times the ticker scrolls the text; zero to scroll until cleared */
+	@XmlElement(name = "TickerLoopCount", required = false, nillable = false)
+	protected int tickerLoopCount;
 
 	/** Default constructor. */
 	protected NotificationPreferences() {
@@ -92,6 +109,11 @@ public class NotificationPreferences {
 		this.clearTransitionId = VerticalSplitCollapse.ID;
 		this.clearTransitionDuration = 300;
 		this.clearTransitionEasingId = CubicEasing.ID;
+		
+		this.queuePolicy = PresentationQueuePolicy.LATEST;
+		
+		this.tickerSpeed = 150;
+		this.tickerLoopCount = 2;
 	}
 	
 	/**
@@ -225,4 +247,67 @@ public class NotificationPreferences {
 	public void setClearTransitionEasingId(int clearTransitionEasingId) {
 		this.clearTransitionEasingId = clearTransitionEasingId;
 	}
+	
+	// queue
+	
+	/**
+	 * Returns how notifications queued while a transition is in progress are handled.
+	 * @return {@link PresentationQueuePolicy}
+	 * @since 2.0.4
+	 */
+	public PresentationQueuePolicy getQueuePolicy() {
+		if (this.queuePolicy == null) {
+			return PresentationQueuePolicy.LATEST;
+		}
+		return this.queuePolicy;
+	}
+	
+	/**
+	 * Sets how notifications queued while a transition is in progress are handled.
+	 * @param queuePolicy the queue policy
+	 * @since 2.0.4
+	 */
+	public void setQueuePolicy(PresentationQueuePolicy queuePolicy) {
+		this.queuePolicy = queuePolicy;
+	}
+	
+	// ticker
+	
+	/**
+	 * Returns the default ticker speed in pixels per second.
+	 * @return int
+	 * @since 2.0.4
+	 */
+	public int getTickerSpeed() {
+		return this.tickerSpeed;
+	}
+	
+	/**
+	 * Sets the default ticker speed.
+	 * @param tickerSpeed the speed in pixels per second
+	 * @since 2.0.4
+	 */
+	public void setTickerSpeed(int tickerSpeed) {
+		this.tickerSpeed = tickerSpeed;
+	}
+	
+	/**
+	 * Returns the default number of times the ticker scrolls the text.
+	 * <p>
+	 * Zero means the text scrolls until the notification is cleared.
+	 * @return int
+	 * @since 2.0.4
+	 */
+	public int getTickerLoopCount() {
+		return this.tickerLoopCount;
+	}
+	
+	/**
+	 * Sets the default number of times the ticker scrolls the text.
+	 * @param tickerLoopCount the loop count; zero to scroll until cleared
+	 * @since 2.0.4
+	 */
+	public void setTickerLoopCount(int tickerLoopCount) {
+		this.tickerLoopCount = tickerLoopCount;
+	}
 }
@@ -28,11 +28,14 @@ import java.awt.Dimension;
 import java.awt.GraphicsDevice;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
@@ -43,13 +46,14 @@ import org.praisenter.common.utilities.WindowUtilities;
 import org.praisenter.common.xml.DimensionTypeAdapter;
 import org.praisenter.common.xml.XmlIO;
 import org.praisenter.presentation.PresentationEventConfiguration;
+import org.praisenter.presentation.PresentationQueuePolicy;
 import org.praisenter.presentation.PresentationWindowType;
 import org.praisenter.slide.graphics.RenderQualities;
 
 /**
  * Class used to store application preferences.
  * @author William Bittle
- * @version 2.0.1
+ * @version 2.0.4
  * @since 2.0.0
  */
 @XmlRootElement(name = "Preferences")
@@ -72,6 +76,11 @@ public class Preferences {
 	@XmlJavaTypeAdapter(DimensionTypeAdapter.class)
 	protected Dimension primaryDeviceResolution;
 	
+	/** The string ids of the devices that mirror the primary device */
+	@XmlElementWrapper(name = "MirrorDeviceIds", required = false, nillable = true)
+	@XmlElement(name = "DeviceId", required = false)
+	protected List<String> mirrorDeviceIds;
+	
 	/** True if smart video transitions should be enabled */
 	@XmlElement(name = "SmartVideoTransitionsEnabled", required = true, nillable = false)
 	protected boolean smartVideoTransitionsEnabled;
@@ -84,6 +93,10 @@ public class Preferences {
 	@XmlElement(name = "WaitForTransitionEnabled", required = true, nillable = false)
 	protected boolean waitForTransitionEnabled;
 	
+	/** How sends and clears queued while a transition is in progress are handled */
+	@XmlElement(name = "QueuePolicy", required = false, nillable = true)
+	protected PresentationQueuePolicy queuePolicy;
+	
 	// rendering
 
 	/** The overall render quality */
@@ -98,6 +111,19 @@ public class Preferences {
 	@XmlElement(name = "ReadTimeVideoConversionEnabled", required = false, nillable = true)
 	protected boolean readTimeVideoConversionEnabled;
 	
+	/** True if accelerated back buffers should be used by the presentation surfaces */
+	@XmlElement(name = "AcceleratedBuffersEnabled", required = false, nillable = true)
+	protected boolean acceleratedBuffersEnabled;
+	
+	/** True if full-screen windows should use active rendering */
+	@XmlElement(name = "ActiveRenderingEnabled", required = false, nillable = true)
+	protected boolean activeRenderingEnabled;
+	
+	/** The ids of the transitions recommended by the transition benchmark */
+	@XmlElementWrapper(name = "RecommendedTransitionIds", required = false, nillable = true)
+	@XmlElement(name = "TransitionId", required = false)
+	protected List<Integer> recommendedTransitionIds;
+	
 	// other settings
 	
 	/** The bible preferences */
@@ -120,6 +146,10 @@ public class Preferences {
 	@XmlElement(name = "ErrorReportingPreferences", required = true, nillable = false)
 	protected ErrorReportingPreferences errorReportingPreferences;
 	
+	/** The remote control preferences */
+	@XmlElement(name = "RemoteControlPreferences", required = false, nillable = true)
+	protected RemoteControlPreferences remoteControlPreferences;
+	
 	/** The singleton instance */
 	private static Preferences instance;
 	
@@ -129,16 +159,21 @@ public class Preferences {
 		this.renderQualities = new RenderQualities();
 		this.transitionDelay = 20;
 		this.readTimeVideoConversionEnabled = false;
+		this.acceleratedBuffersEnabled = false;
+		this.activeRenderingEnabled = false;
+		this.mirrorDeviceIds = new ArrayList<String>();
 		
 		this.smartVideoTransitionsEnabled = true;
 		this.smartImageTransitionsEnabled = true;
 		this.waitForTransitionEnabled = true;
+		this.queuePolicy = PresentationQueuePolicy.LATEST;
 		
 		this.biblePreferences = new BiblePreferences();
 		this.songPreferences = new SongPreferences();
 		this.slidePreferences = new SlidePreferences();
 		this.notificationPreferences = new NotificationPreferences();
 		this.errorReportingPreferences = new ErrorReportingPreferences();
+		this.remoteControlPreferences = new RemoteControlPreferences();
 	}
 	
 	/**
@@ -222,6 +257,28 @@ public class Preferences {
 	public void setPrimaryDeviceResolution(Dimension primaryDeviceResolution) {
 		this.primaryDeviceResolution = primaryDeviceResolution;
 	}
+	
+	/**
+	 * Returns the ids of the devices that mirror the primary device.
+	 * @return List&lt;String&gt;
+	 * @since 2.0.4
+	 */
+	public List<String> getMirrorDeviceIds() {
+		// older configuration files won't have this
+		if (this.mirrorDeviceIds == null) {
+			this.mirrorDeviceIds = new ArrayList<String>();
+		}
+		return this.mirrorDeviceIds;
+	}
+	
+	/**
+	 * Sets the ids of the devices that mirror the primary device.
+	 * @param deviceIds the device ids
+	 * @since 2.0.4
+	 */
+	public void setMirrorDeviceIds(List<String> deviceIds) {
+		this.mirrorDeviceIds = deviceIds;
+	}
 
 	// render quality
 	
@@ -269,6 +326,63 @@ public class Preferences {
 		this.readTimeVideoConversionEnabled = flag;
 	}
 	
+	/**
+	 * Returns true if accelerated back buffers should be used.
+	 * @return boolean
+	 * @since 2.0.4
+	 */
+	public boolean isAcceleratedBuffersEnabled() {
+		return this.acceleratedBuffersEnabled;
+	}
+	
+	/**
+	 * Toggles the use of accelerated back buffers.
+	 * @param flag true if accelerated back buffers should be used
+	 * @since 2.0.4
+	 */
+	public void setAcceleratedBuffersEnabled(boolean flag) {
+		this.acceleratedBuffersEnabled = flag;
+	}
+	
+	/**
+	 * Returns true if full-screen presentation windows should use active rendering.
+	 * @return boolean
+	 * @since 2.0.4
+	 */
+	public boolean isActiveRenderingEnabled() {
+		return this.activeRenderingEnabled;
+	}
+	
+	/**
+	 * Toggles active rendering for full-screen presentation windows.
+	 * @param flag true if active rendering should be used
+	 * @since 2.0.4
+	 */
+	public void setActiveRenderingEnabled(boolean flag) {
+		this.activeRenderingEnabled = flag;
+	}
+	
+	/**
+	 * Returns the ids of the transitions recommended for this machine by the transition benchmark.
+	 * <p>
+	 * Returns null if the benchmark has not been run.
+	 * @return List&lt;Integer&gt;
+	 * @see org.praisenter.animation.TransitionBenchmark
+	 * @since 2.0.4
+	 */
+	public List<Integer> getRecommendedTransitionIds() {
+		return this.recommendedTransitionIds;
+	}
+	
+	/**
+	 * Sets the ids of the transitions recommended for this machine by the transition benchmark.
+	 * @param ids the transition ids; null if the benchmark has not been run
+	 * @since 2.0.4
+	 */
+	public void setRecommendedTransitionIds(List<Integer> ids) {
+		this.recommendedTransitionIds = ids;
+	}
+	
 	// other preferences
 	
 	/**
@@ -315,8 +429,8 @@ public class Preferences {
 	 * <p>
 	 * Enabling this setting allows the send/clear functionality to wait on a currently executing
 	 * transition to finish before executing the given one.  If multiple send/clear actions
-	 * are submitted and this is enabled, only the last send/clear action will be used
-	 * after the currently executing transition is completed.
+	 * are submitted and this is enabled, they are handled according to the queue policy
+	 * (see {@link #getQueuePolicy()}).
 	 * <p>
 	 * If this setting is disabled, any currently executing transition is stopped and immediately
 	 * completed and the given send/clear action is executed.
@@ -334,6 +448,31 @@ public class Preferences {
 		this.waitForTransitionEnabled = waitForTransitionEnabled;
 	}
 	
+	/**
+	 * Returns how sends and clears queued while a transition is in progress are handled
+	 * by the full-screen presentation window.
+	 * <p>
+	 * Notifications use {@link NotificationPreferences#getQueuePolicy()}.
+	 * @return {@link PresentationQueuePolicy}
+	 * @since 2.0.4
+	 */
+	public PresentationQueuePolicy getQueuePolicy() {
+		if (this.queuePolicy == null) {
+			return PresentationQueuePolicy.LATEST;
+		}
+		return this.queuePolicy;
+	}
+	
+	/**
+	 * Sets how sends and clears queued while a transition is in progress are handled
+	 * by the full-screen presentation window.
+	 * @param queuePolicy the queue policy
+	 * @since 2.0.4
+	 */
+	public void setQueuePolicy(PresentationQueuePolicy queuePolicy) {
+		this.queuePolicy = queuePolicy;
+	}
+	
 	// sub preferences
 	
 	/**
@@ -376,6 +515,19 @@ public class Preferences {
 		return this.errorReportingPreferences;
 	}
 	
+	/**
+	 * Returns the remote control preferences.
+	 * @return {@link RemoteControlPreferences}
+	 * @since 2.0.4
+	 */
+	public RemoteControlPreferences getRemoteControlPreferences() {
+		// preferences saved by older versions won't have these
+		if (this.remoteControlPreferences == null) {
+			this.remoteControlPreferences = new RemoteControlPreferences();
+		}
+		return this.remoteControlPreferences;
+	}
+	
 	// helper methods
 	
 	/**
@@ -435,6 +587,16 @@ public class Preferences {
 		configuration.setSmartImageTransitionsEnabled(this.smartImageTransitionsEnabled);
 		configuration.setSmartVideoTransitionsEnabled(this.smartVideoTransitionsEnabled);
 		configuration.setReadTimeVideoConversionEnabled(this.readTimeVideoConversionEnabled);
+		configuration.setAcceleratedBuffersEnabled(this.acceleratedBuffersEnabled);
+		configuration.setActiveRenderingEnabled(this.activeRenderingEnabled);
+		List<String> mirrors = this.getMirrorDeviceIds();
+		configuration.setMirrorDeviceIds(mirrors.toArray(new String[mirrors.size()]));
+		// each window type has its own queue policy (windowed is used for notifications)
+		if (windowType == PresentationWindowType.WINDOWED) {
+			configuration.setQueuePolicy(this.notificationPreferences.getQueuePolicy());
+		} else {
+			configuration.setQueuePolicy(this.getQueuePolicy());
+		}
 		return configuration;
 	}
 }
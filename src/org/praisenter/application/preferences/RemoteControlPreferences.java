@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.application.preferences;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Class used to store remote control preferences.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+@XmlRootElement(name = "RemoteControlPreferences")
+@XmlAccessorType(XmlAccessType.NONE)
+public class RemoteControlPreferences {
+	/** The default address (loopback only) */
+	public static final String DEFAULT_ADDRESS = "127.0.0.1";
+	
+	/** The default port */
+	public static final int DEFAULT_PORT = 47474;
+	
+	/** True if the remote control server is enabled */
+	@XmlElement(name = "Enabled", required = true, nillable = false)
+	protected boolean enabled;
+	
+	/** The address to bind to */
+	@XmlElement(name = "Address", required = true, nillable = false)
+	protected String address;
+	
+	/** The port to listen on */
+	@XmlElement(name = "Port", required = true, nillable = false)
+	protected int port;
+	
+	/** Default constructor. */
+	protected RemoteControlPreferences() {
+		this.enabled = false;
+		this.address = DEFAULT_ADDRESS;
+		this.port = DEFAULT_PORT;
+	}
+	
+	/**
+	 * Returns true if the remote control server is enabled.
+	 * @return boolean
+	 */
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+	
+	/**
+	 * Toggles the remote control server.
+	 * @param enabled true if the remote control server should be enabled
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+	
+	/**
+	 * Returns the address the remote control server binds to.
+	 * <p>
+	 * Returns {@link #DEFAULT_ADDRESS} if the address was not set.
+	 * @return String
+	 */
+	public String getAddress() {
+		if (this.address == null || this.address.trim().length() == 0) {
+			return DEFAULT_ADDRESS;
+		}
+		return this.address;
+	}
+	
+	/**
+	 * Sets the address the remote control server binds to.
+	 * <p>
+	 * Use a loopback address to only allow connections from this computer, or
+	 * a local network address to allow connections from other computers.
+	 * @param address the address or host name
+	 */
+	public void setAddress(String address) {
+		this.address = address;
+	}
+	
+	/**
+	 * Returns the port the remote control server listens on.
+	 * @return int
+	 */
+	public int getPort() {
+		return this.port;
+	}
+	
+	/**
+	 * Sets the port the remote control server listens on.
+	 * @param port the port
+	 */
+	public void setPort(int port) {
+		this.port = port;
+	}
+}
@@ -24,9 +24,14 @@
  */
 package org.praisenter.application.preferences;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
 
 import org.praisenter.animation.easings.CubicEasing;
@@ -35,7 +40,7 @@ import org.praisenter.animation.transitions.Swap;
 /**
  * Class used to store slide preferences.
  * @author William Bittle
- * @version 2.0.0
+ * @version 2.0.4
  * @since 2.0.0
  */
 @XmlRootElement(name = "SlidePreferences")
@@ -66,6 +71,13 @@ public class SlidePreferences {
 	/** The clear transition easing id */
 	@XmlElement(name = "ClearTransitionEasingId", required = true, nillable = false)
 	protected int clearTransitionEasingId;
+	
+	// fonts
+	
+	/** The font families used for characters the font of the text can't display */
+	@XmlElementWrapper(name = "FallbackFontFamilies", required = false, nillable = true)
+	@XmlElement(name = "FontFamily", required = false)
+	protected List<String> fallbackFontFamilies;
 
 	/** Default constructor. */
 	protected SlidePreferences() {
@@ -75,6 +87,9 @@ public class SlidePreferences {
 		this.clearTransitionId = Swap.ID;
 		this.clearTransitionDuration = 300;
 		this.clearTransitionEasingId = CubicEasing.ID;
+		// the logical Dialog font covers the most characters using the
+		// fonts configured for the platform so its used as the last resort
+		this.fallbackFontFamilies = new ArrayList<String>(Arrays.asList("Arial Unicode MS", "Noto Sans", "Dialog"));
 	}
 	
 	// transitions
@@ -174,4 +189,29 @@ public class SlidePreferences {
 	public void setClearTransitionEasingId(int clearTransitionEasingId) {
 		this.clearTransitionEasingId = clearTransitionEasingId;
 	}
+	
+	// fonts
+	
+	/**
+	 * Returns the font families used for characters the font of the text can't display.
+	 * <p>
+	 * The families are tried in order.
+	 * @return List&lt;String&gt;
+	 * @since 2.0.4
+	 */
+	public List<String> getFallbackFontFamilies() {
+		if (this.fallbackFontFamilies == null) {
+			this.fallbackFontFamilies = new ArrayList<String>();
+		}
+		return this.fallbackFontFamilies;
+	}
+	
+	/**
+	 * Sets the font families used for characters the font of the text can't display.
+	 * @param families the font families
+	 * @since 2.0.4
+	 */
+	public void setFallbackFontFamilies(List<String> families) {
+		this.fallbackFontFamilies = families;
+	}
 }
@@ -35,7 +35,7 @@ import org.praisenter.animation.transitions.Swap;
 /**
  * Class used to store song preferences.
  * @author William Bittle
- * @version 2.0.0
+ * @version 2.0.4
  * @since 2.0.0
  */
 @XmlRootElement(name = "SongPreferences")
@@ -73,6 +73,12 @@ public class SongPreferences {
 	/** The clear transition easing id */
 	@XmlElement(name = "ClearTransitionEasingId", required = true, nillable = false)
 	protected int clearTransitionEasingId;
+	
+	// text
+	
+	/** True if all the parts of a song should use the same font size */
+	@XmlElement(name = "UniformFontSizeEnabled", required = false, nillable = false)
+	protected boolean uniformFontSizeEnabled;
 
 	/** Default constructor. */
 	protected SongPreferences() {
@@ -83,6 +89,7 @@ public class SongPreferences {
 		this.clearTransitionId = Swap.ID;
 		this.clearTransitionDuration = 300;
 		this.clearTransitionEasingId = CubicEasing.ID;
+		this.uniformFontSizeEnabled = false;
 	}
 
 	// template
@@ -200,4 +207,26 @@ public class SongPreferences {
 	public void setClearTransitionEasingId(int clearTransitionEasingId) {
 		this.clearTransitionEasingId = clearTransitionEasingId;
 	}
+	
+	// text
+	
+	/**
+	 * Returns true if all the parts of a song should use the same font size.
+	 * <p>
+	 * The size used is the smallest fitted size of the parts.
+	 * @return boolean
+	 * @since 2.0.4
+	 */
+	public boolean isUniformFontSizeEnabled() {
+		return this.uniformFontSizeEnabled;
+	}
+	
+	/**
+	 * Toggles the use of the same font size for all the parts of a song.
+	 * @param flag true if all the parts of a song should use the same font size
+	 * @since 2.0.4
+	 */
+	public void setUniformFontSizeEnabled(boolean flag) {
+		this.uniformFontSizeEnabled = flag;
+	}
 }
@@ -28,6 +28,8 @@ import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dialog.ModalityType;
 import java.awt.Dimension;
+import java.awt.DisplayMode;
+import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.GraphicsConfiguration;
 import java.awt.GraphicsDevice;
@@ -37,6 +39,8 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.ItemEvent;
 import java.awt.event.ItemListener;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.GroupLayout;
 import javax.swing.JButton;
@@ -44,7 +48,9 @@ import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
 import javax.swing.JDialog;
 import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JPanel;
+import javax.swing.JScrollPane;
 import javax.swing.JSeparator;
 import javax.swing.JSpinner;
 import javax.swing.JSpinner.DefaultEditor;
@@ -52,24 +58,44 @@ import javax.swing.JTextField;
 import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingConstants;
 
+import org.apache.log4j.Logger;
+import org.praisenter.animation.TransitionBenchmark;
+import org.praisenter.animation.TransitionBenchmarkResult;
+import org.praisenter.animation.TransitionBenchmarkTarget;
+import org.praisenter.animation.easings.CubicEasing;
+import org.praisenter.animation.easings.Easings;
+import org.praisenter.animation.transitions.Transition;
+import org.praisenter.animation.transitions.Transitions;
+import org.praisenter.application.errors.ui.ExceptionDialog;
 import org.praisenter.application.icons.Icons;
 import org.praisenter.application.preferences.Preferences;
+import org.praisenter.application.preferences.RemoteControlPreferences;
 import org.praisenter.application.resources.Messages;
+import org.praisenter.application.slide.ui.TransitionListCellRenderer;
 import org.praisenter.application.ui.OpaquePanel;
 import org.praisenter.application.ui.SelectTextFocusListener;
+import org.praisenter.application.ui.TaskProgressDialog;
+import org.praisenter.common.threading.AbstractTask;
 import org.praisenter.common.utilities.WindowUtilities;
+import org.praisenter.presentation.PresentationQueuePolicy;
 import org.praisenter.slide.graphics.RenderQuality;
 
 /**
  * Panel used to setup the general preferences for the application.
  * @author William Bittle
- * @version 2.0.1
+ * @version 2.0.4
  * @since 2.0.0
  */
 public class GeneralPreferencesPanel extends OpaquePanel implements PreferencesEditor, ActionListener, ItemListener {
 	/** The version id */
 	private static final long serialVersionUID = 7677045112182344610L;
 	
+	/** The class level logger */
+	private static final Logger LOGGER = Logger.getLogger(GeneralPreferencesPanel.class);
+	
+	/** The number of frames measured per transition when benchmarking from the preferences */
+	private static final int BENCHMARK_FRAME_COUNT = 30;
+	
 	/** The list of devices (not static so that it will pick up new devices) */
 	private GraphicsDevice[] devices = WindowUtilities.getDevices();
 	
@@ -84,6 +110,9 @@ public class GeneralPreferencesPanel extends OpaquePanel implements PreferencesE
 	/** The label for translucency support */
 	private JLabel lblTranslucency;
 	
+	/** The check boxes for the mirror devices (same order as the devices) */
+	private JCheckBox[] chkMirrorDevices;
+	
 	// render qualities
 	
 	/** The overall render quality */
@@ -116,6 +145,12 @@ public class GeneralPreferencesPanel extends OpaquePanel implements PreferencesE
 	/** The read-time video conversion flag */
 	private JCheckBox chkReadTimeVideoConversion;
 	
+	/** The accelerated back buffers flag */
+	private JCheckBox chkAcceleratedBuffers;
+	
+	/** The active rendering flag */
+	private JCheckBox chkActiveRendering;
+	
 	// transitions
 	
 	/** The check box for smart video transitions */
@@ -127,6 +162,31 @@ public class GeneralPreferencesPanel extends OpaquePanel implements PreferencesE
 	/** The check box for waiting for transitions */
 	private JCheckBox chkWaitForTransition;
 	
+	/** The combo box for the queue policy */
+	private JComboBox<PresentationQueuePolicy> cmbQueuePolicy;
+	
+	// benchmark
+	
+	/** The list of recommended transitions */
+	private JList<Transition> lstRecommendedTransitions;
+	
+	/** The label shown when the benchmark hasn't been run */
+	private JLabel lblBenchmarkNotRun;
+	
+	/** The recommended transition ids; null if the benchmark hasn't been run */
+	private List<Integer> recommendedTransitionIds;
+	
+	// remote control
+	
+	/** The check box for the remote control server */
+	private JCheckBox chkRemoteControl;
+	
+	/** The remote control address */
+	private JTextField txtRemoteControlAddress;
+	
+	/** The remote control port */
+	private JSpinner spnRemoteControlPort;
+	
 	/**
 	 * Default constructor.
 	 */
@@ -168,6 +228,23 @@ public class GeneralPreferencesPanel extends OpaquePanel implements PreferencesE
 		btnIdentify.addActionListener(this);
 		btnIdentify.setActionCommand("identify");
 		
+		// check boxes for the mirror devices
+		JLabel lblMirrorDisplays = new JLabel(Messages.getString("panel.general.preferences.display.mirrorDisplays"));
+		JPanel pnlMirrorDevices = new JPanel(new FlowLayout(FlowLayout.LEADING, 0, 0));
+		pnlMirrorDevices.setOpaque(false);
+		List<String> mirrorDeviceIds = preferences.getMirrorDeviceIds();
+		this.chkMirrorDevices = new JCheckBox[this.devices.length];
+		for (int i = 0; i < this.devices.length; i++) {
+			GraphicsDevice d = this.devices[i];
+			JCheckBox chkMirrorDevice = new JCheckBox(WindowUtilities.getDeviceName(d, i, Messages.getString("display.name.format")));
+			chkMirrorDevice.setToolTipText(Messages.getString("panel.general.preferences.display.mirrorDisplays.tooltip"));
+			chkMirrorDevice.setSelected(mirrorDeviceIds.contains(d.getIDstring()));
+			// the primary display can't mirror itself
+			chkMirrorDevice.setEnabled(d != device);
+			pnlMirrorDevices.add(chkMirrorDevice);
+			this.chkMirrorDevices[i] = chkMirrorDevice;
+		}
+		
 		// translucency label
 		this.lblTranslucency = new JLabel();
 		this.lblTranslucency.setVisible(false);
@@ -249,11 +326,65 @@ public class GeneralPreferencesPanel extends OpaquePanel implements PreferencesE
 		this.chkWaitForTransition.setToolTipText(Messages.getString("panel.general.preferences.waitForTransition.tooltip"));
 		this.chkWaitForTransition.setSelected(preferences.isWaitForTransitionEnabled());
 		
+		JLabel lblQueuePolicy = new JLabel(Messages.getString("panel.general.preferences.queuePolicy"));
+		this.cmbQueuePolicy = new JComboBox<PresentationQueuePolicy>(PresentationQueuePolicy.values());
+		this.cmbQueuePolicy.setToolTipText(Messages.getString("panel.general.preferences.queuePolicy.tooltip"));
+		this.cmbQueuePolicy.setRenderer(new QueuePolicyListCellRenderer());
+		this.cmbQueuePolicy.setSelectedItem(preferences.getQueuePolicy());
+		
 		JLabel lblReadTimeVideoConversion = new JLabel(Messages.getString("panel.general.preferences.readTimeVideoConversion"));
 		this.chkReadTimeVideoConversion = new JCheckBox();
 		this.chkReadTimeVideoConversion.setToolTipText(Messages.getString("panel.general.preferences.readTimeVideoConversion.tooltip"));
 		this.chkReadTimeVideoConversion.setSelected(preferences.isReadTimeVideoConversionEnabled());
 		
+		JLabel lblAcceleratedBuffers = new JLabel(Messages.getString("panel.general.preferences.acceleratedBuffers"));
+		this.chkAcceleratedBuffers = new JCheckBox();
+		this.chkAcceleratedBuffers.setToolTipText(Messages.getString("panel.general.preferences.acceleratedBuffers.tooltip"));
+		this.chkAcceleratedBuffers.setSelected(preferences.isAcceleratedBuffersEnabled());
+		
+		JLabel lblActiveRendering = new JLabel(Messages.getString("panel.general.preferences.activeRendering"));
+		this.chkActiveRendering = new JCheckBox();
+		this.chkActiveRendering.setToolTipText(Messages.getString("panel.general.preferences.activeRendering.tooltip"));
+		this.chkActiveRendering.setSelected(preferences.isActiveRenderingEnabled());
+		
+		JLabel lblRecommendedTransitions = new JLabel(Messages.getString("panel.general.preferences.benchmark"));
+		lblRecommendedTransitions.setToolTipText(Messages.getString("panel.general.preferences.benchmark.tooltip"));
+		this.lstRecommendedTransitions = new JList<Transition>();
+		this.lstRecommendedTransitions.setCellRenderer(new TransitionListCellRenderer(this.lstRecommendedTransitions));
+		this.lstRecommendedTransitions.setLayoutOrientation(JList.HORIZONTAL_WRAP);
+		this.lstRecommendedTransitions.setVisibleRowCount(-1);
+		this.lstRecommendedTransitions.setFocusable(false);
+		this.lstRecommendedTransitions.setToolTipText(Messages.getString("panel.general.preferences.benchmark.tooltip"));
+		JScrollPane scrRecommendedTransitions = new JScrollPane(this.lstRecommendedTransitions);
+		scrRecommendedTransitions.setPreferredSize(new Dimension(400, 60));
+		this.lblBenchmarkNotRun = new JLabel();
+		
+		JButton btnBenchmark = new JButton(Messages.getString("panel.general.preferences.benchmark.run"));
+		btnBenchmark.setToolTipText(Messages.getString("panel.general.preferences.benchmark.run.tooltip"));
+		btnBenchmark.addActionListener(this);
+		btnBenchmark.setActionCommand("benchmark");
+		
+		this.setRecommendedTransitionIds(preferences.getRecommendedTransitionIds());
+		
+		RemoteControlPreferences rcPreferences = preferences.getRemoteControlPreferences();
+		
+		JLabel lblRemoteControl = new JLabel(Messages.getString("panel.general.preferences.remoteControl"));
+		this.chkRemoteControl = new JCheckBox();
+		this.chkRemoteControl.setToolTipText(Messages.getString("panel.general.preferences.remoteControl.tooltip"));
+		this.chkRemoteControl.setSelected(rcPreferences.isEnabled());
+		
+		JLabel lblRemoteControlAddress = new JLabel(Messages.getString("panel.general.preferences.remoteControl.address"));
+		this.txtRemoteControlAddress = new JTextField(rcPreferences.getAddress(), 15);
+		this.txtRemoteControlAddress.setToolTipText(Messages.getString("panel.general.preferences.remoteControl.address.tooltip"));
+		this.txtRemoteControlAddress.addFocusListener(new SelectTextFocusListener(this.txtRemoteControlAddress));
+		
+		JLabel lblRemoteControlPort = new JLabel(Messages.getString("panel.general.preferences.remoteControl.port"));
+		this.spnRemoteControlPort = new JSpinner(new SpinnerNumberModel(rcPreferences.getPort(), 1, 65535, 1));
+		this.spnRemoteControlPort.setEditor(new JSpinner.NumberEditor(this.spnRemoteControlPort, "0"));
+		this.spnRemoteControlPort.setToolTipText(Messages.getString("panel.general.preferences.remoteControl.port.tooltip"));
+		JTextField txtRemoteControlPort = ((DefaultEditor)this.spnRemoteControlPort.getEditor()).getTextField();
+		txtRemoteControlPort.addFocusListener(new SelectTextFocusListener(txtRemoteControlPort));
+		
 		// create the layout
 		JPanel pnlGeneral = new OpaquePanel();
 		GroupLayout layout = new GroupLayout(pnlGeneral);
@@ -264,20 +395,28 @@ public class GeneralPreferencesPanel extends OpaquePanel implements PreferencesE
 		layout.setHorizontalGroup(layout.createSequentialGroup()
 				.addGroup(layout.createParallelGroup()
 						.addComponent(lblPrimaryDisplay)
+						.addComponent(lblMirrorDisplays)
 						.addComponent(lblSmartVideoTransitions)
 						.addComponent(lblSmartImageTransitions)
 						.addComponent(lblWaitForTransition)
-						.addComponent(lblReadTimeVideoConversion))
+						.addComponent(lblQueuePolicy)
+						.addComponent(lblReadTimeVideoConversion)
+						.addComponent(lblAcceleratedBuffers)
+						.addComponent(lblActiveRendering))
 				.addGroup(layout.createParallelGroup()
 						.addGroup(layout.createSequentialGroup()
 								.addComponent(this.cmbDevices, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
 								.addComponent(btnIdentify))
 						.addComponent(this.lblDisplayNotFound)
 						.addComponent(this.lblTranslucency)
+						.addComponent(pnlMirrorDevices)
 						.addComponent(this.chkSmartVideoTransitions)
 						.addComponent(this.chkSmartImageTransitions)
 						.addComponent(this.chkWaitForTransition)
-						.addComponent(this.chkReadTimeVideoConversion)));
+						.addComponent(this.cmbQueuePolicy, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
+						.addComponent(this.chkReadTimeVideoConversion)
+						.addComponent(this.chkAcceleratedBuffers)
+						.addComponent(this.chkActiveRendering)));
 		layout.setVerticalGroup(layout.createSequentialGroup()
 				.addGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
 						.addComponent(lblPrimaryDisplay)
@@ -285,6 +424,9 @@ public class GeneralPreferencesPanel extends OpaquePanel implements PreferencesE
 						.addComponent(btnIdentify))
 				.addComponent(this.lblDisplayNotFound)
 				.addComponent(this.lblTranslucency)
+				.addGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
+						.addComponent(lblMirrorDisplays)
+						.addComponent(pnlMirrorDevices))
 				.addGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
 						.addComponent(lblSmartVideoTransitions)
 						.addComponent(this.chkSmartVideoTransitions))
@@ -294,9 +436,18 @@ public class GeneralPreferencesPanel extends OpaquePanel implements PreferencesE
 				.addGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
 						.addComponent(lblWaitForTransition)
 						.addComponent(this.chkWaitForTransition))
+				.addGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
+						.addComponent(lblQueuePolicy)
+						.addComponent(this.cmbQueuePolicy, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE))
 				.addGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
 						.addComponent(lblReadTimeVideoConversion)
-						.addComponent(this.chkReadTimeVideoConversion)));
+						.addComponent(this.chkReadTimeVideoConversion))
+				.addGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
+						.addComponent(lblAcceleratedBuffers)
+						.addComponent(this.chkAcceleratedBuffers))
+				.addGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
+						.addComponent(lblActiveRendering)
+						.addComponent(this.chkActiveRendering)));
 		
 		JPanel pnlQuality = new OpaquePanel();
 		layout = new GroupLayout(pnlQuality);
@@ -358,7 +509,50 @@ public class GeneralPreferencesPanel extends OpaquePanel implements PreferencesE
 						.addComponent(lblStrokeControlQuality)
 						.addComponent(this.cmbStrokeControlQuality, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)));
 		
+		JPanel pnlRemoteControl = new OpaquePanel();
+		layout = new GroupLayout(pnlRemoteControl);
+		pnlRemoteControl.setLayout(layout);
+		
+		layout.setAutoCreateGaps(true);
+		layout.setAutoCreateContainerGaps(true);
+		layout.setHorizontalGroup(layout.createSequentialGroup()
+				.addComponent(lblRemoteControl)
+				.addComponent(this.chkRemoteControl)
+				.addGap(30)
+				.addComponent(lblRemoteControlAddress)
+				.addComponent(this.txtRemoteControlAddress, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
+				.addComponent(lblRemoteControlPort)
+				.addComponent(this.spnRemoteControlPort, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE));
+		layout.setVerticalGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
+				.addComponent(lblRemoteControl)
+				.addComponent(this.chkRemoteControl)
+				.addComponent(lblRemoteControlAddress)
+				.addComponent(this.txtRemoteControlAddress, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
+				.addComponent(lblRemoteControlPort)
+				.addComponent(this.spnRemoteControlPort, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE));
+		
+		JPanel pnlBenchmark = new OpaquePanel();
+		layout = new GroupLayout(pnlBenchmark);
+		pnlBenchmark.setLayout(layout);
+		
+		layout.setAutoCreateGaps(true);
+		layout.setAutoCreateContainerGaps(true);
+		layout.setHorizontalGroup(layout.createSequentialGroup()
+				.addComponent(lblRecommendedTransitions)
+				.addGroup(layout.createParallelGroup()
+						.addComponent(this.lblBenchmarkNotRun)
+						.addComponent(scrRecommendedTransitions, 0, GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
+				.addComponent(btnBenchmark));
+		layout.setVerticalGroup(layout.createParallelGroup(GroupLayout.Alignment.LEADING)
+				.addComponent(lblRecommendedTransitions)
+				.addGroup(layout.createSequentialGroup()
+						.addComponent(this.lblBenchmarkNotRun)
+						.addComponent(scrRecommendedTransitions, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE))
+				.addComponent(btnBenchmark));
+		
 		JSeparator sep1 = new JSeparator();
+		JSeparator sep2 = new JSeparator();
+		JSeparator sep3 = new JSeparator();
 		
 		// create the main layout
 		layout = new GroupLayout(this);
@@ -368,11 +562,19 @@ public class GeneralPreferencesPanel extends OpaquePanel implements PreferencesE
 		layout.setHorizontalGroup(layout.createParallelGroup()
 				.addComponent(pnlGeneral)
 				.addComponent(sep1)
-				.addComponent(pnlQuality, 0, GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE));
+				.addComponent(pnlQuality, 0, GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+				.addComponent(sep3)
+				.addComponent(pnlBenchmark, 0, GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+				.addComponent(sep2)
+				.addComponent(pnlRemoteControl, 0, GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE));
 		layout.setVerticalGroup(layout.createSequentialGroup()
 				.addComponent(pnlGeneral)
 				.addComponent(sep1, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
-				.addComponent(pnlQuality));
+				.addComponent(pnlQuality)
+				.addComponent(sep3, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
+				.addComponent(pnlBenchmark)
+				.addComponent(sep2, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
+				.addComponent(pnlRemoteControl));
 	}
 	
 	/* (non-Javadoc)
@@ -416,6 +618,86 @@ public class GeneralPreferencesPanel extends OpaquePanel implements PreferencesE
 			}
 			// close the frames in a different thread
 			DelayCloseWindowTask.execute(1000, dialogs);
+		} else if ("benchmark".equals(command)) {
+			this.runBenchmark();
+		}
+	}
+	
+	/**
+	 * Benchmarks the transitions at the resolution of the selected primary display
+	 * and updates the list of recommended transitions.
+	 * <p>
+	 * Only the default easing is used to keep the benchmark short; the easing has
+	 * little effect on the cost of a transition.
+	 */
+	private void runBenchmark() {
+		GraphicsDevice device = (GraphicsDevice)this.cmbDevices.getSelectedItem();
+		if (device == null) {
+			device = WindowUtilities.getSecondaryDevice();
+		}
+		DisplayMode mode = device.getDisplayMode();
+		final Dimension size = new Dimension(mode.getWidth(), mode.getHeight());
+		final TransitionBenchmarkTarget target = this.chkAcceleratedBuffers.isSelected() 
+				? TransitionBenchmarkTarget.ACCELERATED 
+				: TransitionBenchmarkTarget.SOFTWARE;
+		final List<Integer> ids = new ArrayList<Integer>();
+		
+		AbstractTask task = new AbstractTask() {
+			@Override
+			public void run() {
+				try {
+					TransitionBenchmark benchmark = new TransitionBenchmark();
+					benchmark.setResolutions(size);
+					benchmark.setTargets(target);
+					benchmark.setEasings(Easings.getEasingForId(CubicEasing.ID));
+					benchmark.setFrameCount(BENCHMARK_FRAME_COUNT);
+					List<TransitionBenchmarkResult> results = benchmark.run();
+					ids.addAll(TransitionBenchmark.getRecommendedTransitionIds(results, size.width, size.height, target, TransitionBenchmark.getDefaultFrameBudget()));
+					this.setSuccessful(true);
+				} catch (Exception e) {
+					this.handleException(e);
+					this.setSuccessful(false);
+				}
+			}
+		};
+		
+		TaskProgressDialog.show(WindowUtilities.getParentWindow(this), Messages.getString("panel.general.preferences.benchmark.running"), task);
+		
+		if (task.isSuccessful()) {
+			this.setRecommendedTransitionIds(ids);
+		} else {
+			ExceptionDialog.show(
+					this, 
+					Messages.getString("panel.general.preferences.benchmark.exception.title"), 
+					Messages.getString("panel.general.preferences.benchmark.exception.text"), 
+					task.getException());
+			LOGGER.error("An error occurred while benchmarking the transitions: ", task.getException());
+		}
+	}
+	
+	/**
+	 * Shows the given recommended transitions.
+	 * @param ids the transition ids; null if the benchmark hasn't been run
+	 */
+	private void setRecommendedTransitionIds(List<Integer> ids) {
+		this.recommendedTransitionIds = ids;
+		List<Transition> transitions = new ArrayList<Transition>();
+		if (ids != null) {
+			for (Transition transition : Transitions.IN) {
+				if (ids.contains(transition.getId())) {
+					transitions.add(transition);
+				}
+			}
+		}
+		this.lstRecommendedTransitions.setListData(transitions.toArray(new Transition[0]));
+		if (ids == null) {
+			this.lblBenchmarkNotRun.setText(Messages.getString("panel.general.preferences.benchmark.notRun"));
+			this.lblBenchmarkNotRun.setVisible(true);
+		} else if (transitions.isEmpty()) {
+			this.lblBenchmarkNotRun.setText(Messages.getString("panel.general.preferences.benchmark.none"));
+			this.lblBenchmarkNotRun.setVisible(true);
+		} else {
+			this.lblBenchmarkNotRun.setVisible(false);
 		}
 	}
 	
@@ -437,6 +719,10 @@ public class GeneralPreferencesPanel extends OpaquePanel implements PreferencesE
 					this.lblTranslucency.setText("");
 					this.lblTranslucency.setIcon(null);
 				}
+				// the primary display can't mirror itself
+				for (int i = 0; i < this.devices.length; i++) {
+					this.chkMirrorDevices[i].setEnabled(this.devices[i] != device);
+				}
 			}
 		}
 	}
@@ -453,9 +739,17 @@ public class GeneralPreferencesPanel extends OpaquePanel implements PreferencesE
 			preferences.setPrimaryDeviceId(device.getIDstring());
 			preferences.setPrimaryDeviceResolution(WindowUtilities.getDimension(device.getDisplayMode()));
 		}
+		List<String> mirrorDeviceIds = new ArrayList<String>();
+		for (int i = 0; i < this.devices.length; i++) {
+			if (this.chkMirrorDevices[i].isSelected() && this.devices[i] != device) {
+				mirrorDeviceIds.add(this.devices[i].getIDstring());
+			}
+		}
+		preferences.setMirrorDeviceIds(mirrorDeviceIds);
 		preferences.setSmartVideoTransitionsEnabled(this.chkSmartVideoTransitions.isSelected());
 		preferences.setSmartImageTransitionsEnabled(this.chkSmartImageTransitions.isSelected());
 		preferences.setWaitForTransitionEnabled(this.chkWaitForTransition.isSelected());
+		preferences.setQueuePolicy((PresentationQueuePolicy)this.cmbQueuePolicy.getSelectedItem());
 		Object value = this.spnTransitionDelay.getValue();
 		if (value != null && value instanceof Number) {
 			preferences.setTransitionDelay(((Number)value).intValue());
@@ -470,5 +764,16 @@ public class GeneralPreferencesPanel extends OpaquePanel implements PreferencesE
 		preferences.getRenderQualities().setFractionalMetricsQuality((RenderQuality)this.cmbFractionalMetricsQuality.getSelectedItem());
 		preferences.getRenderQualities().setStrokeControlQuality((RenderQuality)this.cmbStrokeControlQuality.getSelectedItem());
 		preferences.setReadTimeVideoConversionEnabled(this.chkReadTimeVideoConversion.isSelected());
+		preferences.setAcceleratedBuffersEnabled(this.chkAcceleratedBuffers.isSelected());
+		preferences.setActiveRenderingEnabled(this.chkActiveRendering.isSelected());
+		preferences.setRecommendedTransitionIds(this.recommendedTransitionIds);
+		
+		RemoteControlPreferences rcPreferences = preferences.getRemoteControlPreferences();
+		rcPreferences.setEnabled(this.chkRemoteControl.isSelected());
+		rcPreferences.setAddress(this.txtRemoteControlAddress.getText().trim());
+		value = this.spnRemoteControlPort.getValue();
+		if (value != null && value instanceof Number) {
+			rcPreferences.setPort(((Number)value).intValue());
+		}
 	}
 }
@@ -60,6 +60,7 @@ import org.praisenter.application.ui.SelectTextFocusListener;
 import org.praisenter.common.NotInitializedException;
 import org.praisenter.common.utilities.ComponentUtilities;
 import org.praisenter.common.utilities.WindowUtilities;
+import org.praisenter.presentation.PresentationQueuePolicy;
 import org.praisenter.slide.NotificationSlideTemplate;
 import org.praisenter.slide.SlideFile;
 import org.praisenter.slide.SlideLibrary;
@@ -68,7 +69,7 @@ import org.praisenter.slide.SlideThumbnail;
 /**
  * Panel used to set the {@link NotificationPreferences}.
  * @author William Bittle
- * @version 2.0.1
+ * @version 2.0.4
  * @since 2.0.0
  */
 public class NotificationPreferencesPanel extends OpaquePanel implements PreferencesEditor, ActionListener, SlideLibraryListener {
@@ -77,6 +78,15 @@ public class NotificationPreferencesPanel extends OpaquePanel implements Prefere
 
 	/** The default wait period text box */
 	private JFormattedTextField txtDefaultWaitPeriod;
+	
+	/** The combo box for the queue policy */
+	private JComboBox<PresentationQueuePolicy> cmbQueuePolicy;
+	
+	/** The default ticker speed text box */
+	private JFormattedTextField txtDefaultTickerSpeed;
+	
+	/** The default ticker loop count text box */
+	private JFormattedTextField txtDefaultTickerLoopCount;
 
 	// template
 	
@@ -117,6 +127,26 @@ public class NotificationPreferencesPanel extends OpaquePanel implements Prefere
 		this.txtDefaultWaitPeriod.setValue(nPreferences.getWaitPeriod());
 		this.txtDefaultWaitPeriod.setColumns(6);
 		this.txtDefaultWaitPeriod.addFocusListener(new SelectTextFocusListener(this.txtDefaultWaitPeriod));
+		
+		JLabel lblQueuePolicy = new JLabel(Messages.getString("panel.general.preferences.queuePolicy"));
+		this.cmbQueuePolicy = new JComboBox<PresentationQueuePolicy>(PresentationQueuePolicy.values());
+		this.cmbQueuePolicy.setToolTipText(Messages.getString("panel.notification.preferences.queuePolicy.tooltip"));
+		this.cmbQueuePolicy.setRenderer(new QueuePolicyListCellRenderer());
+		this.cmbQueuePolicy.setSelectedItem(nPreferences.getQueuePolicy());
+		
+		JLabel lblDefaultTickerSpeed = new JLabel(Messages.getString("panel.notification.preferences.defaultTickerSpeed"));
+		this.txtDefaultTickerSpeed = new JFormattedTextField(new DecimalFormat("0"));
+		this.txtDefaultTickerSpeed.setToolTipText(Messages.getString("panel.notification.preferences.defaultTickerSpeed.tooltip"));
+		this.txtDefaultTickerSpeed.setValue(nPreferences.getTickerSpeed());
+		this.txtDefaultTickerSpeed.setColumns(6);
+		this.txtDefaultTickerSpeed.addFocusListener(new SelectTextFocusListener(this.txtDefaultTickerSpeed));
+		
+		JLabel lblDefaultTickerLoopCount = new JLabel(Messages.getString("panel.notification.preferences.defaultTickerLoopCount"));
+		this.txtDefaultTickerLoopCount = new JFormattedTextField(new DecimalFormat("0"));
+		this.txtDefaultTickerLoopCount.setToolTipText(Messages.getString("panel.notification.preferences.defaultTickerLoopCount.tooltip"));
+		this.txtDefaultTickerLoopCount.setValue(nPreferences.getTickerLoopCount());
+		this.txtDefaultTickerLoopCount.setColumns(6);
+		this.txtDefaultTickerLoopCount.addFocusListener(new SelectTextFocusListener(this.txtDefaultTickerLoopCount));
 
 		// template
 		
@@ -232,13 +262,31 @@ public class NotificationPreferencesPanel extends OpaquePanel implements Prefere
 		layout.setAutoCreateGaps(true);
 		layout.setAutoCreateContainerGaps(true);
 		layout.setHorizontalGroup(layout.createSequentialGroup()
-				.addComponent(lblDefaultWaitPeriod)
-				.addComponent(this.txtDefaultWaitPeriod, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE));
-		layout.setVerticalGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
-				.addComponent(lblDefaultWaitPeriod)
-				.addComponent(this.txtDefaultWaitPeriod, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE));
+				.addGroup(layout.createParallelGroup()
+						.addComponent(lblDefaultWaitPeriod)
+						.addComponent(lblQueuePolicy)
+						.addComponent(lblDefaultTickerSpeed)
+						.addComponent(lblDefaultTickerLoopCount))
+				.addGroup(layout.createParallelGroup()
+						.addComponent(this.txtDefaultWaitPeriod, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
+						.addComponent(this.cmbQueuePolicy, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
+						.addComponent(this.txtDefaultTickerSpeed, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
+						.addComponent(this.txtDefaultTickerLoopCount, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)));
+		layout.setVerticalGroup(layout.createSequentialGroup()
+				.addGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
+						.addComponent(lblDefaultWaitPeriod)
+						.addComponent(this.txtDefaultWaitPeriod, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE))
+				.addGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
+						.addComponent(lblQueuePolicy)
+						.addComponent(this.cmbQueuePolicy, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE))
+				.addGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
+						.addComponent(lblDefaultTickerSpeed)
+						.addComponent(this.txtDefaultTickerSpeed, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE))
+				.addGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
+						.addComponent(lblDefaultTickerLoopCount)
+						.addComponent(this.txtDefaultTickerLoopCount, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)));
 		
-		ComponentUtilities.setMinimumSize(lblDefaultWaitPeriod, lblTemplate, lblClearTransition, lblSendTransition);
+		ComponentUtilities.setMinimumSize(lblDefaultWaitPeriod, lblQueuePolicy, lblDefaultTickerSpeed, lblDefaultTickerLoopCount, lblTemplate, lblClearTransition, lblSendTransition);
 		
 		JSeparator sep1 = new JSeparator(JSeparator.HORIZONTAL);
 		JSeparator sep2 = new JSeparator(JSeparator.HORIZONTAL);
@@ -327,6 +375,9 @@ public class NotificationPreferencesPanel extends OpaquePanel implements Prefere
 		
 		// save this panel's settings
 		nPreferences.setWaitPeriod(((Number)this.txtDefaultWaitPeriod.getValue()).intValue());
+		nPreferences.setQueuePolicy((PresentationQueuePolicy)this.cmbQueuePolicy.getSelectedItem());
+		nPreferences.setTickerSpeed(((Number)this.txtDefaultTickerSpeed.getValue()).intValue());
+		nPreferences.setTickerLoopCount(((Number)this.txtDefaultTickerLoopCount.getValue()).intValue());
 		
 		// template
 		SlideThumbnail thumbnail = ((SlideThumbnail)this.cmbTemplates.getSelectedItem());
@@ -25,11 +25,14 @@
 package org.praisenter.application.preferences.ui;
 
 import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.GroupLayout;
 import javax.swing.JComboBox;
 import javax.swing.JFormattedTextField;
 import javax.swing.JLabel;
+import javax.swing.JTextField;
 
 import org.praisenter.animation.easings.Easing;
 import org.praisenter.animation.easings.Easings;
@@ -43,11 +46,12 @@ import org.praisenter.application.slide.ui.EasingListCellRenderer;
 import org.praisenter.application.slide.ui.TransitionListCellRenderer;
 import org.praisenter.application.ui.OpaquePanel;
 import org.praisenter.application.ui.SelectTextFocusListener;
+import org.praisenter.common.utilities.FontManager;
 
 /**
  * Panel used to set the {@link SlidePreferences}.
  * @author William Bittle
- * @version 2.0.1
+ * @version 2.0.4
  * @since 2.0.0
  */
 public class SlidePreferencesPanel extends OpaquePanel implements PreferencesEditor {
@@ -74,6 +78,11 @@ public class SlidePreferencesPanel extends OpaquePanel implements PreferencesEdi
 	/** The combo box of clear easings */
 	private JComboBox<Easing> cmbClearEasings;
 	
+	// fonts
+	
+	/** The text box for the comma separated fallback font families */
+	private JTextField txtFallbackFonts;
+	
 	/**
 	 * Default constructor.
 	 */
@@ -111,6 +120,17 @@ public class SlidePreferencesPanel extends OpaquePanel implements PreferencesEdi
 		this.cmbClearEasings.setSelectedItem(Easings.getEasingForId(sPreferences.getClearTransitionEasingId()));
 		this.cmbClearEasings.setToolTipText(Messages.getString("easing.tooltip"));
 		
+		// fonts
+		
+		JLabel lblFallbackFonts = new JLabel(Messages.getString("panel.preferences.fallbackFonts"));
+		StringBuilder sb = new StringBuilder();
+		for (String family : sPreferences.getFallbackFontFamilies()) {
+			if (sb.length() > 0) sb.append(", ");
+			sb.append(family);
+		}
+		this.txtFallbackFonts = new JTextField(sb.toString());
+		this.txtFallbackFonts.setToolTipText(Messages.getString("panel.preferences.fallbackFonts.tooltip"));
+		
 		GroupLayout layout = new GroupLayout(this);
 		this.setLayout(layout);
 		
@@ -119,16 +139,18 @@ public class SlidePreferencesPanel extends OpaquePanel implements PreferencesEdi
 		layout.setHorizontalGroup(layout.createSequentialGroup()
 				.addGroup(layout.createParallelGroup()
 						.addComponent(lblSendTransition)
-						.addComponent(lblClearTransition))
-				.addGroup(layout.createParallelGroup()
-						.addComponent(this.cmbSendTransitions, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
-						.addComponent(this.cmbClearTransitions, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE))
-				.addGroup(layout.createParallelGroup()
-						.addComponent(this.txtSendTransitions, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
-						.addComponent(this.txtClearTransitions, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE))
+						.addComponent(lblClearTransition)
+						.addComponent(lblFallbackFonts))
 				.addGroup(layout.createParallelGroup()
-						.addComponent(this.cmbSendEasings, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
-						.addComponent(this.cmbClearEasings, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)));
+						.addGroup(layout.createSequentialGroup()
+								.addComponent(this.cmbSendTransitions, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
+								.addComponent(this.txtSendTransitions, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
+								.addComponent(this.cmbSendEasings, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE))
+						.addGroup(layout.createSequentialGroup()
+								.addComponent(this.cmbClearTransitions, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
+								.addComponent(this.txtClearTransitions, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
+								.addComponent(this.cmbClearEasings, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE))
+						.addComponent(this.txtFallbackFonts)));
 		layout.setVerticalGroup(layout.createSequentialGroup()
 				.addGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
 						.addComponent(lblSendTransition)
@@ -139,7 +161,10 @@ public class SlidePreferencesPanel extends OpaquePanel implements PreferencesEdi
 						.addComponent(lblClearTransition)
 						.addComponent(this.cmbClearTransitions, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
 						.addComponent(this.txtClearTransitions, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
-						.addComponent(this.cmbClearEasings, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)));
+						.addComponent(this.cmbClearEasings, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE))
+				.addGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
+						.addComponent(lblFallbackFonts)
+						.addComponent(this.txtFallbackFonts, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)));
 	}
 	
 	/* (non-Javadoc)
@@ -157,5 +182,16 @@ public class SlidePreferencesPanel extends OpaquePanel implements PreferencesEdi
 		sPreferences.setClearTransitionId(((Transition)this.cmbClearTransitions.getSelectedItem()).getId());
 		sPreferences.setClearTransitionDuration(((Number)this.txtClearTransitions.getValue()).intValue());
 		sPreferences.setClearTransitionEasingId(((Easing)this.cmbClearEasings.getSelectedItem()).getId());
+		
+		// fonts
+		List<String> families = new ArrayList<String>();
+		for (String family : this.txtFallbackFonts.getText().split(",")) {
+			family = family.trim();
+			if (family.length() > 0) {
+				families.add(family);
+			}
+		}
+		sPreferences.setFallbackFontFamilies(families);
+		FontManager.setFallbackFontFamilies(families);
 	}
 }
@@ -36,6 +36,7 @@ import java.util.List;
 
 import javax.swing.GroupLayout;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
 import javax.swing.JFormattedTextField;
 import javax.swing.JLabel;
@@ -68,7 +69,7 @@ import org.praisenter.slide.SongSlideTemplate;
 /**
  * Panel used to set the {@link SongPreferences}.
  * @author William Bittle
- * @version 2.0.1
+ * @version 2.0.4
  * @since 2.0.0
  */
 public class SongPreferencesPanel extends OpaquePanel implements PreferencesEditor, ActionListener, SlideLibraryListener {
@@ -80,6 +81,9 @@ public class SongPreferencesPanel extends OpaquePanel implements PreferencesEdit
 	/** The template combo box */
 	private JComboBox<SlideThumbnail> cmbTemplates;
 	
+	/** The checkbox for using the same font size for all the parts of a song */
+	private JCheckBox chkUniformFontSize;
+	
 	// transitions
 	
 	/** The combo box of send transitions */
@@ -136,6 +140,10 @@ public class SongPreferencesPanel extends OpaquePanel implements PreferencesEdit
 		btnAddTemplate.setToolTipText(Messages.getString("template.manage.tooltip"));
 		btnAddTemplate.addActionListener(this);
 		
+		this.chkUniformFontSize = new JCheckBox(Messages.getString("panel.song.preferences.uniformFontSize"));
+		this.chkUniformFontSize.setToolTipText(Messages.getString("panel.song.preferences.uniformFontSize.tooltip"));
+		this.chkUniformFontSize.setSelected(sPreferences.isUniformFontSizeEnabled());
+		
 		// transitions
 		
 		JLabel lblSendTransition = new JLabel(Messages.getString("panel.preferences.transition.defaultSend"));
@@ -203,14 +211,18 @@ public class SongPreferencesPanel extends OpaquePanel implements PreferencesEdit
 		
 		layout.setAutoCreateContainerGaps(true);
 		layout.setAutoCreateGaps(true);
-		layout.setHorizontalGroup(layout.createSequentialGroup()
-				.addComponent(lblTemplate)
-				.addComponent(this.cmbTemplates, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
-				.addComponent(btnAddTemplate));
-		layout.setVerticalGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
-				.addComponent(lblTemplate)
-				.addComponent(this.cmbTemplates, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
-				.addComponent(btnAddTemplate));
+		layout.setHorizontalGroup(layout.createParallelGroup()
+				.addGroup(layout.createSequentialGroup()
+						.addComponent(lblTemplate)
+						.addComponent(this.cmbTemplates, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
+						.addComponent(btnAddTemplate))
+				.addComponent(this.chkUniformFontSize));
+		layout.setVerticalGroup(layout.createSequentialGroup()
+				.addGroup(layout.createParallelGroup(GroupLayout.Alignment.CENTER)
+						.addComponent(lblTemplate)
+						.addComponent(this.cmbTemplates, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
+						.addComponent(btnAddTemplate))
+				.addComponent(this.chkUniformFontSize));
 		
 		ComponentUtilities.setMinimumSize(lblClearTransition, lblSendTransition, lblTemplate);
 		
@@ -302,6 +314,7 @@ public class SongPreferencesPanel extends OpaquePanel implements PreferencesEdit
 		} else {
 			sPreferences.setTemplate(null);
 		}
+		sPreferences.setUniformFontSizeEnabled(this.chkUniformFontSize.isSelected());
 		
 		// transitions
 		sPreferences.setSendTransitionId(((Transition)this.cmbSendTransitions.getSelectedItem()).getId());
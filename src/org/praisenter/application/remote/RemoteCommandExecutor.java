@@ -0,0 +1,439 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.application.remote;
+
+import java.awt.Dimension;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.text.MessageFormat;
+
+import org.apache.log4j.Logger;
+import org.praisenter.animation.TransitionAnimator;
+import org.praisenter.animation.easings.Easing;
+import org.praisenter.animation.easings.Easings;
+import org.praisenter.animation.transitions.Transition;
+import org.praisenter.animation.transitions.TransitionType;
+import org.praisenter.animation.transitions.Transitions;
+import org.praisenter.application.preferences.BiblePreferences;
+import org.praisenter.application.preferences.Preferences;
+import org.praisenter.application.preferences.SongPreferences;
+import org.praisenter.application.remote.RemoteProtocol.Message;
+import org.praisenter.application.resources.Messages;
+import org.praisenter.application.song.ui.SongHelper;
+import org.praisenter.common.NotInitializedException;
+import org.praisenter.data.DataException;
+import org.praisenter.data.bible.Bible;
+import org.praisenter.data.bible.Bibles;
+import org.praisenter.data.bible.Verse;
+import org.praisenter.data.song.Song;
+import org.praisenter.data.song.SongPart;
+import org.praisenter.data.song.SongPartType;
+import org.praisenter.data.song.Songs;
+import org.praisenter.presentation.ClearEvent;
+import org.praisenter.presentation.PresentationEventConfiguration;
+import org.praisenter.presentation.PresentationManager;
+import org.praisenter.presentation.PresentationWindowType;
+import org.praisenter.presentation.SendEvent;
+import org.praisenter.slide.BibleSlide;
+import org.praisenter.slide.BibleSlideTemplate;
+import org.praisenter.slide.Slide;
+import org.praisenter.slide.SlideLibrary;
+import org.praisenter.slide.SlideLibraryException;
+import org.praisenter.slide.SongSlide;
+import org.praisenter.slide.SongSlideTemplate;
+import org.praisenter.slide.Template;
+import org.praisenter.slide.text.TextComponent;
+
+/**
+ * Executes remote control commands on the primary display.
+ * <p>
+ * Slides are built the same way the song and bible panels build them: using the templates,
+ * transitions and translations in the preferences.  The templates are cached until
+ * {@link #reset()} is called.
+ * <p>
+ * A staged song part or verse is kept so that a following send of the same song part or
+ * verse uses the staged slide.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public class RemoteCommandExecutor {
+	/** The class level logger */
+	private static final Logger LOGGER = Logger.getLogger(RemoteCommandExecutor.class);
+	
+	/** The cached song template */
+	private SongSlideTemplate songTemplate;
+	
+	/** The cached bible template */
+	private BibleSlideTemplate bibleTemplate;
+	
+	/** The key of the staged song part or verse */
+	private String stagedKey;
+	
+	/** The staged slide */
+	private Slide stagedSlide;
+	
+	/** True if the last slide sent was a verse (used to pick the clear transition) */
+	private boolean lastSentVerse;
+	
+	/**
+	 * Executes the given request and returns the response.
+	 * @param request the request
+	 * @return {@link Message}
+	 */
+	public synchronized Message execute(Message request) {
+		try {
+			DataInputStream in = RemoteProtocol.getPayloadInput(request.getPayload());
+			switch (request.getCode()) {
+				case RemoteProtocol.PING:
+					return new Message(RemoteProtocol.OK, new byte[0]);
+				case RemoteProtocol.QUERY_STATE:
+					return this.queryState();
+				case RemoteProtocol.SEND_SONG_PART:
+					return this.songPart(in, false);
+				case RemoteProtocol.STAGE_SONG_PART:
+					return this.songPart(in, true);
+				case RemoteProtocol.SEND_VERSE:
+					return this.verse(in, false);
+				case RemoteProtocol.STAGE_VERSE:
+					return this.verse(in, true);
+				case RemoteProtocol.CLEAR:
+					return this.clear();
+				default:
+					return error(RemoteProtocol.BAD_REQUEST, "Unknown command: " + request.getCode());
+			}
+		} catch (EOFException e) {
+			return error(RemoteProtocol.BAD_REQUEST, "Incomplete payload for command: " + request.getCode());
+		} catch (Exception e) {
+			LOGGER.error("Unable to execute remote command [" + request.getCode() + "] due to: ", e);
+			return error(RemoteProtocol.ERROR, e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+		}
+	}
+	
+	/**
+	 * Clears the cached templates and staged slide.
+	 * <p>
+	 * This should be called when the preferences or slide library change.
+	 */
+	public synchronized void reset() {
+		this.songTemplate = null;
+		this.bibleTemplate = null;
+		this.stagedKey = null;
+		this.stagedSlide = null;
+	}
+	
+	/**
+	 * Returns the state of the primary display.
+	 * @return {@link Message}
+	 * @throws IOException if the response could not be written
+	 */
+	private Message queryState() throws IOException {
+		PresentationEventConfiguration configuration = getConfiguration();
+		PresentationManager manager = PresentationManager.getInstance();
+		byte state = RemoteProtocol.getStateCode(manager.getState(configuration));
+		byte[] name = RemoteProtocol.createStringPayload(manager.getSlideName(configuration));
+		byte[] payload = new byte[name.length + 1];
+		payload[0] = state;
+		System.arraycopy(name, 0, payload, 1, name.length);
+		return new Message(RemoteProtocol.OK, payload);
+	}
+	
+	/**
+	 * Sends or stages the song part in the given payload.
+	 * @param in the payload
+	 * @param stage true if the song part should be staged rather than sent
+	 * @return {@link Message}
+	 * @throws IOException if the payload could not be read
+	 * @throws DataException if the song could not be read
+	 */
+	private Message songPart(DataInputStream in, boolean stage) throws IOException, DataException {
+		int songId = in.readInt();
+		SongPartType type = RemoteProtocol.getSongPartType(in.readByte());
+		int index = in.readUnsignedShort();
+		
+		String key = "S" + songId + type.getValue() + index;
+		Slide slide = this.takeStagedSlide(key);
+		if (slide == null) {
+			Song song = Songs.getSong(songId);
+			if (song == null) {
+				return error(RemoteProtocol.NOT_FOUND, "Song not found: " + songId);
+			}
+			SongPart part = song.getSongPart(type, index);
+			if (part == null) {
+				return error(RemoteProtocol.NOT_FOUND, "Song part not found: " + type.getValue() + index);
+			}
+			slide = this.createSlide(part);
+		}
+		
+		if (stage) {
+			this.stage(key, slide);
+		} else {
+			SongPreferences preferences = Preferences.getInstance().getSongPreferences();
+			TransitionAnimator animator = getAnimator(
+					preferences.getSendTransitionId(), 
+					preferences.getSendTransitionDuration(), 
+					preferences.getSendTransitionEasingId(), 
+					TransitionType.IN);
+			PresentationManager.getInstance().execute(new SendEvent(getConfiguration(), animator, slide));
+			this.lastSentVerse = false;
+		}
+		return new Message(RemoteProtocol.OK, new byte[0]);
+	}
+	
+	/**
+	 * Sends or stages the verse in the given payload.
+	 * @param in the payload
+	 * @param stage true if the verse should be staged rather than sent
+	 * @return {@link Message}
+	 * @throws IOException if the payload could not be read
+	 * @throws DataException if the verse could not be read
+	 */
+	private Message verse(DataInputStream in, boolean stage) throws IOException, DataException {
+		BiblePreferences preferences = Preferences.getInstance().getBiblePreferences();
+		int bibleId = in.readInt();
+		String bookCode = in.readUTF();
+		int chapter = in.readUnsignedShort();
+		int number = in.readUnsignedShort();
+		
+		if (bibleId <= 0) {
+			bibleId = preferences.getPrimaryTranslationId();
+		}
+		
+		String key = "B" + bibleId + bookCode + ":" + chapter + ":" + number;
+		Slide slide = this.takeStagedSlide(key);
+		if (slide == null) {
+			Bible bible = Bibles.getBible(bibleId);
+			if (bible == null) {
+				return error(RemoteProtocol.NOT_FOUND, "Bible not found: " + bibleId);
+			}
+			Verse verse = Bibles.getVerse(bible, bookCode, chapter, number);
+			if (verse == null) {
+				return error(RemoteProtocol.NOT_FOUND, "Verse not found: " + bookCode + " " + chapter + ":" + number);
+			}
+			// use the secondary translation if the bible panel would
+			Verse verse2 = null;
+			if (preferences.isSecondaryTranslationEnabled() && preferences.getSecondaryTranslationId() != bibleId) {
+				Bible bible2 = Bibles.getBible(preferences.getSecondaryTranslationId());
+				if (bible2 != null) {
+					verse2 = Bibles.getVerse(bible2, bookCode, chapter, number);
+				}
+			}
+			slide = this.createSlide(verse, verse2);
+		}
+		
+		if (stage) {
+			this.stage(key, slide);
+		} else {
+			TransitionAnimator animator = getAnimator(
+					preferences.getSendTransitionId(), 
+					preferences.getSendTransitionDuration(), 
+					preferences.getSendTransitionEasingId(), 
+					TransitionType.IN);
+			PresentationManager.getInstance().execute(new SendEvent(getConfiguration(), animator, slide));
+			this.lastSentVerse = true;
+		}
+		return new Message(RemoteProtocol.OK, new byte[0]);
+	}
+	
+	/**
+	 * Clears the primary display using the clear transition of the last slide type sent.
+	 * @return {@link Message}
+	 */
+	private Message clear() {
+		TransitionAnimator animator = null;
+		if (this.lastSentVerse) {
+			BiblePreferences preferences = Preferences.getInstance().getBiblePreferences();
+			animator = getAnimator(
+					preferences.getClearTransitionId(), 
+					preferences.getClearTransitionDuration(), 
+					preferences.getClearTransitionEasingId(), 
+					TransitionType.OUT);
+		} else {
+			SongPreferences preferences = Preferences.getInstance().getSongPreferences();
+			animator = getAnimator(
+					preferences.getClearTransitionId(), 
+					preferences.getClearTransitionDuration(), 
+					preferences.getClearTransitionEasingId(), 
+					TransitionType.OUT);
+		}
+		PresentationManager.getInstance().execute(new ClearEvent(getConfiguration(), animator));
+		return new Message(RemoteProtocol.OK, new byte[0]);
+	}
+	
+	/**
+	 * Stages the given slide on the primary display.
+	 * @param key the song part or verse key
+	 * @param slide the slide
+	 */
+	private void stage(String key, Slide slide) {
+		// stage the slide on the primary fullscreen display (the transition is chosen when its sent)
+		PresentationManager.getInstance().stage(new SendEvent(getConfiguration(), null, slide));
+		this.stagedKey = key;
+		this.stagedSlide = slide;
+	}
+	
+	/**
+	 * Returns the staged slide if its for the given key and clears the staged slide.
+	 * <p>
+	 * Returns null if the staged slide is not for the given key.
+	 * @param key the song part or verse key
+	 * @return {@link Slide}
+	 */
+	private Slide takeStagedSlide(String key) {
+		Slide slide = null;
+		if (key.equals(this.stagedKey)) {
+			slide = this.stagedSlide;
+		}
+		this.stagedKey = null;
+		this.stagedSlide = null;
+		return slide;
+	}
+	
+	/**
+	 * Creates a slide for the given song part.
+	 * @param part the song part
+	 * @return {@link SongSlide}
+	 */
+	private SongSlide createSlide(SongPart part) {
+		if (this.songTemplate == null) {
+			Dimension size = Preferences.getInstance().getPrimaryOrDefaultDeviceResolution();
+			SongSlideTemplate template = getTemplate(Preferences.getInstance().getSongPreferences().getTemplate(), SongSlideTemplate.class);
+			if (template == null) {
+				template = SongSlideTemplate.getDefaultTemplate(size.width, size.height);
+			}
+			verifyTemplateDimensions(template, size);
+			this.songTemplate = template;
+		}
+		
+		SongSlide slide = this.songTemplate.createSlide();
+		slide.setName(SongHelper.getPartName(part));
+		TextComponent text = slide.getTextComponent();
+		text.setText(part.getText());
+		text.setTextFont(text.getTextFont().deriveFont((float)part.getFontSize()));
+		return slide;
+	}
+	
+	/**
+	 * Creates a slide for the given verse.
+	 * @param verse the verse
+	 * @param verse2 the verse in the secondary translation; can be null
+	 * @return {@link BibleSlide}
+	 */
+	private BibleSlide createSlide(Verse verse, Verse verse2) {
+		if (this.bibleTemplate == null) {
+			Dimension size = Preferences.getInstance().getPrimaryOrDefaultDeviceResolution();
+			BibleSlideTemplate template = getTemplate(Preferences.getInstance().getBiblePreferences().getTemplate(), BibleSlideTemplate.class);
+			if (template == null) {
+				template = BibleSlideTemplate.getDefaultTemplate(size.width, size.height);
+			}
+			verifyTemplateDimensions(template, size);
+			this.bibleTemplate = template;
+		}
+		
+		BibleSlide slide = this.bibleTemplate.createSlide();
+		String location = MessageFormat.format(Messages.getString("panel.bible.verse.location.pattern"), verse.getBook().getName(), verse.getChapter(), verse.getVerse());
+		slide.setName(location);
+		slide.getScriptureLocationComponent().setText(location);
+		if (verse2 != null) {
+			slide.getScriptureTextComponent().setText(verse.getText() + "\n\n" + verse2.getText());
+		} else {
+			slide.getScriptureTextComponent().setText(verse.getText());
+		}
+		return slide;
+	}
+	
+	/**
+	 * Returns the configuration for the primary display.
+	 * @return {@link PresentationEventConfiguration}
+	 */
+	private static final PresentationEventConfiguration getConfiguration() {
+		return Preferences.getInstance().getPresentationEventConfiguration(PresentationWindowType.FULLSCREEN);
+	}
+	
+	/**
+	 * Returns a new animator for the given transition settings.
+	 * @param id the transition id
+	 * @param duration the transition duration
+	 * @param easingId the easing id
+	 * @param type the transition type
+	 * @return {@link TransitionAnimator}
+	 */
+	private static final TransitionAnimator getAnimator(int id, int duration, int easingId, TransitionType type) {
+		Transition transition = Transitions.getTransitionForId(id, type);
+		Easing easing = Easings.getEasingForId(easingId);
+		return new TransitionAnimator(transition, duration, Preferences.getInstance().getTransitionDelay(), easing);
+	}
+	
+	/**
+	 * Returns the template for the given path from the slide library.
+	 * <p>
+	 * Returns null if the path is empty or the template could not be loaded.
+	 * @param path the template path
+	 * @param clazz the template type
+	 * @return E
+	 */
+	private static final <E extends Template> E getTemplate(String path, Class<E> clazz) {
+		if (path == null || path.trim().length() == 0) {
+			return null;
+		}
+		try {
+			return SlideLibrary.getInstance().getTemplate(path, clazz);
+		} catch (SlideLibraryException e) {
+			LOGGER.error("Unable to load preferences template [" + path + "]: ", e);
+		} catch (NotInitializedException e) {
+			LOGGER.error(e);
+		}
+		return null;
+	}
+	
+	/**
+	 * Verifies the template is sized to the given size.
+	 * <p>
+	 * If not, the template is adjusted to fit.
+	 * @param template the template
+	 * @param size the size
+	 */
+	private static final void verifyTemplateDimensions(Template template, Dimension size) {
+		if (template.getWidth() != size.width || template.getHeight() != size.height) {
+			LOGGER.warn("Template [" + template.getName() + "] is not sized correctly for the primary display. Adjusting template.");
+			template.adjustSize(size.width, size.height);
+		}
+	}
+	
+	/**
+	 * Returns an error response.
+	 * @param status the status
+	 * @param message the error message
+	 * @return {@link Message}
+	 */
+	private static final Message error(byte status, String message) {
+		try {
+			return new Message(status, RemoteProtocol.createStringPayload(message));
+		} catch (IOException e) {
+			return new Message(status, new byte[0]);
+		}
+	}
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.application.remote;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Arrays;
+
+import org.praisenter.application.preferences.RemoteControlPreferences;
+import org.praisenter.application.remote.RemoteProtocol.Message;
+import org.praisenter.data.song.SongPartType;
+import org.praisenter.presentation.PresentationState;
+
+/**
+ * Client for a {@link RemoteControlServer}.
+ * <p>
+ * Each method sends one command and blocks until its response is received.  Methods throw
+ * a {@link RemoteControlException} if the command was not executed.
+ * <p>
+ * Running this class measures the round trip latency to a server:
+ * <pre>java org.praisenter.application.remote.RemoteControlClient [host] [port] [count]</pre>
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public class RemoteControlClient implements Closeable {
+	/** The connect timeout in milliseconds */
+	private static final int CONNECT_TIMEOUT = 5000;
+	
+	/** The socket */
+	private final Socket socket;
+	
+	/** The input stream */
+	private final DataInputStream in;
+	
+	/** The output stream */
+	private final DataOutputStream out;
+	
+	/** The slide name returned by the last {@link #queryState()} */
+	private String slideName;
+	
+	/**
+	 * Connects to the server at the given address and port.
+	 * @param address the address or host name
+	 * @param port the port
+	 * @throws IOException if the connection could not be made
+	 */
+	public RemoteControlClient(String address, int port) throws IOException {
+		this.socket = new Socket();
+		this.socket.setTcpNoDelay(true);
+		try {
+			this.socket.connect(new InetSocketAddress(address, port), CONNECT_TIMEOUT);
+		} catch (IOException e) {
+			this.socket.close();
+			throw e;
+		}
+		this.in = new DataInputStream(new BufferedInputStream(this.socket.getInputStream()));
+		this.out = new DataOutputStream(new BufferedOutputStream(this.socket.getOutputStream()));
+	}
+	
+	/**
+	 * Sends the given command and returns the response.
+	 * @param command the command
+	 * @param payload the payload; can be null
+	 * @return {@link Message}
+	 * @throws IOException if an IO error occurs or the command was not executed
+	 */
+	private Message execute(byte command, byte[] payload) throws IOException {
+		RemoteProtocol.writeMessage(this.out, command, payload);
+		Message response = RemoteProtocol.readMessage(this.in);
+		if (response == null) {
+			throw new EOFException("The connection was closed by the server.");
+		}
+		if (response.getCode() != RemoteProtocol.OK) {
+			throw new RemoteControlException(response.getCode(), response.getPayloadString());
+		}
+		return response;
+	}
+	
+	/**
+	 * Sends a ping command.
+	 * @throws IOException if an IO error occurs
+	 */
+	public void ping() throws IOException {
+		this.execute(RemoteProtocol.PING, null);
+	}
+	
+	/**
+	 * Returns the state of the primary display.
+	 * <p>
+	 * The name of the slide shown is available from {@link #getSlideName()} afterwards.
+	 * @return {@link PresentationState}
+	 * @throws IOException if an IO error occurs
+	 */
+	public PresentationState queryState() throws IOException {
+		Message response = this.execute(RemoteProtocol.QUERY_STATE, null);
+		byte[] payload = response.getPayload();
+		if (payload.length == 0) {
+			throw new EOFException("Incomplete state response.");
+		}
+		DataInputStream data = RemoteProtocol.getPayloadInput(payload);
+		PresentationState state = RemoteProtocol.getState(data.readByte());
+		String name = data.readUTF();
+		this.slideName = name.length() > 0 ? name : null;
+		return state;
+	}
+	
+	/**
+	 * Returns the slide name returned by the last call to {@link #queryState()}.
+	 * <p>
+	 * Returns null if the display was clear.
+	 * @return String
+	 */
+	public String getSlideName() {
+		return this.slideName;
+	}
+	
+	/**
+	 * Sends the given song part to the primary display.
+	 * @param songId the song id
+	 * @param type the part type
+	 * @param index the part index
+	 * @throws IOException if an IO error occurs or the song part was not found
+	 */
+	public void sendSongPart(int songId, SongPartType type, int index) throws IOException {
+		this.execute(RemoteProtocol.SEND_SONG_PART, RemoteProtocol.createSongPartPayload(songId, type, index));
+	}
+	
+	/**
+	 * Stages the given song part on the primary display.
+	 * @param songId the song id
+	 * @param type the part type
+	 * @param index the part index
+	 * @throws IOException if an IO error occurs or the song part was not found
+	 */
+	public void stageSongPart(int songId, SongPartType type, int index) throws IOException {
+		this.execute(RemoteProtocol.STAGE_SONG_PART, RemoteProtocol.createSongPartPayload(songId, type, index));
+	}
+	
+	/**
+	 * Sends the given verse to the primary display.
+	 * @param bibleId the bible id; zero or less for the preferred translation
+	 * @param bookCode the book code
+	 * @param chapter the chapter number
+	 * @param verse the verse number
+	 * @throws IOException if an IO error occurs or the verse was not found
+	 */
+	public void sendVerse(int bibleId, String bookCode, int chapter, int verse) throws IOException {
+		this.execute(RemoteProtocol.SEND_VERSE, RemoteProtocol.createVersePayload(bibleId, bookCode, chapter, verse));
+	}
+	
+	/**
+	 * Stages the given verse on the primary display.
+	 * @param bibleId the bible id; zero or less for the preferred translation
+	 * @param bookCode the book code
+	 * @param chapter the chapter number
+	 * @param verse the verse number
+	 * @throws IOException if an IO error occurs or the verse was not found
+	 */
+	public void stageVerse(int bibleId, String bookCode, int chapter, int verse) throws IOException {
+		this.execute(RemoteProtocol.STAGE_VERSE, RemoteProtocol.createVersePayload(bibleId, bookCode, chapter, verse));
+	}
+	
+	/**
+	 * Clears the primary display.
+	 * @throws IOException if an IO error occurs
+	 */
+	public void clear() throws IOException {
+		this.execute(RemoteProtocol.CLEAR, null);
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		this.socket.close();
+	}
+	
+	/**
+	 * Measures the round trip latency of ping commands to a server.
+	 * <p>
+	 * If no server is running at the given address, a server is started in process so that
+	 * the protocol overhead can be measured over the loopback interface.
+	 * @param args the host, port and number of pings (all optional)
+	 * @throws Exception if an error occurs
+	 */
+	public static void main(String[] args) throws Exception {
+		String address = args.length > 0 ? args[0] : RemoteControlPreferences.DEFAULT_ADDRESS;
+		int port = args.length > 1 ? Integer.parseInt(args[1]) : RemoteControlPreferences.DEFAULT_PORT;
+		int count = Math.max(1, args.length > 2 ? Integer.parseInt(args[2]) : 10000);
+		
+		RemoteControlServer server = null;
+		RemoteControlClient client = null;
+		try {
+			client = new RemoteControlClient(address, port);
+		} catch (IOException e) {
+			System.out.println("No server found at " + address + ":" + port + ". Starting one in process.");
+			server = new RemoteControlServer();
+			server.start(address, 0);
+			port = server.getPort();
+			client = new RemoteControlClient(address, port);
+		}
+		
+		try {
+			// warm up
+			for (int i = 0; i < Math.min(count, 1000); i++) {
+				client.ping();
+			}
+			
+			long[] times = new long[count];
+			for (int i = 0; i < count; i++) {
+				long t0 = System.nanoTime();
+				client.ping();
+				times[i] = System.nanoTime() - t0;
+			}
+			Arrays.sort(times);
+			
+			long total = 0;
+			for (long time : times) {
+				total += time;
+			}
+			
+			System.out.println("Round trip latency over " + count + " pings to " + address + ":" + port + " (microseconds):");
+			System.out.println(String.format("  min %.1f  avg %.1f  p50 %.1f  p99 %.1f  max %.1f", 
+					times[0] / 1000.0, 
+					total / (double)count / 1000.0, 
+					times[count / 2] / 1000.0, 
+					times[Math.min(count - 1, (int)(count * 0.99))] / 1000.0, 
+					times[count - 1] / 1000.0));
+			System.out.println("Display state: " + client.queryState() + (client.getSlideName() != null ? " [" + client.getSlideName() + "]" : ""));
+		} finally {
+			client.close();
+			if (server != null) {
+				server.stop();
+			}
+		}
+	}
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.application.remote;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.praisenter.application.remote.RemoteProtocol.Message;
+
+/**
+ * Server accepting remote control connections.
+ * <p>
+ * Each connection is handled on its own thread and its commands are executed by a shared
+ * {@link RemoteCommandExecutor}.  See {@link RemoteProtocol} for the protocol.
+ * <p>
+ * There is no authentication, so the server should be bound to a loopback address or a
+ * trusted network only.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public class RemoteControlServer {
+	/** The class level logger */
+	private static final Logger LOGGER = Logger.getLogger(RemoteControlServer.class);
+	
+	/** The command executor */
+	private final RemoteCommandExecutor executor;
+	
+	/** The server socket; null if not started */
+	private ServerSocket serverSocket;
+	
+	/** The open connections */
+	private final List<Socket> connections;
+	
+	/**
+	 * Default constructor.
+	 */
+	public RemoteControlServer() {
+		this.executor = new RemoteCommandExecutor();
+		this.connections = new ArrayList<Socket>();
+	}
+	
+	/**
+	 * Starts the server on the given address and port.
+	 * <p>
+	 * If the server is already started it's stopped first.
+	 * @param address the address or host name to bind to
+	 * @param port the port
+	 * @throws IOException if the server socket could not be bound
+	 */
+	public synchronized void start(String address, int port) throws IOException {
+		this.stop();
+		
+		ServerSocket socket = new ServerSocket();
+		try {
+			socket.bind(new InetSocketAddress(InetAddress.getByName(address), port));
+		} catch (IOException e) {
+			socket.close();
+			throw e;
+		}
+		this.serverSocket = socket;
+		
+		AcceptThread thread = new AcceptThread(socket);
+		thread.start();
+		
+		LOGGER.info("Remote control server listening on [" + socket.getLocalSocketAddress() + "].");
+	}
+	
+	/**
+	 * Stops the server and closes all open connections.
+	 */
+	public synchronized void stop() {
+		if (this.serverSocket == null) {
+			return;
+		}
+		try {
+			this.serverSocket.close();
+		} catch (IOException e) {
+			LOGGER.warn("Unable to close the remote control server socket: ", e);
+		}
+		this.serverSocket = null;
+		
+		synchronized (this.connections) {
+			for (Socket connection : this.connections) {
+				try {
+					connection.close();
+				} catch (IOException e) {
+					// just ignore the error
+				}
+			}
+			this.connections.clear();
+		}
+		
+		LOGGER.info("Remote control server stopped.");
+	}
+	
+	/**
+	 * Returns true if the server is running.
+	 * @return boolean
+	 */
+	public synchronized boolean isRunning() {
+		return this.serverSocket != null;
+	}
+	
+	/**
+	 * Returns the port the server is listening on.
+	 * <p>
+	 * Returns -1 if the server is not running.
+	 * @return int
+	 */
+	public synchronized int getPort() {
+		if (this.serverSocket != null) {
+			return this.serverSocket.getLocalPort();
+		}
+		return -1;
+	}
+	
+	/**
+	 * Clears any cached templates and staged slides.
+	 * <p>
+	 * This should be called when the preferences or slide library change.
+	 */
+	public void reset() {
+		this.executor.reset();
+	}
+	
+	/**
+	 * Thread accepting connections to the server.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private class AcceptThread extends Thread {
+		/** The server socket */
+		private final ServerSocket socket;
+		
+		/**
+		 * Minimal constructor.
+		 * @param socket the server socket
+		 */
+		public AcceptThread(ServerSocket socket) {
+			super("RemoteControlAcceptThread");
+			this.setDaemon(true);
+			this.socket = socket;
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.lang.Thread#run()
+		 */
+		@Override
+		public void run() {
+			while (!this.socket.isClosed()) {
+				try {
+					Socket connection = this.socket.accept();
+					// commands are tiny, so don't wait to fill a packet
+					connection.setTcpNoDelay(true);
+					synchronized (connections) {
+						connections.add(connection);
+					}
+					ConnectionThread thread = new ConnectionThread(connection);
+					thread.start();
+					LOGGER.debug("Remote control connection from [" + connection.getRemoteSocketAddress() + "] accepted.");
+				} catch (SocketException e) {
+					// the server socket was closed
+					break;
+				} catch (IOException e) {
+					LOGGER.error("Unable to accept remote control connection: ", e);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Thread reading and answering the commands of one connection.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private class ConnectionThread extends Thread {
+		/** The connection */
+		private final Socket connection;
+		
+		/**
+		 * Minimal constructor.
+		 * @param connection the connection
+		 */
+		public ConnectionThread(Socket connection) {
+			super("RemoteControlConnectionThread");
+			this.setDaemon(true);
+			this.connection = connection;
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.lang.Thread#run()
+		 */
+		@Override
+		public void run() {
+			try {
+				DataInputStream in = new DataInputStream(new BufferedInputStream(this.connection.getInputStream()));
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(this.connection.getOutputStream()));
+				while (true) {
+					Message request = RemoteProtocol.readMessage(in);
+					if (request == null) {
+						break;
+					}
+					Message response = executor.execute(request);
+					RemoteProtocol.writeMessage(out, response.getCode(), response.getPayload());
+				}
+			} catch (IOException e) {
+				// the connection was closed or reset
+				LOGGER.debug("Remote control connection ended: " + e.getMessage());
+			} finally {
+				synchronized (connections) {
+					connections.remove(this.connection);
+				}
+				try {
+					this.connection.close();
+				} catch (IOException e) {
+					// just ignore the error
+				}
+			}
+		}
+	}
+}
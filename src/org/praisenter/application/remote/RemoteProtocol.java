@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.application.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+import org.praisenter.data.song.SongPartType;
+import org.praisenter.presentation.PresentationState;
+
+/**
+ * Constants and framing helpers for the remote control protocol.
+ * <p>
+ * The protocol is a compact binary request/response protocol over TCP.  Each request is
+ * a one byte command, a two byte (unsigned, big-endian) payload length, and the payload.
+ * Each response is a one byte status, a two byte payload length, and the payload.  Requests
+ * are answered in the order they are received.
+ * <p>
+ * Commands reference songs and verses by id rather than sending any rendered content, so most
+ * requests are under 16 bytes:
+ * <ul>
+ * <li>{@link #SEND_SONG_PART} and {@link #STAGE_SONG_PART}: song id (int), part type (byte, the
+ * {@link SongPartType#getValue()} character), part index (unsigned short)</li>
+ * <li>{@link #SEND_VERSE} and {@link #STAGE_VERSE}: bible id (int, zero or less for the preferred
+ * translation), book code (modified UTF-8), chapter (unsigned short), verse (unsigned short)</li>
+ * <li>{@link #CLEAR}, {@link #QUERY_STATE} and {@link #PING}: no payload</li>
+ * </ul>
+ * The {@link #QUERY_STATE} response payload is the state (byte, see {@link #getStateCode(PresentationState)})
+ * followed by the shown slide name (modified UTF-8, empty if clear).  The payload of an error response
+ * is the error message (modified UTF-8).
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public final class RemoteProtocol {
+	/** The maximum payload length */
+	public static final int MAXIMUM_PAYLOAD_LENGTH = 0xFFFF;
+	
+	// commands
+	
+	/** Command to test the connection; does nothing */
+	public static final byte PING = 0x01;
+	
+	/** Command to query the state of the primary display */
+	public static final byte QUERY_STATE = 0x02;
+	
+	/** Command to send a song part to the primary display */
+	public static final byte SEND_SONG_PART = 0x10;
+	
+	/** Command to send a verse to the primary display */
+	public static final byte SEND_VERSE = 0x11;
+	
+	/** Command to clear the primary display */
+	public static final byte CLEAR = 0x12;
+	
+	/** Command to stage a song part on the primary display */
+	public static final byte STAGE_SONG_PART = 0x20;
+	
+	/** Command to stage a verse on the primary display */
+	public static final byte STAGE_VERSE = 0x21;
+	
+	// statuses
+	
+	/** The command was executed */
+	public static final byte OK = 0x00;
+	
+	/** The command was malformed or unknown */
+	public static final byte BAD_REQUEST = 0x01;
+	
+	/** The referenced song, part, bible or verse was not found */
+	public static final byte NOT_FOUND = 0x02;
+	
+	/** The command failed */
+	public static final byte ERROR = 0x03;
+	
+	// states
+	
+	/** The state code for {@link PresentationState#CLEAR} */
+	public static final byte STATE_CLEAR = 0x00;
+	
+	/** The state code for {@link PresentationState#IN} */
+	public static final byte STATE_IN = 0x01;
+	
+	/** The state code for {@link PresentationState#SHOWING} */
+	public static final byte STATE_SHOWING = 0x02;
+	
+	/** The state code for {@link PresentationState#WAIT} */
+	public static final byte STATE_WAIT = 0x03;
+	
+	/** The state code for {@link PresentationState#OUT} */
+	public static final byte STATE_OUT = 0x04;
+	
+	/** Hidden default constructor */
+	private RemoteProtocol() {}
+	
+	/**
+	 * Returns the state code for the given state.
+	 * @param state the state
+	 * @return byte
+	 */
+	public static final byte getStateCode(PresentationState state) {
+		if (state == PresentationState.IN) {
+			return STATE_IN;
+		} else if (state == PresentationState.SHOWING) {
+			return STATE_SHOWING;
+		} else if (state == PresentationState.WAIT) {
+			return STATE_WAIT;
+		} else if (state == PresentationState.OUT) {
+			return STATE_OUT;
+		}
+		return STATE_CLEAR;
+	}
+	
+	/**
+	 * Returns the state for the given state code.
+	 * @param code the state code
+	 * @return {@link PresentationState}
+	 */
+	public static final PresentationState getState(byte code) {
+		switch (code) {
+			case STATE_IN:
+				return PresentationState.IN;
+			case STATE_SHOWING:
+				return PresentationState.SHOWING;
+			case STATE_WAIT:
+				return PresentationState.WAIT;
+			case STATE_OUT:
+				return PresentationState.OUT;
+			default:
+				return PresentationState.CLEAR;
+		}
+	}
+	
+	/**
+	 * Returns the code for the given song part type.
+	 * @param type the song part type
+	 * @return byte
+	 */
+	public static final byte getSongPartTypeCode(SongPartType type) {
+		return (byte)type.getValue().charAt(0);
+	}
+	
+	/**
+	 * Returns the song part type for the given code.
+	 * @param code the code
+	 * @return {@link SongPartType}
+	 */
+	public static final SongPartType getSongPartType(byte code) {
+		return SongPartType.getSongPart(String.valueOf((char)code));
+	}
+	
+	// payloads
+	
+	/**
+	 * Returns the payload for a song part command.
+	 * @param songId the song id
+	 * @param type the part type
+	 * @param index the part index
+	 * @return byte[]
+	 * @throws IOException if the payload could not be written
+	 */
+	public static final byte[] createSongPartPayload(int songId, SongPartType type, int index) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(7);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(songId);
+		out.writeByte(getSongPartTypeCode(type));
+		out.writeShort(index);
+		out.flush();
+		return bytes.toByteArray();
+	}
+	
+	/**
+	 * Returns the payload for a verse command.
+	 * @param bibleId the bible id; zero or less for the preferred translation
+	 * @param bookCode the book code
+	 * @param chapter the chapter number
+	 * @param verse the verse number
+	 * @return byte[]
+	 * @throws IOException if the payload could not be written
+	 */
+	public static final byte[] createVersePayload(int bibleId, String bookCode, int chapter, int verse) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(16);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(bibleId);
+		out.writeUTF(bookCode);
+		out.writeShort(chapter);
+		out.writeShort(verse);
+		out.flush();
+		return bytes.toByteArray();
+	}
+	
+	/**
+	 * Returns a payload containing the given string.
+	 * @param value the string
+	 * @return byte[]
+	 * @throws IOException if the payload could not be written
+	 */
+	public static final byte[] createStringPayload(String value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeUTF(value != null ? value : "");
+		out.flush();
+		return bytes.toByteArray();
+	}
+	
+	/**
+	 * Returns a stream for reading the given payload.
+	 * @param payload the payload
+	 * @return DataInputStream
+	 */
+	public static final DataInputStream getPayloadInput(byte[] payload) {
+		return new DataInputStream(new ByteArrayInputStream(payload));
+	}
+	
+	// framing
+	
+	/**
+	 * Writes a message (request or response) to the given stream and flushes it.
+	 * @param out the stream
+	 * @param code the command or status
+	 * @param payload the payload; can be null
+	 * @throws IOException if an IO error occurs
+	 */
+	public static final void writeMessage(DataOutputStream out, byte code, byte[] payload) throws IOException {
+		int length = payload != null ? payload.length : 0;
+		if (length > MAXIMUM_PAYLOAD_LENGTH) {
+			throw new IOException("Payload too large: " + length);
+		}
+		out.writeByte(code);
+		out.writeShort(length);
+		if (length > 0) {
+			out.write(payload);
+		}
+		out.flush();
+	}
+	
+	/**
+	 * Reads a message (request or response) from the given stream.
+	 * <p>
+	 * Returns null if the stream ended cleanly before a message was started.
+	 * @param in the stream
+	 * @return {@link Message}
+	 * @throws IOException if an IO error occurs or the stream ended within a message
+	 */
+	public static final Message readMessage(DataInputStream in) throws IOException {
+		int code = in.read();
+		if (code < 0) {
+			return null;
+		}
+		int length = in.readUnsignedShort();
+		byte[] payload = new byte[length];
+		in.readFully(payload);
+		return new Message((byte)code, payload);
+	}
+	
+	/**
+	 * Represents a request or response read from a stream.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	public static final class Message {
+		/** The command or status */
+		private final byte code;
+		
+		/** The payload */
+		private final byte[] payload;
+		
+		/**
+		 * Full constructor.
+		 * @param code the command or status
+		 * @param payload the payload
+		 */
+		public Message(byte code, byte[] payload) {
+			this.code = code;
+			this.payload = payload;
+		}
+		
+		/**
+		 * Returns the command or status.
+		 * @return byte
+		 */
+		public byte getCode() {
+			return this.code;
+		}
+		
+		/**
+		 * Returns the payload.
+		 * @return byte[]
+		 */
+		public byte[] getPayload() {
+			return this.payload;
+		}
+		
+		/**
+		 * Returns the payload as a string.
+		 * <p>
+		 * Returns an empty string if the payload is empty.
+		 * @return String
+		 * @throws EOFException if the payload is not a string
+		 * @throws IOException if an IO error occurs
+		 */
+		public String getPayloadString() throws IOException {
+			if (this.payload.length == 0) {
+				return "";
+			}
+			return getPayloadInput(this.payload).readUTF();
+		}
+	}
+}
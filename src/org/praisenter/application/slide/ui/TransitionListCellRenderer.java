@@ -25,8 +25,20 @@
 package org.praisenter.application.slide.ui;
 
 import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
 
+import javax.swing.Icon;
 import javax.swing.JList;
+import javax.swing.Timer;
 
 import org.apache.log4j.Logger;
 import org.praisenter.animation.transitions.CircularCollapse;
@@ -59,8 +71,13 @@ import org.praisenter.application.ui.PraisenterListCellRenderer;
 
 /**
  * List cell renderer for a list of {@link Transition} objects.
+ * <p>
+ * List cells (and the cells of a combo box's drop down) show an animated preview of the
+ * transition when they are selected or hovered.  Other cells show the preview's middle
+ * frame if it has already been rendered.  The previews are rendered on demand by the
+ * {@link TransitionPreviewCache}.
  * @author William Bittle
- * @version 2.0.3
+ * @version 2.0.4
  * @since 2.0.0
  */
 public class TransitionListCellRenderer extends PraisenterListCellRenderer {
@@ -70,12 +87,31 @@ public class TransitionListCellRenderer extends PraisenterListCellRenderer {
 	/** The class level logger */
 	private static final Logger LOGGER = Logger.getLogger(TransitionListCellRenderer.class);
 	
+	/** The client property used to store the hovered index of a list */
+	private static final String HOVER_INDEX_PROPERTY = "TransitionListCellRenderer.hoverIndex";
+	
+	/** The time each preview frame is shown in milliseconds */
+	private static final int PREVIEW_FRAME_DELAY = 40;
+	
+	/** The number of frames the end of the preview is held before it repeats */
+	private static final int PREVIEW_HOLD_FRAME_COUNT = 12;
+	
+	/** The preview icon (reused for every cell) */
+	private final PreviewIcon icon;
+	
 	/**
 	 * Minimal constructor.
 	 * @param component the component this renderer is for
 	 */
 	public TransitionListCellRenderer(Component component) {
 		super(component);
+		this.icon = new PreviewIcon();
+		// combo box drop downs select the hovered cell but plain lists don't
+		if (component instanceof JList) {
+			HoverListener listener = new HoverListener();
+			component.addMouseListener(listener);
+			component.addMouseMotionListener(listener);
+		}
 	}
 
 	/* (non-Javadoc)
@@ -140,7 +176,235 @@ public class TransitionListCellRenderer extends PraisenterListCellRenderer {
 				LOGGER.warn("Unknown transition: " + transition.getClass().getName());
 				this.setText(transition.getClass().getSimpleName());
 			}
+			
+			// index is -1 for the combo box display area
+			if (index >= 0) {
+				this.setPreview(list, transition, index, isSelected || index == getHoverIndex(list));
+			}
 		}
 		return this;
 	}
+	
+	/**
+	 * Sets the preview icon for the given cell.
+	 * @param list the list
+	 * @param transition the transition
+	 * @param index the cell index
+	 * @param active true if the preview should be animated
+	 */
+	private void setPreview(JList<?> list, Transition transition, int index, boolean active) {
+		TransitionPreviewCache cache = TransitionPreviewCache.getInstance();
+		BufferedImage[] frames = null;
+		if (active) {
+			frames = cache.request(transition, list);
+		} else {
+			frames = cache.getFrames(transition);
+		}
+		
+		if (frames == null) {
+			// keep the space for the preview so the cells don't change size
+			this.icon.image = null;
+		} else if (active) {
+			// loop the preview, holding at the end for a moment
+			long frame = System.nanoTime() / ((long)PREVIEW_FRAME_DELAY * 1000000l);
+			int i = (int)(frame % (frames.length + PREVIEW_HOLD_FRAME_COUNT));
+			this.icon.image = frames[Math.min(i, frames.length - 1)];
+			PreviewPlayer.INSTANCE.play(list, index);
+		} else {
+			this.icon.image = frames[frames.length / 2];
+		}
+		this.setIcon(this.icon);
+	}
+	
+	/**
+	 * Returns the hovered index of the given list.
+	 * <p>
+	 * Returns -1 if no cell is hovered or the list isn't tracked.
+	 * @param list the list
+	 * @return int
+	 */
+	private static final int getHoverIndex(JList<?> list) {
+		Object value = list.getClientProperty(HOVER_INDEX_PROPERTY);
+		if (value instanceof Integer) {
+			return (Integer)value;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Icon used to show a preview frame.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private static final class PreviewIcon implements Icon {
+		/** The frame to show; can be null */
+		private BufferedImage image;
+		
+		/* (non-Javadoc)
+		 * @see javax.swing.Icon#paintIcon(java.awt.Component, java.awt.Graphics, int, int)
+		 */
+		@Override
+		public void paintIcon(Component c, Graphics g, int x, int y) {
+			if (this.image != null) {
+				g.drawImage(this.image, x, y, null);
+			}
+		}
+		
+		/* (non-Javadoc)
+		 * @see javax.swing.Icon#getIconWidth()
+		 */
+		@Override
+		public int getIconWidth() {
+			return TransitionPreviewCache.WIDTH;
+		}
+		
+		/* (non-Javadoc)
+		 * @see javax.swing.Icon#getIconHeight()
+		 */
+		@Override
+		public int getIconHeight() {
+			return TransitionPreviewCache.HEIGHT;
+		}
+	}
+	
+	/**
+	 * Mouse listener used to track the hovered cell of a list.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private static final class HoverListener extends MouseAdapter {
+		/* (non-Javadoc)
+		 * @see java.awt.event.MouseAdapter#mouseMoved(java.awt.event.MouseEvent)
+		 */
+		@Override
+		public void mouseMoved(MouseEvent e) {
+			JList<?> list = (JList<?>)e.getComponent();
+			int index = list.locationToIndex(e.getPoint());
+			if (index >= 0) {
+				Rectangle bounds = list.getCellBounds(index, index);
+				if (bounds == null || !bounds.contains(e.getPoint())) {
+					index = -1;
+				}
+			}
+			this.setHoverIndex(list, index);
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.awt.event.MouseAdapter#mouseExited(java.awt.event.MouseEvent)
+		 */
+		@Override
+		public void mouseExited(MouseEvent e) {
+			this.setHoverIndex((JList<?>)e.getComponent(), -1);
+		}
+		
+		/**
+		 * Sets the hovered index of the given list and repaints the affected cells.
+		 * @param list the list
+		 * @param index the hovered index; -1 if none
+		 */
+		private void setHoverIndex(JList<?> list, int index) {
+			int old = getHoverIndex(list);
+			if (old != index) {
+				list.putClientProperty(HOVER_INDEX_PROPERTY, index);
+				repaintCell(list, old);
+				repaintCell(list, index);
+			}
+		}
+	}
+	
+	/**
+	 * Repaints the given cell of the given list.
+	 * @param list the list
+	 * @param index the cell index; ignored if -1
+	 */
+	private static final void repaintCell(JList<?> list, int index) {
+		if (index >= 0 && index < list.getModel().getSize()) {
+			Rectangle bounds = list.getCellBounds(index, index);
+			if (bounds != null) {
+				list.repaint(bounds);
+			}
+		}
+	}
+	
+	/**
+	 * Timer used to repaint the cells playing a preview.
+	 * <p>
+	 * A cell keeps playing as long as it's painted as selected or hovered, so cells
+	 * stop playing on their own when the selection or hover changes or the list is hidden.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private static final class PreviewPlayer implements ActionListener {
+		/** The shared instance */
+		private static final PreviewPlayer INSTANCE = new PreviewPlayer();
+		
+		/** The time after which a cell that wasn't painted as active stops playing in nanoseconds */
+		private static final long TIMEOUT = (long)PREVIEW_FRAME_DELAY * 3l * 1000000l;
+		
+		/** The timer */
+		private final Timer timer;
+		
+		/** The playing cells (and the time they were last painted) by list */
+		private final Map<JList<?>, Map<Integer, Long>> playing;
+		
+		/**
+		 * Hidden default constructor.
+		 */
+		private PreviewPlayer() {
+			this.timer = new Timer(PREVIEW_FRAME_DELAY, this);
+			this.playing = new HashMap<JList<?>, Map<Integer, Long>>();
+		}
+		
+		/**
+		 * Plays the preview of the given cell.
+		 * @param list the list
+		 * @param index the cell index
+		 */
+		public void play(JList<?> list, int index) {
+			Map<Integer, Long> cells = this.playing.get(list);
+			if (cells == null) {
+				cells = new HashMap<Integer, Long>();
+				this.playing.put(list, cells);
+			}
+			cells.put(index, System.nanoTime());
+			if (!this.timer.isRunning()) {
+				this.timer.start();
+			}
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.awt.event.ActionListener#actionPerformed(java.awt.event.ActionEvent)
+		 */
+		@Override
+		public void actionPerformed(ActionEvent e) {
+			long now = System.nanoTime();
+			Iterator<Map.Entry<JList<?>, Map<Integer, Long>>> lists = this.playing.entrySet().iterator();
+			while (lists.hasNext()) {
+				Map.Entry<JList<?>, Map<Integer, Long>> entry = lists.next();
+				JList<?> list = entry.getKey();
+				if (!list.isShowing()) {
+					lists.remove();
+					continue;
+				}
+				Iterator<Map.Entry<Integer, Long>> cells = entry.getValue().entrySet().iterator();
+				while (cells.hasNext()) {
+					Map.Entry<Integer, Long> cell = cells.next();
+					if (now - cell.getValue() > TIMEOUT) {
+						cells.remove();
+					} else {
+						repaintCell(list, cell.getKey());
+					}
+				}
+				if (entry.getValue().isEmpty()) {
+					lists.remove();
+				}
+			}
+			if (this.playing.isEmpty()) {
+				this.timer.stop();
+			}
+		}
+	}
 }
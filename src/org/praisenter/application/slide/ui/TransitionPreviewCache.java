@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.application.slide.ui;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+
+import javax.swing.SwingUtilities;
+
+import org.apache.log4j.Logger;
+import org.praisenter.animation.transitions.Transition;
+
+/**
+ * Bounded cache of the animated preview frames for transitions.
+ * <p>
+ * Frames are rendered at thumbnail size from two sample slide images on a background
+ * thread, and only when requested by {@link #request(Transition, Component)}, so
+ * previews that are never shown are never rendered.  The most recently requested
+ * transitions are rendered first and only a few requests are kept waiting.
+ * <p>
+ * This class should only be used from the EDT.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public final class TransitionPreviewCache {
+	/** The class level logger */
+	private static final Logger LOGGER = Logger.getLogger(TransitionPreviewCache.class);
+	
+	/** The preview width */
+	public static final int WIDTH = 48;
+	
+	/** The preview height */
+	public static final int HEIGHT = 27;
+	
+	/** The number of frames in each preview */
+	public static final int FRAME_COUNT = 24;
+	
+	/** The maximum number of previews kept */
+	private static final int MAXIMUM_SIZE = 16;
+	
+	/** The maximum number of previews waiting to be rendered */
+	private static final int MAXIMUM_PENDING = 4;
+	
+	/** The shared instance */
+	private static final TransitionPreviewCache INSTANCE = new TransitionPreviewCache();
+	
+	/**
+	 * Returns the shared preview cache.
+	 * @return {@link TransitionPreviewCache}
+	 */
+	public static final TransitionPreviewCache getInstance() {
+		return INSTANCE;
+	}
+	
+	/** The cached frames by transition key (in least recently used order) */
+	private final Map<String, BufferedImage[]> frames;
+	
+	/** The components to repaint for each transition waiting to be rendered */
+	private final Map<String, List<Component>> pending;
+	
+	/** The transitions waiting to be rendered (most recent first) */
+	private final LinkedBlockingDeque<Transition> queue;
+	
+	/** The rendering thread; null until the first request */
+	private PreviewThread thread;
+	
+	/**
+	 * Hidden default constructor.
+	 */
+	@SuppressWarnings("serial")
+	private TransitionPreviewCache() {
+		this.frames = new LinkedHashMap<String, BufferedImage[]>(MAXIMUM_SIZE, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, BufferedImage[]> eldest) {
+				return this.size() > MAXIMUM_SIZE;
+			}
+		};
+		this.pending = new HashMap<String, List<Component>>();
+		this.queue = new LinkedBlockingDeque<Transition>();
+		this.thread = null;
+	}
+	
+	/**
+	 * Returns the preview frames for the given transition if they have been rendered.
+	 * <p>
+	 * Returns null if the frames are not cached.  This method will not render the frames.
+	 * @param transition the transition
+	 * @return BufferedImage[]
+	 */
+	public BufferedImage[] getFrames(Transition transition) {
+		return this.frames.get(getKey(transition));
+	}
+	
+	/**
+	 * Returns the preview frames for the given transition, rendering them in the background
+	 * if necessary.
+	 * <p>
+	 * Returns null if the frames are not cached yet.  The given component is repainted when
+	 * the frames are available.
+	 * @param transition the transition
+	 * @param component the component to repaint when the frames are available; can be null
+	 * @return BufferedImage[]
+	 */
+	public BufferedImage[] request(Transition transition, Component component) {
+		String key = getKey(transition);
+		BufferedImage[] frames = this.frames.get(key);
+		if (frames != null) {
+			return frames;
+		}
+		
+		List<Component> components = this.pending.get(key);
+		if (components == null) {
+			components = new ArrayList<Component>();
+			this.pending.put(key, components);
+			this.queue.offerFirst(transition);
+			// only keep the latest requests
+			while (this.queue.size() > MAXIMUM_PENDING) {
+				Transition dropped = this.queue.pollLast();
+				if (dropped != null) {
+					this.pending.remove(getKey(dropped));
+				}
+			}
+			if (this.thread == null) {
+				this.thread = new PreviewThread();
+				this.thread.start();
+			}
+		}
+		if (component != null && !components.contains(component)) {
+			components.add(component);
+		}
+		return null;
+	}
+	
+	/**
+	 * Called on the EDT when the frames for the given transition have been rendered.
+	 * @param transition the transition
+	 * @param frames the frames
+	 */
+	private void rendered(Transition transition, BufferedImage[] frames) {
+		String key = getKey(transition);
+		this.frames.put(key, frames);
+		List<Component> components = this.pending.remove(key);
+		if (components != null) {
+			for (Component component : components) {
+				component.repaint();
+			}
+		}
+	}
+	
+	/**
+	 * Returns the cache key for the given transition.
+	 * @param transition the transition
+	 * @return String
+	 */
+	private static final String getKey(Transition transition) {
+		return transition.getType() + ":" + transition.getId();
+	}
+	
+	/**
+	 * Renders the preview frames for the given transition.
+	 * @param transition the transition
+	 * @param image0 the current slide image
+	 * @param image1 the next slide image
+	 * @return BufferedImage[]
+	 */
+	private static final BufferedImage[] render(Transition transition, BufferedImage image0, BufferedImage image1) {
+		BufferedImage[] frames = new BufferedImage[FRAME_COUNT];
+		for (int i = 0; i < FRAME_COUNT; i++) {
+			double pc = (double)i / (double)(FRAME_COUNT - 1);
+			BufferedImage frame = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g2d = frame.createGraphics();
+			try {
+				g2d.setColor(Color.BLACK);
+				g2d.fillRect(0, 0, WIDTH, HEIGHT);
+				transition.render(g2d, image0, image1, pc);
+			} finally {
+				g2d.dispose();
+			}
+			frames[i] = frame;
+		}
+		return frames;
+	}
+	
+	/**
+	 * Returns a sample slide image.
+	 * @param c0 the top background color
+	 * @param c1 the bottom background color
+	 * @param lines the number of lines of text
+	 * @return BufferedImage
+	 */
+	private static final BufferedImage createSampleImage(Color c0, Color c1, int lines) {
+		BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g2d = image.createGraphics();
+		try {
+			g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			g2d.setPaint(new GradientPaint(0, 0, c0, 0, HEIGHT, c1));
+			g2d.fillRect(0, 0, WIDTH, HEIGHT);
+			// some lines of "text"
+			g2d.setColor(Color.WHITE);
+			int lh = 2;
+			int y = (HEIGHT - (lines * 2 - 1) * lh) / 2;
+			for (int i = 0; i < lines; i++) {
+				int w = WIDTH * 3 / 4 - (i % 2) * WIDTH / 6;
+				g2d.fillRect((WIDTH - w) / 2, y + i * lh * 2, w, lh);
+			}
+		} finally {
+			g2d.dispose();
+		}
+		return image;
+	}
+	
+	/**
+	 * Thread used to render the preview frames.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private class PreviewThread extends Thread {
+		/** The current slide image */
+		private BufferedImage image0;
+		
+		/** The next slide image */
+		private BufferedImage image1;
+		
+		/**
+		 * Default constructor.
+		 */
+		public PreviewThread() {
+			super("TransitionPreviewThread");
+			this.setDaemon(true);
+			// don't compete with the presentation windows
+			this.setPriority(Thread.MIN_PRIORITY);
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.lang.Thread#run()
+		 */
+		@Override
+		public void run() {
+			this.image0 = createSampleImage(new Color(20, 40, 120), new Color(60, 120, 200), 3);
+			this.image1 = createSampleImage(new Color(120, 30, 20), new Color(220, 160, 60), 2);
+			while (true) {
+				final Transition transition;
+				try {
+					transition = queue.takeFirst();
+				} catch (InterruptedException e) {
+					LOGGER.warn("Interrupted. Stopping thread gracefully.");
+					return;
+				}
+				
+				try {
+					final BufferedImage[] frames = render(transition, this.image0, this.image1);
+					SwingUtilities.invokeLater(new Runnable() {
+						@Override
+						public void run() {
+							rendered(transition, frames);
+						}
+					});
+				} catch (Exception e) {
+					LOGGER.warn("Failed to render the preview for transition " + transition.getClass().getName() + ": ", e);
+					// allow it to be requested again
+					SwingUtilities.invokeLater(new Runnable() {
+						@Override
+						public void run() {
+							pending.remove(getKey(transition));
+						}
+					});
+				}
+			}
+		}
+	}
+}
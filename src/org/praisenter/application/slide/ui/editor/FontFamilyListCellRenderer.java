@@ -26,9 +26,6 @@ package org.praisenter.application.slide.ui.editor;
 
 import java.awt.Component;
 import java.awt.Font;
-import java.awt.font.FontRenderContext;
-import java.awt.geom.AffineTransform;
-import java.awt.geom.Rectangle2D;
 
 import javax.swing.DefaultListCellRenderer;
 import javax.swing.JList;
@@ -38,7 +35,7 @@ import org.praisenter.common.utilities.FontManager;
 /**
  * List cell renderer for showing font families.
  * @author William Bittle
- * @version 2.0.0
+ * @version 2.0.4
  * @since 2.0.0
  */
 public class FontFamilyListCellRenderer extends DefaultListCellRenderer {
@@ -53,15 +50,11 @@ public class FontFamilyListCellRenderer extends DefaultListCellRenderer {
 		super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
 		if (value instanceof String) {
 			String family = (String)value;
-			// create the font using the family name
-			Font font = FontManager.getFont(family, Font.PLAIN, this.getFont().getSize());
-			// fix some fonts showing all boxes
-			if (font.canDisplayUpTo(family) < 0) {
-				// hack to fix some fonts taking up way too much height-wise space
-				Rectangle2D bounds = font.getMaxCharBounds(new FontRenderContext(new AffineTransform(), true, true));
-				if (bounds.getHeight() <= 50) {
-					this.setFont(font);
-				}
+			int size = this.getFont().getSize();
+			// only use the family's font if it can show its name reasonably
+			// (this is checked once per family and size)
+			if (FontManager.isPreviewable(family, size)) {
+				this.setFont(FontManager.getFont(family, Font.PLAIN, size));
 			}
 		}
 		
@@ -24,19 +24,27 @@
  */
 package org.praisenter.application.song.ui;
 
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.praisenter.application.slide.ui.preview.InlineSlidePreviewPanel;
+import org.praisenter.common.utilities.FontManager;
 import org.praisenter.data.song.Song;
 import org.praisenter.data.song.SongPart;
 import org.praisenter.slide.SongSlide;
 import org.praisenter.slide.SongSlideTemplate;
+import org.praisenter.slide.text.BatchTextFitter;
+import org.praisenter.slide.text.FontScaleType;
+import org.praisenter.slide.text.TextComponent;
 
 /**
  * Represents a panel that shows a preview of song slides.
  * @author William Bittle
- * @version 1.0.0
+ * @version 2.0.4
  * @since 1.0.0
  */
 public class SongSlidePreviewPanel extends InlineSlidePreviewPanel {
@@ -61,17 +69,85 @@ public class SongSlidePreviewPanel extends InlineSlidePreviewPanel {
 	 * @param template the song template
 	 */
 	public void setSong(Song song, SongSlideTemplate template) {
-		this.slides.clear();
+		this.setSong(song, template, null, false);
+	}
+	
+	/**
+	 * Sets the currently displayed song.
+	 * <p>
+	 * The text of all the parts is fitted ahead of time for the given font rendering context
+	 * using the {@link BatchTextFitter}.  This should be called off of the EDT.
+	 * @param song the song
+	 * @param template the song template
+	 * @param context the font rendering context the slides will be sent with; null to not fit the text ahead of time
+	 * @param uniform true if all the parts should use the same font size
+	 * @since 2.0.4
+	 */
+	public void setSong(Song song, SongSlideTemplate template, FontRenderContext context, boolean uniform) {
+		List<SongSlide> slides = new ArrayList<SongSlide>();
 		if (song != null && template != null) {
 			for (SongPart part : song.getParts()) {
 				SongSlide slide = template.createSlide();
 				slide.setName(SongHelper.getPartName(part));
 				slide.getTextComponent().setText(part.getText());
 				slide.getTextComponent().setTextFont(slide.getTextComponent().getTextFont().deriveFont((float)part.getFontSize()));
-				this.slides.add(slide);
-				this.map.put(new SongPartKey(part.getType(), part.getIndex()), slide);
+				slides.add(slide);
+			}
+			// fit the text of all the parts before they are shown
+			if (context != null && slides.size() > 0) {
+				List<TextComponent> components = new ArrayList<TextComponent>();
+				for (SongSlide slide : slides) {
+					components.add(slide.getTextComponent());
+				}
+				float[] sizes = BatchTextFitter.fit(components, context);
+				if (uniform) {
+					this.applyUniformFontSize(components, sizes, context);
+				}
+			}
+		}
+		this.slides.clear();
+		for (int i = 0; i < slides.size(); i++) {
+			SongPart part = song.getParts().get(i);
+			this.slides.add(slides.get(i));
+			this.map.put(new SongPartKey(part.getType(), part.getIndex()), slides.get(i));
+		}
+	}
+	
+	/**
+	 * Gives the components that scale their font size the smallest of their fitted sizes
+	 * and fits them again.
+	 * <p>
+	 * These components are set to {@link FontScaleType#REDUCE_SIZE_ONLY} so that they
+	 * keep the uniform size.
+	 * @param components the text components of the slides
+	 * @param sizes the fitted font sizes of the components
+	 * @param context the font rendering context the slides will be sent with
+	 * @since 2.0.4
+	 */
+	private void applyUniformFontSize(List<TextComponent> components, float[] sizes, FontRenderContext context) {
+		float size = BatchTextFitter.getUniformFontSize(components, sizes);
+		if (size <= 0) {
+			return;
+		}
+		List<TextComponent> changed = new ArrayList<TextComponent>();
+		for (int i = 0; i < sizes.length; i++) {
+			TextComponent component = components.get(i);
+			if (sizes[i] <= 0 || component.getTextFontScaleType() == FontScaleType.NONE) {
+				continue;
+			}
+			Font font = component.getTextFont();
+			if (font == null) {
+				font = FontManager.getDefaultFont();
+			}
+			if (font.getSize2D() != size || component.getTextFontScaleType() != FontScaleType.REDUCE_SIZE_ONLY) {
+				// this clears the prepared layout so it's prepared again below
+				component.setTextFont(font.deriveFont(size));
+				component.setTextFontScaleType(FontScaleType.REDUCE_SIZE_ONLY);
+				changed.add(component);
 			}
 		}
+		// these are guaranteed to fit so this only lays out the text
+		BatchTextFitter.fit(changed, context);
 	}
 	
 	/**
@@ -38,6 +38,7 @@ import java.awt.event.ItemListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.font.FontRenderContext;
 import java.awt.image.BufferedImage;
 import java.lang.reflect.InvocationTargetException;
 import java.text.DecimalFormat;
@@ -109,11 +110,12 @@ import org.praisenter.slide.SlideLibraryException;
 import org.praisenter.slide.SlideThumbnail;
 import org.praisenter.slide.SongSlide;
 import org.praisenter.slide.SongSlideTemplate;
+import org.praisenter.slide.text.BatchTextFitter;
 
 /**
  * Main ui for song manipulation and display.
  * @author William Bittle
- * @version 2.0.1
+ * @version 2.0.4
  * @since 1.0.0
  */
 public class SongsPanel extends OpaquePanel implements ActionListener, SongListener, ItemListener, PreferencesListener, SlideLibraryListener {
@@ -198,6 +200,12 @@ public class SongsPanel extends OpaquePanel implements ActionListener, SongListe
 	/** This is used to store the previously selected template */
 	private Object previouslySelectedTemplate;
 	
+	/** The preview slide that was last staged */
+	private SongSlide stagedSource;
+	
+	/** The copy of the staged preview slide that will be sent */
+	private SongSlide stagedSlide;
+	
 	// preferences
 	
 	/** Local reference to the preferences */
@@ -242,6 +250,7 @@ public class SongsPanel extends OpaquePanel implements ActionListener, SongListe
 		this.cmbParts.setRenderer(new SongPartCellRenderer(this.cmbParts));
 		this.cmbParts.setEnabled(false);
 		this.cmbParts.setToolTipText(Messages.getString("panel.song.part.list"));
+		this.cmbParts.addItemListener(this);
 
 		SlideThumbnail[] thumbnails = this.getThumbnails();
 		SlideThumbnail selected = this.getSelectedThumbnail(thumbnails);
@@ -937,6 +946,12 @@ public class SongsPanel extends OpaquePanel implements ActionListener, SongListe
 						firePropertyChange(Praisenter.PROPERTY_SLIDE_TEMPLATE_LIBRARY_CHANGED, null, null);
 					}
 				}
+			} else if (source == this.cmbParts) {
+				// the selected part is the most likely to be sent next
+				// (the combo box is disabled while the preview is loading)
+				if (this.cmbParts.isEnabled()) {
+					this.stageSelectedPart();
+				}
 			}
 		}
 	}
@@ -1036,6 +1051,7 @@ public class SongsPanel extends OpaquePanel implements ActionListener, SongListe
 		SongSlide slide = this.pnlPreview.getSlide(key);
 		if (slide != null) {
 			this.sendSlide(slide);
+			this.stageNextPart();
 		}
 	}
 	
@@ -1048,6 +1064,7 @@ public class SongsPanel extends OpaquePanel implements ActionListener, SongListe
 			SongSlide slide = this.pnlPreview.getSlide(part);
 			if (slide != null) {
 				this.sendSlide(slide);
+				this.stageNextPart();
 			}
 		}
 	}
@@ -1075,8 +1092,14 @@ public class SongsPanel extends OpaquePanel implements ActionListener, SongListe
 	 */
 	private void sendSlide(SongSlide slide) {
 		SongPreferences preferences = Preferences.getInstance().getSongPreferences();
-		// copy the slide
-		slide = slide.copy();
+		// copy the slide (or use the copy that was staged for it)
+		if (slide == this.stagedSource) {
+			slide = this.stagedSlide;
+		} else {
+			slide = slide.copy();
+		}
+		this.stagedSource = null;
+		this.stagedSlide = null;
 		// get the transition
 		Transition transition = (Transition)this.cmbSendTransitions.getSelectedItem();
 		int duration = ((Number)this.txtSendTransitions.getValue()).intValue();
@@ -1089,6 +1112,50 @@ public class SongsPanel extends OpaquePanel implements ActionListener, SongListe
 		PresentationManager.getInstance().execute(new SendEvent(configuration, animator, slide));
 	}
 	
+	/**
+	 * Stages the currently selected song part on the primary display.
+	 * @since 2.0.4
+	 */
+	private void stageSelectedPart() {
+		SongPart part = (SongPart)this.cmbParts.getSelectedItem();
+		if (part != null) {
+			this.stageSlide(this.pnlPreview.getSlide(part));
+		}
+	}
+	
+	/**
+	 * Stages the song part after the currently selected song part on the primary display.
+	 * @since 2.0.4
+	 */
+	private void stageNextPart() {
+		int index = this.cmbParts.getSelectedIndex() + 1;
+		if (index > 0 && index < this.cmbParts.getItemCount()) {
+			SongPart part = this.cmbParts.getItemAt(index);
+			this.stageSlide(this.pnlPreview.getSlide(part));
+		}
+	}
+	
+	/**
+	 * Stages a copy of the given {@link SongSlide} on the primary display.
+	 * <p>
+	 * The copy is kept so that it can be sent if the given slide is sent next.
+	 * @param slide the preview slide to stage
+	 * @since 2.0.4
+	 */
+	private void stageSlide(SongSlide slide) {
+		// check if its already staged
+		if (slide == null || slide == this.stagedSource) {
+			return;
+		}
+		SongSlide copy = slide.copy();
+		// get the configuration
+		PresentationEventConfiguration configuration = this.preferences.getPresentationEventConfiguration(PresentationWindowType.FULLSCREEN);
+		// stage the slide on the primary fullscreen display (the transition is chosen when its sent)
+		PresentationManager.getInstance().stage(new SendEvent(configuration, null, copy));
+		this.stagedSource = slide;
+		this.stagedSlide = copy;
+	}
+	
 	/**
 	 * Clears the primary display.
 	 */
@@ -1336,8 +1403,11 @@ public class SongsPanel extends OpaquePanel implements ActionListener, SongListe
 	 * thread will pre-generate the previews and then update the preview panel when complete.
 	 * <p>
 	 * We need to wait on the generated previews before we can send any of the slides.
+	 * <p>
+	 * The text of all the song parts is fitted here for the primary display so that sending
+	 * a part doesn't need to fit its text.
 	 * @author William Bittle
-	 * @version 1.0.0
+	 * @version 2.0.4
 	 * @since 1.0.0
 	 */
 	private class SongPreivewThread extends Thread {
@@ -1379,9 +1449,13 @@ public class SongsPanel extends OpaquePanel implements ActionListener, SongListe
 					if (song != null) {
 						final SongSlideTemplate template = getSelectedTemplate();
 						
-						// update the slides (this method should not
+						// get the font rendering context of the primary display
+						FontRenderContext context = BatchTextFitter.getFontRenderContext(preferences.getRenderQualities().getRenderingHints());
+						boolean uniform = preferences.getSongPreferences().isUniformFontSizeEnabled();
+						
+						// update the slides and fit their text (this method should not
 						// do anything that should normally be done on the EDT)
-						pnlPreview.setSong(song, template);
+						pnlPreview.setSong(song, template, context, uniform);
 						
 						// update the preview panel
 						try {
@@ -1407,6 +1481,11 @@ public class SongsPanel extends OpaquePanel implements ActionListener, SongListe
 									pnlEditSong.setSong(song);
 									
 									pnlEditSong.setTemplate(template);
+									
+									// stage the selected part since its the most likely to be sent
+									if (cmbParts.isEnabled()) {
+										stageSelectedPart();
+									}
 								}
 							});
 						} catch (InvocationTargetException e) {
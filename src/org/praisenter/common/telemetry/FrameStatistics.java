@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.common.telemetry;
+
+/**
+ * Represents a summary of the {@link FrameTelemetry} records over a period of time.
+ * <p>
+ * All times are in nanoseconds and all rates are per second.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public class FrameStatistics {
+	/** The period of time the statistics cover in nanoseconds */
+	protected final long period;
+	
+	/** The number of frames rendered */
+	protected final int frameCount;
+	
+	/** The number of animation timer events */
+	protected final int animationTickCount;
+	
+	/** The number of video frames received */
+	protected final int videoFrameCount;
+	
+	/** The number of late frames */
+	protected final int lateFrameCount;
+	
+	/** The number of late animation timer events */
+	protected final int lateAnimationTickCount;
+	
+	/** The average frame render time */
+	protected final long averageFrameTime;
+	
+	/** The maximum frame render time */
+	protected final long maximumFrameTime;
+	
+	/** The average current slide layer render time */
+	protected final long averageCurrentLayerTime;
+	
+	/** The average incoming slide layer render time */
+	protected final long averageIncomingLayerTime;
+	
+	/** The average composite (transition) render time */
+	protected final long averageCompositeTime;
+	
+	/** The number of queued events executed */
+	protected final int queuedEventCount;
+	
+	/** The average time queued events waited */
+	protected final long averageQueueWaitTime;
+	
+	/** The maximum time a queued event waited */
+	protected final long maximumQueueWaitTime;
+	
+	/**
+	 * Full constructor.
+	 * @param period the period of time the statistics cover in nanoseconds
+	 * @param frameCount the number of frames rendered
+	 * @param animationTickCount the number of animation timer events
+	 * @param videoFrameCount the number of video frames received
+	 * @param lateFrameCount the number of late frames
+	 * @param lateAnimationTickCount the number of late animation timer events
+	 * @param averageFrameTime the average frame render time
+	 * @param maximumFrameTime the maximum frame render time
+	 * @param averageCurrentLayerTime the average current slide layer render time
+	 * @param averageIncomingLayerTime the average incoming slide layer render time
+	 * @param averageCompositeTime the average composite render time
+	 * @param queuedEventCount the number of queued events executed
+	 * @param averageQueueWaitTime the average time queued events waited
+	 * @param maximumQueueWaitTime the maximum time a queued event waited
+	 */
+	public FrameStatistics(long period, 
+			int frameCount, 
+			int animationTickCount, 
+			int videoFrameCount, 
+			int lateFrameCount, 
+			int lateAnimationTickCount, 
+			long averageFrameTime, 
+			long maximumFrameTime, 
+			long averageCurrentLayerTime, 
+			long averageIncomingLayerTime, 
+			long averageCompositeTime,
+			int queuedEventCount,
+			long averageQueueWaitTime,
+			long maximumQueueWaitTime) {
+		this.period = period;
+		this.frameCount = frameCount;
+		this.animationTickCount = animationTickCount;
+		this.videoFrameCount = videoFrameCount;
+		this.lateFrameCount = lateFrameCount;
+		this.lateAnimationTickCount = lateAnimationTickCount;
+		this.averageFrameTime = averageFrameTime;
+		this.maximumFrameTime = maximumFrameTime;
+		this.averageCurrentLayerTime = averageCurrentLayerTime;
+		this.averageIncomingLayerTime = averageIncomingLayerTime;
+		this.averageCompositeTime = averageCompositeTime;
+		this.queuedEventCount = queuedEventCount;
+		this.averageQueueWaitTime = averageQueueWaitTime;
+		this.maximumQueueWaitTime = maximumQueueWaitTime;
+	}
+	
+	/**
+	 * Returns the given count as a rate per second.
+	 * @param count the count
+	 * @return double
+	 */
+	private double getRate(int count) {
+		if (this.period <= 0) {
+			return 0.0;
+		}
+		return (double)count * 1.0e9 / (double)this.period;
+	}
+	
+	/**
+	 * Returns the effective frames per second.
+	 * @return double
+	 */
+	public double getFrameRate() {
+		return this.getRate(this.frameCount);
+	}
+	
+	/**
+	 * Returns the animation timer events per second.
+	 * @return double
+	 */
+	public double getAnimationTickRate() {
+		return this.getRate(this.animationTickCount);
+	}
+	
+	/**
+	 * Returns the video frames received per second.
+	 * @return double
+	 */
+	public double getVideoFrameRate() {
+		return this.getRate(this.videoFrameCount);
+	}
+	
+	/**
+	 * Returns the period of time these statistics cover in nanoseconds.
+	 * @return long
+	 */
+	public long getPeriod() {
+		return this.period;
+	}
+
+	/**
+	 * Returns the number of frames rendered.
+	 * @return int
+	 */
+	public int getFrameCount() {
+		return this.frameCount;
+	}
+
+	/**
+	 * Returns the number of animation timer events.
+	 * @return int
+	 */
+	public int getAnimationTickCount() {
+		return this.animationTickCount;
+	}
+
+	/**
+	 * Returns the number of video frames received.
+	 * @return int
+	 */
+	public int getVideoFrameCount() {
+		return this.videoFrameCount;
+	}
+
+	/**
+	 * Returns the number of late frames.
+	 * @return int
+	 */
+	public int getLateFrameCount() {
+		return this.lateFrameCount;
+	}
+
+	/**
+	 * Returns the number of late animation timer events.
+	 * @return int
+	 */
+	public int getLateAnimationTickCount() {
+		return this.lateAnimationTickCount;
+	}
+
+	/**
+	 * Returns the average frame render time in nanoseconds.
+	 * @return long
+	 */
+	public long getAverageFrameTime() {
+		return this.averageFrameTime;
+	}
+
+	/**
+	 * Returns the maximum frame render time in nanoseconds.
+	 * @return long
+	 */
+	public long getMaximumFrameTime() {
+		return this.maximumFrameTime;
+	}
+
+	/**
+	 * Returns the average current slide layer render time in nanoseconds.
+	 * @return long
+	 */
+	public long getAverageCurrentLayerTime() {
+		return this.averageCurrentLayerTime;
+	}
+
+	/**
+	 * Returns the average incoming slide layer render time in nanoseconds.
+	 * @return long
+	 */
+	public long getAverageIncomingLayerTime() {
+		return this.averageIncomingLayerTime;
+	}
+
+	/**
+	 * Returns the average composite (transition) render time in nanoseconds.
+	 * @return long
+	 */
+	public long getAverageCompositeTime() {
+		return this.averageCompositeTime;
+	}
+	
+	/**
+	 * Returns the number of queued events executed.
+	 * @return int
+	 */
+	public int getQueuedEventCount() {
+		return this.queuedEventCount;
+	}
+	
+	/**
+	 * Returns the average time queued events waited in nanoseconds.
+	 * @return long
+	 */
+	public long getAverageQueueWaitTime() {
+		return this.averageQueueWaitTime;
+	}
+	
+	/**
+	 * Returns the maximum time a queued event waited in nanoseconds.
+	 * @return long
+	 */
+	public long getMaximumQueueWaitTime() {
+		return this.maximumQueueWaitTime;
+	}
+}
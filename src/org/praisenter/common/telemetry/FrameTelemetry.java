@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.common.telemetry;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records frame timing information in a fixed size ring buffer.
+ * <p>
+ * Recording does not lock or allocate and can be performed from any number of
+ * threads (the EDT, transition timers, media player threads, etc.).  Once the
+ * buffer is full the oldest records are overwritten.
+ * <p>
+ * Each slot has a sequence number that is cleared while the slot is being written
+ * and set once the write is complete.  Readers check the sequence number before and
+ * after reading a slot and skip the slot if it changed.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public class FrameTelemetry {
+	/** The default number of records kept */
+	public static final int DEFAULT_CAPACITY = 4096;
+	
+	/** The factor of the expected interval at which a frame is considered late */
+	private static final double LATE_FACTOR = 1.5;
+	
+	/** The event types */
+	private static final FrameTelemetryType[] TYPES = FrameTelemetryType.values();
+	
+	/** The capacity mask (the capacity is always a power of 2) */
+	private final int mask;
+	
+	/** The next sequence number */
+	private final AtomicLong index;
+	
+	/** The sequence number of each slot; -1 if the slot is being written */
+	private final AtomicLongArray sequences;
+	
+	/** The last record time for each event type */
+	private final AtomicLongArray lastTimes;
+	
+	/** The event type ordinals */
+	private final int[] types;
+	
+	/** The event times */
+	private final long[] times;
+	
+	/** The intervals since the last event of the same type */
+	private final long[] intervals;
+	
+	/** The event durations */
+	private final long[] durations;
+	
+	/** The current slide layer render times */
+	private final long[] currentLayerTimes;
+	
+	/** The incoming slide layer render times */
+	private final long[] incomingLayerTimes;
+	
+	/** The composite (transition) render times */
+	private final long[] compositeTimes;
+	
+	/** True if the event was late */
+	private final boolean[] late;
+	
+	/**
+	 * Default constructor.
+	 */
+	public FrameTelemetry() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Optional constructor.
+	 * <p>
+	 * The capacity is rounded up to the next power of 2.
+	 * @param capacity the number of records to keep
+	 */
+	public FrameTelemetry(int capacity) {
+		int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+		this.mask = size - 1;
+		this.index = new AtomicLong();
+		this.sequences = new AtomicLongArray(size);
+		this.lastTimes = new AtomicLongArray(TYPES.length);
+		this.types = new int[size];
+		this.times = new long[size];
+		this.intervals = new long[size];
+		this.durations = new long[size];
+		this.currentLayerTimes = new long[size];
+		this.incomingLayerTimes = new long[size];
+		this.compositeTimes = new long[size];
+		this.late = new boolean[size];
+		for (int i = 0; i < size; i++) {
+			this.sequences.set(i, -1);
+		}
+	}
+	
+	/**
+	 * Records an event without layer times.
+	 * @param type the event type
+	 * @param time the time the event started in nanoseconds (see {@link System#nanoTime()})
+	 * @param duration the duration of the event in nanoseconds
+	 * @param expectedInterval the expected interval between events of this type in nanoseconds; zero if unknown
+	 */
+	public void record(FrameTelemetryType type, long time, long duration, long expectedInterval) {
+		this.record(type, time, duration, 0, 0, 0, expectedInterval);
+	}
+	
+	/**
+	 * Records an event.
+	 * @param type the event type
+	 * @param time the time the event started in nanoseconds (see {@link System#nanoTime()})
+	 * @param duration the duration of the event in nanoseconds
+	 * @param currentLayerTime the current slide layer render time in nanoseconds
+	 * @param incomingLayerTime the incoming slide layer render time in nanoseconds
+	 * @param compositeTime the composite (transition) render time in nanoseconds
+	 * @param expectedInterval the expected interval between events of this type in nanoseconds; zero if unknown
+	 */
+	public void record(FrameTelemetryType type, long time, long duration, long currentLayerTime, long incomingLayerTime, long compositeTime, long expectedInterval) {
+		long last = this.lastTimes.getAndSet(type.ordinal(), time);
+		long interval = last != 0 ? time - last : 0;
+		
+		long sequence = this.index.getAndIncrement();
+		int i = (int)(sequence & this.mask);
+		
+		// mark the slot as being written
+		this.sequences.set(i, -1);
+		this.types[i] = type.ordinal();
+		this.times[i] = time;
+		this.intervals[i] = interval;
+		this.durations[i] = duration;
+		this.currentLayerTimes[i] = currentLayerTime;
+		this.incomingLayerTimes[i] = incomingLayerTime;
+		this.compositeTimes[i] = compositeTime;
+		this.late[i] = expectedInterval > 0 && interval > expectedInterval * LATE_FACTOR;
+		// publish the slot
+		this.sequences.set(i, sequence);
+	}
+	
+	/**
+	 * Resets the interval tracking for the given event type.
+	 * <p>
+	 * This should be called when events of the given type stop and start again (the
+	 * start of a transition for example) so that the time between is not recorded
+	 * as a late event.
+	 * @param type the event type
+	 */
+	public void reset(FrameTelemetryType type) {
+		this.lastTimes.set(type.ordinal(), 0);
+	}
+	
+	/**
+	 * Clears all records.
+	 */
+	public void clear() {
+		long end = this.index.get();
+		for (int i = 0; i <= this.mask; i++) {
+			this.sequences.set(i, -1);
+		}
+		for (int i = 0; i < TYPES.length; i++) {
+			this.lastTimes.set(i, 0);
+		}
+		// make sure new records don't collide with old sequence numbers
+		this.index.compareAndSet(end, end + this.mask + 1);
+	}
+	
+	/**
+	 * Returns a summary of the records within the given period (ending now).
+	 * @param period the period in nanoseconds
+	 * @return {@link FrameStatistics}
+	 */
+	public FrameStatistics getStatistics(long period) {
+		long now = System.nanoTime();
+		long start = now - period;
+		
+		int frames = 0;
+		int ticks = 0;
+		int videoFrames = 0;
+		int lateFrames = 0;
+		int lateTicks = 0;
+		long frameTime = 0;
+		long maxFrameTime = 0;
+		long currentTime = 0;
+		long incomingTime = 0;
+		long compositeTime = 0;
+		int queued = 0;
+		long queueWaitTime = 0;
+		long maxQueueWaitTime = 0;
+		
+		long end = this.index.get();
+		long first = Math.max(0, end - this.mask - 1);
+		for (long sequence = first; sequence < end; sequence++) {
+			int i = (int)(sequence & this.mask);
+			if (this.sequences.get(i) != sequence) {
+				continue;
+			}
+			int type = this.types[i];
+			long time = this.times[i];
+			long duration = this.durations[i];
+			long current = this.currentLayerTimes[i];
+			long incoming = this.incomingLayerTimes[i];
+			long composite = this.compositeTimes[i];
+			boolean late = this.late[i];
+			// make sure the slot wasn't overwritten while reading
+			if (this.sequences.get(i) != sequence || time < start) {
+				continue;
+			}
+			
+			if (type == FrameTelemetryType.FRAME.ordinal()) {
+				frames++;
+				frameTime += duration;
+				maxFrameTime = Math.max(maxFrameTime, duration);
+				currentTime += current;
+				incomingTime += incoming;
+				compositeTime += composite;
+				if (late) {
+					lateFrames++;
+				}
+			} else if (type == FrameTelemetryType.ANIMATION_TICK.ordinal()) {
+				ticks++;
+				if (late) {
+					lateTicks++;
+				}
+			} else if (type == FrameTelemetryType.VIDEO_FRAME.ordinal()) {
+				videoFrames++;
+			} else if (type == FrameTelemetryType.QUEUE_WAIT.ordinal()) {
+				queued++;
+				queueWaitTime += duration;
+				maxQueueWaitTime = Math.max(maxQueueWaitTime, duration);
+			}
+		}
+		
+		int n = Math.max(1, frames);
+		return new FrameStatistics(
+				period, 
+				frames, ticks, videoFrames, 
+				lateFrames, lateTicks, 
+				frameTime / n, maxFrameTime, 
+				currentTime / n, incomingTime / n, compositeTime / n,
+				queued, queueWaitTime / Math.max(1, queued), maxQueueWaitTime);
+	}
+	
+	/**
+	 * Writes all the current records to the given writer in CSV format.
+	 * <p>
+	 * The first line is a header line.  All times are in nanoseconds.
+	 * @param writer the writer
+	 * @param source the source name; written as the first column of each record
+	 * @param header true if the header line should be written
+	 * @throws IOException if an IO error occurs
+	 */
+	public void writeCsv(Writer writer, String source, boolean header) throws IOException {
+		if (header) {
+			writer.write("Source,Sequence,Type,Time,Interval,Duration,CurrentLayer,IncomingLayer,Composite,Late\n");
+		}
+		StringBuilder sb = new StringBuilder();
+		long end = this.index.get();
+		long first = Math.max(0, end - this.mask - 1);
+		for (long sequence = first; sequence < end; sequence++) {
+			int i = (int)(sequence & this.mask);
+			if (this.sequences.get(i) != sequence) {
+				continue;
+			}
+			sb.setLength(0);
+			sb.append('"').append(source.replace("\"", "\"\"")).append('"').append(',')
+			  .append(sequence).append(',')
+			  .append(TYPES[this.types[i]]).append(',')
+			  .append(this.times[i]).append(',')
+			  .append(this.intervals[i]).append(',')
+			  .append(this.durations[i]).append(',')
+			  .append(this.currentLayerTimes[i]).append(',')
+			  .append(this.incomingLayerTimes[i]).append(',')
+			  .append(this.compositeTimes[i]).append(',')
+			  .append(this.late[i]).append('\n');
+			// make sure the slot wasn't overwritten while reading
+			if (this.sequences.get(i) != sequence) {
+				continue;
+			}
+			writer.write(sb.toString());
+		}
+	}
+	
+	/**
+	 * Returns the capacity of this telemetry buffer.
+	 * @return int
+	 */
+	public int getCapacity() {
+		return this.mask + 1;
+	}
+}
@@ -26,15 +26,42 @@ package org.praisenter.common.utilities;
 
 import java.awt.Font;
 import java.awt.GraphicsEnvironment;
-import java.util.HashMap;
-import java.util.Map;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.swing.UIManager;
 
 /**
  * Class used to help manage fonts.
+ * <p>
+ * The font caches are safe to read and write from multiple threads without locking
+ * so that fonts can be loaded in parallel.  Two threads asking for the same font
+ * at the same time may both create it, but only one is kept.
+ * <p>
+ * The {@link GlyphCoverage} of each font face is cached so that checking whether a font
+ * can display some text doesn't require probing the font.  The coverage can be saved
+ * and loaded so that it isn't computed again on each start.  Characters a font can't
+ * display can be displayed using the first font in the fallback font families that can.
  * @author William Bittle
- * @version 1.0.0
+ * @version 2.0.4
  * @since 1.0.0
  */
 public final class FontManager {
@@ -44,11 +71,32 @@ public final class FontManager {
 	/** The default font; We use the current UIManager's default label font */
 	private static final Font DEFAULT_FONT = UIManager.getDefaults().getFont("Label.font");
 	
+	/** The maximum height of the largest character of a font at which the font is used for previews */
+	private static final double MAXIMUM_PREVIEW_CHARACTER_HEIGHT = 50.0;
+	
 	/** Cache for the font family fonts; These are used to derive the fonts that go into {@link #FONT_CACHE} */
-	private static final Map<String, Font> FONT_FAMILY_CACHE = new HashMap<String, Font>();
+	private static final ConcurrentMap<String, Font> FONT_FAMILY_CACHE = new ConcurrentHashMap<String, Font>();
 	
 	/** Cache for the derived fonts */
-	private static final Map<FontKey, Font> FONT_CACHE = new HashMap<FontKey, Font>();
+	private static final ConcurrentMap<FontKey, Font> FONT_CACHE = new ConcurrentHashMap<FontKey, Font>();
+	
+	/** Cache of whether a font can be used to preview its family */
+	private static final ConcurrentMap<FontKey, Boolean> PREVIEW_CACHE = new ConcurrentHashMap<FontKey, Boolean>();
+	
+	/** Cache of the glyph coverage by font face name */
+	private static final ConcurrentMap<String, GlyphCoverage> COVERAGE_CACHE = new ConcurrentHashMap<String, GlyphCoverage>();
+	
+	/** The glyph coverage file format version */
+	private static final int COVERAGE_FILE_VERSION = 2;
+	
+	/** The hash of the installed font faces; computed on first use */
+	private static volatile Integer installedFontsHash = null;
+	
+	/** The fallback font families */
+	private static volatile String[] fallbackFontFamilies = new String[0];
+	
+	/** Incremented each time the fallback font families change */
+	private static final AtomicInteger FALLBACK_GENERATION = new AtomicInteger();
 	
 	/** Hidden default constructor */
 	private FontManager() {}
@@ -133,34 +181,282 @@ public final class FontManager {
 	 * @return Font
 	 */
 	public static final Font getFont(String family, int style, float size) {
-		// make sure we only allow one thread at a time here
-		synchronized (FontManager.FONT_CACHE) {
-			// create the font key
-			FontKey key = new FontKey(family, style, size);
-			// get the font
-			Font font = FontManager.FONT_CACHE.get(key);
+		// create the font key
+		FontKey key = new FontKey(family, style, size);
+		// get the font
+		Font font = FontManager.FONT_CACHE.get(key);
+		// check if it exists
+		if (font == null) {
+			// check the font family cache
+			font = FontManager.FONT_FAMILY_CACHE.get(family);
 			// check if it exists
 			if (font == null) {
-				// check the font family cache
-				font = FontManager.FONT_FAMILY_CACHE.get(family);
-				// check if it exists
-				if (font == null) {
-					// then we need to create a whole new font
-					// just use the default label size
-					Font defaultFont = FontManager.getDefaultFont();
-					int dsize = defaultFont.getSize();
-					// create the font
-					font = new Font(family, style, dsize);
-					// add it to the family cache
-					FontManager.FONT_FAMILY_CACHE.put(family, font);
+				// then we need to create a whole new font
+				// just use the default label size
+				Font defaultFont = FontManager.getDefaultFont();
+				int dsize = defaultFont.getSize();
+				// create the font
+				font = new Font(family, style, dsize);
+				// add it to the family cache (if another thread beat us, use theirs)
+				Font existing = FontManager.FONT_FAMILY_CACHE.putIfAbsent(family, font);
+				if (existing != null) {
+					font = existing;
+				}
+			}
+			// now we need to derive the font to match the input
+			font = font.deriveFont(style, size);
+			// add the derived font to the font cache (if another thread beat us, use theirs)
+			Font existing = FontManager.FONT_CACHE.putIfAbsent(key, font);
+			if (existing != null) {
+				font = existing;
+			}
+		}
+		return font;
+	}
+	
+	/**
+	 * Returns true if the given font family can be previewed using a font of
+	 * the family at the given size.
+	 * <p>
+	 * A family can't be previewed if it can't display its own name or if its
+	 * characters are too large to fit in a list.
+	 * <p>
+	 * The result is cached.
+	 * @param family the font family
+	 * @param size the preview font size
+	 * @return boolean
+	 * @since 2.0.4
+	 */
+	public static final boolean isPreviewable(String family, float size) {
+		FontKey key = new FontKey(family, Font.PLAIN, size);
+		Boolean previewable = FontManager.PREVIEW_CACHE.get(key);
+		if (previewable == null) {
+			Font font = FontManager.getFont(family, Font.PLAIN, size);
+			// fix some fonts showing all boxes
+			previewable = false;
+			if (FontManager.getGlyphCoverage(font).canDisplayUpTo(family) < 0) {
+				// fix some fonts taking up way too much height-wise space
+				Rectangle2D bounds = font.getMaxCharBounds(new FontRenderContext(new AffineTransform(), true, true));
+				previewable = bounds.getHeight() <= MAXIMUM_PREVIEW_CHARACTER_HEIGHT;
+			}
+			FontManager.PREVIEW_CACHE.putIfAbsent(key, previewable);
+		}
+		return previewable;
+	}
+	
+	/**
+	 * Returns the glyph coverage of the given font.
+	 * <p>
+	 * The coverage is shared by all the fonts of the same face.
+	 * @param font the font
+	 * @return {@link GlyphCoverage}
+	 * @since 2.0.4
+	 */
+	public static final GlyphCoverage getGlyphCoverage(Font font) {
+		String name = font.getFontName();
+		GlyphCoverage coverage = FontManager.COVERAGE_CACHE.get(name);
+		if (coverage == null) {
+			coverage = new GlyphCoverage(font);
+			GlyphCoverage existing = FontManager.COVERAGE_CACHE.putIfAbsent(name, coverage);
+			if (existing != null) {
+				coverage = existing;
+			}
+		}
+		// use this font if the coverage was loaded
+		coverage.setFontIfAbsent(font);
+		return coverage;
+	}
+	
+	/**
+	 * Returns the first fallback font that can display the given code point.
+	 * <p>
+	 * The returned font has the style and size of the given font.  Returns null
+	 * if none of the fallback fonts can display the code point.
+	 * @param font the font that can't display the code point
+	 * @param codePoint the code point
+	 * @return Font
+	 * @since 2.0.4
+	 */
+	public static final Font getFallbackFont(Font font, int codePoint) {
+		String[] families = FontManager.fallbackFontFamilies;
+		for (String family : families) {
+			// check the coverage with a cached font of the family and derive the size
+			// only when it's used so that we don't cache a font for every size
+			Font fallback = FontManager.getFont(family, font.getStyle(), 1);
+			if (FontManager.getGlyphCoverage(fallback).canDisplay(codePoint)) {
+				return fallback.deriveFont(font.getSize2D());
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns true if any fallback font families have been set.
+	 * @return boolean
+	 * @since 2.0.4
+	 */
+	public static final boolean isFallbackEnabled() {
+		return FontManager.fallbackFontFamilies.length > 0;
+	}
+	
+	/**
+	 * Returns the fallback font families.
+	 * @return List&lt;String&gt;
+	 * @since 2.0.4
+	 */
+	public static final List<String> getFallbackFontFamilies() {
+		return Collections.unmodifiableList(Arrays.asList(FontManager.fallbackFontFamilies));
+	}
+	
+	/**
+	 * Sets the font families used to display characters a font can't display.
+	 * <p>
+	 * The families are tried in order.  Families that aren't installed are ignored.
+	 * <p>
+	 * If the families change, the fallback generation is incremented so that text
+	 * laid out with the previous families is laid out again (see {@link #getFallbackGeneration()}).
+	 * @param families the font families; can be null
+	 * @since 2.0.4
+	 */
+	public static final synchronized void setFallbackFontFamilies(List<String> families) {
+		List<String> installed = new ArrayList<String>();
+		if (families != null) {
+			Set<String> names = new HashSet<String>(Arrays.asList(FontManager.FONT_FAMILY_NAMES));
+			for (String family : families) {
+				if (family != null && names.contains(family.trim()) && !installed.contains(family.trim())) {
+					installed.add(family.trim());
+				}
+			}
+		}
+		String[] fallbacks = installed.toArray(new String[installed.size()]);
+		if (!Arrays.equals(fallbacks, FontManager.fallbackFontFamilies)) {
+			FontManager.fallbackFontFamilies = fallbacks;
+			FontManager.FALLBACK_GENERATION.incrementAndGet();
+		}
+	}
+	
+	/**
+	 * Returns the fallback generation.
+	 * <p>
+	 * The generation changes each time the fallback font families change.  Anything that
+	 * caches text laid out with fallback fonts should store the generation and lay out
+	 * the text again when it changes.
+	 * @return int
+	 * @since 2.0.4
+	 */
+	public static final int getFallbackGeneration() {
+		return FontManager.FALLBACK_GENERATION.get();
+	}
+	
+	/**
+	 * Loads the glyph coverage saved by {@link #saveGlyphCoverage(String)}.
+	 * <p>
+	 * The saved coverage is ignored if the fonts installed on the system or the JVM
+	 * have changed (see {@link #getInstalledFontsHash()}).
+	 * Does nothing if the file doesn't exist.
+	 * @param path the file path
+	 * @throws IOException thrown if the file couldn't be read
+	 * @since 2.0.4
+	 */
+	public static final void loadGlyphCoverage(String path) throws IOException {
+		File file = new File(path);
+		if (!file.exists()) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != COVERAGE_FILE_VERSION || in.readInt() != FontManager.getInstalledFontsHash()) {
+				// the file is from a different version or the fonts have changed
+				return;
+			}
+			int n = in.readInt();
+			for (int i = 0; i < n; i++) {
+				String name = in.readUTF();
+				GlyphCoverage coverage = new GlyphCoverage(name);
+				int blocks = in.readInt();
+				for (int j = 0; j < blocks; j++) {
+					int index = in.readInt();
+					long[] bits = new long[GlyphCoverage.BLOCK_LENGTH];
+					for (int k = 0; k < bits.length; k++) {
+						bits[k] = in.readLong();
+					}
+					if (index >= 0 && index < GlyphCoverage.BLOCK_COUNT) {
+						coverage.setBlock(index, bits);
+					}
 				}
-				// now we need to derive the font to match the input
-				font = font.deriveFont(style, size);
-				// add the derived font to the font cache
-				FontManager.FONT_CACHE.put(key, font);
+				// don't replace coverage that's already in use
+				FontManager.COVERAGE_CACHE.putIfAbsent(name, coverage);
+			}
+		}
+	}
+	
+	/**
+	 * Saves the glyph coverage computed so far to the given file.
+	 * <p>
+	 * Does nothing if no coverage has been computed since it was loaded or last saved.
+	 * @param path the file path
+	 * @throws IOException thrown if the file couldn't be written
+	 * @since 2.0.4
+	 */
+	public static final void saveGlyphCoverage(String path) throws IOException {
+		List<GlyphCoverage> coverages = new ArrayList<GlyphCoverage>(FontManager.COVERAGE_CACHE.values());
+		boolean modified = false;
+		for (GlyphCoverage coverage : coverages) {
+			modified |= coverage.isModified();
+		}
+		if (!modified) {
+			return;
+		}
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+			out.writeInt(COVERAGE_FILE_VERSION);
+			out.writeInt(FontManager.getInstalledFontsHash());
+			out.writeInt(coverages.size());
+			for (GlyphCoverage coverage : coverages) {
+				// clear the flag first so that blocks computed while saving are saved next time
+				coverage.setModified(false);
+				out.writeUTF(coverage.getName());
+				List<Integer> indices = new ArrayList<Integer>();
+				for (int i = 0; i < GlyphCoverage.BLOCK_COUNT; i++) {
+					if (coverage.getComputedBlock(i) != null) {
+						indices.add(i);
+					}
+				}
+				out.writeInt(indices.size());
+				for (int index : indices) {
+					out.writeInt(index);
+					for (long bits : coverage.getComputedBlock(index)) {
+						out.writeLong(bits);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns a hash of the installed font faces and the JVM.
+	 * <p>
+	 * This is used to detect when fonts have been installed, removed or updated.  The
+	 * name and number of glyphs of every face is included since a font can be replaced
+	 * without changing its family name.  The JVM vendor and version are included since
+	 * the font rasterizer (and so the glyphs it can display) can change with the JVM.
+	 * <p>
+	 * The hash is only computed once per session.
+	 * @return int
+	 */
+	private static final int getInstalledFontsHash() {
+		Integer hash = FontManager.installedFontsHash;
+		if (hash == null) {
+			Font[] fonts = GraphicsEnvironment.getLocalGraphicsEnvironment().getAllFonts();
+			List<String> faces = new ArrayList<String>(fonts.length + 1);
+			for (Font font : fonts) {
+				faces.add(font.getFontName() + ":" + font.getNumGlyphs());
 			}
-			return font;
+			// the order of the faces isn't guaranteed
+			Collections.sort(faces);
+			faces.add(System.getProperty("java.vendor") + ":" + System.getProperty("java.version"));
+			hash = faces.hashCode();
+			FontManager.installedFontsHash = hash;
 		}
+		return hash;
 	}
 	
 	/**
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.common.utilities;
+
+import java.awt.Font;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Represents the characters a font can display.
+ * <p>
+ * The coverage is stored as a bitmap of code points which is computed in blocks of
+ * {@link #BLOCK_SIZE} code points as they are first used.  Once a block is computed,
+ * checking a character is a single array lookup.
+ * <p>
+ * Coverage is shared by all fonts of the same face (it doesn't depend on the size) and
+ * is cached by the {@link FontManager}.  This class is safe to use from multiple threads.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public final class GlyphCoverage {
+	/** The number of code points in a block */
+	public static final int BLOCK_SIZE = 256;
+	
+	/** The number of blocks */
+	static final int BLOCK_COUNT = (Character.MAX_CODE_POINT + 1) / BLOCK_SIZE;
+	
+	/** The number of longs in a block */
+	static final int BLOCK_LENGTH = BLOCK_SIZE / 64;
+	
+	/** The font face name */
+	private final String name;
+	
+	/** The computed blocks; null elements haven't been computed */
+	private final AtomicReferenceArray<long[]> blocks;
+	
+	/** The font used to compute the blocks; can be null if the coverage was loaded */
+	private volatile Font font;
+	
+	/** True if blocks have been computed since the coverage was created or saved */
+	private volatile boolean modified;
+	
+	/**
+	 * Creates the coverage for the given font.
+	 * @param font the font
+	 */
+	GlyphCoverage(Font font) {
+		this.name = font.getFontName();
+		this.blocks = new AtomicReferenceArray<long[]>(BLOCK_COUNT);
+		this.font = font;
+		this.modified = false;
+	}
+	
+	/**
+	 * Creates the coverage for the given font face without a font.
+	 * <p>
+	 * This is used when loading saved coverage.  A font of the face is created
+	 * if any other blocks need to be computed.
+	 * @param name the font face name
+	 */
+	GlyphCoverage(String name) {
+		this.name = name;
+		this.blocks = new AtomicReferenceArray<long[]>(BLOCK_COUNT);
+		this.font = null;
+		this.modified = false;
+	}
+	
+	/**
+	 * Returns true if the font can display the given code point.
+	 * @param codePoint the code point
+	 * @return boolean
+	 */
+	public boolean canDisplay(int codePoint) {
+		if (codePoint < 0 || codePoint > Character.MAX_CODE_POINT) {
+			return false;
+		}
+		long[] bits = this.getBlock(codePoint / BLOCK_SIZE);
+		return (bits[(codePoint % BLOCK_SIZE) / 64] & (1L << (codePoint % 64))) != 0;
+	}
+	
+	/**
+	 * Returns the index of the first character in the given range of the
+	 * given text that the font can't display.
+	 * <p>
+	 * Returns -1 if the font can display the whole range.
+	 * @param text the text
+	 * @param start the index of the first character
+	 * @param end the index after the last character
+	 * @return int
+	 */
+	public int canDisplayUpTo(CharSequence text, int start, int end) {
+		int i = start;
+		while (i < end) {
+			int cp = Character.codePointAt(text, i);
+			if (!this.canDisplay(cp)) {
+				return i;
+			}
+			i += Character.charCount(cp);
+		}
+		return -1;
+	}
+	
+	/**
+	 * Returns the index of the first character of the given text that the font
+	 * can't display.
+	 * <p>
+	 * Returns -1 if the font can display all of the text.
+	 * @param text the text
+	 * @return int
+	 */
+	public int canDisplayUpTo(CharSequence text) {
+		return this.canDisplayUpTo(text, 0, text.length());
+	}
+	
+	/**
+	 * Returns the given block, computing it if necessary.
+	 * @param index the block index
+	 * @return long[]
+	 */
+	private long[] getBlock(int index) {
+		long[] bits = this.blocks.get(index);
+		if (bits == null) {
+			// this is safe to do concurrently since the result is always the same
+			Font font = this.font;
+			if (font == null) {
+				font = new Font(this.name, Font.PLAIN, 1);
+				this.font = font;
+			}
+			bits = new long[BLOCK_LENGTH];
+			int first = index * BLOCK_SIZE;
+			for (int i = 0; i < BLOCK_SIZE; i++) {
+				if (font.canDisplay(first + i)) {
+					bits[i / 64] |= 1L << i;
+				}
+			}
+			this.blocks.set(index, bits);
+			this.modified = true;
+		}
+		return bits;
+	}
+	
+	/**
+	 * Returns the font face name.
+	 * @return String
+	 */
+	public String getName() {
+		return this.name;
+	}
+	
+	/**
+	 * Sets the font used to compute blocks if the coverage doesn't have one.
+	 * @param font the font
+	 */
+	void setFontIfAbsent(Font font) {
+		if (this.font == null) {
+			this.font = font;
+		}
+	}
+	
+	/**
+	 * Returns the computed block at the given index or null if it hasn't been computed.
+	 * @param index the block index
+	 * @return long[]
+	 */
+	long[] getComputedBlock(int index) {
+		return this.blocks.get(index);
+	}
+	
+	/**
+	 * Sets the given block.
+	 * <p>
+	 * Used when loading saved coverage.
+	 * @param index the block index
+	 * @param bits the block
+	 */
+	void setBlock(int index, long[] bits) {
+		this.blocks.set(index, bits);
+	}
+	
+	/**
+	 * Returns true if blocks have been computed since the coverage was
+	 * created or last saved.
+	 * @return boolean
+	 */
+	boolean isModified() {
+		return this.modified;
+	}
+	
+	/**
+	 * Sets the modified flag.
+	 * @param flag true if the coverage has been modified
+	 */
+	void setModified(boolean flag) {
+		this.modified = flag;
+	}
+}
@@ -28,6 +28,7 @@ import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.GraphicsConfiguration;
+import java.awt.Image;
 import java.awt.RenderingHints;
 import java.awt.Transparency;
 import java.awt.geom.AffineTransform;
@@ -51,7 +52,7 @@ import org.apache.commons.codec.binary.Base64OutputStream;
 /**
  * Utility class for loading and managing images.
  * @author William Bittle
- * @version 1.0.0
+ * @version 2.0.4
  * @since 1.0.0
  */
 public final class ImageUtilities {
@@ -293,10 +294,12 @@ public final class ImageUtilities {
 	 * Clears the target image and renders the source image to the target image.
 	 * <p>
 	 * This method uses a 100% transparent color to clear the target image.
+	 * <p>
+	 * The images can be either {@link BufferedImage}s or {@link java.awt.image.VolatileImage}s.
 	 * @param source the source image
 	 * @param target the target image
 	 */
-	public static final void copyImage(BufferedImage source, BufferedImage target) {
+	public static final void copyImage(Image source, Image target) {
 		copyImage(source, target, ColorUtilities.TRANSPARENT);
 	}
 	
@@ -306,14 +309,14 @@ public final class ImageUtilities {
 	 * @param target the target image
 	 * @param clearColor the clear color
 	 */
-	public static final void copyImage(BufferedImage source, BufferedImage target, Color clearColor) {
-		Graphics2D tg2d = target.createGraphics();
+	public static final void copyImage(Image source, Image target, Color clearColor) {
+		Graphics2D tg2d = (Graphics2D)target.getGraphics();
 		// clear the background
 		tg2d.setBackground(clearColor);
-		tg2d.clearRect(0, 0, target.getWidth(), target.getHeight());
+		tg2d.clearRect(0, 0, target.getWidth(null), target.getHeight(null));
 		// for compatibility for offscreen images we need to do this
 		tg2d.setColor(clearColor);
-		tg2d.fillRect(0, 0, target.getWidth(), target.getHeight());
+		tg2d.fillRect(0, 0, target.getWidth(null), target.getHeight(null));
 		// finally copy the image
 		tg2d.drawImage(source, 0, 0, null);
 		tg2d.dispose();
@@ -323,7 +326,7 @@ public final class ImageUtilities {
 	 * Clears the given image.
 	 * @param image the image
 	 */
-	public static final void clearImage(BufferedImage image) {
+	public static final void clearImage(Image image) {
 		clearImage(image, ColorUtilities.TRANSPARENT);
 	}
 	
@@ -332,14 +335,14 @@ public final class ImageUtilities {
 	 * @param image the image
 	 * @param clearColor the clear color
 	 */
-	public static final void clearImage(BufferedImage image, Color clearColor) {
-		Graphics2D g2d = image.createGraphics();
+	public static final void clearImage(Image image, Color clearColor) {
+		Graphics2D g2d = (Graphics2D)image.getGraphics();
 		// clear the background
 		g2d.setBackground(clearColor);
-		g2d.clearRect(0, 0, image.getWidth(), image.getHeight());
+		g2d.clearRect(0, 0, image.getWidth(null), image.getHeight(null));
 		// for compatibility for offscreen images we need to do this
 		g2d.setColor(clearColor);
-		g2d.fillRect(0, 0, image.getWidth(), image.getHeight());
+		g2d.fillRect(0, 0, image.getWidth(null), image.getHeight(null));
 		g2d.dispose();
 	}
 }
@@ -0,0 +1,943 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.presentation;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.log4j.Logger;
+import org.praisenter.animation.TransitionAnimator;
+import org.praisenter.animation.transitions.Transition;
+import org.praisenter.animation.transitions.TransitionType;
+import org.praisenter.common.utilities.ColorUtilities;
+import org.praisenter.media.MediaPlayer;
+import org.praisenter.presentation.sink.FrameSink;
+import org.praisenter.slide.RenderableComponent;
+import org.praisenter.slide.Slide;
+import org.praisenter.slide.graphics.RenderQualities;
+import org.praisenter.slide.media.PlayableMediaComponent;
+import org.praisenter.slide.media.VideoMediaComponent;
+
+/**
+ * Presentation surface that renders to offscreen images rather than a display.
+ * <p>
+ * Slides are rendered at a fixed frame rate using the same {@link PresentationRenderer}s,
+ * {@link TransitionAnimator}s and video compositing as the {@link PresentationSurface} and
+ * each frame is pushed to a {@link FrameSink}.  Nothing in this class requires a display so 
+ * it can be used with <code>java.awt.headless=true</code> to record or stream the output or 
+ * in automated tests.
+ * <p>
+ * Frames are timed by a fixed clock: frame n is rendered as of n / frame rate seconds after
+ * the first frame, no matter how long the previous frames took to render.  Use {@link #start()}
+ * to render frames in real time on a separate thread or call {@link #renderFrame()} directly
+ * to step through the frames one at a time.  Events are applied at the next frame.
+ * <p>
+ * Frames are rendered into a small pool of images.  While started, the frames are given to
+ * the sink on a separate thread so that a slow sink does not delay rendering; the rendering
+ * blocks only when every image in the pool is waiting on the sink.
+ * <p>
+ * Slides should be sized to the surface.  Unlike the {@link PresentationSurface}, the background
+ * is always transitioned (the smart image and video transition settings are ignored).
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public class OffscreenPresentationSurface {
+	/** The class level logger */
+	private static final Logger LOGGER = Logger.getLogger(OffscreenPresentationSurface.class);
+	
+	/** The number of frame images in the pool */
+	private static final int FRAME_POOL_SIZE = 3;
+	
+	/** The width of the frames */
+	protected final int width;
+	
+	/** The height of the frames */
+	protected final int height;
+	
+	/** The number of frames per second */
+	protected final int frameRate;
+	
+	/** The time between frames in nanoseconds */
+	protected final long frameInterval;
+	
+	/** The sink to push the frames to */
+	protected final FrameSink sink;
+	
+	/** The pool of frame images */
+	protected final FramePool pool;
+	
+	/** The events to apply at the next frame */
+	protected final Queue<PresentationEvent> events;
+	
+	/** The lock for rendering a frame */
+	protected final Object renderLock;
+	
+	// current slide
+	
+	/** The current slide; null if clear */
+	protected Slide currentSlide;
+	
+	/** The renderer for the current slide */
+	protected PresentationRenderer currentRenderer;
+	
+	/** The render qualities for the current slide */
+	protected RenderQualities currentRenderQualities;
+	
+	/** The media players for the current slide */
+	protected List<MediaPlayer<?>> currentMediaPlayers;
+	
+	/** True if the current slide has playable media */
+	protected boolean currentHasPlayableMedia;
+	
+	/** True if the current slide has updating date/time components */
+	protected boolean currentHasUpdatingDateTime;
+	
+	// incoming slide
+	
+	/** The incoming slide */
+	protected Slide inSlide;
+	
+	/** The renderer for the incoming slide */
+	protected PresentationRenderer inRenderer;
+	
+	/** The render qualities for the incoming slide */
+	protected RenderQualities inRenderQualities;
+	
+	/** The media players for the incoming slide */
+	protected List<MediaPlayer<?>> inMediaPlayers;
+	
+	/** True if the incoming slide has playable media */
+	protected boolean inHasPlayableMedia;
+	
+	/** True if the incoming slide has updating date/time components */
+	protected boolean inHasUpdatingDateTime;
+	
+	// transition
+	
+	/** The current transition; null if not transitioning */
+	protected TransitionAnimator animator;
+	
+	/** The image containing the current slide */
+	protected BufferedImage image0;
+	
+	/** The image containing the incoming slide */
+	protected BufferedImage image1;
+	
+	/** The event that sent the incoming slide */
+	protected SendEvent inEvent;
+	
+	/** The clear to apply after a {@link SendWaitClearEvent}; null if none */
+	protected ClearEvent waitClearEvent;
+	
+	/** The frame time in nanoseconds to apply the wait clear event */
+	protected long waitClearTime;
+	
+	// ticker
+	
+	/** The ticker of the incoming slide; null if none */
+	protected Ticker inTicker;
+	
+	/** The ticker scrolling over the current slide; null if none */
+	protected Ticker currentTicker;
+	
+	/** The stopped ticker whose text is shown on the current slide for the transition; null if none */
+	protected Ticker stoppedTicker;
+	
+	// clock
+	
+	/** True if the sink has begun */
+	protected boolean begun;
+	
+	/** The time of the first frame in nanoseconds */
+	protected long startTime;
+	
+	/** The number of the next frame */
+	protected long frameNumber;
+	
+	// threads
+	
+	/** The thread rendering frames in real time; null if not started */
+	protected RenderThread renderThread;
+	
+	/** The thread pushing frames to the sink; null if not started */
+	protected SinkThread sinkThread;
+	
+	/** The first error from the sink thread */
+	protected volatile IOException sinkError;
+	
+	/**
+	 * Full constructor.
+	 * @param width the width of the frames in pixels
+	 * @param height the height of the frames in pixels
+	 * @param frameRate the number of frames per second
+	 * @param sink the sink to push the frames to
+	 */
+	public OffscreenPresentationSurface(int width, int height, int frameRate, FrameSink sink) {
+		if (sink == null) throw new NullPointerException();
+		if (width <= 0 || height <= 0 || frameRate <= 0) throw new IllegalArgumentException();
+		
+		this.width = width;
+		this.height = height;
+		this.frameRate = frameRate;
+		this.frameInterval = 1000000000l / frameRate;
+		this.sink = sink;
+		this.pool = new FramePool(width, height, FRAME_POOL_SIZE);
+		this.events = new ConcurrentLinkedQueue<PresentationEvent>();
+		this.renderLock = new Object();
+		
+		this.currentMediaPlayers = new ArrayList<MediaPlayer<?>>();
+		this.inMediaPlayers = new ArrayList<MediaPlayer<?>>();
+		this.image0 = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		this.image1 = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		
+		this.begun = false;
+		this.frameNumber = 0;
+	}
+	
+	/**
+	 * Sends the given slide to this surface.
+	 * <p>
+	 * The slide is shown starting at the next frame.  Any transition in progress is completed immediately.
+	 * @param event the send event
+	 */
+	public void send(SendEvent event) {
+		this.events.add(event);
+	}
+	
+	/**
+	 * Clears this surface.
+	 * <p>
+	 * The clear begins at the next frame.  Any transition in progress is completed immediately.
+	 * @param event the clear event
+	 */
+	public void clear(ClearEvent event) {
+		this.events.add(event);
+	}
+	
+	/**
+	 * Starts rendering frames in real time on a separate thread.
+	 * <p>
+	 * Does nothing if already started.
+	 */
+	public synchronized void start() {
+		if (this.renderThread != null) {
+			return;
+		}
+		this.sinkError = null;
+		this.sinkThread = new SinkThread();
+		this.sinkThread.start();
+		this.renderThread = new RenderThread();
+		this.renderThread.start();
+	}
+	
+	/**
+	 * Stops rendering frames, waits for the sink to receive all the rendered frames,
+	 * ends the sink and releases all media.
+	 * <p>
+	 * The surface is clear after it has been stopped.  It can be started again which
+	 * begins the sink again starting at frame zero.
+	 * @throws IOException if the sink failed
+	 */
+	public synchronized void stop() throws IOException {
+		RenderThread renderThread = this.renderThread;
+		SinkThread sinkThread = this.sinkThread;
+		this.renderThread = null;
+		try {
+			if (renderThread != null) {
+				renderThread.end();
+				renderThread.join();
+			}
+			if (sinkThread != null) {
+				sinkThread.end();
+				sinkThread.join();
+			}
+		} catch (InterruptedException e) {
+			LOGGER.warn("Interrupted while waiting for the offscreen rendering to stop.");
+			Thread.currentThread().interrupt();
+		}
+		
+		synchronized (this.renderLock) {
+			this.sinkThread = null;
+			this.events.clear();
+			this.animator = null;
+			this.waitClearEvent = null;
+			this.inEvent = null;
+			this.inSlide = null;
+			this.inRenderer = null;
+			this.inHasPlayableMedia = false;
+			this.inHasUpdatingDateTime = false;
+			this.currentSlide = null;
+			this.currentRenderer = null;
+			this.currentHasPlayableMedia = false;
+			this.currentHasUpdatingDateTime = false;
+			this.releaseTickers();
+			OffscreenPresentationSurface.releaseMediaPlayers(this.inMediaPlayers);
+			OffscreenPresentationSurface.releaseMediaPlayers(this.currentMediaPlayers);
+			
+			if (this.begun) {
+				this.begun = false;
+				this.frameNumber = 0;
+				this.sink.end();
+			}
+		}
+		
+		IOException error = this.sinkError;
+		this.sinkError = null;
+		if (error != null) {
+			throw error;
+		}
+	}
+	
+	/**
+	 * Renders the next frame and pushes it to the sink.
+	 * <p>
+	 * Call this method directly to step through frames without starting the real time rendering.
+	 * @throws IOException if the sink failed
+	 * @throws InterruptedException if interrupted while waiting for a frame image
+	 */
+	public void renderFrame() throws IOException, InterruptedException {
+		synchronized (this.renderLock) {
+			IOException error = this.sinkError;
+			if (error != null) {
+				throw error;
+			}
+			
+			if (!this.begun) {
+				this.sink.begin(this.width, this.height, this.frameRate);
+				this.begun = true;
+				this.startTime = System.nanoTime();
+				this.frameNumber = 0;
+			}
+			
+			// the fixed clock time of this frame
+			long time = this.startTime + this.frameNumber * this.frameInterval;
+			
+			this.processEvents(time);
+			
+			BufferedImage frame = this.pool.acquire();
+			this.renderFrame(frame, time);
+			
+			long n = this.frameNumber++;
+			SinkThread thread = this.sinkThread;
+			if (thread != null) {
+				thread.enqueue(frame, n);
+			} else {
+				try {
+					this.sink.frame(frame, n);
+				} finally {
+					this.pool.release(frame);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns the number of frames rendered since the sink began.
+	 * @return long
+	 */
+	public long getFrameCount() {
+		synchronized (this.renderLock) {
+			return this.frameNumber;
+		}
+	}
+	
+	/**
+	 * Returns true if this surface is transitioning.
+	 * @return boolean
+	 */
+	public boolean isTransitioning() {
+		synchronized (this.renderLock) {
+			return this.animator != null;
+		}
+	}
+	
+	/**
+	 * Returns true if this surface is clear.
+	 * @return boolean
+	 */
+	public boolean isClear() {
+		synchronized (this.renderLock) {
+			return this.currentSlide == null && this.inSlide == null;
+		}
+	}
+	
+	/**
+	 * Returns the width of the frames.
+	 * @return int
+	 */
+	public int getWidth() {
+		return this.width;
+	}
+	
+	/**
+	 * Returns the height of the frames.
+	 * @return int
+	 */
+	public int getHeight() {
+		return this.height;
+	}
+	
+	/**
+	 * Returns the number of frames per second.
+	 * @return int
+	 */
+	public int getFrameRate() {
+		return this.frameRate;
+	}
+	
+	// events
+	
+	/**
+	 * Applies the events that have been received since the last frame.
+	 * @param time the frame time in nanoseconds
+	 */
+	private void processEvents(long time) {
+		// apply the clear of a send-wait-clear event when its time comes
+		if (this.waitClearEvent != null && this.animator == null && time >= this.waitClearTime) {
+			ClearEvent event = this.waitClearEvent;
+			this.waitClearEvent = null;
+			this.executeClearEvent(event, time);
+		}
+		
+		PresentationEvent event = null;
+		while ((event = this.events.poll()) != null) {
+			// any new event replaces the pending clear
+			this.waitClearEvent = null;
+			// complete the current transition immediately
+			this.completeTransition();
+			if (event instanceof SendEvent) {
+				this.executeSendEvent((SendEvent)event, time);
+			} else if (event instanceof ClearEvent) {
+				this.executeClearEvent((ClearEvent)event, time);
+			}
+		}
+	}
+	
+	/**
+	 * Executes a send event.
+	 * @param event the event
+	 * @param time the frame time in nanoseconds
+	 */
+	private void executeSendEvent(SendEvent event, long time) {
+		Slide slide = event.getSlide();
+		boolean readTimeVideoConversionEnabled = event.getConfiguration().isReadTimeVideoConversionEnabled();
+		
+		this.inEvent = event;
+		this.inSlide = slide;
+		this.inRenderer = new PresentationRenderer(slide);
+		this.inRenderQualities = event.getConfiguration().getRenderQualities();
+		this.inHasUpdatingDateTime = PresentationSurface.hasUpdatingDateTimeComponent(slide);
+		
+		// create the media players
+		RenderableComponent background = slide.getBackground();
+		if (background instanceof VideoMediaComponent && ((VideoMediaComponent)background).isVideoVisible()) {
+			MediaPlayer<?> player = PresentationSurface.getMediaPlayer((PlayableMediaComponent<?>)background, readTimeVideoConversionEnabled);
+			if (player != null) {
+				this.inMediaPlayers.add(player);
+			}
+		}
+		this.inMediaPlayers.addAll(PresentationSurface.getMediaPlayers(slide.getPlayableMediaComponents(), readTimeVideoConversionEnabled));
+		this.inHasPlayableMedia = !this.inMediaPlayers.isEmpty();
+		
+		// make sure the current slide includes its background
+		if (this.currentSlide != null) {
+			PresentationSurface.renderSlide(this.currentRenderer, this.currentRenderQualities, true, this.image0);
+			this.renderStoppedTicker(null);
+		}
+		PresentationSurface.renderSlide(this.inRenderer, this.inRenderQualities, true, this.image1);
+		
+		// leave the text of the current ticker where it is for the transition
+		this.stopTicker(time);
+		if (event instanceof TickerEvent) {
+			this.inTicker = ((TickerEvent)event).getTicker();
+			this.inTicker.prepare(null, this.inRenderQualities.getRenderingHints());
+		}
+		
+		for (MediaPlayer<?> player : this.inMediaPlayers) {
+			player.play();
+		}
+		
+		this.animator = event.getAnimator();
+		if (this.animator != null) {
+			this.animator.begin(time);
+		} else {
+			this.completeInTransition(time);
+		}
+	}
+	
+	/**
+	 * Executes a clear event.
+	 * @param event the event
+	 * @param time the frame time in nanoseconds
+	 */
+	private void executeClearEvent(ClearEvent event, long time) {
+		if (this.currentSlide == null) {
+			return;
+		}
+		
+		// make sure the current slide includes its background
+		PresentationSurface.renderSlide(this.currentRenderer, this.currentRenderQualities, true, this.image0);
+		this.renderStoppedTicker(null);
+		
+		// leave the text of the ticker where it is for the transition
+		this.stopTicker(time);
+		
+		this.animator = event.getAnimator();
+		if (this.animator != null) {
+			this.animator.begin(time);
+		} else {
+			this.completeOutTransition();
+		}
+	}
+	
+	/**
+	 * Completes the current transition immediately.
+	 */
+	private void completeTransition() {
+		TransitionAnimator animator = this.animator;
+		if (animator == null) {
+			return;
+		}
+		animator.stop();
+		if (animator.getTransition().getType() == TransitionType.IN) {
+			this.completeInTransition(this.startTime + this.frameNumber * this.frameInterval);
+		} else {
+			this.completeOutTransition();
+		}
+	}
+	
+	/**
+	 * Makes the incoming slide the current slide.
+	 * @param time the frame time in nanoseconds
+	 */
+	private void completeInTransition(long time) {
+		this.animator = null;
+		
+		// release the old slide
+		OffscreenPresentationSurface.releaseMediaPlayers(this.currentMediaPlayers);
+		
+		// swap the lists and images
+		List<MediaPlayer<?>> players = this.currentMediaPlayers;
+		this.currentMediaPlayers = this.inMediaPlayers;
+		this.inMediaPlayers = players;
+		
+		BufferedImage image = this.image0;
+		this.image0 = this.image1;
+		this.image1 = image;
+		
+		this.currentSlide = this.inSlide;
+		this.currentRenderer = this.inRenderer;
+		this.currentRenderQualities = this.inRenderQualities;
+		this.currentHasPlayableMedia = this.inHasPlayableMedia;
+		this.currentHasUpdatingDateTime = this.inHasUpdatingDateTime;
+		
+		this.inSlide = null;
+		this.inRenderer = null;
+		this.inRenderQualities = null;
+		this.inHasPlayableMedia = false;
+		this.inHasUpdatingDateTime = false;
+		
+		// start scrolling the ticker (if any)
+		if (this.stoppedTicker != null) {
+			this.stoppedTicker.release();
+			this.stoppedTicker = null;
+		}
+		this.currentTicker = this.inTicker;
+		this.inTicker = null;
+		if (this.currentTicker != null) {
+			this.currentTicker.start(time);
+		}
+		
+		// schedule the clear for send-wait-clear events (a negative
+		// wait period waits for a clear event instead)
+		SendEvent event = this.inEvent;
+		this.inEvent = null;
+		if (event instanceof SendWaitClearEvent) {
+			SendWaitClearEvent swce = (SendWaitClearEvent)event;
+			int waitPeriod = swce.getWaitPeriod();
+			if (waitPeriod >= 0) {
+				this.waitClearEvent = new ClearEvent(swce.getConfiguration(), swce.getOutAnimator());
+				this.waitClearTime = time + (long)waitPeriod * 1000000l;
+			}
+		}
+	}
+	
+	/**
+	 * Clears the current slide.
+	 */
+	private void completeOutTransition() {
+		this.animator = null;
+		OffscreenPresentationSurface.releaseMediaPlayers(this.currentMediaPlayers);
+		this.currentSlide = null;
+		this.currentRenderer = null;
+		this.currentRenderQualities = null;
+		this.currentHasPlayableMedia = false;
+		this.currentHasUpdatingDateTime = false;
+		this.releaseTickers();
+	}
+	
+	/**
+	 * Stops the current ticker (if any) leaving its text where it is at the given time.
+	 * <p>
+	 * The text is rendered to the current slide's image and again each time that image
+	 * is re-rendered until the transition completes.
+	 * @param time the frame time in nanoseconds
+	 */
+	private void stopTicker(long time) {
+		Ticker ticker = this.currentTicker;
+		if (ticker == null) {
+			// keep any ticker frozen by the last transition
+			return;
+		}
+		this.currentTicker = null;
+		if (this.stoppedTicker != null) {
+			this.stoppedTicker.release();
+		}
+		ticker.stop(time);
+		this.stoppedTicker = ticker;
+		this.renderStoppedTicker(null);
+	}
+	
+	/**
+	 * Renders the text of the stopped ticker (if any) to the current slide's image.
+	 * @param region the region of the image that was re-rendered; null for the entire image
+	 */
+	private void renderStoppedTicker(Rectangle region) {
+		Ticker ticker = this.stoppedTicker;
+		if (ticker == null) {
+			return;
+		}
+		Graphics2D g2d = this.image0.createGraphics();
+		if (this.currentRenderQualities != null) {
+			g2d.setRenderingHints(this.currentRenderQualities.getRenderingHints());
+		}
+		// the rest of the image already contains the text
+		if (region != null) {
+			g2d.clip(region);
+		}
+		ticker.render(g2d, System.nanoTime());
+		g2d.dispose();
+	}
+	
+	/**
+	 * Releases the current and incoming tickers.
+	 */
+	private void releaseTickers() {
+		if (this.currentTicker != null) {
+			this.currentTicker.release();
+			this.currentTicker = null;
+		}
+		if (this.stoppedTicker != null) {
+			this.stoppedTicker.release();
+			this.stoppedTicker = null;
+		}
+		if (this.inTicker != null) {
+			this.inTicker.release();
+			this.inTicker = null;
+		}
+	}
+	
+	// rendering
+	
+	/**
+	 * Renders the frame at the given time to the given image.
+	 * @param frame the image to render to
+	 * @param time the frame time in nanoseconds
+	 */
+	private void renderFrame(BufferedImage frame, long time) {
+		// update the slide images if necessary
+		if (this.currentSlide != null) {
+			if (this.currentHasPlayableMedia) {
+				PresentationSurface.renderSlide(this.currentRenderer, this.currentRenderQualities, true, this.image0);
+				this.renderStoppedTicker(null);
+			} else if (this.currentHasUpdatingDateTime) {
+				Rectangle region = this.currentRenderer.getDirtyBounds();
+				if (region != null) {
+					PresentationSurface.renderSlide(this.currentRenderer, this.currentRenderQualities, true, this.image0, region);
+					this.renderStoppedTicker(region);
+				}
+			}
+		}
+		if (this.inSlide != null) {
+			if (this.inHasPlayableMedia) {
+				PresentationSurface.renderSlide(this.inRenderer, this.inRenderQualities, true, this.image1);
+			} else if (this.inHasUpdatingDateTime) {
+				Rectangle region = this.inRenderer.getDirtyBounds();
+				if (region != null) {
+					PresentationSurface.renderSlide(this.inRenderer, this.inRenderQualities, true, this.image1, region);
+				}
+			}
+		}
+		
+		Graphics2D g2d = frame.createGraphics();
+		g2d.setBackground(ColorUtilities.TRANSPARENT);
+		g2d.clearRect(0, 0, this.width, this.height);
+		
+		if (this.animator != null) {
+			Transition transition = this.animator.getTransition();
+			if (this.animator.update(time)) {
+				if (transition.getType() == TransitionType.IN) {
+					this.completeInTransition(time);
+					g2d.drawImage(this.image0, 0, 0, null);
+					this.renderTicker(g2d, time);
+				} else {
+					this.completeOutTransition();
+					// draw nothing
+				}
+			} else {
+				transition.render(g2d, this.image0, this.image1, this.animator.getPercentComplete());
+			}
+		} else if (this.currentSlide != null) {
+			g2d.drawImage(this.image0, 0, 0, null);
+			this.renderTicker(g2d, time);
+		}
+		
+		g2d.dispose();
+	}
+	
+	/**
+	 * Renders the current ticker (if any) at the given time.
+	 * @param g2d the graphics object to render to
+	 * @param time the frame time in nanoseconds
+	 */
+	private void renderTicker(Graphics2D g2d, long time) {
+		if (this.currentTicker != null) {
+			g2d.setRenderingHints(this.currentRenderQualities.getRenderingHints());
+			this.currentTicker.render(g2d, time);
+		}
+	}
+	
+	/**
+	 * Stops, releases and removes all the given media players.
+	 * @param players the media players
+	 */
+	private static final void releaseMediaPlayers(List<MediaPlayer<?>> players) {
+		for (MediaPlayer<?> player : players) {
+			player.stop();
+			player.release();
+		}
+		players.clear();
+	}
+	
+	/**
+	 * A fixed size pool of frame images.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private static final class FramePool {
+		/** The images that are not in use */
+		private final Deque<BufferedImage> images;
+		
+		/**
+		 * Full constructor.
+		 * @param width the width of the images
+		 * @param height the height of the images
+		 * @param size the number of images
+		 */
+		public FramePool(int width, int height, int size) {
+			this.images = new ArrayDeque<BufferedImage>(size);
+			for (int i = 0; i < size; i++) {
+				this.images.add(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+			}
+		}
+		
+		/**
+		 * Returns an image from the pool, waiting for one to be released if necessary.
+		 * @return BufferedImage
+		 * @throws InterruptedException if interrupted while waiting
+		 */
+		public synchronized BufferedImage acquire() throws InterruptedException {
+			while (this.images.isEmpty()) {
+				this.wait();
+			}
+			return this.images.poll();
+		}
+		
+		/**
+		 * Returns the given image to the pool.
+		 * @param image the image
+		 */
+		public synchronized void release(BufferedImage image) {
+			this.images.push(image);
+			this.notify();
+		}
+	}
+	
+	/**
+	 * Thread that renders frames at the frame rate.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private class RenderThread extends Thread {
+		/** True if the thread should continue to run */
+		private volatile boolean running;
+		
+		/**
+		 * Default constructor.
+		 */
+		public RenderThread() {
+			super("OffscreenRenderThread");
+			this.setDaemon(true);
+			this.running = true;
+		}
+		
+		/**
+		 * Tells this thread to stop after the current frame.
+		 */
+		public void end() {
+			this.running = false;
+			this.interrupt();
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.lang.Thread#run()
+		 */
+		@Override
+		public void run() {
+			while (this.running) {
+				try {
+					renderFrame();
+				} catch (InterruptedException e) {
+					return;
+				} catch (IOException e) {
+					LOGGER.error("The frame sink failed. Stopping rendering.", e);
+					return;
+				} catch (Exception e) {
+					LOGGER.warn("Failed to render frame: ", e);
+				}
+				
+				// wait until the time of the next frame; if we are behind
+				// render the next frame right away to catch up
+				long next;
+				synchronized (renderLock) {
+					next = startTime + frameNumber * frameInterval;
+				}
+				long remaining = next - System.nanoTime();
+				if (remaining > 0) {
+					try {
+						Thread.sleep(remaining / 1000000l, (int)(remaining % 1000000l));
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Thread that pushes the rendered frames to the sink in order.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private class SinkThread extends Thread {
+		/** The frames waiting to be pushed */
+		private final Deque<BufferedImage> frames;
+		
+		/** The frame numbers of the waiting frames */
+		private final Deque<Long> frameNumbers;
+		
+		/** True if the thread should stop once the waiting frames are pushed */
+		private boolean ending;
+		
+		/**
+		 * Default constructor.
+		 */
+		public SinkThread() {
+			super("OffscreenSinkThread");
+			this.setDaemon(true);
+			this.frames = new ArrayDeque<BufferedImage>();
+			this.frameNumbers = new ArrayDeque<Long>();
+			this.ending = false;
+		}
+		
+		/**
+		 * Queues the given frame to be pushed to the sink.
+		 * @param frame the frame
+		 * @param frameNumber the frame number
+		 */
+		public synchronized void enqueue(BufferedImage frame, long frameNumber) {
+			this.frames.add(frame);
+			this.frameNumbers.add(frameNumber);
+			this.notify();
+		}
+		
+		/**
+		 * Tells this thread to stop once the waiting frames are pushed.
+		 */
+		public synchronized void end() {
+			this.ending = true;
+			this.notify();
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.lang.Thread#run()
+		 */
+		@Override
+		public void run() {
+			while (true) {
+				BufferedImage frame = null;
+				long frameNumber = 0;
+				synchronized (this) {
+					while (this.frames.isEmpty() && !this.ending) {
+						try {
+							this.wait();
+						} catch (InterruptedException e) {
+							LOGGER.warn("Interrupted. Stopping thread gracefully.");
+							return;
+						}
+					}
+					if (this.frames.isEmpty()) {
+						return;
+					}
+					frame = this.frames.poll();
+					frameNumber = this.frameNumbers.poll();
+				}
+				
+				try {
+					if (sinkError == null) {
+						sink.frame(frame, frameNumber);
+					}
+				} catch (IOException e) {
+					sinkError = e;
+					LOGGER.error("The frame sink failed: ", e);
+				} finally {
+					pool.release(frame);
+				}
+			}
+		}
+	}
+}
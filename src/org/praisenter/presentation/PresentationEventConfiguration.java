@@ -24,6 +24,7 @@
  */
 package org.praisenter.presentation;
 
+import java.awt.GraphicsEnvironment;
 import java.io.Serializable;
 
 import org.praisenter.common.utilities.WindowUtilities;
@@ -32,7 +33,7 @@ import org.praisenter.slide.graphics.RenderQualities;
 /**
  * Class containing the configuration of a {@link PresentationEvent}.
  * @author William Bittle
- * @version 2.0.1
+ * @version 2.0.4
  * @since 2.0.0
  */
 public class PresentationEventConfiguration implements Serializable {
@@ -60,20 +61,36 @@ public class PresentationEventConfiguration implements Serializable {
 	/** True if read-time video conversion is enabled */
 	protected boolean readTimeVideoConversionEnabled;
 	
+	/** True if accelerated (VolatileImage) back buffers should be used */
+	protected boolean acceleratedBuffersEnabled;
+	
+	/** True if full-screen windows should use active rendering */
+	protected boolean activeRenderingEnabled;
+	
+	/** The ids of the devices that mirror the presentation windows */
+	protected String[] mirrorDeviceIds;
+	
+	/** How events queued while a transition is in progress are handled */
+	protected PresentationQueuePolicy queuePolicy;
+	
 	/**
 	 * Default constructor.
 	 * <p>
 	 * By default the configuration will be for the secondary device (if present, otherwise the main device)
-	 * using a full-screen window.
+	 * using a full-screen window.  In a headless environment the device id is null.
 	 */
 	public PresentationEventConfiguration() {
-		this.presentationWindowDeviceId = WindowUtilities.getSecondaryDevice().getIDstring();
+		this.presentationWindowDeviceId = GraphicsEnvironment.isHeadless() ? null : WindowUtilities.getSecondaryDevice().getIDstring();
 		this.presentationWindowType = PresentationWindowType.FULLSCREEN;
 		this.renderQualities = new RenderQualities();
 		this.waitForTransitionEnabled = true;
 		this.smartImageTransitionsEnabled = true;
 		this.smartVideoTransitionsEnabled = true;
 		this.readTimeVideoConversionEnabled = false;
+		this.acceleratedBuffersEnabled = false;
+		this.activeRenderingEnabled = false;
+		this.mirrorDeviceIds = new String[0];
+		this.queuePolicy = PresentationQueuePolicy.LATEST;
 	}
 	
 	/**
@@ -190,4 +207,93 @@ public class PresentationEventConfiguration implements Serializable {
 	public void setReadTimeVideoConversionEnabled(boolean flag) {
 		this.readTimeVideoConversionEnabled = flag;
 	}
+
+	/**
+	 * Returns true if accelerated back buffers should be used.
+	 * @return boolean
+	 * @since 2.0.4
+	 */
+	public boolean isAcceleratedBuffersEnabled() {
+		return this.acceleratedBuffersEnabled;
+	}
+
+	/**
+	 * Toggles the use of accelerated back buffers.
+	 * <p>
+	 * When enabled, the presentation surface will attempt to use {@link java.awt.image.VolatileImage}s
+	 * for its back buffers.  If accelerated images are not available, the surface will fall back to
+	 * software images.
+	 * @param flag true if accelerated back buffers should be used
+	 * @since 2.0.4
+	 */
+	public void setAcceleratedBuffersEnabled(boolean flag) {
+		this.acceleratedBuffersEnabled = flag;
+	}
+
+	/**
+	 * Returns true if full-screen presentation windows should use active rendering.
+	 * @return boolean
+	 * @since 2.0.4
+	 */
+	public boolean isActiveRenderingEnabled() {
+		return this.activeRenderingEnabled;
+	}
+
+	/**
+	 * Toggles active rendering for full-screen presentation windows.
+	 * @param flag true if active rendering should be used
+	 * @since 2.0.4
+	 */
+	public void setActiveRenderingEnabled(boolean flag) {
+		this.activeRenderingEnabled = flag;
+	}
+
+	/**
+	 * Returns the ids of the devices that should mirror the presentation windows.
+	 * @return String[]
+	 * @since 2.0.4
+	 */
+	public String[] getMirrorDeviceIds() {
+		return this.mirrorDeviceIds;
+	}
+
+	/**
+	 * Sets the ids of the devices that should mirror the presentation windows.
+	 * <p>
+	 * The presentation window renders each frame once and the mirror windows show
+	 * a copy of it (scaled if the device resolutions are different).  The frames of
+	 * windowed (notification) windows are drawn over the frames of full-screen windows.
+	 * @param deviceIds the device ids; null or empty to disable mirroring
+	 * @since 2.0.4
+	 */
+	public void setMirrorDeviceIds(String... deviceIds) {
+		if (deviceIds == null) {
+			deviceIds = new String[0];
+		}
+		this.mirrorDeviceIds = deviceIds;
+	}
+	
+	/**
+	 * Returns how events queued while a transition is in progress are handled.
+	 * <p>
+	 * This only applies when waiting for transitions is enabled.
+	 * @return {@link PresentationQueuePolicy}
+	 * @see #isWaitForTransitionEnabled()
+	 * @since 2.0.4
+	 */
+	public PresentationQueuePolicy getQueuePolicy() {
+		return this.queuePolicy;
+	}
+	
+	/**
+	 * Sets how events queued while a transition is in progress are handled.
+	 * @param queuePolicy the queue policy; null is treated as {@link PresentationQueuePolicy#LATEST}
+	 * @since 2.0.4
+	 */
+	public void setQueuePolicy(PresentationQueuePolicy queuePolicy) {
+		if (queuePolicy == null) {
+			queuePolicy = PresentationQueuePolicy.LATEST;
+		}
+		this.queuePolicy = queuePolicy;
+	}
 }
@@ -24,6 +24,10 @@
  */
 package org.praisenter.presentation;
 
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
 import javax.swing.SwingUtilities;
 
 import org.apache.log4j.Logger;
@@ -31,7 +35,7 @@ import org.apache.log4j.Logger;
 /**
  * Class used to manage presentation events.
  * @author William Bittle
- * @version 2.0.0
+ * @version 2.0.4
  * @since 2.0.0
  */
 public final class PresentationManager {
@@ -109,6 +113,18 @@ public final class PresentationManager {
 		}
 	}
 	
+	/**
+	 * Stages the event in process.
+	 * @param event the event to stage
+	 * @since 2.0.4
+	 */
+	private void stageInProcess(SendEvent event) {
+		PresentationWindow window = PresentationWindows.getPresentationWindowForEvent(event);
+		if (window != null) {
+			window.stage(event);
+		}
+	}
+	
 	/**
 	 * Executes the event in process.
 	 * @param event the event to execute
@@ -189,6 +205,109 @@ public final class PresentationManager {
 		}
 	}
 	
+	/**
+	 * Stages the given event.
+	 * <p>
+	 * This should be called with the likely next send event (the next song part or
+	 * verse for example) so that its slide can be prepared in the background.  Sending
+	 * the same slide instance afterwards will then only need to start the transition.
+	 * The staged slide should not be modified after it has been staged.
+	 * @param event the event
+	 * @see PresentationSurface#stage(SendEvent)
+	 * @since 2.0.4
+	 */
+	public void stage(final SendEvent event) {
+		if (!SwingUtilities.isEventDispatchThread()) {
+			// stage on the EDT so that its ordered with respect to send events
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					stageInProcess(event);
+				}
+			});
+		} else {
+			this.stageInProcess(event);
+		}
+	}
+	
+	/**
+	 * Returns the current state of the window for the given configuration.
+	 * <p>
+	 * Returns {@link PresentationState#CLEAR} if the window has not been created yet.
+	 * This method can be called from any thread.
+	 * @param configuration the window configuration
+	 * @return {@link PresentationState}
+	 * @since 2.0.4
+	 */
+	public PresentationState getState(PresentationEventConfiguration configuration) {
+		PresentationWindow window = PresentationWindows.findPresentationWindow(
+				configuration.presentationWindowDeviceId, 
+				configuration.presentationWindowType);
+		if (window != null) {
+			return window.getState();
+		}
+		return PresentationState.CLEAR;
+	}
+	
+	/**
+	 * Returns the name of the slide shown on the window for the given configuration.
+	 * <p>
+	 * Returns null if the window is clear or has not been created yet.  This method
+	 * can be called from any thread.
+	 * @param configuration the window configuration
+	 * @return String
+	 * @since 2.0.4
+	 */
+	public String getSlideName(PresentationEventConfiguration configuration) {
+		PresentationWindow window = PresentationWindows.findPresentationWindow(
+				configuration.presentationWindowDeviceId, 
+				configuration.presentationWindowType);
+		if (window != null) {
+			return window.getSlideName();
+		}
+		return null;
+	}
+	
+	/**
+	 * Toggles the performance overlay on all presentation windows.
+	 * @param flag true if the performance overlay should be shown
+	 * @since 2.0.4
+	 */
+	public void setPerformanceOverlayEnabled(final boolean flag) {
+		if (!SwingUtilities.isEventDispatchThread()) {
+			// execute on the EDT
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					PresentationWindows.setPerformanceOverlayEnabled(flag);
+				}
+			});
+		} else {
+			PresentationWindows.setPerformanceOverlayEnabled(flag);
+		}
+	}
+	
+	/**
+	 * Returns true if the performance overlay is shown on the presentation windows.
+	 * @return boolean
+	 * @since 2.0.4
+	 */
+	public boolean isPerformanceOverlayEnabled() {
+		return PresentationWindows.isPerformanceOverlayEnabled();
+	}
+	
+	/**
+	 * Exports the frame timing telemetry of all presentation windows to the given file in CSV format.
+	 * @param file the file
+	 * @throws IOException if an IO error occurs
+	 * @since 2.0.4
+	 */
+	public void exportFrameTelemetry(File file) throws IOException {
+		try (FileWriter writer = new FileWriter(file)) {
+			PresentationWindows.writeFrameTelemetry(writer);
+		}
+	}
+	
 	/**
 	 * Disposes the underlying resources held by this {@link PresentationManager}.
 	 */
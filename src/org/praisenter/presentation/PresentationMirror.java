@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.presentation;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.praisenter.common.utilities.ColorUtilities;
+import org.praisenter.slide.graphics.ScaleType;
+
+/**
+ * Represents a group of {@link PresentationMirrorWindow}s that show the output of a
+ * {@link PresentationSurface}.
+ * <p>
+ * The surface renders each frame once to a shared frame buffer using the {@link #beginFrame(GraphicsConfiguration, int, int)}
+ * and {@link #endFrame()} methods.  Each mirror window then draws the shared frame, scaling it only if the
+ * window's size is different than the frame's size.  This way the slides, transitions and media are only
+ * rendered and decoded once regardless of the number of displays.
+ * <p>
+ * The shared frame is double buffered so that mirror windows never draw a partially rendered frame.
+ * <p>
+ * A mirror can also be an overlay.  The frames of an overlay (a notification window for example)
+ * are drawn over the frames of the full-screen mirror at the overlay's location on its device.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public class PresentationMirror {
+	/** The class level logger */
+	private static final Logger LOGGER = Logger.getLogger(PresentationMirror.class);
+	
+	/** The mirror windows (replaced, never modified, so that it can be iterated without locking) */
+	protected volatile List<PresentationMirrorWindow> windows;
+	
+	/** True if the mirror windows should be visible */
+	protected boolean visible;
+	
+	/** True if the frames are drawn over the frames of the full-screen mirror */
+	protected final boolean overlay;
+	
+	/** The width of the mirrored device; zero if the frames fill the device */
+	protected final int deviceWidth;
+	
+	/** The height of the mirrored device; zero if the frames fill the device */
+	protected final int deviceHeight;
+	
+	/** The x coordinate of the frames on the mirrored device */
+	protected volatile int x;
+	
+	/** The y coordinate of the frames on the mirrored device */
+	protected volatile int y;
+	
+	/** The frame being rendered */
+	protected BufferedImage back;
+	
+	/** The last completed frame */
+	protected BufferedImage front;
+	
+	/** Lock for the completed frame */
+	protected Object frameLock;
+	
+	/**
+	 * Default constructor.
+	 * <p>
+	 * Creates a full-screen mirror whose frames fill the mirrored device.
+	 */
+	public PresentationMirror() {
+		this(false, 0, 0);
+	}
+	
+	/**
+	 * Full constructor.
+	 * @param overlay true if the frames are drawn over the frames of the full-screen mirror
+	 * @param deviceWidth the width of the mirrored device
+	 * @param deviceHeight the height of the mirrored device
+	 */
+	public PresentationMirror(boolean overlay, int deviceWidth, int deviceHeight) {
+		this.windows = new ArrayList<PresentationMirrorWindow>();
+		this.visible = false;
+		this.overlay = overlay;
+		this.deviceWidth = deviceWidth;
+		this.deviceHeight = deviceHeight;
+		this.x = 0;
+		this.y = 0;
+		this.back = null;
+		this.front = null;
+		this.frameLock = new Object();
+	}
+	
+	/**
+	 * Sets the windows that mirror the output.
+	 * <p>
+	 * Windows no longer in the group are hidden.  This method should be called on the EDT.
+	 * @param windows the mirror windows
+	 */
+	public synchronized void setWindows(List<PresentationMirrorWindow> windows) {
+		// remove this group from any windows that are no longer in the group
+		for (PresentationMirrorWindow window : this.windows) {
+			if (!windows.contains(window)) {
+				window.removeMirror(this);
+			}
+		}
+		List<PresentationMirrorWindow> group = new ArrayList<PresentationMirrorWindow>(windows);
+		this.windows = group;
+		for (PresentationMirrorWindow window : group) {
+			window.addMirror(this);
+		}
+		if (group.isEmpty()) {
+			// release the frame buffers
+			synchronized (this.frameLock) {
+				this.back = null;
+				this.front = null;
+			}
+		}
+		LOGGER.debug("Mirroring to " + this.windows.size() + " window(s).");
+	}
+	
+	/**
+	 * Returns true if this group has any mirror windows.
+	 * @return boolean
+	 */
+	public boolean hasWindows() {
+		return !this.windows.isEmpty();
+	}
+	
+	/**
+	 * Shows or hides the frames of this group on the mirror windows.
+	 * <p>
+	 * A mirror window is only hidden when none of the groups it shows are visible.
+	 * This method should be called on the EDT.
+	 * @param flag true if the frames should be visible
+	 */
+	public synchronized void setVisible(boolean flag) {
+		this.visible = flag;
+		for (PresentationMirrorWindow window : this.windows) {
+			window.updateVisibility();
+		}
+	}
+	
+	/**
+	 * Returns true if the frames of this group are visible.
+	 * @return boolean
+	 */
+	public boolean isVisible() {
+		return this.visible;
+	}
+	
+	/**
+	 * Returns true if the frames are drawn over the frames of the full-screen mirror.
+	 * @return boolean
+	 */
+	public boolean isOverlay() {
+		return this.overlay;
+	}
+	
+	/**
+	 * Sets the location of the frames on the mirrored device.
+	 * <p>
+	 * This is only needed for frames that don't fill the device.
+	 * @param x the x coordinate
+	 * @param y the y coordinate
+	 */
+	public void setLocation(int x, int y) {
+		this.x = x;
+		this.y = y;
+	}
+	
+	/**
+	 * Returns a graphics object for rendering the next frame.
+	 * <p>
+	 * The caller must dispose of the returned graphics object and call {@link #endFrame()}
+	 * once the frame has been rendered.  Only one thread (the thread rendering the surface)
+	 * should render frames.
+	 * @param gc the graphics configuration of the surface
+	 * @param width the width of the frame
+	 * @param height the height of the frame
+	 * @return Graphics2D
+	 */
+	public Graphics2D beginFrame(GraphicsConfiguration gc, int width, int height) {
+		BufferedImage image = this.back;
+		// make sure the back buffer is the right size
+		if (image == null || image.getWidth() != width || image.getHeight() != height) {
+			if (gc != null) {
+				image = gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+			} else {
+				image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+			}
+			this.back = image;
+		}
+		Graphics2D g2d = image.createGraphics();
+		// clear the frame
+		g2d.setBackground(ColorUtilities.TRANSPARENT);
+		g2d.clearRect(0, 0, width, height);
+		return g2d;
+	}
+	
+	/**
+	 * Completes the frame started by {@link #beginFrame(GraphicsConfiguration, int, int)} and
+	 * notifies the mirror windows.
+	 * @return BufferedImage the completed frame
+	 */
+	public BufferedImage endFrame() {
+		BufferedImage frame = null;
+		synchronized (this.frameLock) {
+			// swap the buffers
+			frame = this.back;
+			this.back = this.front;
+			this.front = frame;
+		}
+		// repaint is thread safe
+		for (PresentationMirrorWindow window : this.windows) {
+			window.repaintFrame();
+		}
+		return frame;
+	}
+	
+	/**
+	 * Paints the last completed frame to the given graphics object.
+	 * <p>
+	 * The mirrored device is scaled uniformly to fit the given size (and centered) if the sizes
+	 * differ.  The frame is drawn at its location on the mirrored device.  The area outside the
+	 * frame is not modified.
+	 * @param g2d the graphics object
+	 * @param width the width of the target area
+	 * @param height the height of the target area
+	 */
+	public void paintFrame(Graphics2D g2d, int width, int height) {
+		synchronized (this.frameLock) {
+			BufferedImage frame = this.front;
+			if (frame == null) {
+				return;
+			}
+			int fw = frame.getWidth();
+			int fh = frame.getHeight();
+			int dw = this.deviceWidth > 0 ? this.deviceWidth : fw;
+			int dh = this.deviceHeight > 0 ? this.deviceHeight : fh;
+			if (dw == width && dh == height) {
+				// no scaling needed
+				g2d.drawImage(frame, this.x, this.y, null);
+			} else {
+				// scale the device uniformly to fit the target
+				Rectangle r = ScaleType.UNIFORM.getScaledDimensions(dw, dh, width, height);
+				double scale = (double)r.width / (double)dw;
+				int x = (width - r.width) / 2 + (int)Math.round(this.x * scale);
+				int y = (height - r.height) / 2 + (int)Math.round(this.y * scale);
+				int w = (int)Math.round(fw * scale);
+				int h = (int)Math.round(fh * scale);
+				g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+				g2d.drawImage(frame, x, y, w, h, null);
+			}
+		}
+	}
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.presentation;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Frame;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.Rectangle;
+
+import javax.swing.JDialog;
+import javax.swing.JPanel;
+
+/**
+ * Represents a full-screen window that mirrors the output of another {@link PresentationWindow}.
+ * <p>
+ * Mirror windows do not render slides or play media themselves.  Instead they draw the
+ * frames shared by a {@link PresentationMirror}.  A mirror window shows the frames of one
+ * full-screen mirror and, over them, the frames of one overlay mirror (notifications).
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public class PresentationMirrorWindow extends JDialog {
+	/** The version id */
+	private static final long serialVersionUID = -1958232532794834128L;
+
+	/** The device this window is displayed on */
+	protected GraphicsDevice device;
+	
+	/** The panel showing the mirrored frames */
+	protected MirrorPanel panel;
+	
+	/** The full-screen group this window belongs to; null if none */
+	protected volatile PresentationMirror mirror;
+	
+	/** The overlay group this window belongs to; null if none */
+	protected volatile PresentationMirror overlay;
+	
+	/**
+	 * Creates a new mirror window for the given device.
+	 * @param device the device
+	 */
+	public PresentationMirrorWindow(GraphicsDevice device) {
+		super((Frame)null, "Praisenter Mirror Window", false, device.getDefaultConfiguration());
+		this.device = device;
+		this.mirror = null;
+		this.overlay = null;
+		
+		// setup the dialog
+		this.setUndecorated(true);
+		// don't allow focus to transfer to the dialog
+		this.setAutoRequestFocus(false);
+		this.setFocusable(false);
+		this.setFocusableWindowState(false);
+		this.setFocusTraversalKeysEnabled(false);
+		this.setBackground(Color.BLACK);
+		
+		// get its position and dimensions
+		GraphicsConfiguration gc = device.getDefaultConfiguration();
+		Rectangle r = gc.getBounds();
+		
+		// a mirror window always fills the device
+		this.setLocation(r.x, r.y);
+		Dimension size = new Dimension(r.width, r.height);
+		this.setMinimumSize(size);
+		this.setPreferredSize(size);
+		
+		Container container = this.getContentPane();
+		container.setLayout(new BorderLayout());
+		
+		this.panel = new MirrorPanel();
+		container.add(this.panel, BorderLayout.CENTER);
+		
+		this.pack();
+	}
+	
+	/**
+	 * Adds this window to the given group.
+	 * <p>
+	 * This replaces the current full-screen or overlay group, depending on the
+	 * type of the given group.  This method should be called on the EDT.
+	 * @param mirror the group
+	 */
+	protected void addMirror(PresentationMirror mirror) {
+		if (mirror.isOverlay()) {
+			this.overlay = mirror;
+		} else {
+			this.mirror = mirror;
+		}
+		this.updateVisibility();
+	}
+	
+	/**
+	 * Removes this window from the given group.
+	 * <p>
+	 * This method should be called on the EDT.
+	 * @param mirror the group
+	 */
+	protected void removeMirror(PresentationMirror mirror) {
+		if (this.overlay == mirror) {
+			this.overlay = null;
+		}
+		if (this.mirror == mirror) {
+			this.mirror = null;
+		}
+		this.updateVisibility();
+	}
+	
+	/**
+	 * Shows this window if any of its groups are visible, otherwise hides it.
+	 * <p>
+	 * This method should be called on the EDT.
+	 */
+	protected void updateVisibility() {
+		PresentationMirror mirror = this.mirror;
+		PresentationMirror overlay = this.overlay;
+		boolean visible = (mirror != null && mirror.isVisible()) || (overlay != null && overlay.isVisible());
+		if (visible) {
+			if (!this.isVisible()) {
+				this.setVisible(true);
+			}
+			this.toFront();
+			this.repaintFrame();
+		} else if (this.isVisible()) {
+			this.setVisible(false);
+		}
+	}
+	
+	/**
+	 * Requests that the last completed frame be painted.
+	 * <p>
+	 * This method can be called from any thread.
+	 */
+	protected void repaintFrame() {
+		this.panel.repaint();
+	}
+	
+	/**
+	 * Returns the device this window is displayed on.
+	 * @return GraphicsDevice
+	 */
+	public GraphicsDevice getDevice() {
+		return this.device;
+	}
+	
+	/**
+	 * Panel that paints the frames of the mirror group.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private class MirrorPanel extends JPanel {
+		/** The version id */
+		private static final long serialVersionUID = 2417391867519606349L;
+
+		/**
+		 * Default constructor.
+		 */
+		public MirrorPanel() {
+			this.setOpaque(true);
+			this.setBackground(Color.BLACK);
+		}
+		
+		/* (non-Javadoc)
+		 * @see javax.swing.JComponent#paintComponent(java.awt.Graphics)
+		 */
+		@Override
+		protected void paintComponent(Graphics g) {
+			super.paintComponent(g);
+			PresentationMirror mirror = PresentationMirrorWindow.this.mirror;
+			PresentationMirror overlay = PresentationMirrorWindow.this.overlay;
+			if (mirror != null && mirror.isVisible()) {
+				mirror.paintFrame((Graphics2D)g, this.getWidth(), this.getHeight());
+			}
+			// draw any notifications over the full-screen frame
+			if (overlay != null && overlay.isVisible()) {
+				overlay.paintFrame((Graphics2D)g, this.getWidth(), this.getHeight());
+			}
+		}
+	}
+}
@@ -25,6 +25,8 @@
 package org.praisenter.presentation;
 
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Shape;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -43,8 +45,17 @@ import org.praisenter.slide.text.DateTimeComponent;
  * the video is updated.  This class will attempt to cache the rendering
  * of components that can be pre-rendered and when ready will composite
  * all the images together.
+ * <p>
+ * Groups of static components are only cached when the slide contains a video
+ * or an updating date/time component since otherwise the slide is only rendered
+ * once per send.
+ * <p>
+ * When the only updating components are date/time components, use {@link #getDirtyBounds()}
+ * and {@link #render(Graphics2D, boolean, Rectangle)} to re-render only the regions of the 
+ * components whose text has changed and {@link #getNextUpdateTime()} to find
+ * when to check them again.
  * @author William Bittle
- * @version 2.0.0
+ * @version 2.0.4
  * @since 2.0.0
  */
 public class PresentationRenderer {
@@ -54,6 +65,9 @@ public class PresentationRenderer {
 	/** The component groups */
 	protected List<RenderLayer> groups;
 	
+	/** The layers containing updating date/time components */
+	protected List<RenderItem> dateTimeItems;
+	
 	/**
 	 * Creates a new slide renderer for the given {@link Slide}.
 	 * @param slide the slide to render
@@ -78,6 +92,100 @@ public class PresentationRenderer {
 		}
 	}
 	
+	/**
+	 * Renders the given region of this slide to the given graphics object.
+	 * <p>
+	 * Only the given region of the graphics object is modified.  Cached groups are
+	 * only copied within the region.
+	 * @param g the graphics object to render to
+	 * @param background true if the background should be rendered
+	 * @param region the region to render
+	 * @since 2.0.4
+	 */
+	public void render(Graphics2D g, boolean background, Rectangle region) {
+		Shape clip = g.getClip();
+		g.clip(region);
+		this.render(g, background);
+		g.setClip(clip);
+	}
+	
+	/**
+	 * Returns the region that needs to be rendered again because the text of
+	 * a date/time component has changed.
+	 * <p>
+	 * Returns null if no date/time component needs to be rendered.  This does not
+	 * account for video components which always need to be rendered.
+	 * @return Rectangle
+	 * @since 2.0.4
+	 */
+	public Rectangle getDirtyBounds() {
+		Rectangle bounds = null;
+		for (RenderItem item : this.dateTimeItems) {
+			if (item.isUpdateRequired()) {
+				Rectangle r = item.getBounds();
+				if (r == null) {
+					// this shouldn't happen since date/time components are positioned
+					// but if it does, then just use an empty region
+					continue;
+				}
+				if (bounds == null) {
+					bounds = new Rectangle(r);
+				} else {
+					bounds.add(r);
+				}
+			}
+		}
+		return bounds;
+	}
+	
+	/**
+	 * Returns the time in milliseconds at which the text of a date/time
+	 * component may change.
+	 * <p>
+	 * Returns {@link Long#MAX_VALUE} if the slide has no updating date/time components.
+	 * @return long
+	 * @since 2.0.4
+	 */
+	public long getNextUpdateTime() {
+		long time = Long.MAX_VALUE;
+		for (RenderItem item : this.dateTimeItems) {
+			time = Math.min(time, item.getNextUpdateTime());
+		}
+		return time;
+	}
+	
+	/**
+	 * Flags all cached groups to be re-rendered the next time they are rendered.
+	 * @since 2.0.4
+	 */
+	public void invalidate() {
+		if (this.background instanceof RenderGroup) {
+			((RenderGroup)this.background).invalidate();
+		}
+		for (RenderLayer group : this.groups) {
+			if (group instanceof RenderGroup) {
+				((RenderGroup)group).invalidate();
+			}
+		}
+	}
+	
+	/**
+	 * Releases any cached renderings held by this renderer.
+	 * <p>
+	 * This renderer can still be used after this method is called.
+	 * @since 2.0.4
+	 */
+	public void dispose() {
+		if (this.background instanceof RenderGroup) {
+			((RenderGroup)this.background).dispose();
+		}
+		for (RenderLayer group : this.groups) {
+			if (group instanceof RenderGroup) {
+				((RenderGroup)group).dispose();
+			}
+		}
+	}
+	
 	/**
 	 * Method used to split the components by order and type and arranges
 	 * them into groups for faster rendering with videos.  In the case of
@@ -86,42 +194,47 @@ public class PresentationRenderer {
 	 */
 	private void createGroups(Slide slide) {
 		this.groups = new ArrayList<RenderLayer>();
+		this.dateTimeItems = new ArrayList<RenderItem>();
 		
 		List<RenderableComponent> components = new ArrayList<>();
 		
-		RenderableComponent background = slide.getBackground();
-		this.background = new RenderItem(background);
-		
 		// begin looping over the components and checking their types
 		List<RenderableComponent> sComponents = slide.getComponents(RenderableComponent.class);
+		
+		// only cache the static groups if something on the slide will
+		// cause the slide to be rendered over and over
+		RenderableComponent background = slide.getBackground();
+		boolean cacheEnabled = PresentationRenderer.isUpdating(background);
 		for (RenderableComponent component : sComponents) {
-			// check for video components
-			if (component instanceof VideoMediaComponent) {
+			cacheEnabled |= PresentationRenderer.isUpdating(component);
+		}
+		
+		if (background != null && cacheEnabled && !PresentationRenderer.isUpdating(background)) {
+			// the background is static so it can be cached
+			List<RenderableComponent> bg = new ArrayList<RenderableComponent>();
+			bg.add(background);
+			this.background = new RenderGroup(bg, true, slide.getWidth(), slide.getHeight());
+		} else {
+			this.background = new RenderItem(background);
+		}
+		
+		for (RenderableComponent component : sComponents) {
+			// check for video and updating date/time components
+			if (PresentationRenderer.isUpdating(component)) {
 				// if we find one, see if we have any normal components queued up in the list
 				if (components.size() > 0) {
 					// then we need to stop and make a group with the current components
-					RenderLayer group = new RenderGroup(components);
+					RenderLayer group = new RenderGroup(components, cacheEnabled, slide.getWidth(), slide.getHeight());
 					this.groups.add(group);
 					// create a new group for the next set of components
 					components = new ArrayList<RenderableComponent>();
 				}
 				
-				// then create a video component group for the video
-				{
-					RenderLayer group = new RenderItem(component);
-					this.groups.add(group);
-				}
-			// otherwise check if its renderable at all
-			} else if (component instanceof DateTimeComponent) {
-				DateTimeComponent c = (DateTimeComponent)component;
-				// see if its an updating date-time component
-				if (c.isDateTimeUpdateEnabled()) {
-					// add to its own group
-					RenderLayer group = new RenderItem(component);
-					this.groups.add(group);
-				} else {
-					// add as normal if it doesnt need to update
-					components.add(component);
+				// then create a separate group for the component
+				RenderItem group = new RenderItem(component);
+				this.groups.add(group);
+				if (component instanceof DateTimeComponent) {
+					this.dateTimeItems.add(group);
 				}
 			} else {
 				// if so, then add it to the current list of components
@@ -130,8 +243,25 @@ public class PresentationRenderer {
 		}
 		// create a group of the remaining components
 		if (components.size() > 0) {
-			RenderLayer group = new RenderGroup(components);
+			RenderLayer group = new RenderGroup(components, cacheEnabled, slide.getWidth(), slide.getHeight());
 			this.groups.add(group);
 		}
 	}
+	
+	/**
+	 * Returns true if the given component needs to be rendered each time the
+	 * slide is rendered.
+	 * <p>
+	 * This is true for video components and date/time components that update.
+	 * @param component the component
+	 * @return boolean
+	 */
+	private static final boolean isUpdating(RenderableComponent component) {
+		if (component instanceof VideoMediaComponent) {
+			return true;
+		} else if (component instanceof DateTimeComponent) {
+			return ((DateTimeComponent)component).isDateTimeUpdateEnabled();
+		}
+		return false;
+	}
 }
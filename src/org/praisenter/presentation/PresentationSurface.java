@@ -24,29 +24,50 @@
  */
 package org.praisenter.presentation;
 
+import java.awt.AWTException;
+import java.awt.BorderLayout;
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
 import java.awt.Color;
-import java.awt.Component;
 import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.DisplayMode;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.Image;
+import java.awt.ImageCapabilities;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
+import java.awt.Toolkit;
 import java.awt.Transparency;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowListener;
+import java.awt.image.BufferStrategy;
 import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Locale;
 
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 
 import org.apache.log4j.Logger;
+import org.praisenter.animation.AnimationScheduler;
 import org.praisenter.animation.TransitionAnimator;
 import org.praisenter.animation.transitions.Transition;
 import org.praisenter.animation.transitions.TransitionType;
+import org.praisenter.common.telemetry.FrameStatistics;
+import org.praisenter.common.telemetry.FrameTelemetry;
+import org.praisenter.common.telemetry.FrameTelemetryType;
 import org.praisenter.common.utilities.ColorUtilities;
 import org.praisenter.common.utilities.ImageUtilities;
 import org.praisenter.media.MediaLibrary;
@@ -66,8 +87,21 @@ import org.praisenter.slide.text.DateTimeComponent;
 
 /**
  * Surface for rendering slides using transitions.
+ * <p>
+ * The surface renders to three back buffers.  By default these are software
+ * {@link BufferedImage}s, but if accelerated buffers are enabled in the event 
+ * configuration, the surface will attempt to use {@link VolatileImage}s instead.
+ * Use the {@link #isAcceleratedBuffersInUse()} method to determine which is in use.
+ * <p>
+ * The surface can also be placed in active rendering mode using the 
+ * {@link #setActiveRenderingEnabled(boolean)} method.  In this mode, a dedicated thread
+ * renders the surface to a {@link BufferStrategy} at the display's refresh rate rather
+ * than relying on Swing's repaint mechanism.
+ * <p>
+ * A surface can be mirrored to other displays using {@link #setMirror(PresentationMirror)}.
+ * Each frame is then rendered once and shared with the mirror windows.
  * @author William Bittle
- * @version 2.0.2
+ * @version 2.0.4
  * @since 2.0.0
  */
 public class PresentationSurface extends JPanel implements VideoMediaPlayerListener, WindowListener {
@@ -77,8 +111,23 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 	/** The class level logger */
 	private static final Logger LOGGER = Logger.getLogger(PresentationSurface.class);
 	
-	/** The date/time update interval in milliseconds */
-	private static final int CLOCK_UPDATE_INTERVAL = 250;
+	/** The minimum time between date/time updates in milliseconds */
+	private static final int CLOCK_MINIMUM_UPDATE_INTERVAL = 20;
+	
+	/** The number of waiting events at which catch-up transitions become instant */
+	private static final int CATCH_UP_INSTANT_QUEUE_SIZE = 3;
+	
+	/** The refresh rate to use for active rendering if the display's refresh rate is unknown */
+	private static final int DEFAULT_REFRESH_RATE = 60;
+	
+	/** The period of time the performance overlay statistics cover in nanoseconds */
+	private static final long OVERLAY_STATISTICS_PERIOD = 1000000000l;
+	
+	/** The font used for the performance overlay */
+	private static final Font OVERLAY_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 14);
+	
+	/** The background color of the performance overlay */
+	private static final Color OVERLAY_BACKGROUND = new Color(0, 0, 0, 180);
 	
 	// current slide
 	
@@ -137,13 +186,27 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 	/** True if the background should be transitioned */
 	protected boolean transitionBackground;
 	
+	// ticker
+	
+	/** The ticker of the incoming slide; null if none */
+	protected Ticker inTicker;
+	
+	/** The ticker scrolling over the current slide; null if none */
+	protected volatile Ticker currentTicker;
+	
+	/** The stopped ticker whose text is shown on the current slide for the transition; null if none */
+	protected Ticker stoppedTicker;
+	
+	/** A timer for repainting the ticker */
+	protected Timer tickerTimer;
+	
 	// state
 	
 	/** The cached before image */
-	protected BufferedImage image0;
+	protected Image image0;
 	
 	/** The cached current image */
-	protected BufferedImage image1;
+	protected Image image1;
 	
 	/** 
 	 * A temporary image to render when executing an event
@@ -151,7 +214,16 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 	 * The surface uses image0 to render while idle and therefore
 	 * writing to image0 while its rendering causes artifacts.
 	 */
-	protected BufferedImage temp0;
+	protected Image temp0;
+	
+	/** True if accelerated back buffers have been requested */
+	protected boolean acceleratedBuffersEnabled;
+	
+	/** True if accelerated back buffers are supported (false after the first failure) */
+	protected boolean acceleratedBuffersSupported;
+	
+	/** True if the back buffers are currently accelerated */
+	protected boolean acceleratedBuffersInUse;
 	
 	/** True if the panel is clear */
 	protected boolean clear;
@@ -171,6 +243,50 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 	/** A timer for updating the date/time */
 	protected Timer dateTimeTimer;
 	
+	// active rendering
+	
+	/** The canvas used for active rendering; null when active rendering is disabled */
+	protected Canvas activeRenderingCanvas;
+	
+	/** The active rendering thread; null when active rendering is disabled */
+	protected ActiveRenderingThread activeRenderingThread;
+	
+	/** True if a transition completion has been posted to the EDT by the active rendering thread */
+	protected boolean transitionCompletePosted;
+	
+	// telemetry
+	
+	/** The frame timing telemetry */
+	protected FrameTelemetry telemetry;
+	
+	/** True if the performance overlay should be rendered */
+	protected boolean performanceOverlayEnabled;
+	
+	/** The statistics shown on the performance overlay */
+	protected FrameStatistics overlayStatistics;
+	
+	/** The time the overlay statistics were computed */
+	protected long overlayStatisticsTime;
+	
+	// staging
+	
+	/** The slide prepared for the likely next send event; null if none */
+	protected StagedSlide stagedSlide;
+	
+	/** The slide currently being prepared by the staging thread; null if none */
+	protected Slide stagingSlide;
+	
+	/** Lock for the staged slide */
+	protected Object stagingLock;
+	
+	/** The thread used to prepare staged slides */
+	protected StagingThread stagingThread;
+	
+	// mirroring
+	
+	/** The group of windows mirroring this surface; null if not mirrored */
+	protected volatile PresentationMirror mirror;
+	
 	/**
 	 * Default constructor.
 	 */
@@ -182,6 +298,9 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 		this.image0 = null;
 		this.image1 = null;
 		this.temp0 = null;
+		this.acceleratedBuffersEnabled = false;
+		this.acceleratedBuffersSupported = true;
+		this.acceleratedBuffersInUse = false;
 		
 		this.currentSlide = null;
 		this.currentBackgroundMediaPlayer = null;
@@ -202,6 +321,26 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 		this.animator = null;
 		this.repaintIssued = false;
 		
+		this.inTicker = null;
+		this.currentTicker = null;
+		this.stoppedTicker = null;
+		
+		this.activeRenderingCanvas = null;
+		this.activeRenderingThread = null;
+		this.transitionCompletePosted = false;
+		
+		this.telemetry = new FrameTelemetry();
+		this.performanceOverlayEnabled = false;
+		this.overlayStatistics = null;
+		this.overlayStatisticsTime = 0;
+		
+		this.stagedSlide = null;
+		this.stagingSlide = null;
+		this.stagingLock = new Object();
+		this.stagingThread = null;
+		
+		this.mirror = null;
+		
 		this.clear = true;
 		this.transitionComplete = true;
 		this.transitionCompleteLock = new Object();
@@ -211,11 +350,19 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 		this.dateTimeTimer = new Timer(0, new ActionListener() {
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				repaint();
+				repaintDateTime();
+				scheduleDateTimeUpdate();
+			}
+		});
+		// the timer is restarted for each change of the date/time text
+		this.dateTimeTimer.setRepeats(false);
+		
+		this.tickerTimer = new Timer(0, new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				repaintTicker();
 			}
 		});
-		// every second
-		this.dateTimeTimer.setDelay(CLOCK_UPDATE_INTERVAL);
 	}
 	
 	/**
@@ -240,12 +387,15 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 			// waiting enabled)
 			thread.emptyQueue();
 			
-			// if the transition is not complete then complete it
-			synchronized (this.transitionCompleteLock) {
-				if (!this.transitionComplete) {
-					// if the transition didnt complete then
-					// complete it
-					this.onInTransitionComplete();
+			// if the transition is not complete then complete it (the active
+			// rendering thread renders the slides while holding this surface's lock)
+			synchronized (this) {
+				synchronized (this.transitionCompleteLock) {
+					if (!this.transitionComplete) {
+						// if the transition didnt complete then
+						// complete it
+						this.onInTransitionComplete();
+					}
 				}
 			}
 			
@@ -287,6 +437,41 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 		}
 	}
 	
+	/**
+	 * Stages the given send event.
+	 * <p>
+	 * Staging prepares the slide of the likely next send event in the background: its
+	 * renderer is created, its static layers and the first frame of any video are rendered
+	 * and its media players are created.  If the same slide is later sent, the prepared
+	 * state is used so that the send only needs to start the transition.
+	 * <p>
+	 * Only the last staged event is kept.  The event's slide is matched by identity so
+	 * the caller must send the same {@link Slide} instance it staged and must not modify
+	 * it after staging.
+	 * @param event the event to stage
+	 * @since 2.0.4
+	 */
+	public void stage(SendEvent event) {
+		this.getStagingThread().queue(event);
+	}
+	
+	/**
+	 * Releases the currently staged slide, if any.
+	 * @since 2.0.4
+	 */
+	public void clearStagedSlide() {
+		StagingThread thread = this.stagingThread;
+		if (thread != null) {
+			thread.emptyQueue();
+		}
+		synchronized (this.stagingLock) {
+			if (this.stagedSlide != null) {
+				this.stagedSlide.release();
+				this.stagedSlide = null;
+			}
+		}
+	}
+	
 	/**
 	 * Executes a send event.
 	 * @param event the send event
@@ -299,15 +484,17 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 		
 		// see if we have any playable media
 		this.inSlide = slide;
-		this.inRenderer = new PresentationRenderer(slide);
 		this.inRenderQualities = event.getConfiguration().getRenderQualities();
+		boolean readTimeVideoConversionEnabled = event.getConfiguration().isReadTimeVideoConversionEnabled();
+		// use the staged slide if it was prepared for this event
+		StagedSlide staged = this.takeStagedSlide(slide, this.inRenderQualities, readTimeVideoConversionEnabled);
+		this.inRenderer = staged != null ? staged.renderer : new PresentationRenderer(slide);
 		this.inMediaPlayers.clear();
 		this.transitionBackground = true;
 		RenderableComponent background = slide.getBackground();
 		List<PlayableMediaComponent<?>> playableMediaComponents = slide.getPlayableMediaComponents();
 		this.inHasPlayableMedia = false;
 		this.inHasUpdatingDateTime = PresentationSurface.hasUpdatingDateTimeComponent(slide);
-		boolean readTimeVideoConversionEnabled = event.getConfiguration().isReadTimeVideoConversionEnabled();
 		
 		// we will only NOT transition the background IF both slides have a video background component AND
 		// they are the same video
@@ -351,8 +538,9 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 						// image0 still contains the background and it will appear as if we are
 						// still transitioning the background
 						PresentationSurface.renderSlide(this.currentRenderer, this.currentRenderQualities, false, this.temp0);
+						this.renderStoppedTicker(this.temp0, null);
 						// swap the images
-						BufferedImage image = this.image0;
+						Image image = this.image0;
 						this.image0 = this.temp0;
 						this.temp0 = image;
 					}
@@ -373,7 +561,14 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 			VideoMediaComponent bg = (VideoMediaComponent)background;
 			// make sure the video is visible
 			if (bg.isVideoVisible()) {
-				MediaPlayer<?> player = PresentationSurface.getMediaPlayer((PlayableMediaComponent<?>)background, readTimeVideoConversionEnabled);
+				MediaPlayer<?> player = null;
+				if (staged != null) {
+					// take ownership of the staged player
+					player = staged.backgroundMediaPlayer;
+					staged.backgroundMediaPlayer = null;
+				} else {
+					player = PresentationSurface.getMediaPlayer((PlayableMediaComponent<?>)background, readTimeVideoConversionEnabled);
+				}
 				if (player != null) {
 					player.addMediaPlayerListener(this);
 					this.inBackgroundMediaPlayer = player;
@@ -381,34 +576,57 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 				}
 			}
 		}
-		for (PlayableMediaComponent<?> component : playableMediaComponents) {
-			// check for non-visible video media
-			if (component instanceof VideoMediaComponent) {
-				VideoMediaComponent vc = (VideoMediaComponent)component;
-				if (!vc.isVideoVisible()) {
-					// if the video is not visible, then just skip this component
-					continue;
-				}
-			}
-			MediaPlayer<?> player = PresentationSurface.getMediaPlayer(component, readTimeVideoConversionEnabled);
-			if (player != null) {
-				player.addMediaPlayerListener(this);
-				this.inMediaPlayers.add(player);
-				this.inHasPlayableMedia = true;
-			}
+		List<MediaPlayer<?>> players = null;
+		if (staged != null) {
+			// take ownership of the staged players
+			players = new ArrayList<MediaPlayer<?>>(staged.mediaPlayers);
+			staged.mediaPlayers.clear();
+		} else {
+			players = PresentationSurface.getMediaPlayers(playableMediaComponents, readTimeVideoConversionEnabled);
+		}
+		for (MediaPlayer<?> player : players) {
+			player.addMediaPlayerListener(this);
+			this.inMediaPlayers.add(player);
+			this.inHasPlayableMedia = true;
 		}
 		
 		this.clear = false;
 		this.animator = animator;
 		this.repaintIssued = false;
 		
-		// make sure our offscreen images are still the correct size
-		this.image0 = PresentationSurface.validateOffscreenImage(this.image0, this);
-		this.image1 = PresentationSurface.validateOffscreenImage(this.image1, this);
-		this.temp0 = PresentationSurface.validateOffscreenImage(this.temp0, this);
+		// make sure our offscreen images are still the correct size and type
+		this.acceleratedBuffersEnabled = event.getConfiguration().isAcceleratedBuffersEnabled();
+		this.image0 = this.validateOffscreenImage(this.image0);
+		this.image1 = this.validateOffscreenImage(this.image1);
+		this.temp0 = this.validateOffscreenImage(this.temp0);
+		this.updateAcceleratedBuffersInUse();
+		
+		// leave the text of the current ticker where it is for the transition
+		this.stopTicker(true);
+		
+		// render the text of the incoming ticker before the transition begins
+		if (this.inTicker != null) {
+			this.inTicker.release();
+			this.inTicker = null;
+		}
+		if (event instanceof TickerEvent) {
+			this.inTicker = ((TickerEvent)event).getTicker();
+			this.inTicker.prepare(this.getGraphicsConfiguration(), this.inRenderQualities.getRenderingHints());
+		}
 		
 		// paint the display to the image
-		PresentationSurface.renderSlide(this.inRenderer, this.inRenderQualities, this.transitionBackground, this.image1);
+		if (staged != null && staged.isImageReusable(this.image1, this.transitionBackground)) {
+			// the staged image already contains the slide (with its background)
+			ImageUtilities.copyImage(staged.image, this.image1);
+		} else {
+			PresentationSurface.renderSlide(this.inRenderer, this.inRenderQualities, this.transitionBackground, this.image1);
+		}
+		
+		// release anything from the staged slide we didn't use (for example the
+		// background video player when the current player is being reused)
+		if (staged != null) {
+			staged.releaseUnused();
+		}
 		
 		synchronized (this.transitionCompleteLock) {
 			this.transitionComplete = false;
@@ -423,14 +641,12 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 		}
 		// begin the time update (if neccessary)
 		if (this.inHasUpdatingDateTime || this.currentHasUpdatingDateTime) {
-			if (!this.dateTimeTimer.isRunning()) {
-				this.dateTimeTimer.start();
-			}
+			this.scheduleDateTimeUpdate();
 		}
 		
 		if (this.animator != null) {
 			// start it
-			this.animator.start(this);
+			this.startAnimator();
 		} else {
 			// refresh the display
 			this.repaint();
@@ -457,12 +673,16 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 			// contain the background. So we need to re-render the image
 			// with the background to ensure the clear includes the background
 			PresentationSurface.renderSlide(this.currentRenderer, this.currentRenderQualities, true, this.temp0);
+			this.renderStoppedTicker(this.temp0, null);
 			// swap the images
-			BufferedImage image = this.image0;
+			Image image = this.image0;
 			this.image0 = this.temp0;
 			this.temp0 = image;
 		}
 		
+		// leave the text of the ticker where it is for the transition
+		this.stopTicker(true);
+		
 		// on a clear operation we need to transition the background
 		this.transitionBackground = true;
 		this.repaintIssued = false;
@@ -473,7 +693,7 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 				this.transitionComplete = false;
 			}
 			// start it
-			this.animator.start(this);
+			this.startAnimator();
 		} else {
 			this.onOutTransitionComplete();
 			this.repaint();
@@ -489,35 +709,207 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 	 * @param renderBackground true if the background of the slide should be rendered
 	 * @param image the image to render to
 	 */
-	private static final void renderSlide(PresentationRenderer renderer, RenderQualities qualities, boolean renderBackground, BufferedImage image) {
+	static final void renderSlide(PresentationRenderer renderer, RenderQualities qualities, boolean renderBackground, Image image) {
+		PresentationSurface.renderSlide(renderer, qualities, renderBackground, image, null);
+	}
+	
+	/**
+	 * Renders the given region of the output of the given {@link PresentationRenderer} to the given image.
+	 * <p>
+	 * Only the given region of the image is cleared and rendered; the rest of the image is left untouched.
+	 * If the region is null the entire image is rendered.
+	 * @param renderer the renderer
+	 * @param qualities the rendering qualities
+	 * @param renderBackground true if the background of the slide should be rendered
+	 * @param image the image to render to
+	 * @param region the region to render; can be null
+	 * @since 2.0.4
+	 */
+	static final void renderSlide(PresentationRenderer renderer, RenderQualities qualities, boolean renderBackground, Image image, Rectangle region) {
+		Rectangle bounds = new Rectangle(0, 0, image.getWidth(null), image.getHeight(null));
+		if (region != null) {
+			bounds = bounds.intersection(region);
+			if (bounds.isEmpty()) {
+				return;
+			}
+		}
 		// paint the display to the image
-		Graphics2D tg2d = image.createGraphics();
+		Graphics2D tg2d = (Graphics2D)image.getGraphics();
 		// clear the background
 		tg2d.setBackground(ColorUtilities.TRANSPARENT);
-		tg2d.clearRect(0, 0, image.getWidth(), image.getHeight());
+		tg2d.clearRect(bounds.x, bounds.y, bounds.width, bounds.height);
 		// for compatibility for offscreen images we need to do this
 		tg2d.setColor(ColorUtilities.TRANSPARENT);
-		tg2d.fillRect(0, 0, image.getWidth(), image.getHeight());
+		tg2d.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
 		// setup the qualities
 		RenderingHints hints = qualities.getRenderingHints();
 		tg2d.setRenderingHints(hints);
 		// render the slide
-		renderer.render(tg2d, renderBackground);
+		if (region != null) {
+			renderer.render(tg2d, renderBackground, bounds);
+		} else {
+			renderer.render(tg2d, renderBackground);
+		}
 		tg2d.dispose();
 	}
 	
 	/**
-	 * Validates the off-screen image is created and sized appropriately (fills the width/height of the given component).
+	 * Validates the off-screen image is created, of the right type and sized appropriately 
+	 * (fills the width/height of this surface).
+	 * <p>
+	 * If accelerated buffers are enabled and supported a {@link VolatileImage} is returned,
+	 * otherwise a {@link BufferedImage} is returned.
 	 * @param image the image to validate
-	 * @param component the component to size to
-	 * @return BufferedImage
+	 * @return Image
+	 */
+	private Image validateOffscreenImage(Image image) {
+		Dimension size = this.getSize();
+		GraphicsConfiguration gc = this.getGraphicsConfiguration();
+		
+		if (this.acceleratedBuffersEnabled && this.acceleratedBuffersSupported) {
+			if (image instanceof VolatileImage) {
+				VolatileImage vi = (VolatileImage)image;
+				if (size.width == vi.getWidth() && 
+					size.height == vi.getHeight() && 
+					vi.validate(gc) != VolatileImage.IMAGE_INCOMPATIBLE) {
+					return vi;
+				}
+				vi.flush();
+			}
+			VolatileImage vi = PresentationSurface.createAcceleratedImage(gc, size.width, size.height);
+			if (vi != null) {
+				return vi;
+			}
+			// don't attempt to create them again
+			this.acceleratedBuffersSupported = false;
+			LOGGER.warn("Accelerated back buffers are not available on this device. Falling back to software back buffers.");
+		}
+		
+		if (image instanceof BufferedImage && 
+			size.width == image.getWidth(null) && 
+			size.height == image.getHeight(null)) {
+			return image;
+		}
+		if (image != null) {
+			image.flush();
+		}
+		return gc.createCompatibleImage(size.width, size.height, Transparency.TRANSLUCENT);
+	}
+	
+	/**
+	 * Creates a new translucent {@link VolatileImage} of the given size.
+	 * <p>
+	 * Returns null if the image could not be created or if the image is not accelerated.
+	 * @param gc the graphics configuration
+	 * @param width the width
+	 * @param height the height
+	 * @return VolatileImage
+	 */
+	private static final VolatileImage createAcceleratedImage(GraphicsConfiguration gc, int width, int height) {
+		try {
+			VolatileImage image = gc.createCompatibleVolatileImage(width, height, Transparency.TRANSLUCENT);
+			if (image != null) {
+				if (image.getCapabilities().isAccelerated()) {
+					return image;
+				}
+				LOGGER.debug("The created VolatileImage is not accelerated.");
+				image.flush();
+			}
+		} catch (Exception e) {
+			LOGGER.warn("Failed to create a VolatileImage: ", e);
+		}
+		return null;
+	}
+	
+	/**
+	 * Updates the accelerated buffers in use flag and logs any change.
+	 */
+	private void updateAcceleratedBuffersInUse() {
+		boolean inUse = this.image0 instanceof VolatileImage;
+		if (inUse != this.acceleratedBuffersInUse) {
+			LOGGER.info("Presentation surface is using " + (inUse ? "accelerated (VolatileImage)" : "software (BufferedImage)") + " back buffers.");
+		}
+		this.acceleratedBuffersInUse = inUse;
+	}
+	
+	/**
+	 * Returns true if this surface is currently rendering using accelerated back buffers.
+	 * @return boolean
+	 * @since 2.0.4
+	 */
+	public boolean isAcceleratedBuffersInUse() {
+		return this.acceleratedBuffersInUse;
+	}
+	
+	/**
+	 * Validates the accelerated back buffers against the current graphics configuration
+	 * and re-renders their contents if they were lost.
+	 * <p>
+	 * Returns true if any back buffer was restored.
+	 * @return boolean
+	 */
+	private boolean restoreAcceleratedBuffers() {
+		GraphicsConfiguration gc = this.getGraphicsConfiguration();
+		if (gc == null) {
+			return false;
+		}
+		boolean restored = false;
+		// the before image
+		int result = PresentationSurface.validateAcceleratedImage(this.image0, gc);
+		if (result == VolatileImage.IMAGE_INCOMPATIBLE) {
+			this.image0 = this.validateOffscreenImage(null);
+		}
+		if (result != VolatileImage.IMAGE_OK) {
+			if (this.currentSlide != null) {
+				PresentationSurface.renderSlide(this.currentRenderer, this.currentRenderQualities, this.transitionBackground, this.image0);
+				this.renderStoppedTicker(this.image0, null);
+			} else {
+				ImageUtilities.clearImage(this.image0);
+			}
+			restored = true;
+		}
+		// the current image
+		result = PresentationSurface.validateAcceleratedImage(this.image1, gc);
+		if (result == VolatileImage.IMAGE_INCOMPATIBLE) {
+			this.image1 = this.validateOffscreenImage(null);
+		}
+		if (result != VolatileImage.IMAGE_OK) {
+			if (this.inSlide != null) {
+				PresentationSurface.renderSlide(this.inRenderer, this.inRenderQualities, this.transitionBackground, this.image1);
+			} else {
+				ImageUtilities.clearImage(this.image1);
+			}
+			restored = true;
+		}
+		if (restored) {
+			LOGGER.debug("Accelerated back buffer contents were lost and have been restored.");
+			this.updateAcceleratedBuffersInUse();
+		}
+		return restored;
+	}
+	
+	/**
+	 * Validates the given image if its a {@link VolatileImage}.
+	 * <p>
+	 * Returns {@link VolatileImage#IMAGE_OK} for non-volatile images.
+	 * @param image the image
+	 * @param gc the graphics configuration
+	 * @return int
 	 */
-	private static final BufferedImage validateOffscreenImage(BufferedImage image, Component component) {
-		Dimension size = component.getSize();
-		if (image == null || size.width != image.getWidth() || size.height != image.getHeight()) {
-			image = component.getGraphicsConfiguration().createCompatibleImage(size.width, size.height, Transparency.TRANSLUCENT);
+	private static final int validateAcceleratedImage(Image image, GraphicsConfiguration gc) {
+		if (image instanceof VolatileImage) {
+			return ((VolatileImage)image).validate(gc);
 		}
-		return image;
+		return VolatileImage.IMAGE_OK;
+	}
+	
+	/**
+	 * Returns true if the given image is a {@link VolatileImage} whose contents were lost.
+	 * @param image the image
+	 * @return boolean
+	 */
+	private static final boolean isContentsLost(Image image) {
+		return image instanceof VolatileImage && ((VolatileImage)image).contentsLost();
 	}
 	
 	/**
@@ -529,7 +921,7 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 	 * @return {@link MediaPlayer}
 	 */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private static final MediaPlayer<?> getMediaPlayer(PlayableMediaComponent<?> component, boolean readTimeVideoConversionEnabled) {
+	static final MediaPlayer<?> getMediaPlayer(PlayableMediaComponent<?> component, boolean readTimeVideoConversionEnabled) {
 		PlayableMedia media = component.getMedia();
 		
 		// make sure the media is not null
@@ -571,12 +963,132 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 		return null;
 	}
 	
+	/**
+	 * Returns a new list of {@link MediaPlayer}s for the given playable media components.
+	 * <p>
+	 * Non-visible video media components are skipped.
+	 * @param components the playable media components
+	 * @param readTimeVideoConversionEnabled true if read-time video conversion should be enabled
+	 * @return List&lt;{@link MediaPlayer}&gt;
+	 * @since 2.0.4
+	 */
+	static final List<MediaPlayer<?>> getMediaPlayers(List<PlayableMediaComponent<?>> components, boolean readTimeVideoConversionEnabled) {
+		List<MediaPlayer<?>> players = new ArrayList<MediaPlayer<?>>();
+		for (PlayableMediaComponent<?> component : components) {
+			// check for non-visible video media
+			if (component instanceof VideoMediaComponent) {
+				VideoMediaComponent vc = (VideoMediaComponent)component;
+				if (!vc.isVideoVisible()) {
+					// if the video is not visible, then just skip this component
+					continue;
+				}
+			}
+			MediaPlayer<?> player = PresentationSurface.getMediaPlayer(component, readTimeVideoConversionEnabled);
+			if (player != null) {
+				players.add(player);
+			}
+		}
+		return players;
+	}
+	
+	/**
+	 * Prepares the slide of the given send event for display.
+	 * <p>
+	 * The media players are created but not started and the slide is rendered, with its
+	 * background, to an image of the given size.
+	 * @param event the staged event
+	 * @param gc the graphics configuration of the surface; can be null
+	 * @param size the size of the surface
+	 * @return {@link StagedSlide}
+	 * @since 2.0.4
+	 */
+	private static final StagedSlide prepareStagedSlide(SendEvent event, GraphicsConfiguration gc, Dimension size) {
+		Slide slide = event.getSlide();
+		RenderQualities qualities = event.getConfiguration().getRenderQualities();
+		boolean readTimeVideoConversionEnabled = event.getConfiguration().isReadTimeVideoConversionEnabled();
+		
+		StagedSlide staged = new StagedSlide(slide, new PresentationRenderer(slide), qualities, readTimeVideoConversionEnabled);
+		
+		// create the media players (these are only started once the slide is sent)
+		RenderableComponent background = slide.getBackground();
+		if (background instanceof VideoMediaComponent && ((VideoMediaComponent)background).isVideoVisible()) {
+			staged.backgroundMediaPlayer = PresentationSurface.getMediaPlayer((PlayableMediaComponent<?>)background, readTimeVideoConversionEnabled);
+		}
+		staged.mediaPlayers.addAll(PresentationSurface.getMediaPlayers(slide.getPlayableMediaComponents(), readTimeVideoConversionEnabled));
+		
+		// pre-render the slide; video components render their first frame and
+		// the renderer caches its static layers as a side effect
+		int w = size.width > 0 ? size.width : slide.getWidth();
+		int h = size.height > 0 ? size.height : slide.getHeight();
+		if (w > 0 && h > 0) {
+			BufferedImage image = null;
+			if (gc != null) {
+				image = gc.createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+			} else {
+				image = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+			}
+			PresentationSurface.renderSlide(staged.renderer, qualities, true, image);
+			staged.image = image;
+		}
+		
+		return staged;
+	}
+	
+	/**
+	 * Returns the staged slide for the given slide and removes it from staging.
+	 * <p>
+	 * If the given slide is currently being prepared, this method waits for the preparation
+	 * to finish.  Returns null if the given slide was not staged or was staged using different
+	 * render qualities or video settings.
+	 * @param slide the slide being sent
+	 * @param qualities the render qualities of the send event
+	 * @param readTimeVideoConversionEnabled true if read-time video conversion is enabled for the send event
+	 * @return {@link StagedSlide}
+	 * @since 2.0.4
+	 */
+	private StagedSlide takeStagedSlide(Slide slide, RenderQualities qualities, boolean readTimeVideoConversionEnabled) {
+		// make sure the staging thread doesn't begin preparing the slide now
+		StagingThread thread = this.stagingThread;
+		if (thread != null) {
+			thread.dequeue(slide);
+		}
+		
+		synchronized (this.stagingLock) {
+			// wait on the slide if its currently being prepared
+			while (this.stagingSlide == slide) {
+				try {
+					LOGGER.trace("Waiting on the staged slide.");
+					this.stagingLock.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return null;
+				}
+			}
+			
+			StagedSlide staged = this.stagedSlide;
+			if (staged == null || staged.slide != slide) {
+				// leave any other staged slide alone since it may be sent later
+				return null;
+			}
+			
+			this.stagedSlide = null;
+			if (!staged.isCompatible(qualities, readTimeVideoConversionEnabled)) {
+				LOGGER.debug("The staged slide was prepared using different settings. Ignoring it.");
+				staged.release();
+				return null;
+			}
+			
+			LOGGER.trace("Using the staged slide.");
+			return staged;
+		}
+	}
+	
 	/**
 	 * Returns true if the given slide has a {@link DateTimeComponent} that requires updates.
 	 * @param slide the slide
 	 * @return boolean
 	 */
-	private static final boolean hasUpdatingDateTimeComponent(Slide slide) {
+	static final boolean hasUpdatingDateTimeComponent(Slide slide) {
 		List<DateTimeComponent> components = slide.getComponents(DateTimeComponent.class);
 		for (DateTimeComponent component : components) {
 			if (component.isDateTimeUpdateEnabled()) {
@@ -586,6 +1098,29 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 		return false;
 	}
 	
+	/**
+	 * Shortens the given transition because the given number of events are waiting behind it.
+	 * <p>
+	 * The duration is divided by the number of events (including this one) so that the
+	 * queue catches up.  Once {@link #CATCH_UP_INSTANT_QUEUE_SIZE} events are waiting the
+	 * transition is made instant.
+	 * @param animator the transition animator; can be null
+	 * @param waiting the number of events waiting
+	 * @since 2.0.4
+	 */
+	private static final void shortenTransition(TransitionAnimator animator, int waiting) {
+		if (animator == null || waiting <= 0) {
+			return;
+		}
+		if (waiting >= CATCH_UP_INSTANT_QUEUE_SIZE) {
+			LOGGER.trace("Catching up. Skipping transition.");
+			animator.setDuration(0);
+		} else {
+			LOGGER.trace("Catching up. Shortening transition.");
+			animator.setDuration((int)(animator.getDuration() / (waiting + 1)));
+		}
+	}
+	
 	// rendering
 	
 	/* (non-Javadoc)
@@ -603,66 +1138,331 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 	 */
 	@Override
 	public void onVideoImage(BufferedImage image) {
+		this.telemetry.record(FrameTelemetryType.VIDEO_FRAME, System.nanoTime(), 0, 0);
 		// we need to handle repaint events for any playing video
 		this.coalescingRepaint();
 	}
 	
 	/**
-	 * Custom simple repaint coalescing to help reduce the number
-	 * of repaint calls.
+	 * Repaints the regions of the date/time components whose text has changed.
+	 * <p>
+	 * When nothing else on the surface is changing (no transition or video) only the
+	 * bounds of the changed date/time components are repainted.  Nothing is repainted
+	 * if the text hasn't changed since the last render.
+	 * @since 2.0.4
 	 */
-	private void coalescingRepaint() {
+	private void repaintDateTime() {
+		PresentationRenderer renderer = this.currentRenderer;
+		// if a transition or video is playing, the whole surface is being repainted anyway
+		if (this.animator != null || this.currentHasPlayableMedia || renderer == null) {
+			this.coalescingRepaint();
+			return;
+		}
+		Rectangle bounds = renderer.getDirtyBounds();
+		if (bounds == null) {
+			// nothing has changed
+			return;
+		}
+		ActiveRenderingThread thread = this.activeRenderingThread;
+		if (thread != null) {
+			thread.signal();
+			return;
+		}
 		if (!this.repaintIssued && !this.clear) {
 			this.repaintIssued = true;
-			super.repaint();
+			super.repaint(bounds.x, bounds.y, bounds.width, bounds.height);
 		}
 	}
 	
-	/* (non-Javadoc)
-	 * @see javax.swing.JComponent#paintComponent(java.awt.Graphics)
+	/**
+	 * Schedules the date/time timer for the next time the text of a date/time
+	 * component on the current or incoming slide can change.
+	 * <p>
+	 * Stops the timer if neither slide has updating date/time components.
+	 * @since 2.0.4
 	 */
-	@Override
-	protected void paintComponent(Graphics g) {
-		super.paintComponent(g);
-		
-		Graphics2D g2d = (Graphics2D)g;
-		
-		// clear the background (fixes Ubuntu Linux not clearing the previous contents, not needed on Mac OS X or Windows)
-		g2d.setBackground(ColorUtilities.TRANSPARENT);
-		g2d.clearRect(0, 0, this.getWidth(), this.getHeight());
-		
-		// update the images if necessary
-		if ((this.currentHasPlayableMedia || this.currentHasUpdatingDateTime) && this.currentSlide != null) {
-			PresentationSurface.renderSlide(this.currentRenderer, this.currentRenderQualities, this.transitionBackground, this.image0);
+	private void scheduleDateTimeUpdate() {
+		long next = Long.MAX_VALUE;
+		PresentationRenderer renderer = this.currentRenderer;
+		if (this.currentHasUpdatingDateTime && renderer != null) {
+			next = Math.min(next, renderer.getNextUpdateTime());
 		}
-		if ((this.inHasPlayableMedia || this.inHasUpdatingDateTime) && this.inSlide != null) {
-			PresentationSurface.renderSlide(this.inRenderer, this.inRenderQualities, this.transitionBackground, this.image1);
+		renderer = this.inRenderer;
+		if (this.inHasUpdatingDateTime && renderer != null) {
+			next = Math.min(next, renderer.getNextUpdateTime());
 		}
-		
-		if (!this.transitionBackground && this.currentSlide != null) {
-			// then render the background of the slide
-			this.currentSlide.getBackground().render(g2d);
+		if (next == Long.MAX_VALUE) {
+			this.dateTimeTimer.stop();
+			return;
 		}
-		
-		if (this.animator != null) {
-			Transition transition = this.animator.getTransition();
-			if (this.animator.isComplete()) {
-				if (transition.getType() == TransitionType.IN) {
-					// if the transition is not complete then complete it
-					synchronized (this.transitionCompleteLock) {
-						if (!this.transitionComplete) {
-							this.onInTransitionComplete();
-						}
-					}
-					g2d.drawImage(this.image0, 0, 0, null);
-				} else {
-					synchronized (this.transitionCompleteLock) {
-						if (!this.clear) {
-							this.onOutTransitionComplete();
+		long delay = next - System.currentTimeMillis();
+		delay = Math.max(CLOCK_MINIMUM_UPDATE_INTERVAL, Math.min(delay, Integer.MAX_VALUE));
+		this.dateTimeTimer.setInitialDelay((int)delay);
+		this.dateTimeTimer.restart();
+	}
+	
+	/**
+	 * Repaints the area of the current ticker.
+	 * <p>
+	 * When nothing else on the surface is changing (no transition or video) only the
+	 * bounds of the ticker are repainted.  The timer is stopped after the repaint that
+	 * removes the ticker's text once it has finished scrolling.
+	 * @since 2.0.4
+	 */
+	private void repaintTicker() {
+		Ticker ticker = this.currentTicker;
+		if (ticker == null) {
+			this.tickerTimer.stop();
+			return;
+		}
+		if (ticker.isComplete(System.nanoTime())) {
+			this.tickerTimer.stop();
+		}
+		// if a transition or video is playing, the whole surface is being repainted anyway
+		if (this.animator != null || this.currentHasPlayableMedia) {
+			this.coalescingRepaint();
+			return;
+		}
+		ActiveRenderingThread thread = this.activeRenderingThread;
+		if (thread != null) {
+			thread.signal();
+			return;
+		}
+		// the repaint manager merges these with any other pending repaints
+		if (!this.clear) {
+			Rectangle bounds = ticker.getBounds();
+			super.repaint(bounds.x, bounds.y, bounds.width, bounds.height);
+		}
+	}
+	
+	/**
+	 * Stops the current ticker (if any).
+	 * <p>
+	 * When frozen, the ticker's text is left where it is now for the transition that
+	 * is starting: it's rendered to the current slide's image and again each time that
+	 * image is re-rendered (for video for example) until the transition completes.
+	 * Otherwise the ticker and any previously frozen ticker are released.
+	 * @param freeze true if the ticker's text should be left where it is now
+	 * @since 2.0.4
+	 */
+	private void stopTicker(boolean freeze) {
+		Ticker ticker = this.currentTicker;
+		this.currentTicker = null;
+		this.tickerTimer.stop();
+		if (freeze) {
+			if (ticker == null) {
+				// keep any ticker frozen by the last transition
+				return;
+			}
+			if (this.stoppedTicker != null) {
+				this.stoppedTicker.release();
+			}
+			ticker.stop(System.nanoTime());
+			this.stoppedTicker = ticker;
+			if (this.image0 != null) {
+				this.renderStoppedTicker(this.image0, null);
+			}
+		} else {
+			if (ticker != null) {
+				ticker.release();
+			}
+			if (this.stoppedTicker != null) {
+				this.stoppedTicker.release();
+				this.stoppedTicker = null;
+			}
+		}
+	}
+	
+	/**
+	 * Renders the text of the stopped ticker (if any) to the given image of the current slide.
+	 * @param image the image
+	 * @param region the region of the image that was re-rendered; null for the entire image
+	 * @since 2.0.4
+	 */
+	private void renderStoppedTicker(Image image, Rectangle region) {
+		Ticker ticker = this.stoppedTicker;
+		if (ticker == null) {
+			return;
+		}
+		Graphics2D g2d = (Graphics2D)image.getGraphics();
+		if (this.currentRenderQualities != null) {
+			g2d.setRenderingHints(this.currentRenderQualities.getRenderingHints());
+		}
+		// the rest of the image already contains the text
+		if (region != null) {
+			g2d.clip(region);
+		}
+		ticker.render(g2d, System.nanoTime());
+		g2d.dispose();
+	}
+	
+	/**
+	 * Returns true if the current ticker is scrolling.
+	 * @return boolean
+	 * @since 2.0.4
+	 */
+	private boolean isTickerScrolling() {
+		Ticker ticker = this.currentTicker;
+		return ticker != null && !ticker.isComplete(System.nanoTime());
+	}
+	
+	/**
+	 * Custom simple repaint coalescing to help reduce the number
+	 * of repaint calls.
+	 */
+	private void coalescingRepaint() {
+		// when actively rendering, just let the render thread know
+		// that a new frame is needed
+		ActiveRenderingThread thread = this.activeRenderingThread;
+		if (thread != null) {
+			thread.signal();
+			return;
+		}
+		if (!this.repaintIssued && !this.clear) {
+			this.repaintIssued = true;
+			super.repaint();
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see javax.swing.JComponent#paintComponent(java.awt.Graphics)
+	 */
+	@Override
+	protected void paintComponent(Graphics g) {
+		// when actively rendering, the canvas covers this surface
+		// so we just need to make sure a frame is rendered
+		ActiveRenderingThread thread = this.activeRenderingThread;
+		if (thread != null) {
+			thread.signal();
+			return;
+		}
+		
+		super.paintComponent(g);
+		this.render((Graphics2D)g);
+	}
+	
+	/**
+	 * Renders the current state of this surface to the given graphics object.
+	 * <p>
+	 * This method is used for both passive (Swing) and active rendering.
+	 * <p>
+	 * If this surface is mirrored, the frame is rendered once to the mirror's shared
+	 * frame which is then drawn to this surface and the mirror windows.
+	 * @param g2d the graphics object to render to
+	 */
+	private void render(Graphics2D g2d) {
+		PresentationMirror mirror = this.mirror;
+		if (mirror != null && mirror.hasWindows()) {
+			Graphics2D fg2d = mirror.beginFrame(this.getGraphicsConfiguration(), this.getWidth(), this.getHeight());
+			try {
+				this.renderFrame(fg2d);
+			} finally {
+				fg2d.dispose();
+			}
+			Image frame = mirror.endFrame();
+			// clear the background (see renderFrame)
+			g2d.setBackground(ColorUtilities.TRANSPARENT);
+			g2d.clearRect(0, 0, this.getWidth(), this.getHeight());
+			if (frame != null) {
+				g2d.drawImage(frame, 0, 0, null);
+			}
+		} else {
+			this.renderFrame(g2d);
+		}
+		
+		// the overlay is only shown on this surface
+		if (this.performanceOverlayEnabled) {
+			this.renderPerformanceOverlay(g2d);
+		}
+	}
+	
+	/**
+	 * Renders the current frame (the current slide or transition) to the given graphics object.
+	 * @param g2d the graphics object to render to
+	 * @since 2.0.4
+	 */
+	private void renderFrame(Graphics2D g2d) {
+		long t0 = System.nanoTime();
+		long currentLayerTime = 0;
+		long incomingLayerTime = 0;
+		
+		// clear the background (fixes Ubuntu Linux not clearing the previous contents, not needed on Mac OS X or Windows)
+		g2d.setBackground(ColorUtilities.TRANSPARENT);
+		g2d.clearRect(0, 0, this.getWidth(), this.getHeight());
+		
+		// make sure the accelerated buffers still have their contents
+		if (this.acceleratedBuffersInUse) {
+			this.restoreAcceleratedBuffers();
+		}
+		
+		// update the images if necessary
+		if (this.currentHasPlayableMedia && this.currentSlide != null) {
+			long t = System.nanoTime();
+			PresentationSurface.renderSlide(this.currentRenderer, this.currentRenderQualities, this.transitionBackground, this.image0);
+			this.renderStoppedTicker(this.image0, null);
+			currentLayerTime = System.nanoTime() - t;
+		} else if (this.currentHasUpdatingDateTime && this.currentSlide != null) {
+			// only the date/time components whose text changed need to be rendered
+			Rectangle region = this.currentRenderer.getDirtyBounds();
+			if (region != null) {
+				long t = System.nanoTime();
+				PresentationSurface.renderSlide(this.currentRenderer, this.currentRenderQualities, this.transitionBackground, this.image0, region);
+				this.renderStoppedTicker(this.image0, region);
+				currentLayerTime = System.nanoTime() - t;
+			}
+		}
+		if (this.inHasPlayableMedia && this.inSlide != null) {
+			long t = System.nanoTime();
+			PresentationSurface.renderSlide(this.inRenderer, this.inRenderQualities, this.transitionBackground, this.image1);
+			incomingLayerTime = System.nanoTime() - t;
+		} else if (this.inHasUpdatingDateTime && this.inSlide != null) {
+			Rectangle region = this.inRenderer.getDirtyBounds();
+			if (region != null) {
+				long t = System.nanoTime();
+				PresentationSurface.renderSlide(this.inRenderer, this.inRenderQualities, this.transitionBackground, this.image1, region);
+				incomingLayerTime = System.nanoTime() - t;
+			}
+		}
+		
+		// the expected time between frames (only while transitioning)
+		long expectedInterval = this.getExpectedFrameInterval();
+		long tc = System.nanoTime();
+		
+		if (!this.transitionBackground && this.currentSlide != null) {
+			// then render the background of the slide
+			this.currentSlide.getBackground().render(g2d);
+		}
+		
+		if (this.animator != null) {
+			Transition transition = this.animator.getTransition();
+			if (this.animator.isComplete()) {
+				if (this.isActiveRenderingThread()) {
+					// the transition complete notifications must be issued
+					// on the EDT, until then render the final state
+					this.postTransitionComplete();
+					if (transition.getType() == TransitionType.IN) {
+						g2d.drawImage(this.image1, 0, 0, null);
+					}
+				} else if (transition.getType() == TransitionType.IN) {
+					// if the transition is not complete then complete it
+					synchronized (this.transitionCompleteLock) {
+						if (!this.transitionComplete) {
+							this.onInTransitionComplete();
+						}
+					}
+					g2d.drawImage(this.image0, 0, 0, null);
+				} else {
+					synchronized (this.transitionCompleteLock) {
+						if (!this.clear) {
+							this.onOutTransitionComplete();
 						}
 					}
 					// draw nothing
 				}
+			} else if (this.isActiveRenderingThread()) {
+				// use the current time rather than the time of the last animator
+				// timer event so that the transition is smooth even if the EDT is busy
+				transition.render(g2d, this.image0, this.image1, this.animator.getPercentComplete(System.nanoTime()));
 			} else {
 				transition.render(g2d, this.image0, this.image1, this.animator.getPercentComplete());
 			}
@@ -670,11 +1470,377 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 			synchronized (this.transitionCompleteLock) {
 				if (!this.clear) {
 					g2d.drawImage(this.image0, 0, 0, null);
+					// the ticker scrolls over the current slide
+					Ticker ticker = this.currentTicker;
+					if (ticker != null) {
+						ticker.render(g2d, System.nanoTime());
+					}
 				}
 			}
 		}
 		
+		long t1 = System.nanoTime();
+		this.telemetry.record(FrameTelemetryType.FRAME, t0, t1 - t0, currentLayerTime, incomingLayerTime, t1 - tc, expectedInterval);
+		
 		this.repaintIssued = false;
+		
+		// if the accelerated buffers were lost while rendering then we need
+		// to render again
+		if (this.acceleratedBuffersInUse && (PresentationSurface.isContentsLost(this.image0) || PresentationSurface.isContentsLost(this.image1))) {
+			this.coalescingRepaint();
+		}
+	}
+	
+	// telemetry
+	
+	/**
+	 * Starts the current animator, recording its timer events to this surface's telemetry.
+	 */
+	private void startAnimator() {
+		// the time between the last frame and the first frame of
+		// the transition shouldn't count as a late frame
+		this.telemetry.reset(FrameTelemetryType.FRAME);
+		this.animator.setTelemetry(this.telemetry);
+		this.animator.start(this);
+	}
+	
+	/**
+	 * Returns the expected time between frames in nanoseconds.
+	 * <p>
+	 * Returns zero if frames are not expected at a regular interval (when
+	 * the surface is not transitioning).
+	 * @return long
+	 */
+	private long getExpectedFrameInterval() {
+		TransitionAnimator animator = this.animator;
+		if (animator == null || animator.isComplete()) {
+			return 0;
+		}
+		ActiveRenderingThread thread = this.activeRenderingThread;
+		if (thread != null) {
+			return thread.period;
+		}
+		AnimationScheduler scheduler = AnimationScheduler.getInstance();
+		if (scheduler.isScheduled(animator)) {
+			return scheduler.getPeriod();
+		}
+		return (long)animator.getDelay() * 1000000l;
+	}
+	
+	/**
+	 * Renders the performance overlay in the top left corner of the surface.
+	 * @param g2d the graphics object to render to
+	 */
+	private void renderPerformanceOverlay(Graphics2D g2d) {
+		// only update the statistics periodically so they are readable
+		long now = System.nanoTime();
+		if (this.overlayStatistics == null || now - this.overlayStatisticsTime > OVERLAY_STATISTICS_PERIOD / 2) {
+			this.overlayStatistics = this.telemetry.getStatistics(OVERLAY_STATISTICS_PERIOD);
+			this.overlayStatisticsTime = now;
+		}
+		FrameStatistics stats = this.overlayStatistics;
+		
+		String[] lines = new String[] {
+			String.format(Locale.ENGLISH, "FPS: %.1f  Late: %d", stats.getFrameRate(), stats.getLateFrameCount()),
+			String.format(Locale.ENGLISH, "Frame: avg %.2fms max %.2fms", stats.getAverageFrameTime() / 1.0e6, stats.getMaximumFrameTime() / 1.0e6),
+			String.format(Locale.ENGLISH, "Layers: current %.2fms incoming %.2fms composite %.2fms", 
+					stats.getAverageCurrentLayerTime() / 1.0e6, 
+					stats.getAverageIncomingLayerTime() / 1.0e6, 
+					stats.getAverageCompositeTime() / 1.0e6),
+			String.format(Locale.ENGLISH, "Animation: %.1f/s Late: %d Missed: %d  Video: %.1f fps", stats.getAnimationTickRate(), stats.getLateAnimationTickCount(), AnimationScheduler.getInstance().getMissedTickCount(), stats.getVideoFrameRate()),
+			String.format(Locale.ENGLISH, "Queue: %d waiting  Last wait: %.2fms", this.transitionWaitThread.getQueueSize(), this.transitionWaitThread.getLastWaitTime() / 1.0e6),
+			(this.isActiveRenderingEnabled() ? "Active" : "Passive") + " rendering, " + (this.acceleratedBuffersInUse ? "accelerated" : "software") + " buffers"
+		};
+		
+		Font font = g2d.getFont();
+		g2d.setFont(OVERLAY_FONT);
+		FontMetrics metrics = g2d.getFontMetrics();
+		int lh = metrics.getHeight();
+		int w = 0;
+		for (String line : lines) {
+			w = Math.max(w, metrics.stringWidth(line));
+		}
+		
+		g2d.setColor(OVERLAY_BACKGROUND);
+		g2d.fillRect(0, 0, w + 20, lh * lines.length + 20);
+		g2d.setColor(Color.WHITE);
+		int y = 10 + metrics.getAscent();
+		for (String line : lines) {
+			g2d.drawString(line, 10, y);
+			y += lh;
+		}
+		g2d.setFont(font);
+	}
+	
+	/**
+	 * Returns the frame timing telemetry for this surface.
+	 * @return {@link FrameTelemetry}
+	 * @since 2.0.4
+	 */
+	public FrameTelemetry getTelemetry() {
+		return this.telemetry;
+	}
+	
+	/**
+	 * Returns true if the performance overlay is rendered.
+	 * @return boolean
+	 * @since 2.0.4
+	 */
+	public boolean isPerformanceOverlayEnabled() {
+		return this.performanceOverlayEnabled;
+	}
+	
+	/**
+	 * Toggles the rendering of the performance overlay.
+	 * <p>
+	 * The overlay shows the effective frame rate, frame and layer render times, late frames 
+	 * and the animation and video frame rates over the last second.
+	 * @param flag true if the overlay should be rendered
+	 * @since 2.0.4
+	 */
+	public void setPerformanceOverlayEnabled(boolean flag) {
+		this.performanceOverlayEnabled = flag;
+		this.overlayStatistics = null;
+		this.coalescingRepaint();
+	}
+	
+	// active rendering
+	
+	/**
+	 * Sets the group of windows that mirror this surface.
+	 * @param mirror the mirror group; null to stop mirroring
+	 * @since 2.0.4
+	 */
+	public void setMirror(PresentationMirror mirror) {
+		this.mirror = mirror;
+		// render a frame so that the mirrors are up to date
+		if (!this.clear) {
+			this.coalescingRepaint();
+		}
+	}
+	
+	/**
+	 * Returns the group of windows that mirror this surface.
+	 * @return {@link PresentationMirror}; null if not mirrored
+	 * @since 2.0.4
+	 */
+	public PresentationMirror getMirror() {
+		return this.mirror;
+	}
+	
+	/**
+	 * Returns true if active rendering is enabled for this surface.
+	 * @return boolean
+	 * @since 2.0.4
+	 */
+	public boolean isActiveRenderingEnabled() {
+		return this.activeRenderingThread != null;
+	}
+	
+	/**
+	 * Toggles active rendering for this surface.
+	 * <p>
+	 * When enabled, a heavyweight canvas is placed over this surface and a dedicated
+	 * thread renders the surface to the canvas' {@link BufferStrategy} at the display's
+	 * refresh rate.  Page flipping is used when available.  The canvas is opaque so
+	 * any transparent areas of the slides will render black.
+	 * <p>
+	 * If active rendering could not be enabled, this surface will continue to use
+	 * passive rendering.  Use the {@link #isActiveRenderingEnabled()} method to check.
+	 * <p>
+	 * This method should be called on the EDT.
+	 * @param flag true if active rendering should be enabled
+	 * @since 2.0.4
+	 */
+	public void setActiveRenderingEnabled(boolean flag) {
+		if (flag == this.isActiveRenderingEnabled()) {
+			return;
+		}
+		
+		if (flag) {
+			if (!this.isDisplayable()) {
+				LOGGER.warn("Active rendering requires a displayable surface. Using passive rendering.");
+				return;
+			}
+			// add the canvas over the entire surface
+			Canvas canvas = new ActiveRenderingCanvas();
+			this.setLayout(new BorderLayout());
+			this.add(canvas, BorderLayout.CENTER);
+			this.validate();
+			
+			BufferStrategy strategy = PresentationSurface.createBufferStrategy(canvas);
+			if (strategy == null) {
+				LOGGER.warn("A buffer strategy could not be created. Using passive rendering.");
+				this.remove(canvas);
+				this.validate();
+				return;
+			}
+			
+			int refreshRate = PresentationSurface.getRefreshRate(this.getGraphicsConfiguration());
+			LOGGER.info("Active rendering enabled at " + refreshRate + "Hz using " + (strategy.getCapabilities().isPageFlipping() ? "page flipping" : "blitting") + ".");
+			
+			this.activeRenderingCanvas = canvas;
+			this.activeRenderingThread = new ActiveRenderingThread(strategy, refreshRate);
+			this.activeRenderingThread.start();
+			this.activeRenderingThread.signal();
+		} else {
+			this.stopActiveRendering();
+			// go back to passive rendering
+			this.remove(this.activeRenderingCanvas);
+			this.activeRenderingCanvas = null;
+			this.validate();
+			this.repaintIssued = false;
+			this.coalescingRepaint();
+			LOGGER.info("Active rendering disabled.");
+		}
+	}
+	
+	/**
+	 * Stops the active rendering thread (if running) and waits for it to end.
+	 */
+	private void stopActiveRendering() {
+		ActiveRenderingThread thread = this.activeRenderingThread;
+		if (thread != null) {
+			this.activeRenderingThread = null;
+			thread.end();
+			try {
+				thread.join(1000);
+			} catch (InterruptedException e) {
+				LOGGER.warn("Interrupted while waiting on the active rendering thread to end.");
+			}
+			thread.strategy.dispose();
+		}
+	}
+	
+	/**
+	 * Returns true if the current thread is the active rendering thread.
+	 * @return boolean
+	 */
+	private boolean isActiveRenderingThread() {
+		ActiveRenderingThread thread = this.activeRenderingThread;
+		return thread != null && Thread.currentThread() == thread;
+	}
+	
+	/**
+	 * Returns true if the surface is in the middle of a transition.
+	 * @return boolean
+	 */
+	private boolean isTransitioning() {
+		TransitionAnimator animator = this.animator;
+		return animator != null && !animator.isComplete();
+	}
+	
+	/**
+	 * Posts the completion of the current transition to the EDT.
+	 * <p>
+	 * This is used by the active rendering thread so that the transition complete
+	 * notifications are always issued on the EDT.  The transition is completed while
+	 * holding this surface's lock (the lock the active rendering thread renders with)
+	 * so that the slide images and renderers are not swapped in the middle of a frame.
+	 */
+	private void postTransitionComplete() {
+		if (this.transitionCompletePosted) {
+			return;
+		}
+		this.transitionCompletePosted = true;
+		final TransitionAnimator animator = this.animator;
+		SwingUtilities.invokeLater(new Runnable() {
+			@Override
+			public void run() {
+				synchronized (PresentationSurface.this) {
+					synchronized (transitionCompleteLock) {
+						transitionCompletePosted = false;
+						// make sure another event hasn't already completed
+						// this transition and started a new one
+						if (PresentationSurface.this.animator == animator) {
+							if (animator.getTransition().getType() == TransitionType.IN) {
+								if (!transitionComplete) {
+									onInTransitionComplete();
+								}
+							} else if (!clear) {
+								onOutTransitionComplete();
+							}
+						}
+					}
+				}
+				coalescingRepaint();
+			}
+		});
+	}
+	
+	/**
+	 * Renders one frame to the given buffer strategy.
+	 * @param strategy the buffer strategy
+	 */
+	private void renderActiveFrame(BufferStrategy strategy) {
+		// see the BufferStrategy documentation for this loop
+		do {
+			do {
+				Graphics2D g2d = (Graphics2D)strategy.getDrawGraphics();
+				try {
+					// the canvas is opaque
+					g2d.setColor(Color.BLACK);
+					g2d.fillRect(0, 0, this.getWidth(), this.getHeight());
+					// don't allow events to modify the state while we render
+					synchronized (this) {
+						this.render(g2d);
+					}
+				} finally {
+					g2d.dispose();
+				}
+			} while (strategy.contentsRestored());
+			strategy.show();
+		} while (strategy.contentsLost());
+		// make sure the frame is displayed now
+		Toolkit.getDefaultToolkit().sync();
+	}
+	
+	/**
+	 * Creates a buffer strategy for the given canvas.
+	 * <p>
+	 * A page flipping buffer strategy is attempted first, followed by the default
+	 * double buffered strategy.  Returns null if a buffer strategy could not be created.
+	 * @param canvas the canvas
+	 * @return BufferStrategy
+	 */
+	private static final BufferStrategy createBufferStrategy(Canvas canvas) {
+		BufferCapabilities flipping = new BufferCapabilities(
+				new ImageCapabilities(true), 
+				new ImageCapabilities(true), 
+				BufferCapabilities.FlipContents.UNDEFINED);
+		try {
+			canvas.createBufferStrategy(2, flipping);
+			return canvas.getBufferStrategy();
+		} catch (AWTException e) {
+			LOGGER.debug("Page flipping not available: " + e.getMessage());
+		} catch (Exception e) {
+			LOGGER.debug("Page flipping not available: ", e);
+		}
+		try {
+			canvas.createBufferStrategy(2);
+			return canvas.getBufferStrategy();
+		} catch (Exception e) {
+			LOGGER.warn("Failed to create a buffer strategy: ", e);
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns the refresh rate of the device for the given configuration.
+	 * <p>
+	 * Returns {@link #DEFAULT_REFRESH_RATE} if the refresh rate is unknown.
+	 * @param gc the graphics configuration
+	 * @return int
+	 */
+	private static final int getRefreshRate(GraphicsConfiguration gc) {
+		if (gc != null) {
+			GraphicsDevice device = gc.getDevice();
+			DisplayMode mode = device.getDisplayMode();
+			if (mode != null && mode.getRefreshRate() != DisplayMode.REFRESH_RATE_UNKNOWN) {
+				return mode.getRefreshRate();
+			}
+		}
+		return DEFAULT_REFRESH_RATE;
 	}
 	
 	// events
@@ -728,12 +1894,26 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 			this.currentMediaPlayers = this.inMediaPlayers;
 			this.inMediaPlayers = players;
 			
+			// release any cached renderings of the old slide
+			if (this.currentRenderer != null && this.currentRenderer != this.inRenderer) {
+				this.currentRenderer.dispose();
+			}
 			this.currentRenderer = this.inRenderer;
 			this.currentRenderQualities = this.inRenderQualities;
 			this.currentSlide = this.inSlide;
 			this.currentHasPlayableMedia = this.inHasPlayableMedia;
 			this.currentHasUpdatingDateTime = this.inHasUpdatingDateTime;
 			
+			// start scrolling the ticker (if any)
+			this.stopTicker(false);
+			if (this.inTicker != null) {
+				this.inTicker.start(System.nanoTime());
+				this.currentTicker = this.inTicker;
+				this.inTicker = null;
+				this.tickerTimer.setDelay(Math.max(1, 1000 / PresentationSurface.getRefreshRate(this.getGraphicsConfiguration())));
+				this.tickerTimer.start();
+			}
+			
 			this.inBackgroundMediaPlayer = null;
 			this.inHasPlayableMedia = false;
 			this.inHasUpdatingDateTime = false;
@@ -785,9 +1965,18 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 				this.dateTimeTimer.stop();
 			}
 			
+			this.stopTicker(false);
+			if (this.inTicker != null) {
+				this.inTicker.release();
+				this.inTicker = null;
+			}
+			
 			this.currentBackgroundMediaPlayer = null;
 			this.currentHasPlayableMedia = false;
 			this.currentHasUpdatingDateTime = false;
+			if (this.currentRenderer != null) {
+				this.currentRenderer.dispose();
+			}
 			this.currentRenderer = null;
 			this.currentRenderQualities = null;
 			this.currentSlide = null;
@@ -924,6 +2113,15 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 		// this event is called when the window is disposed (rather than set to invisible)
 		// in this case we need to stop the date/time timer
 		this.dateTimeTimer.stop();
+		// and the ticker timer
+		this.tickerTimer.stop();
+		// and the active rendering thread
+		this.stopActiveRendering();
+		// and release anything that was staged
+		this.clearStagedSlide();
+		if (this.stagingThread != null) {
+			this.stagingThread.interrupt();
+		}
 	}
 	
 	/* (non-Javadoc)
@@ -971,23 +2169,44 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 	}
 	
 	/**
-	 * This thread will queue the latest send/clear request, waiting on the currently executing
+	 * Returns the staging thread.
+	 * <p>
+	 * Like the transition wait thread, this method will start a new thread if
+	 * the current thread has ended.
+	 * @return {@link StagingThread}
+	 * @since 2.0.4
+	 */
+	private StagingThread getStagingThread() {
+		if (this.stagingThread == null || !this.stagingThread.isAlive()) {
+			this.stagingThread = new StagingThread();
+			this.stagingThread.start();
+		}
+		return this.stagingThread;
+	}
+	
+	/**
+	 * This thread will queue send/clear requests, waiting on the currently executing
 	 * transition to complete.
+	 * <p>
+	 * How the queued requests are executed depends on the {@link PresentationQueuePolicy}
+	 * of the most recently queued event.  The time each event waits in the queue is recorded
+	 * as {@link FrameTelemetryType#QUEUE_WAIT} telemetry.
 	 * @author William Bittle
-	 * @version 1.0.0
+	 * @version 2.0.4
 	 * @since 1.0.0
 	 */
 	private class TransitionWaitThread extends Thread {
-		/** True if a send/clear action has been queued */
-		protected boolean queued;
+		/** The queued events */
+		protected Deque<QueuedEvent> queue;
 		
 		/** Lock for queueing and execution */
 		protected Object queueLock;
 		
-		// data
+		/** The number of queued events; readable without the queue lock */
+		protected volatile int queueSize;
 		
-		/** The queued event */
-		protected PresentationEvent event;
+		/** The time the last executed event waited in the queue in nanoseconds */
+		protected volatile long lastWaitTime;
 		
 		/**
 		 * Default constructor.
@@ -995,22 +2214,25 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 		public TransitionWaitThread() {
 			super("TransitionWaitThread");
 			this.setDaemon(true);
-			this.queued = false;
+			this.queue = new ArrayDeque<QueuedEvent>();
 			this.queueLock = new Object();
+			this.queueSize = 0;
+			this.lastWaitTime = 0;
 		}
 		
 		/**
 		 * Queues up the event for display.
 		 * <p>
-		 * The last event queued is used when its time for display.
-		 * The others are dropped.
+		 * With the {@link PresentationQueuePolicy#LATEST} policy the last event queued is used
+		 * when its time for display and the others are dropped.  Otherwise all events are kept
+		 * in order.  A {@link ClearEvent} always drops the queued events.
 		 * @param event the event to queue
 		 */
 		public void queue(PresentationEvent event) {
 			synchronized (this.queueLock) {
 				TransitionAnimator eAnimator = event.getAnimator();
 				// check the current animator
-				if (animator != null && eAnimator != null) {
+				if (animator != null && eAnimator != null && this.queue.isEmpty()) {
 					// make sure the current animator is not an out transition
 					Transition t1 = animator.getTransition();
 					Transition t2 = eAnimator.getTransition();
@@ -1021,13 +2243,19 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 						return;
 					}
 				}
-				if (this.event != null) {
-					LOGGER.trace("Another event has been queued. Dropping current event.");
-					notifyEventDropped(this.event);
+				PresentationQueuePolicy policy = event.getConfiguration().getQueuePolicy();
+				if (event instanceof ClearEvent || policy == PresentationQueuePolicy.LATEST) {
+					// a clear takes priority over any queued sends since they
+					// would just be cleared
+					for (QueuedEvent queued : this.queue) {
+						LOGGER.trace("Another event has been queued. Dropping queued event.");
+						notifyEventDropped(queued.event);
+					}
+					this.queue.clear();
 				}
 				LOGGER.trace("Queueing event.");
-				this.queued = true;
-				this.event = event;
+				this.queue.add(new QueuedEvent(event, System.nanoTime()));
+				this.queueSize = this.queue.size();
 				this.queueLock.notify();
 			}
 		}
@@ -1037,12 +2265,30 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 		 */
 		public void emptyQueue() {
 			synchronized (this.queueLock) {
-				this.queued = false;
-				this.event = null;
+				this.queue.clear();
+				this.queueSize = 0;
 				this.queueLock.notify();
 			}
 		}
 		
+		/**
+		 * Returns the number of events waiting in the queue.
+		 * @return int
+		 * @since 2.0.4
+		 */
+		public int getQueueSize() {
+			return this.queueSize;
+		}
+		
+		/**
+		 * Returns the time the last executed event waited in the queue in nanoseconds.
+		 * @return long
+		 * @since 2.0.4
+		 */
+		public long getLastWaitTime() {
+			return this.lastWaitTime;
+		}
+		
 		/* (non-Javadoc)
 		 * @see java.lang.Thread#run()
 		 */
@@ -1055,7 +2301,7 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 				}
 				// wait until there is something in the queue
 				synchronized (this.queueLock) {
-					while (!this.queued) {
+					while (this.queue.isEmpty()) {
 						try {
 							LOGGER.trace("Waiting on event.");
 							this.queueLock.wait();
@@ -1081,25 +2327,423 @@ public class PresentationSurface extends JPanel implements VideoMediaPlayerListe
 				
 				// execute the next transition
 				synchronized (this.queueLock) {
-					if (this.event != null) {
-						if (this.event instanceof SendEvent) {
-							LOGGER.trace("Executing SendEvent.");
-							executeSendEvent((SendEvent)this.event);
-						} else if (this.event instanceof ClearEvent) {
-							if (!clear) {
-								LOGGER.trace("Executing ClearEvent.");
-								executeClearEvent((ClearEvent)this.event);
-							} else {
-								// if we are already clear then just drop this event
-								LOGGER.trace("Surface has already been cleared. Dropping event.");
-								notifyEventDropped(this.event);
-							}
+					QueuedEvent queued = this.queue.poll();
+					this.queueSize = this.queue.size();
+					if (queued == null) {
+						// the queue was emptied while waiting
+						continue;
+					}
+					PresentationEvent event = queued.event;
+					
+					long now = System.nanoTime();
+					this.lastWaitTime = now - queued.time;
+					telemetry.record(FrameTelemetryType.QUEUE_WAIT, now, this.lastWaitTime, 0);
+					
+					// shorten the transition if we are behind
+					int waiting = this.queue.size();
+					if (waiting > 0 && event.getConfiguration().getQueuePolicy() == PresentationQueuePolicy.CATCH_UP) {
+						PresentationSurface.shortenTransition(event.getAnimator(), waiting);
+					}
+					
+					if (event instanceof SendEvent) {
+						LOGGER.trace("Executing SendEvent.");
+						executeSendEvent((SendEvent)event);
+					} else if (event instanceof ClearEvent) {
+						if (!clear) {
+							LOGGER.trace("Executing ClearEvent.");
+							executeClearEvent((ClearEvent)event);
 						} else {
-							LOGGER.warn("Unknown event type: " + this.event.getClass().getName());
+							// if we are already clear then just drop this event
+							LOGGER.trace("Surface has already been cleared. Dropping event.");
+							notifyEventDropped(event);
+						}
+					} else {
+						LOGGER.warn("Unknown event type: " + event.getClass().getName());
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Represents an event waiting in the {@link TransitionWaitThread}'s queue.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private static final class QueuedEvent {
+		/** The event */
+		protected final PresentationEvent event;
+		
+		/** The time the event was queued in nanoseconds */
+		protected final long time;
+		
+		/**
+		 * Full constructor.
+		 * @param event the event
+		 * @param time the time the event was queued in nanoseconds
+		 */
+		public QueuedEvent(PresentationEvent event, long time) {
+			this.event = event;
+			this.time = time;
+		}
+	}
+	
+	/**
+	 * Represents a slide that has been prepared for display ahead of its send event.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private static final class StagedSlide {
+		/** The staged slide */
+		protected final Slide slide;
+		
+		/** The renderer for the slide */
+		protected final PresentationRenderer renderer;
+		
+		/** The render qualities the slide was rendered with */
+		protected final RenderQualities renderQualities;
+		
+		/** True if the media players were created with read-time video conversion */
+		protected final boolean readTimeVideoConversionEnabled;
+		
+		/** The slide rendered with its background; can be null */
+		protected BufferedImage image;
+		
+		/** The background media player; can be null */
+		protected MediaPlayer<?> backgroundMediaPlayer;
+		
+		/** The media players for the other playable media components */
+		protected final List<MediaPlayer<?>> mediaPlayers;
+		
+		/**
+		 * Full constructor.
+		 * @param slide the slide
+		 * @param renderer the renderer for the slide
+		 * @param renderQualities the render qualities
+		 * @param readTimeVideoConversionEnabled true if read-time video conversion is enabled
+		 */
+		public StagedSlide(Slide slide, PresentationRenderer renderer, RenderQualities renderQualities, boolean readTimeVideoConversionEnabled) {
+			this.slide = slide;
+			this.renderer = renderer;
+			this.renderQualities = renderQualities;
+			this.readTimeVideoConversionEnabled = readTimeVideoConversionEnabled;
+			this.image = null;
+			this.backgroundMediaPlayer = null;
+			this.mediaPlayers = new ArrayList<MediaPlayer<?>>();
+		}
+		
+		/**
+		 * Returns true if this staged slide was prepared using the given settings.
+		 * @param qualities the render qualities
+		 * @param readTimeVideoConversionEnabled true if read-time video conversion is enabled
+		 * @return boolean
+		 */
+		public boolean isCompatible(RenderQualities qualities, boolean readTimeVideoConversionEnabled) {
+			return this.readTimeVideoConversionEnabled == readTimeVideoConversionEnabled &&
+				   this.renderQualities.getRenderingHints().equals(qualities.getRenderingHints());
+		}
+		
+		/**
+		 * Returns true if the pre-rendered image can be copied to the given target image.
+		 * @param target the target image
+		 * @param background true if the background should be included
+		 * @return boolean
+		 */
+		public boolean isImageReusable(Image target, boolean background) {
+			return background &&
+				   this.image != null &&
+				   this.image.getWidth() == target.getWidth(null) &&
+				   this.image.getHeight() == target.getHeight(null);
+		}
+		
+		/**
+		 * Releases the media players and image that were not taken by the surface.
+		 */
+		public void releaseUnused() {
+			if (this.backgroundMediaPlayer != null) {
+				this.backgroundMediaPlayer.release();
+				this.backgroundMediaPlayer = null;
+			}
+			for (MediaPlayer<?> player : this.mediaPlayers) {
+				player.release();
+			}
+			this.mediaPlayers.clear();
+			this.image = null;
+		}
+		
+		/**
+		 * Releases all resources held by this staged slide.
+		 * <p>
+		 * This should only be called if the slide is not going to be displayed.
+		 */
+		public void release() {
+			this.releaseUnused();
+			this.renderer.dispose();
+		}
+	}
+	
+	/**
+	 * This thread prepares the latest staged send event in the background.
+	 * <p>
+	 * Only the latest event is prepared.  Any other events queued while a slide is
+	 * being prepared are dropped.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private class StagingThread extends Thread {
+		/** Lock for queueing */
+		protected Object queueLock;
+		
+		/** The queued event; null if none */
+		protected SendEvent event;
+		
+		/** The graphics configuration of the surface when the event was queued */
+		protected GraphicsConfiguration gc;
+		
+		/** The size of the surface when the event was queued */
+		protected Dimension size;
+		
+		/**
+		 * Default constructor.
+		 */
+		public StagingThread() {
+			super("StagingThread");
+			this.setDaemon(true);
+			this.queueLock = new Object();
+		}
+		
+		/**
+		 * Queues the given event for staging.
+		 * @param event the event
+		 */
+		public void queue(SendEvent event) {
+			synchronized (this.queueLock) {
+				if (this.event != null) {
+					LOGGER.trace("Another event has been staged. Dropping the current staged event.");
+				}
+				this.event = event;
+				this.gc = getGraphicsConfiguration();
+				this.size = getSize();
+				this.queueLock.notify();
+			}
+		}
+		
+		/**
+		 * Removes the queued event if its slide is the given slide.
+		 * @param slide the slide
+		 */
+		public void dequeue(Slide slide) {
+			synchronized (this.queueLock) {
+				if (this.event != null && this.event.getSlide() == slide) {
+					this.event = null;
+				}
+			}
+		}
+		
+		/**
+		 * Empties the queue.
+		 */
+		public void emptyQueue() {
+			synchronized (this.queueLock) {
+				this.event = null;
+			}
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.lang.Thread#run()
+		 */
+		@Override
+		public void run() {
+			while (true) {
+				if (!isDisplayable()) {
+					return;
+				}
+				
+				SendEvent event = null;
+				GraphicsConfiguration gc = null;
+				Dimension size = null;
+				// wait until there is something in the queue
+				synchronized (this.queueLock) {
+					while (this.event == null) {
+						try {
+							this.queueLock.wait();
+						} catch (InterruptedException e) {
+							LOGGER.debug("Interrupted. Stopping thread gracefully.");
+							return;
 						}
 					}
-					this.queued = false;
+					event = this.event;
+					gc = this.gc;
+					size = this.size;
 					this.event = null;
+					// flag the slide as in preparation so that a send of
+					// the same slide will wait on it
+					synchronized (stagingLock) {
+						stagingSlide = event.getSlide();
+					}
+				}
+				
+				StagedSlide staged = null;
+				try {
+					staged = prepareStagedSlide(event, gc, size);
+				} catch (Exception e) {
+					LOGGER.warn("Failed to stage the slide: ", e);
+				}
+				
+				synchronized (stagingLock) {
+					// release the previously staged slide
+					if (stagedSlide != null) {
+						stagedSlide.release();
+					}
+					stagedSlide = staged;
+					stagingSlide = null;
+					stagingLock.notifyAll();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Heavyweight canvas used as the target for active rendering.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private class ActiveRenderingCanvas extends Canvas {
+		/** The version id */
+		private static final long serialVersionUID = -4871318437432384658L;
+
+		/**
+		 * Default constructor.
+		 */
+		public ActiveRenderingCanvas() {
+			// we handle all painting
+			this.setIgnoreRepaint(true);
+			this.setFocusable(false);
+			this.setBackground(Color.BLACK);
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.awt.Canvas#paint(java.awt.Graphics)
+		 */
+		@Override
+		public void paint(Graphics g) {
+			coalescingRepaint();
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.awt.Canvas#update(java.awt.Graphics)
+		 */
+		@Override
+		public void update(Graphics g) {
+			coalescingRepaint();
+		}
+	}
+	
+	/**
+	 * Thread used to render this surface to a {@link BufferStrategy}.
+	 * <p>
+	 * Frames are only rendered when requested or when a transition is in progress or a
+	 * ticker is scrolling and are never rendered faster than the display's refresh rate.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private class ActiveRenderingThread extends Thread {
+		/** The buffer strategy to render to */
+		protected final BufferStrategy strategy;
+		
+		/** The minimum time between frames in nanoseconds */
+		protected final long period;
+		
+		/** The lock for the dirty and running flags */
+		protected final Object renderLock;
+		
+		/** True if a frame has been requested */
+		protected boolean dirty;
+		
+		/** True if the thread should continue to run */
+		protected boolean running;
+		
+		/**
+		 * Full constructor.
+		 * @param strategy the buffer strategy to render to
+		 * @param refreshRate the refresh rate in hertz
+		 */
+		public ActiveRenderingThread(BufferStrategy strategy, int refreshRate) {
+			super("ActiveRenderingThread");
+			this.setDaemon(true);
+			this.setPriority(Thread.MAX_PRIORITY);
+			this.strategy = strategy;
+			this.period = 1000000000l / Math.max(1, refreshRate);
+			this.renderLock = new Object();
+			this.dirty = false;
+			this.running = true;
+		}
+		
+		/**
+		 * Requests that a new frame be rendered.
+		 */
+		public void signal() {
+			synchronized (this.renderLock) {
+				this.dirty = true;
+				this.renderLock.notify();
+			}
+		}
+		
+		/**
+		 * Tells this thread to stop after the current frame.
+		 */
+		public void end() {
+			synchronized (this.renderLock) {
+				this.running = false;
+				this.renderLock.notify();
+			}
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.lang.Thread#run()
+		 */
+		@Override
+		public void run() {
+			long last = 0;
+			while (true) {
+				// wait until a frame is needed
+				synchronized (this.renderLock) {
+					while (this.running && !this.dirty && !isTransitioning() && !isTickerScrolling()) {
+						try {
+							this.renderLock.wait();
+						} catch (InterruptedException e) {
+							LOGGER.warn("Interrupted. Stopping thread gracefully.");
+							return;
+						}
+					}
+					if (!this.running) {
+						return;
+					}
+					this.dirty = false;
+				}
+				
+				// don't render faster than the refresh rate
+				long remaining = this.period - (System.nanoTime() - last);
+				if (remaining > 0) {
+					try {
+						Thread.sleep(remaining / 1000000l, (int)(remaining % 1000000l));
+					} catch (InterruptedException e) {
+						LOGGER.warn("Interrupted. Stopping thread gracefully.");
+						return;
+					}
+				}
+				last = System.nanoTime();
+				
+				try {
+					renderActiveFrame(this.strategy);
+				} catch (Exception e) {
+					// the buffer strategy could have been disposed
+					LOGGER.warn("Failed to render frame: ", e);
 				}
 			}
 		}
@@ -35,6 +35,7 @@ import java.awt.GraphicsDevice.WindowTranslucency;
 import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.JDialog;
@@ -49,8 +50,15 @@ import org.praisenter.slide.Slide;
 
 /**
  * Represents a window that is used to display custom graphics.
+ * <p>
+ * Full-screen windows support active rendering (see {@link PresentationSurface#setActiveRenderingEnabled(boolean)})
+ * which is toggled using the event configuration.  Full-screen windows are opaque while active rendering
+ * is enabled.
+ * <p>
+ * Windows can also be mirrored to other devices (see {@link PresentationMirror}).  The frames
+ * of non-full-screen windows (notifications) are drawn over the frames of the full-screen window.
  * @author William Bittle
- * @version 2.0.0
+ * @version 2.0.4
  * @since 2.0.0
  */
 public class PresentationWindow extends JDialog implements PresentationListener {
@@ -72,10 +80,16 @@ public class PresentationWindow extends JDialog implements PresentationListener
 	/** True if the window is always on top of other windows */
 	protected boolean overlay;
 	
+	/** The group of windows mirroring this window */
+	protected PresentationMirror mirror;
+	
 	// state
 	
 	/** The current state */
-	protected PresentationState state;
+	protected volatile PresentationState state;
+	
+	/** The name of the slide being shown; null if clear */
+	protected volatile String slideName;
 		
 	// send-wait-clear
 	
@@ -143,6 +157,7 @@ public class PresentationWindow extends JDialog implements PresentationListener
 		
 		this.surface = new PresentationSurface();
 		this.surface.addPresentListener(this);
+		this.mirror = new PresentationMirror(!fullScreen, r.width, r.height);
 		this.addWindowListener(this.surface);
 		
 		if (Main.isDebugEnabled()) {
@@ -166,10 +181,22 @@ public class PresentationWindow extends JDialog implements PresentationListener
 		if (event instanceof SendWaitClearEvent) {
 			this.execute((SendWaitClearEvent)event);
 		} else {
+			this.setActiveRenderingEnabled(event.getConfiguration().isActiveRenderingEnabled());
+			this.setMirrorDeviceIds(event.getConfiguration().getMirrorDeviceIds());
 			this.surface.execute(event);
 		}
 	}
 	
+	/**
+	 * Stages the given event so that it can be sent with minimal latency.
+	 * @param event the event
+	 * @see PresentationSurface#stage(SendEvent)
+	 * @since 2.0.4
+	 */
+	public void stage(SendEvent event) {
+		this.surface.stage(event);
+	}
+	
 	/**
 	 * Executes the given event.
 	 * @param event the event
@@ -182,6 +209,9 @@ public class PresentationWindow extends JDialog implements PresentationListener
 			event.outAnimator = null;
 		}
 		
+		this.setActiveRenderingEnabled(event.getConfiguration().isActiveRenderingEnabled());
+		this.setMirrorDeviceIds(event.getConfiguration().getMirrorDeviceIds());
+		
 		// make sure we are listening to events on this window
 		synchronized (this.waitTimerLock) {
 			// make sure there is no queued event
@@ -246,6 +276,8 @@ public class PresentationWindow extends JDialog implements PresentationListener
 			event.animator = null;
 		}
 		
+		this.setActiveRenderingEnabled(event.getConfiguration().isActiveRenderingEnabled());
+		
 		// perform the clear
 		this.surface.execute(event);
 	}
@@ -256,6 +288,7 @@ public class PresentationWindow extends JDialog implements PresentationListener
 	@Override
 	public void inTransitionBegin(SendEvent event) {
 		this.state = PresentationState.IN;
+		this.slideName = event.slide != null ? event.slide.getName() : null;
 		
 		// we need to wait until the in transition begins before
 		// we can move/resize the window since the event could
@@ -275,6 +308,9 @@ public class PresentationWindow extends JDialog implements PresentationListener
 		// top of all other windows
 		this.toFront();
 		
+		// show the mirror windows (if any) as well
+		this.mirror.setVisible(true);
+		
 		// stop the wait timer if its running
 		synchronized (this.waitTimerLock) {
 			if (this.waitTimer != null && this.waitTimer.isRunning()) {
@@ -318,10 +354,21 @@ public class PresentationWindow extends JDialog implements PresentationListener
 			
 			// begin the wait timer when the "in" transition completes
 			final SendWaitClearEvent swcEvent = (SendWaitClearEvent)event;
+			int waitPeriod = swcEvent.getWaitPeriod();
+			
+			// a negative wait period (a ticker that scrolls until cleared
+			// for example) waits until a clear event is executed
+			if (waitPeriod < 0) {
+				synchronized (this.waitTimerLock) {
+					this.waitTimer = null;
+				}
+				LOGGER.trace("Waiting for a clear event after an 'In' transition has completed.");
+				return;
+			}
 			
 			// setup the wait timer
 			synchronized (this.waitTimerLock) {
-				this.waitTimer = new Timer(swcEvent.waitPeriod, new ActionListener() {
+				this.waitTimer = new Timer(waitPeriod, new ActionListener() {
 					@Override
 					public void actionPerformed(ActionEvent e) {
 						// the wait timer should always be non null if the code gets here
@@ -356,9 +403,11 @@ public class PresentationWindow extends JDialog implements PresentationListener
 	@Override
 	public void outTransitionComplete(ClearEvent event) {
 		this.state = PresentationState.CLEAR;
+		this.slideName = null;
 		
 		// when the out transition is complete, hide the window
 		this.setVisible(false);
+		this.mirror.setVisible(false);
 		
 		// when an out transition ends we need to check if a queued event was stored
 		if (this.queuedEvent != null) {
@@ -393,11 +442,75 @@ public class PresentationWindow extends JDialog implements PresentationListener
 		this.setMinimumSize(size);
 		this.setPreferredSize(size);
 		this.setLocation(x, y);
+		// place the frames at the same location on the mirror windows
+		this.mirror.setLocation(x - r.x, y - r.y);
 		
 		// make sure the panel is resized to fit the layout
 		this.pack();
 	}
 	
+	/**
+	 * Toggles active rendering for this window.
+	 * <p>
+	 * Active rendering is only used for full-screen windows.  The window is made
+	 * opaque while active rendering is enabled since heavyweight rendering is not
+	 * supported in translucent windows.
+	 * @param flag true if active rendering should be enabled
+	 * @since 2.0.4
+	 */
+	protected void setActiveRenderingEnabled(boolean flag) {
+		boolean enabled = flag && this.fullScreen;
+		if (enabled == this.surface.isActiveRenderingEnabled()) {
+			return;
+		}
+		
+		if (enabled) {
+			this.setWindowOpaque(true);
+			this.surface.setActiveRenderingEnabled(true);
+			// check if it failed
+			if (!this.surface.isActiveRenderingEnabled()) {
+				this.setWindowOpaque(false);
+			}
+		} else {
+			this.surface.setActiveRenderingEnabled(false);
+			this.setWindowOpaque(false);
+		}
+	}
+	
+	/**
+	 * Sets the devices that mirror this window.
+	 * <p>
+	 * The frames of a non-full-screen window are drawn over the frames of the
+	 * full-screen window mirrored to the same devices.
+	 * @param deviceIds the mirror device ids
+	 * @since 2.0.4
+	 */
+	protected void setMirrorDeviceIds(String[] deviceIds) {
+		List<PresentationMirrorWindow> windows = PresentationWindows.getMirrorWindows(this.device, deviceIds);
+		// only update the group if it changed
+		if (!windows.equals(this.mirror.windows)) {
+			this.mirror.setWindows(windows);
+			this.surface.setMirror(windows.isEmpty() ? null : this.mirror);
+		}
+	}
+	
+	/**
+	 * Sets the window background to opaque black or, if per-pixel translucency
+	 * is supported, back to fully transparent.
+	 * @param flag true if the window should be opaque
+	 */
+	private void setWindowOpaque(boolean flag) {
+		if (this.getWindowTranslucency() != WindowTranslucency.PERPIXEL_TRANSLUCENT) {
+			// the window is already opaque
+			return;
+		}
+		try {
+			this.setBackground(flag ? Color.BLACK : new Color(0, 0, 0, 0));
+		} catch (Exception e) {
+			LOGGER.warn("Unable to change the window opacity: ", e);
+		}
+	}
+	
 	/**
 	 * Returns the translucency support for this window.
 	 * @return {@link WindowTranslucency}
@@ -472,4 +585,28 @@ public class PresentationWindow extends JDialog implements PresentationListener
 	public boolean isFullScreen() {
 		return this.fullScreen;
 	}
+	
+	/**
+	 * Returns the current state of this window.
+	 * <p>
+	 * This method can be called from any thread.
+	 * @return {@link PresentationState}
+	 * @since 2.0.4
+	 */
+	public PresentationState getState() {
+		PresentationState state = this.state;
+		// a window that hasn't shown anything yet is clear
+		return state != null ? state : PresentationState.CLEAR;
+	}
+	
+	/**
+	 * Returns the name of the slide currently shown (or transitioning in).
+	 * <p>
+	 * Returns null if the window is clear.  This method can be called from any thread.
+	 * @return String
+	 * @since 2.0.4
+	 */
+	public String getSlideName() {
+		return this.slideName;
+	}
 }
@@ -25,7 +25,12 @@
 package org.praisenter.presentation;
 
 import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.praisenter.common.utilities.WindowUtilities;
@@ -33,7 +38,7 @@ import org.praisenter.common.utilities.WindowUtilities;
 /**
  * Static class for managing {@link PresentationWindow}s that are shared among the application.
  * @author William Bittle
- * @version 2.0.0
+ * @version 2.0.4
  * @since 2.0.0
  */
 public final class PresentationWindows {
@@ -43,6 +48,12 @@ public final class PresentationWindows {
 	/** The device to {@link PresentationWindow} mapping for non-fullscreen windows */
 	private static final Map<String, PresentationWindow> WINDOWED = new HashMap<String, PresentationWindow>();
 	
+	/** The device to {@link PresentationMirrorWindow} mapping */
+	private static final Map<String, PresentationMirrorWindow> MIRRORED = new HashMap<String, PresentationMirrorWindow>();
+	
+	/** True if the performance overlay should be shown on all windows */
+	private static volatile boolean performanceOverlayEnabled = false;
+	
 	// public interface
 
 	/**
@@ -133,12 +144,47 @@ public final class PresentationWindows {
 				} else {
 					window = new PresentationWindow(device, true, false);
 				}
+				window.surface.setPerformanceOverlayEnabled(performanceOverlayEnabled);
 				windows.put(deviceId, window);
 			}
 			return window;
 		}
 	}
 	
+	/**
+	 * Returns the existing {@link PresentationWindow} for the given device id.
+	 * <p>
+	 * Unlike {@link #getPresentationWindow(String, PresentationWindowType)} this method will not
+	 * create a window, and so can be called from any thread.  Returns null if the window has
+	 * not been created yet.
+	 * @param deviceId the device id; null for the default device
+	 * @param type the window type
+	 * @return {@link PresentationWindow}
+	 * @since 2.0.4
+	 */
+	protected static final PresentationWindow findPresentationWindow(String deviceId, PresentationWindowType type) {
+		// no windows can be created in a headless environment
+		if (GraphicsEnvironment.isHeadless()) {
+			return null;
+		}
+		if (deviceId == null) {
+			GraphicsDevice device = WindowUtilities.getSecondaryDevice();
+			if (device == null) {
+				return null;
+			}
+			deviceId = device.getIDstring();
+		}
+		
+		Map<String, PresentationWindow> windows = FULLSCREEN;
+		if (type == PresentationWindowType.WINDOWED) {
+			windows = WINDOWED;
+		}
+		
+		synchronized (windows) {
+			return windows.get(deviceId);
+		}
+	}
+	
 	/**
 	 * Returns the {@link PresentationWindow} for the given event.
 	 * <p>
@@ -154,6 +200,94 @@ public final class PresentationWindows {
 				configuration.presentationWindowType);
 	}
 	
+	/**
+	 * Returns the {@link PresentationMirrorWindow}s for the given device ids.
+	 * <p>
+	 * Device ids that are not found or that are the same as the given primary device are ignored.
+	 * <p>
+	 * This method should be called on the EDT.
+	 * @param primary the device being mirrored
+	 * @param deviceIds the mirror device ids
+	 * @return List&lt;{@link PresentationMirrorWindow}&gt;
+	 * @since 2.0.4
+	 */
+	protected static final List<PresentationMirrorWindow> getMirrorWindows(GraphicsDevice primary, String[] deviceIds) {
+		List<PresentationMirrorWindow> windows = new ArrayList<PresentationMirrorWindow>();
+		if (deviceIds == null) {
+			return windows;
+		}
+		synchronized (MIRRORED) {
+			for (String id : deviceIds) {
+				GraphicsDevice device = WindowUtilities.getDeviceForId(id);
+				// skip missing devices and the device being mirrored
+				if (device == null || (primary != null && id.equals(primary.getIDstring()))) {
+					continue;
+				}
+				PresentationMirrorWindow window = MIRRORED.get(id);
+				if (window == null) {
+					window = new PresentationMirrorWindow(device);
+					MIRRORED.put(id, window);
+				}
+				if (!windows.contains(window)) {
+					windows.add(window);
+				}
+			}
+		}
+		return windows;
+	}
+	
+	/**
+	 * Toggles the performance overlay on all {@link PresentationWindow}s.
+	 * <p>
+	 * This method should be called on the EDT.
+	 * @param flag true if the performance overlay should be shown
+	 * @since 2.0.4
+	 */
+	protected static final void setPerformanceOverlayEnabled(boolean flag) {
+		performanceOverlayEnabled = flag;
+		synchronized (FULLSCREEN) {
+			for (PresentationWindow window : FULLSCREEN.values()) {
+				window.surface.setPerformanceOverlayEnabled(flag);
+			}
+		}
+		synchronized (WINDOWED) {
+			for (PresentationWindow window : WINDOWED.values()) {
+				window.surface.setPerformanceOverlayEnabled(flag);
+			}
+		}
+	}
+	
+	/**
+	 * Returns true if the performance overlay is shown on all {@link PresentationWindow}s.
+	 * @return boolean
+	 * @since 2.0.4
+	 */
+	protected static final boolean isPerformanceOverlayEnabled() {
+		return performanceOverlayEnabled;
+	}
+	
+	/**
+	 * Writes the frame telemetry of all {@link PresentationWindow}s to the given writer in CSV format.
+	 * @param writer the writer
+	 * @throws IOException if an IO error occurs
+	 * @since 2.0.4
+	 */
+	protected static final void writeFrameTelemetry(Writer writer) throws IOException {
+		boolean header = true;
+		synchronized (FULLSCREEN) {
+			for (Map.Entry<String, PresentationWindow> entry : FULLSCREEN.entrySet()) {
+				entry.getValue().surface.getTelemetry().writeCsv(writer, entry.getKey() + " " + PresentationWindowType.FULLSCREEN, header);
+				header = false;
+			}
+		}
+		synchronized (WINDOWED) {
+			for (Map.Entry<String, PresentationWindow> entry : WINDOWED.entrySet()) {
+				entry.getValue().surface.getTelemetry().writeCsv(writer, entry.getKey() + " " + PresentationWindowType.WINDOWED, header);
+				header = false;
+			}
+		}
+	}
+	
 	/**
 	 * Disposes of all {@link PresentationWindow}s.
 	 * <p>
@@ -179,6 +313,16 @@ public final class PresentationWindows {
 			}
 			WINDOWED.clear();
 		}
+		
+		synchronized (MIRRORED) {
+			for (PresentationMirrorWindow window : MIRRORED.values()) {
+				if (window != null) {
+					window.setVisible(false);
+					window.dispose();
+				}
+			}
+			MIRRORED.clear();
+		}
 	}
 	
 	/**
@@ -25,35 +25,150 @@
 package org.praisenter.presentation;
 
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 import java.util.List;
 
+import org.praisenter.common.utilities.ColorUtilities;
+import org.praisenter.common.utilities.FontManager;
 import org.praisenter.slide.RenderableComponent;
 
 /**
  * Represents a group of {@link RenderableComponent}s that are rendered together.
+ * <p>
+ * When caching is enabled the group is rendered once to a compatible translucent 
+ * image which is then drawn on subsequent renders.  The cached image is the size of
+ * the slide rather than the size of the device since the render target may be smaller
+ * (a notification for example) or larger than the device.  The cached image is 
+ * re-rendered when {@link #invalidate()} is called or when the fallback font families
+ * change (see {@link FontManager#getFallbackGeneration()}).
  * @author William Bittle
- * @version 2.0.0
+ * @version 2.0.4
  * @since 2.0.0
  */
 public class RenderGroup implements RenderLayer {
 	/** The list of components in this group */
 	protected List<RenderableComponent> components;
 	
+	/** True if the rendering of this group should be cached */
+	protected boolean cacheEnabled;
+	
+	/** The width of the cached image */
+	protected int width;
+	
+	/** The height of the cached image */
+	protected int height;
+	
+	/** The cached rendering of the components; can be null */
+	protected BufferedImage image;
+	
+	/** True if the cached image needs to be re-rendered */
+	protected boolean dirty;
+	
+	/** The fallback font generation the cached image was rendered with */
+	protected int fallbackGeneration;
+	
 	/**
-	 * Full constructor.
+	 * Minimal constructor.
 	 * @param components the components for this group.
 	 */
 	public RenderGroup(List<RenderableComponent> components) {
+		this(components, false, 0, 0);
+	}
+	
+	/**
+	 * Full constructor.
+	 * @param components the components for this group.
+	 * @param cacheEnabled true if the rendering of the group should be cached
+	 * @param width the width of the cached image; typically the slide width
+	 * @param height the height of the cached image; typically the slide height
+	 * @since 2.0.4
+	 */
+	public RenderGroup(List<RenderableComponent> components, boolean cacheEnabled, int width, int height) {
 		this.components = components;
+		this.cacheEnabled = cacheEnabled && width > 0 && height > 0;
+		this.width = width;
+		this.height = height;
+		this.image = null;
+		this.dirty = true;
 	}
 	
 	/* (non-Javadoc)
 	 * @see org.praisenter.slide.ui.display.SlideComponentCache#render(java.awt.Graphics2D)
 	 */
-	public void render(Graphics2D g) {
-		// render all the components to the given graphics
+	public synchronized void render(Graphics2D g) {
+		// we can only use the cache when the target isn't scaled/rotated
+		AffineTransform transform = g.getTransform();
+		if (!this.cacheEnabled || transform.getType() != AffineTransform.TYPE_IDENTITY) {
+			this.renderComponents(g);
+			return;
+		}
+		
+		// create the cached image if it hasn't been created or was released
+		if (this.image == null) {
+			GraphicsConfiguration gc = g.getDeviceConfiguration();
+			this.image = gc.createCompatibleImage(this.width, this.height, Transparency.TRANSLUCENT);
+			this.dirty = true;
+		}
+		
+		// re-render the components if necessary (text may need other fallback fonts)
+		int generation = FontManager.getFallbackGeneration();
+		if (this.dirty || this.fallbackGeneration != generation) {
+			Graphics2D ig2d = this.image.createGraphics();
+			// clear the image
+			ig2d.setBackground(ColorUtilities.TRANSPARENT);
+			ig2d.clearRect(0, 0, this.image.getWidth(), this.image.getHeight());
+			// use the same qualities as the target
+			ig2d.setRenderingHints(g.getRenderingHints());
+			this.renderComponents(ig2d);
+			ig2d.dispose();
+			this.dirty = false;
+			this.fallbackGeneration = generation;
+		}
+		
+		// draw the cached rendering
+		g.drawImage(this.image, 0, 0, null);
+	}
+	
+	/**
+	 * Renders all the components to the given graphics.
+	 * @param g the graphics object to render to
+	 */
+	private void renderComponents(Graphics2D g) {
 		for (RenderableComponent component : this.components) {
 			component.render(g);
 		}
 	}
+	
+	/**
+	 * Flags the cached rendering of this group to be re-rendered the
+	 * next time it is rendered.
+	 * @since 2.0.4
+	 */
+	public synchronized void invalidate() {
+		this.dirty = true;
+	}
+	
+	/**
+	 * Releases the cached rendering of this group.
+	 * @since 2.0.4
+	 */
+	public synchronized void dispose() {
+		if (this.image != null) {
+			this.image.flush();
+			this.image = null;
+		}
+		this.dirty = true;
+	}
+	
+	/**
+	 * Returns true if the rendering of this group is cached.
+	 * @return boolean
+	 * @since 2.0.4
+	 */
+	public boolean isCacheEnabled() {
+		return this.cacheEnabled;
+	}
 }
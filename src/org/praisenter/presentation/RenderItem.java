@@ -25,13 +25,16 @@
 package org.praisenter.presentation;
 
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 
+import org.praisenter.slide.PositionedComponent;
 import org.praisenter.slide.RenderableComponent;
+import org.praisenter.slide.text.DateTimeComponent;
 
 /**
  * Represents a simple pass through for a single {@link RenderableComponent}.
  * @author William Bittle
- * @version 2.0.0
+ * @version 2.0.4
  * @since 2.0.0
  */
 public class RenderItem implements RenderLayer {
@@ -55,4 +58,48 @@ public class RenderItem implements RenderLayer {
 			this.component.render(g);
 		}
 	}
+	
+	/**
+	 * Returns true if the component must be rendered again to show its current state.
+	 * <p>
+	 * This is only true for date/time components whose formatted text has changed.
+	 * @return boolean
+	 * @since 2.0.4
+	 */
+	public boolean isUpdateRequired() {
+		if (this.component instanceof DateTimeComponent) {
+			return ((DateTimeComponent)this.component).isUpdateRequired();
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns the time in milliseconds at which the component may need to be rendered again.
+	 * <p>
+	 * Returns {@link Long#MAX_VALUE} if the component is not a date/time component
+	 * or does not update.
+	 * @return long
+	 * @since 2.0.4
+	 */
+	public long getNextUpdateTime() {
+		if (this.component instanceof DateTimeComponent) {
+			return ((DateTimeComponent)this.component).getNextUpdateTime();
+		}
+		return Long.MAX_VALUE;
+	}
+	
+	/**
+	 * Returns the bounds of the component.
+	 * <p>
+	 * Returns null if the component is not positioned (a background for example)
+	 * in which case it covers the entire slide.
+	 * @return Rectangle
+	 * @since 2.0.4
+	 */
+	public Rectangle getBounds() {
+		if (this.component instanceof PositionedComponent) {
+			return ((PositionedComponent)this.component).getRectangleBounds();
+		}
+		return null;
+	}
 }
@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.presentation;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.Serializable;
+
+import org.praisenter.slide.text.TextComponent;
+import org.praisenter.slide.text.TextStrip;
+
+/**
+ * Represents the text of a {@link TextComponent} scrolling horizontally across the component.
+ * <p>
+ * The text is rendered once to a {@link TextStrip} by {@link #prepare(GraphicsConfiguration, RenderingHints)}
+ * and then each frame only draws the strip at the scroll position for the frame time.  The
+ * position is not rounded to whole pixels so that the text moves smoothly at slow speeds.
+ * Instead, copies of the strip shifted by fractions of a pixel are made when prepared so
+ * that each frame is only an untransformed image copy.
+ * <p>
+ * The strip enters from the right side of the component and scrolls left until it has
+ * completely left the component.  This is repeated for the given number of loops.
+ * <p>
+ * A ticker can be stopped using {@link #stop(long)} after which it always renders its
+ * text where it was when stopped.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public class Ticker implements Serializable {
+	/** The version id */
+	private static final long serialVersionUID = -3416094812405939027L;
+	
+	/** The number of sub-pixel positions */
+	private static final int SUB_PIXEL_POSITIONS = 4;
+
+	/** The text component to scroll */
+	protected final TextComponent component;
+	
+	/** The scroll speed in pixels per second */
+	protected final int speed;
+	
+	/** The number of times to scroll the text; zero to scroll until cleared */
+	protected final int loops;
+	
+	/** The rendered text; null until prepared */
+	protected transient volatile TextStrip strip;
+	
+	/** The images of the rendered text at each sub-pixel position; null until prepared */
+	protected transient volatile BufferedImage[] images;
+	
+	/** The time the scrolling started in nanoseconds */
+	protected transient volatile long startTime;
+	
+	/** The time the scrolling stopped in nanoseconds; {@link Long#MAX_VALUE} if not stopped */
+	protected transient volatile long stopTime;
+	
+	/** The total time to scroll the text in milliseconds; computed when prepared */
+	protected transient volatile int duration;
+	
+	/**
+	 * Full constructor.
+	 * @param component the text component to scroll; this should not be modified afterwards
+	 * @param speed the scroll speed in pixels per second
+	 * @param loops the number of times to scroll the text; zero to scroll until cleared
+	 */
+	public Ticker(TextComponent component, int speed, int loops) {
+		if (component == null) throw new NullPointerException();
+		this.component = component;
+		this.speed = Math.max(1, speed);
+		this.loops = Math.max(0, loops);
+		this.stopTime = Long.MAX_VALUE;
+		this.duration = -1;
+	}
+	
+	/**
+	 * Renders the text so that the ticker can be started.
+	 * <p>
+	 * This should be called before the ticker is started and does nothing if
+	 * the ticker has already been prepared.
+	 * @param gc the graphics configuration the ticker will be drawn to; can be null
+	 * @param hints the rendering hints to render the text with
+	 */
+	public synchronized void prepare(GraphicsConfiguration gc, RenderingHints hints) {
+		if (this.strip != null) {
+			return;
+		}
+		TextStrip strip = TextStrip.create(this.component, gc, hints);
+		// the duration is kept after the ticker is released
+		if (this.loops > 0) {
+			this.duration = (int)Math.ceil((double)this.getLoopDistance(strip) * this.loops * 1000.0 / this.speed);
+		}
+		BufferedImage image = strip.getImage();
+		if (image != null) {
+			// shift the strip by each fraction of a pixel (the shifted images are a pixel wider)
+			BufferedImage[] images = new BufferedImage[SUB_PIXEL_POSITIONS];
+			images[0] = image;
+			for (int i = 1; i < SUB_PIXEL_POSITIONS; i++) {
+				BufferedImage shifted = null;
+				if (gc != null) {
+					shifted = gc.createCompatibleImage(image.getWidth() + 1, image.getHeight(), Transparency.TRANSLUCENT);
+				} else {
+					shifted = new BufferedImage(image.getWidth() + 1, image.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+				}
+				Graphics2D g2d = shifted.createGraphics();
+				g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+				g2d.drawImage(image, AffineTransform.getTranslateInstance((double)i / SUB_PIXEL_POSITIONS, 0), null);
+				g2d.dispose();
+				images[i] = shifted;
+			}
+			this.images = images;
+		}
+		this.strip = strip;
+	}
+	
+	/**
+	 * Starts scrolling at the given time.
+	 * @param time the time in nanoseconds
+	 */
+	public void start(long time) {
+		this.startTime = time;
+		this.stopTime = Long.MAX_VALUE;
+	}
+	
+	/**
+	 * Stops scrolling at the given time.
+	 * <p>
+	 * The text is rendered where it was at the given time from then on.
+	 * @param time the time in nanoseconds
+	 */
+	public void stop(long time) {
+		this.stopTime = time;
+	}
+	
+	/**
+	 * Releases the rendered text.
+	 */
+	public synchronized void release() {
+		BufferedImage[] images = this.images;
+		if (images != null) {
+			for (BufferedImage image : images) {
+				image.flush();
+			}
+		}
+		this.images = null;
+		this.strip = null;
+	}
+	
+	/**
+	 * Returns the distance the text travels in one loop in pixels.
+	 * @param strip the rendered text
+	 * @return int
+	 */
+	private int getLoopDistance(TextStrip strip) {
+		return this.component.getWidth() + strip.getWidth();
+	}
+	
+	/**
+	 * Returns the total time to scroll the text in milliseconds.
+	 * <p>
+	 * Returns -1 if the text scrolls until cleared or the ticker hasn't been prepared.
+	 * The duration is still returned after the ticker has been released.
+	 * @return int
+	 */
+	public int getDuration() {
+		return this.duration;
+	}
+	
+	/**
+	 * Returns true if the text has finished scrolling at the given time.
+	 * <p>
+	 * A ticker that hasn't been prepared is complete.
+	 * @param time the time in nanoseconds
+	 * @return boolean
+	 */
+	public boolean isComplete(long time) {
+		TextStrip strip = this.strip;
+		if (strip == null || strip.getImage() == null) {
+			return true;
+		}
+		if (this.loops == 0) {
+			return false;
+		}
+		return this.getDistance(time) >= (double)this.getLoopDistance(strip) * this.loops;
+	}
+	
+	/**
+	 * Returns the distance scrolled at the given time in pixels.
+	 * @param time the time in nanoseconds
+	 * @return double
+	 */
+	private double getDistance(long time) {
+		long elapsed = Math.max(0, Math.min(time, this.stopTime) - this.startTime);
+		return (double)elapsed * this.speed / 1000000000.0;
+	}
+	
+	/**
+	 * Renders the text at its position for the given time.
+	 * <p>
+	 * The text is clipped to the bounds of the component (see {@link #getBounds()}).
+	 * @param g2d the graphics object to render to
+	 * @param time the time in nanoseconds
+	 */
+	public void render(Graphics2D g2d, long time) {
+		TextStrip strip = this.strip;
+		BufferedImage[] images = this.images;
+		if (strip == null || images == null || this.isComplete(time)) {
+			return;
+		}
+		
+		Rectangle bounds = this.getBounds();
+		
+		// get the position in the current loop
+		double offset = this.getDistance(time) % this.getLoopDistance(strip);
+		double x = bounds.x + bounds.width - offset;
+		
+		// split the position into whole pixels and the nearest sub-pixel position
+		int ix = (int)Math.floor(x);
+		int sub = (int)Math.round((x - ix) * SUB_PIXEL_POSITIONS);
+		if (sub == SUB_PIXEL_POSITIONS) {
+			ix++;
+			sub = 0;
+		}
+		
+		Shape clip = g2d.getClip();
+		g2d.clipRect(bounds.x, bounds.y, bounds.width, bounds.height);
+		g2d.drawImage(images[sub], ix, strip.getY(), null);
+		g2d.setClip(clip);
+	}
+	
+	/**
+	 * Returns the area the ticker renders to.
+	 * @return Rectangle
+	 */
+	public Rectangle getBounds() {
+		return new Rectangle(this.component.getX(), this.component.getY(), this.component.getWidth(), this.component.getHeight());
+	}
+	
+	/**
+	 * Returns the text component being scrolled.
+	 * @return {@link TextComponent}
+	 */
+	public TextComponent getComponent() {
+		return this.component;
+	}
+	
+	/**
+	 * Returns the scroll speed in pixels per second.
+	 * @return int
+	 */
+	public int getSpeed() {
+		return this.speed;
+	}
+	
+	/**
+	 * Returns the number of times the text is scrolled.
+	 * <p>
+	 * Returns zero if the text scrolls until cleared.
+	 * @return int
+	 */
+	public int getLoops() {
+		return this.loops;
+	}
+}
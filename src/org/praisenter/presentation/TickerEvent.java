@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.presentation;
+
+import java.io.Serializable;
+
+import org.praisenter.animation.TransitionAnimator;
+import org.praisenter.slide.Slide;
+
+/**
+ * Represents a {@link SendWaitClearEvent} that scrolls text across the slide.
+ * <p>
+ * The slide is sent as normal and the {@link Ticker} begins scrolling once the in
+ * transition completes.  The wait period is the time it takes the ticker to scroll
+ * its text the given number of times, as computed when the ticker was prepared.  It
+ * remains available after the ticker has been released (when another send replaces
+ * the ticker for example).  Tickers that scroll until cleared have a wait period of -1.
+ * <p>
+ * The slide should not render the ticker's text itself (the text should be hidden
+ * on the slide).
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public class TickerEvent extends SendWaitClearEvent implements PresentationEvent, Serializable {
+	/** The version id */
+	private static final long serialVersionUID = -7286011935373367018L;
+	
+	/** The ticker */
+	protected Ticker ticker;
+	
+	/**
+	 * Full constructor.
+	 * @param configuration the event configuration
+	 * @param inAnimator the in animator; see {@link #getAnimator()}
+	 * @param slide the slide
+	 * @param outAnimator the out animator; see {@link #getOutAnimator()}
+	 * @param ticker the ticker
+	 */
+	public TickerEvent(PresentationEventConfiguration configuration, TransitionAnimator inAnimator, Slide slide, TransitionAnimator outAnimator, Ticker ticker) {
+		super(configuration, inAnimator, slide, outAnimator, -1);
+		if (ticker == null) throw new NullPointerException();
+		this.ticker = ticker;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.praisenter.presentation.SendWaitClearEvent#getWaitPeriod()
+	 */
+	@Override
+	public int getWaitPeriod() {
+		return this.ticker.getDuration();
+	}
+	
+	/**
+	 * Returns the ticker.
+	 * @return {@link Ticker}
+	 */
+	public Ticker getTicker() {
+		return this.ticker;
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.presentation.sink;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+/**
+ * Represents a destination for frames rendered by an offscreen presentation surface.
+ * <p>
+ * The image given to {@link #frame(BufferedImage, long)} is pooled and will be reused
+ * once the method returns.  Implementations that need to keep the frame must copy it.
+ * <p>
+ * The methods of a sink are always called from the same thread.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public interface FrameSink {
+	/**
+	 * Called before the first frame is sent to this sink.
+	 * @param width the width of the frames in pixels
+	 * @param height the height of the frames in pixels
+	 * @param frameRate the number of frames per second
+	 * @throws IOException if an IO error occurs
+	 */
+	public abstract void begin(int width, int height, int frameRate) throws IOException;
+	
+	/**
+	 * Called for each frame rendered.
+	 * <p>
+	 * The image is of type {@link BufferedImage#TYPE_INT_ARGB}.
+	 * @param image the frame
+	 * @param frameNumber the zero based frame number
+	 * @throws IOException if an IO error occurs
+	 */
+	public abstract void frame(BufferedImage image, long frameNumber) throws IOException;
+	
+	/**
+	 * Called after the last frame is sent to this sink.
+	 * @throws IOException if an IO error occurs
+	 */
+	public abstract void end() throws IOException;
+}
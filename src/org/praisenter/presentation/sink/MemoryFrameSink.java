@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.presentation.sink;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.praisenter.common.utilities.ImageUtilities;
+
+/**
+ * Frame sink that keeps the most recent frames in memory.
+ * <p>
+ * Frames are copied into a fixed number of images that are reused as a ring;
+ * once full the oldest frame is replaced.  This is useful for inspecting the
+ * output of a presentation in automated tests.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public class MemoryFrameSink implements FrameSink {
+	/** The maximum number of frames to keep */
+	protected final int capacity;
+	
+	/** The frames */
+	protected final BufferedImage[] frames;
+	
+	/** The frame numbers of the frames */
+	protected final long[] frameNumbers;
+	
+	/** The index the next frame will be written to */
+	protected int index;
+	
+	/** The number of frames currently held */
+	protected int size;
+	
+	/** The total number of frames received */
+	protected long count;
+	
+	/**
+	 * Full constructor.
+	 * @param capacity the maximum number of frames to keep
+	 */
+	public MemoryFrameSink(int capacity) {
+		if (capacity <= 0) throw new IllegalArgumentException();
+		this.capacity = capacity;
+		this.frames = new BufferedImage[capacity];
+		this.frameNumbers = new long[capacity];
+		this.index = 0;
+		this.size = 0;
+		this.count = 0;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.praisenter.presentation.sink.FrameSink#begin(int, int, int)
+	 */
+	@Override
+	public synchronized void begin(int width, int height, int frameRate) {
+		this.index = 0;
+		this.size = 0;
+		this.count = 0;
+		// make sure the images are the right size
+		for (int i = 0; i < this.capacity; i++) {
+			BufferedImage image = this.frames[i];
+			if (image == null || image.getWidth() != width || image.getHeight() != height) {
+				this.frames[i] = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+			}
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.praisenter.presentation.sink.FrameSink#frame(java.awt.image.BufferedImage, long)
+	 */
+	@Override
+	public synchronized void frame(BufferedImage image, long frameNumber) {
+		ImageUtilities.copyImage(image, this.frames[this.index]);
+		this.frameNumbers[this.index] = frameNumber;
+		this.index = (this.index + 1) % this.capacity;
+		if (this.size < this.capacity) {
+			this.size++;
+		}
+		this.count++;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.praisenter.presentation.sink.FrameSink#end()
+	 */
+	@Override
+	public void end() {}
+	
+	/**
+	 * Returns copies of the frames held, oldest first.
+	 * @return List&lt;BufferedImage&gt;
+	 */
+	public synchronized List<BufferedImage> getFrames() {
+		List<BufferedImage> frames = new ArrayList<BufferedImage>(this.size);
+		int start = (this.index - this.size + this.capacity) % this.capacity;
+		for (int i = 0; i < this.size; i++) {
+			BufferedImage frame = this.frames[(start + i) % this.capacity];
+			BufferedImage copy = new BufferedImage(frame.getWidth(), frame.getHeight(), BufferedImage.TYPE_INT_ARGB);
+			ImageUtilities.copyImage(frame, copy);
+			frames.add(copy);
+		}
+		return frames;
+	}
+	
+	/**
+	 * Returns a copy of the most recent frame or null if no frames have been received.
+	 * @return BufferedImage
+	 */
+	public synchronized BufferedImage getLastFrame() {
+		if (this.size == 0) {
+			return null;
+		}
+		BufferedImage frame = this.frames[(this.index - 1 + this.capacity) % this.capacity];
+		BufferedImage copy = new BufferedImage(frame.getWidth(), frame.getHeight(), BufferedImage.TYPE_INT_ARGB);
+		ImageUtilities.copyImage(frame, copy);
+		return copy;
+	}
+	
+	/**
+	 * Returns the frame number of the most recent frame or -1 if no frames have been received.
+	 * @return long
+	 */
+	public synchronized long getLastFrameNumber() {
+		if (this.size == 0) {
+			return -1;
+		}
+		return this.frameNumbers[(this.index - 1 + this.capacity) % this.capacity];
+	}
+	
+	/**
+	 * Returns the total number of frames received since the last begin.
+	 * @return long
+	 */
+	public synchronized long getFrameCount() {
+		return this.count;
+	}
+}
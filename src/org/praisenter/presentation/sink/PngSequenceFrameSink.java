@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.presentation.sink;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Frame sink that writes each frame to its own PNG file.
+ * <p>
+ * The file names are generated from a {@link String#format(String, Object...)} pattern
+ * given the frame number.  The default pattern is {@value #DEFAULT_PATTERN}.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public class PngSequenceFrameSink implements FrameSink {
+	/** The default file name pattern */
+	public static final String DEFAULT_PATTERN = "frame%06d.png";
+	
+	/** The directory to write the files to */
+	protected File directory;
+	
+	/** The file name pattern */
+	protected String pattern;
+	
+	/**
+	 * Minimal constructor.
+	 * @param directory the directory to write the files to
+	 */
+	public PngSequenceFrameSink(File directory) {
+		this(directory, DEFAULT_PATTERN);
+	}
+	
+	/**
+	 * Full constructor.
+	 * @param directory the directory to write the files to
+	 * @param pattern the file name pattern; given the frame number
+	 */
+	public PngSequenceFrameSink(File directory, String pattern) {
+		if (directory == null || pattern == null) throw new NullPointerException();
+		this.directory = directory;
+		this.pattern = pattern;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.praisenter.presentation.sink.FrameSink#begin(int, int, int)
+	 */
+	@Override
+	public void begin(int width, int height, int frameRate) throws IOException {
+		if (!this.directory.exists() && !this.directory.mkdirs()) {
+			throw new IOException("Unable to create the directory: " + this.directory.getAbsolutePath());
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.praisenter.presentation.sink.FrameSink#frame(java.awt.image.BufferedImage, long)
+	 */
+	@Override
+	public void frame(BufferedImage image, long frameNumber) throws IOException {
+		File file = new File(this.directory, String.format(this.pattern, frameNumber));
+		ImageIO.write(image, "png", file);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.praisenter.presentation.sink.FrameSink#end()
+	 */
+	@Override
+	public void end() throws IOException {}
+}
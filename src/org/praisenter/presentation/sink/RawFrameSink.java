@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.presentation.sink;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Frame sink that writes the raw pixels of each frame to a stream.
+ * <p>
+ * Each pixel is written as four bytes in RGBA order, row by row, with no header
+ * or padding between frames.  This is the format most encoders accept on their
+ * standard input (ffmpeg's rawvideo rgba format for example).
+ * <p>
+ * When given a file, the file is created (or truncated) when the first frame
+ * begins and closed at the end.  When given a stream, the stream is flushed
+ * at the end, but not closed.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public class RawFrameSink implements FrameSink {
+	/** The file to write to; null if writing to a stream */
+	protected File file;
+	
+	/** The stream to write to */
+	protected OutputStream out;
+	
+	/** The buffer for a single frame */
+	protected byte[] buffer;
+	
+	/** The buffer for a single row of pixels */
+	protected int[] row;
+	
+	/**
+	 * Creates a new raw frame sink that writes to the given file.
+	 * @param file the file
+	 */
+	public RawFrameSink(File file) {
+		if (file == null) throw new NullPointerException();
+		this.file = file;
+		this.out = null;
+	}
+	
+	/**
+	 * Creates a new raw frame sink that writes to the given stream.
+	 * <p>
+	 * Use this constructor to pipe frames to another process.
+	 * @param out the stream
+	 */
+	public RawFrameSink(OutputStream out) {
+		if (out == null) throw new NullPointerException();
+		this.file = null;
+		this.out = out;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.praisenter.presentation.sink.FrameSink#begin(int, int, int)
+	 */
+	@Override
+	public void begin(int width, int height, int frameRate) throws IOException {
+		if (this.file != null) {
+			this.out = new BufferedOutputStream(new FileOutputStream(this.file));
+		}
+		this.buffer = new byte[width * height * 4];
+		this.row = new int[width];
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.praisenter.presentation.sink.FrameSink#frame(java.awt.image.BufferedImage, long)
+	 */
+	@Override
+	public void frame(BufferedImage image, long frameNumber) throws IOException {
+		int w = image.getWidth();
+		int h = image.getHeight();
+		int i = 0;
+		for (int y = 0; y < h; y++) {
+			image.getRGB(0, y, w, 1, this.row, 0, w);
+			for (int x = 0; x < w; x++) {
+				int argb = this.row[x];
+				this.buffer[i++] = (byte)(argb >> 16);
+				this.buffer[i++] = (byte)(argb >> 8);
+				this.buffer[i++] = (byte)argb;
+				this.buffer[i++] = (byte)(argb >> 24);
+			}
+		}
+		this.out.write(this.buffer, 0, i);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.praisenter.presentation.sink.FrameSink#end()
+	 */
+	@Override
+	public void end() throws IOException {
+		if (this.out == null) {
+			return;
+		}
+		this.out.flush();
+		if (this.file != null) {
+			this.out.close();
+			this.out = null;
+		}
+	}
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.slide.text;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Class used to fit the text of a number of {@link TextComponent}s ahead of use.
+ * <p>
+ * This is used to fit all the parts of a song or a range of verses at once, rather than
+ * each one when it's first previewed or sent.  The components are fitted in parallel by the
+ * calling thread and a small pool of worker threads shared by all callers.  The resulting
+ * layouts are kept with the components (see {@link TextComponent#prepareLayout(FontRenderContext)}).
+ * Rendering the components, or copies of them, with the same font rendering context uses
+ * these layouts.
+ * <p>
+ * The components are not otherwise modified.  To give the components a uniform font size,
+ * use {@link #getUniformFontSize(List, float[])} with the fitted sizes, apply it to the
+ * components and fit them again.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public final class BatchTextFitter {
+	/** The static logger */
+	private static final Logger LOGGER = Logger.getLogger(BatchTextFitter.class);
+	
+	/** The maximum number of threads used to fit the text (including the calling thread) */
+	private static final int MAXIMUM_THREADS = 4;
+	
+	/** The worker threads shared by all callers; idle threads are stopped after a short time */
+	private static final ExecutorService EXECUTOR = BatchTextFitter.createExecutor();
+	
+	/** Hidden default constructor */
+	private BatchTextFitter() {}
+	
+	/**
+	 * Creates the executor for the worker threads.
+	 * @return ExecutorService
+	 */
+	private static final ExecutorService createExecutor() {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(
+				MAXIMUM_THREADS - 1,
+				MAXIMUM_THREADS - 1,
+				30, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(),
+				new FitThreadFactory());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+	
+	/**
+	 * Returns the font rendering context used when rendering with the given rendering hints.
+	 * <p>
+	 * Use this to get the context for a display that renders slides without scaling them.
+	 * @param hints the rendering hints
+	 * @return FontRenderContext
+	 */
+	public static final FontRenderContext getFontRenderContext(RenderingHints hints) {
+		BufferedImage image = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g2d = image.createGraphics();
+		g2d.setRenderingHints(hints);
+		FontRenderContext context = g2d.getFontRenderContext();
+		g2d.dispose();
+		return context;
+	}
+	
+	/**
+	 * Fits and lays out the text of the given components using the given font rendering context.
+	 * <p>
+	 * Returns the fitted font size of each component or zero if a component has no visible text.
+	 * The calling thread is blocked until all the components have been fitted.  If the calling
+	 * thread is interrupted the remaining components are not fitted.
+	 * <p>
+	 * Only the prepared layouts of the components are changed.
+	 * @param components the components
+	 * @param context the font rendering context the components will be rendered with
+	 * @return float[]
+	 */
+	public static final float[] fit(List<? extends TextComponent> components, FontRenderContext context) {
+		float[] sizes = new float[components.size()];
+		int n = Math.min(components.size(), Math.min(MAXIMUM_THREADS, Runtime.getRuntime().availableProcessors()));
+		AtomicInteger next = new AtomicInteger();
+		
+		// let the workers help; if they are busy with other callers' work by the time
+		// they get to this they will find nothing left to do
+		Future<?>[] futures = new Future<?>[Math.max(0, n - 1)];
+		for (int i = 0; i < futures.length; i++) {
+			futures[i] = EXECUTOR.submit(new FitTask(components, context, sizes, next));
+		}
+		
+		// fit using this thread as well
+		BatchTextFitter.prepare(components, context, sizes, next);
+		
+		// wait on the workers
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				// stop the remaining work and let the caller know
+				next.set(components.size());
+				for (Future<?> f : futures) {
+					f.cancel(false);
+				}
+				Thread.currentThread().interrupt();
+				return sizes;
+			} catch (ExecutionException e) {
+				// prepare handles its own exceptions so this shouldn't happen
+				LOGGER.warn("Unable to fit the text of the components: ", e.getCause());
+			}
+		}
+		
+		return sizes;
+	}
+	
+	/**
+	 * Returns the uniform font size for the given components: the smallest of the fitted
+	 * font sizes of the components that scale their font size.
+	 * <p>
+	 * Components using this size with {@link FontScaleType#REDUCE_SIZE_ONLY} are guaranteed
+	 * to fit.  Returns zero if none of the components scale their font size or have visible text.
+	 * @param components the components
+	 * @param sizes the fitted font sizes returned by {@link #fit(List, FontRenderContext)}
+	 * @return float
+	 */
+	public static final float getUniformFontSize(List<? extends TextComponent> components, float[] sizes) {
+		float min = Float.MAX_VALUE;
+		for (int i = 0; i < sizes.length; i++) {
+			if (sizes[i] > 0 && components.get(i).getTextFontScaleType() != FontScaleType.NONE) {
+				min = Math.min(min, sizes[i]);
+			}
+		}
+		return min < Float.MAX_VALUE ? min : 0;
+	}
+	
+	/**
+	 * Prepares the layouts of the given components until there are none left.
+	 * <p>
+	 * The components are taken in order using the given index.
+	 * @param components the components
+	 * @param context the font rendering context
+	 * @param sizes the array to store the fitted font sizes in
+	 * @param next the index of the next component to fit
+	 */
+	private static final void prepare(List<? extends TextComponent> components, FontRenderContext context, float[] sizes, AtomicInteger next) {
+		int size = components.size();
+		int i;
+		while ((i = next.getAndIncrement()) < size) {
+			try {
+				sizes[i] = components.get(i).prepareLayout(context);
+			} catch (Exception e) {
+				// the text will be fitted when its rendered instead
+				LOGGER.warn("Unable to fit the text of component [" + components.get(i).getName() + "]: ", e);
+			}
+		}
+	}
+	
+	/**
+	 * Task used to fit the text of components in parallel.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private static final class FitTask implements Runnable {
+		/** The components */
+		private final List<? extends TextComponent> components;
+		
+		/** The font rendering context */
+		private final FontRenderContext context;
+		
+		/** The fitted font sizes */
+		private final float[] sizes;
+		
+		/** The index of the next component to fit */
+		private final AtomicInteger next;
+		
+		/**
+		 * Full constructor.
+		 * @param components the components
+		 * @param context the font rendering context
+		 * @param sizes the array to store the fitted font sizes in
+		 * @param next the index of the next component to fit
+		 */
+		public FitTask(List<? extends TextComponent> components, FontRenderContext context, float[] sizes, AtomicInteger next) {
+			this.components = components;
+			this.context = context;
+			this.sizes = sizes;
+			this.next = next;
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+			BatchTextFitter.prepare(this.components, this.context, this.sizes, this.next);
+		}
+	}
+	
+	/**
+	 * Factory for the daemon worker threads.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private static final class FitThreadFactory implements ThreadFactory {
+		/** The number of threads created */
+		private final AtomicInteger count = new AtomicInteger();
+		
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+		 */
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "BatchTextFitThread-" + this.count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -26,6 +26,7 @@ package org.praisenter.slide.text;
 
 import java.io.Serializable;
 import java.text.SimpleDateFormat;
+import java.util.Calendar;
 import java.util.Date;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -47,8 +48,13 @@ import org.praisenter.slide.resources.Messages;
 
 /**
  * Text component in which displays a date and/or time.
+ * <p>
+ * The formatted text is cached until the next instant its text can change.  This
+ * instant is determined by the smallest unit of time in the format pattern (seconds,
+ * minutes, hours or days).  Use {@link #getNextUpdateTime()} to find when the
+ * component needs to be rendered again.
  * @author William Bittle
- * @version 2.0.0
+ * @version 2.0.4
  * @since 2.0.0
  */
 @XmlRootElement(name = "DateTimeComponent")
@@ -68,6 +74,9 @@ public class DateTimeComponent extends TextComponent implements PositionedCompon
 	/** The default date format */
 	private static final String DEFAULT_FORMAT = "EEEE MMMM d, yyyy";
 	
+	/** The maximum time in milliseconds the formatted text is cached before it's checked again */
+	private static final long MAXIMUM_UPDATE_INTERVAL = 60000;
+	
 	/** The date/time format */
 	@XmlElement(name = "Format", required = false, nillable = true)
 	@XmlJavaTypeAdapter(value = SimpleDateFormatTypeAdapter.class)
@@ -77,6 +86,15 @@ public class DateTimeComponent extends TextComponent implements PositionedCompon
 	@XmlElement(name = "UpdateEnabled", required = false, nillable = true)
 	protected boolean dateTimeUpdateEnabled;
 	
+	/** The text that was last rendered; used to detect when the text changes */
+	protected transient volatile String renderedText;
+	
+	/** The current formatted text; null if the text has not been formatted */
+	protected transient volatile String formattedText;
+	
+	/** The time in milliseconds at which the formatted text must be checked again */
+	protected transient volatile long formattedTextExpiration;
+	
 	/**
 	 * Default constructor.
 	 * <p>
@@ -162,7 +180,157 @@ public class DateTimeComponent extends TextComponent implements PositionedCompon
 	 */
 	@Override
 	protected String getTextToRender() {
-		return this.dateTimeFormat.format(new Date());
+		String text = this.getFormattedText(System.currentTimeMillis());
+		this.renderedText = text;
+		return text;
+	}
+	
+	/**
+	 * Returns true if this component needs to be rendered again because its
+	 * formatted date/time has changed since it was last rendered.
+	 * <p>
+	 * Always returns false if date/time updates are not enabled.
+	 * @return boolean
+	 * @since 2.0.4
+	 */
+	public boolean isUpdateRequired() {
+		if (!this.dateTimeUpdateEnabled) {
+			return false;
+		}
+		String text = this.getFormattedText(System.currentTimeMillis());
+		return !text.equals(this.renderedText);
+	}
+	
+	/**
+	 * Returns the time in milliseconds at which the formatted date/time could next change.
+	 * <p>
+	 * Returns {@link Long#MAX_VALUE} if date/time updates are not enabled.
+	 * @return long
+	 * @since 2.0.4
+	 */
+	public long getNextUpdateTime() {
+		if (!this.dateTimeUpdateEnabled) {
+			return Long.MAX_VALUE;
+		}
+		// make sure the formatted text is current
+		this.getFormattedText(System.currentTimeMillis());
+		return this.formattedTextExpiration;
+	}
+	
+	/**
+	 * Returns the date/time formatted for the given time.
+	 * <p>
+	 * The text is only formatted again when the given time is at or past the
+	 * time the last formatted text could change.
+	 * @param time the time in milliseconds
+	 * @return String
+	 */
+	private String getFormattedText(long time) {
+		String text = this.formattedText;
+		if (text != null && time < this.formattedTextExpiration) {
+			return text;
+		}
+		// the format is shared by copies of this component
+		SimpleDateFormat format = this.dateTimeFormat;
+		synchronized (format) {
+			text = format.format(new Date(time));
+			this.formattedTextExpiration = DateTimeComponent.getNextChangeTime(format, time);
+		}
+		this.formattedText = text;
+		return text;
+	}
+	
+	/**
+	 * Returns the time in milliseconds at which text formatted with the given
+	 * format could next change.
+	 * <p>
+	 * This is the start of the next second, minute, hour or day depending on the
+	 * smallest unit of time in the format pattern.  The returned time is never more
+	 * than {@link #MAXIMUM_UPDATE_INTERVAL} after the given time so that changes to 
+	 * the system clock are picked up.
+	 * @param format the format; must be locked by the caller
+	 * @param time the time in milliseconds
+	 * @return long
+	 */
+	private static final long getNextChangeTime(SimpleDateFormat format, long time) {
+		String pattern = format.toPattern();
+		
+		// find the smallest unit of time in the pattern
+		int field = Calendar.DAY_OF_MONTH;
+		boolean quoted = false;
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (c == '\'') {
+				quoted = !quoted;
+			} else if (!quoted) {
+				int f = DateTimeComponent.getField(c);
+				if (f > field) {
+					field = f;
+				}
+			}
+		}
+		
+		if (field == Calendar.MILLISECOND) {
+			return time + 1;
+		}
+		
+		// use the format's calendar for its time zone
+		Calendar calendar = (Calendar)format.getCalendar().clone();
+		calendar.setTimeInMillis(time);
+		// truncate to the unit of time (clearing all the smaller units)
+		if (field == Calendar.DAY_OF_MONTH) {
+			calendar.set(Calendar.HOUR_OF_DAY, 0);
+		}
+		if (field == Calendar.DAY_OF_MONTH || field == Calendar.HOUR_OF_DAY) {
+			calendar.set(Calendar.MINUTE, 0);
+		}
+		if (field == Calendar.DAY_OF_MONTH || field == Calendar.HOUR_OF_DAY || field == Calendar.MINUTE) {
+			calendar.set(Calendar.SECOND, 0);
+		}
+		calendar.set(Calendar.MILLISECOND, 0);
+		calendar.add(field, 1);
+		
+		long next = calendar.getTimeInMillis();
+		if (next <= time) {
+			next = time + 1;
+		}
+		return Math.min(next, time + MAXIMUM_UPDATE_INTERVAL);
+	}
+	
+	/**
+	 * Returns the {@link Calendar} field that changes the text of the given
+	 * {@link SimpleDateFormat} pattern letter.
+	 * <p>
+	 * The fields are ordered from largest to smallest unit of time.  Letters that
+	 * are not pattern letters return {@link Calendar#ERA}.
+	 * @param letter the pattern letter
+	 * @return int
+	 */
+	private static final int getField(char letter) {
+		switch (letter) {
+			case 'S':
+				return Calendar.MILLISECOND;
+			case 's':
+				return Calendar.SECOND;
+			case 'm':
+				return Calendar.MINUTE;
+			case 'H':
+			case 'k':
+			case 'K':
+			case 'h':
+			case 'a':
+			case 'z':
+			case 'Z':
+			case 'X':
+				// time zone names and offsets change with daylight savings time
+				// which always changes on the hour
+				return Calendar.HOUR_OF_DAY;
+			default:
+				if ((letter >= 'a' && letter <= 'z') || (letter >= 'A' && letter <= 'Z')) {
+					return Calendar.DAY_OF_MONTH;
+				}
+				return Calendar.ERA;
+		}
 	}
 	
 	/**
@@ -173,6 +341,7 @@ public class DateTimeComponent extends TextComponent implements PositionedCompon
 		super.setText(format);
 		try {
 			this.dateTimeFormat = new SimpleDateFormat(format);
+			this.formattedText = null;
 		} catch (Exception e) {
 			LOGGER.warn("Invalid format [" + format + "].");
 		}
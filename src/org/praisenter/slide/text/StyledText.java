@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.slide.text;
+
+import java.awt.Font;
+import java.awt.font.TextAttribute;
+import java.text.AttributedString;
+import java.text.Bidi;
+import java.util.Arrays;
+import java.util.List;
+
+import org.praisenter.common.utilities.FontManager;
+import org.praisenter.common.utilities.GlyphCoverage;
+import org.praisenter.slide.graphics.Fill;
+
+/**
+ * Represents text along with the styles of its {@link TextRun}s.
+ * <p>
+ * The runs are resolved into run-length attribute arrays: the text is split into
+ * segments that don't overlap and each segment stores the attributes of the last
+ * run covering it.  Adjacent segments with the same attributes are merged.
+ * <p>
+ * The fonts of the segments are derived from the font given to {@link #getAttributedString(Font)}
+ * so that the text can be measured and laid out at any font size with a single
+ * {@link AttributedString}.
+ * <p>
+ * Characters a font can't display are assigned the first of the {@link FontManager}'s
+ * fallback fonts that can display them.  This uses the cached {@link GlyphCoverage}
+ * of the fonts so the fonts aren't probed each time the text is laid out.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+final class StyledText {
+	/** The text */
+	final String text;
+	
+	/** The offset after the last character of each segment; null if the text has no styles */
+	final int[] limits;
+	
+	/** The font style of each segment */
+	final int[] styles;
+	
+	/** The font size scale of each segment */
+	final float[] scales;
+	
+	/** The fill of each segment; null elements use the text fill */
+	final Fill[] fills;
+	
+	/** True if any segment has its own fill */
+	final boolean filled;
+	
+	/** True if the text requires bidirectional layout; only computed if the text has fills */
+	final boolean bidirectional;
+	
+	/**
+	 * Creates styled text without any styles.
+	 * @param text the text
+	 */
+	StyledText(String text) {
+		this(text, null, null, null, null);
+	}
+	
+	/**
+	 * Full constructor.
+	 * @param text the text
+	 * @param limits the offset after the last character of each segment
+	 * @param styles the font style of each segment
+	 * @param scales the font size scale of each segment
+	 * @param fills the fill of each segment
+	 */
+	private StyledText(String text, int[] limits, int[] styles, float[] scales, Fill[] fills) {
+		this.text = text;
+		this.limits = limits;
+		this.styles = styles;
+		this.scales = scales;
+		this.fills = fills;
+		boolean filled = false;
+		if (fills != null) {
+			for (Fill fill : fills) {
+				filled |= fill != null;
+			}
+		}
+		this.filled = filled;
+		this.bidirectional = filled && Bidi.requiresBidi(text.toCharArray(), 0, text.length());
+	}
+	
+	/**
+	 * Creates styled text from the given text and runs.
+	 * <p>
+	 * The line breaks of the given text are replaced with {@link TextRenderer#LINE_SEPARATOR}.
+	 * The offsets of the runs refer to the given text and are clamped to it.
+	 * @param text the text
+	 * @param runs the runs; can be null
+	 * @return {@link StyledText}
+	 */
+	static final StyledText create(String text, List<TextRun> runs) {
+		int n = text.length();
+		
+		// make sure the line break characters are correct (and keep track
+		// of where each offset moved to)
+		int[] offsets = null;
+		if (text.indexOf('\r') >= 0) {
+			StringBuilder sb = new StringBuilder(n);
+			offsets = new int[n + 1];
+			for (int i = 0; i < n; i++) {
+				offsets[i] = sb.length();
+				char c = text.charAt(i);
+				if (c == '\r') {
+					// skip the carriage return of a \r\n pair
+					if (i + 1 < n && text.charAt(i + 1) == '\n') {
+						continue;
+					}
+					sb.append(TextRenderer.LINE_SEPARATOR);
+				} else {
+					sb.append(c);
+				}
+			}
+			offsets[n] = sb.length();
+			text = sb.toString();
+		}
+		
+		if (runs == null || runs.isEmpty()) {
+			return new StyledText(text);
+		}
+		
+		// get the runs' offsets in the new text
+		int m = runs.size();
+		int[] starts = new int[m];
+		int[] ends = new int[m];
+		int[] bounds = new int[m * 2 + 2];
+		for (int i = 0; i < m; i++) {
+			TextRun run = runs.get(i);
+			int s = Math.max(0, Math.min(n, run.start));
+			int e = Math.max(s, Math.min(n, run.end));
+			if (offsets != null) {
+				s = offsets[s];
+				e = offsets[e];
+			}
+			starts[i] = s;
+			ends[i] = e;
+			bounds[i * 2] = s;
+			bounds[i * 2 + 1] = e;
+		}
+		int length = text.length();
+		bounds[m * 2] = 0;
+		bounds[m * 2 + 1] = length;
+		Arrays.sort(bounds);
+		
+		// resolve the attributes of each segment between the boundaries
+		int[] limits = new int[bounds.length];
+		int[] styles = new int[bounds.length];
+		float[] scales = new float[bounds.length];
+		Fill[] fills = new Fill[bounds.length];
+		int k = 0;
+		for (int i = 0; i < bounds.length - 1; i++) {
+			int s = bounds[i];
+			int e = bounds[i + 1];
+			if (s == e) {
+				continue;
+			}
+			int style = TextRun.INHERIT_FONT_STYLE;
+			float scale = 1.0f;
+			Fill fill = null;
+			for (int j = 0; j < m; j++) {
+				if (starts[j] <= s && ends[j] >= e) {
+					TextRun run = runs.get(j);
+					if (run.fontStyle != TextRun.INHERIT_FONT_STYLE) {
+						style = run.fontStyle;
+					}
+					if (run.fontSizeScale > 0.0f) {
+						scale = run.fontSizeScale;
+					}
+					if (run.textFill != null) {
+						fill = run.textFill;
+					}
+				}
+			}
+			// merge with the previous segment if the attributes are the same
+			if (k > 0 && styles[k - 1] == style && scales[k - 1] == scale && fills[k - 1] == fill) {
+				limits[k - 1] = e;
+			} else {
+				limits[k] = e;
+				styles[k] = style;
+				scales[k] = scale;
+				fills[k] = fill;
+				k++;
+			}
+		}
+		
+		// check if any of the text is styled
+		if (k == 0 || (k == 1 && styles[0] == TextRun.INHERIT_FONT_STYLE && scales[0] == 1.0f && fills[0] == null)) {
+			return new StyledText(text);
+		}
+		
+		return new StyledText(text, 
+				Arrays.copyOf(limits, k), 
+				Arrays.copyOf(styles, k), 
+				Arrays.copyOf(scales, k), 
+				Arrays.copyOf(fills, k));
+	}
+	
+	/**
+	 * Returns the text as an {@link AttributedString} using the given font.
+	 * <p>
+	 * The font of each styled segment is derived from the given font.  Fallback
+	 * fonts are assigned to the characters the fonts can't display.
+	 * @param font the font
+	 * @return AttributedString
+	 */
+	AttributedString getAttributedString(Font font) {
+		AttributedString as = new AttributedString(this.text);
+		as.addAttribute(TextAttribute.FONT, font);
+		boolean fallback = FontManager.isFallbackEnabled();
+		if (this.limits == null) {
+			if (fallback) {
+				this.addFallbackFonts(as, font, 0, this.text.length());
+			}
+		} else {
+			Font[] fonts = new Font[this.limits.length];
+			int start = 0;
+			for (int i = 0; i < this.limits.length; i++) {
+				// reuse the font of an earlier segment with the same style
+				Font f = null;
+				for (int j = 0; j < i && f == null; j++) {
+					if (this.styles[j] == this.styles[i] && this.scales[j] == this.scales[i]) {
+						f = fonts[j];
+					}
+				}
+				if (f == null) {
+					f = StyledText.deriveFont(font, this.styles[i], this.scales[i]);
+				}
+				fonts[i] = f;
+				if (f != font) {
+					as.addAttribute(TextAttribute.FONT, f, start, this.limits[i]);
+				}
+				if (fallback) {
+					this.addFallbackFonts(as, f, start, this.limits[i]);
+				}
+				start = this.limits[i];
+			}
+		}
+		return as;
+	}
+	
+	/**
+	 * Assigns fallback fonts to the characters in the given range that the
+	 * given font can't display.
+	 * <p>
+	 * Consecutive characters that use the same fallback font are assigned as one run.
+	 * Characters that none of the fallback fonts can display keep the given font.
+	 * @param as the attributed string
+	 * @param font the font of the range
+	 * @param start the offset of the first character
+	 * @param end the offset after the last character
+	 */
+	private void addFallbackFonts(AttributedString as, Font font, int start, int end) {
+		GlyphCoverage coverage = FontManager.getGlyphCoverage(font);
+		int i = coverage.canDisplayUpTo(this.text, start, end);
+		while (i >= 0) {
+			int cp = this.text.codePointAt(i);
+			int next = i + Character.charCount(cp);
+			// control characters (like new lines) are never displayed
+			Font fallback = Character.isISOControl(cp) ? null : FontManager.getFallbackFont(font, cp);
+			if (fallback != null) {
+				// extend the run over the following characters the fallback font should display
+				GlyphCoverage fc = FontManager.getGlyphCoverage(fallback);
+				while (next < end) {
+					int c = this.text.codePointAt(next);
+					if (coverage.canDisplay(c) || !fc.canDisplay(c)) {
+						break;
+					}
+					next += Character.charCount(c);
+				}
+				as.addAttribute(TextAttribute.FONT, fallback, i, next);
+			}
+			i = next < end ? coverage.canDisplayUpTo(this.text, next, end) : -1;
+		}
+	}
+	
+	/**
+	 * Returns the index of the segment containing the given offset.
+	 * @param offset the character offset
+	 * @return int
+	 */
+	int getSegment(int offset) {
+		int i = Arrays.binarySearch(this.limits, offset);
+		// the segment with the given limit ends before the offset
+		return i >= 0 ? i + 1 : -(i + 1);
+	}
+	
+	/**
+	 * Returns true if any of the text is styled.
+	 * @return boolean
+	 */
+	boolean isStyled() {
+		return this.limits != null;
+	}
+	
+	/**
+	 * Returns a font derived from the given font with the given style and size scale.
+	 * @param font the font
+	 * @param style the font style or {@link TextRun#INHERIT_FONT_STYLE}
+	 * @param scale the font size scale
+	 * @return Font
+	 */
+	private static final Font deriveFont(Font font, int style, float scale) {
+		if (style == TextRun.INHERIT_FONT_STYLE) {
+			style = font.getStyle();
+		}
+		if (style == font.getStyle() && scale == 1.0f) {
+			return font;
+		}
+		return font.deriveFont(style, font.getSize2D() * scale);
+	}
+}
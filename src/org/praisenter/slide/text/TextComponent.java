@@ -24,17 +24,30 @@
  */
 package org.praisenter.slide.text;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
+import java.awt.Composite;
 import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.Paint;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.Shape;
+import java.awt.Transparency;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.io.Serializable;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlSeeAlso;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
@@ -61,8 +74,12 @@ import org.praisenter.slide.resources.Messages;
 
 /**
  * Represents a component that displays text.
+ * <p>
+ * Ranges of the text can be styled with a different font style, font size or fill
+ * using {@link TextRun}s.  Styled text is fitted and laid out along with the rest of
+ * the text and the layout is cached the same way.
  * @author William Bittle
- * @version 2.0.2
+ * @version 2.0.4
  * @since 2.0.0
  */
 @XmlRootElement(name = "TextComponent")
@@ -140,6 +157,17 @@ public class TextComponent extends AbstractPositionedComponent implements Positi
 	@XmlElement(name = "TextShadowOffset", required = false, nillable = true)
 	protected Point textShadowOffset;
 	
+	/** The styled runs of the text; null if the text isn't styled */
+	@XmlElementWrapper(name = "TextRuns", required = false, nillable = true)
+	@XmlElement(name = "TextRun", required = false)
+	protected List<TextRun> textRuns;
+	
+	/** The cached text layout; null if the text must be laid out again */
+	private transient volatile Layout layout;
+	
+	/** The text layout prepared ahead of rendering; can be null */
+	private transient volatile Layout preparedLayout;
+	
 	/**
 	 * Default constructor.
 	 * <p>
@@ -202,6 +230,7 @@ public class TextComponent extends AbstractPositionedComponent implements Positi
 				new Stop(0.5f, new Color(0, 0, 0, 153)),
 				new Stop(1.0f, new Color(0, 0, 0, 50)));
 		this.textShadowOffset = new Point(3, 3);
+		this.textRuns = null;
 	}
 	
 	/**
@@ -227,6 +256,13 @@ public class TextComponent extends AbstractPositionedComponent implements Positi
 		this.textShadowVisible = component.textShadowVisible;
 		this.textShadowFill = component.textShadowFill;
 		this.textShadowOffset = component.textShadowOffset;
+		if (component.textRuns != null) {
+			this.textRuns = new ArrayList<TextRun>(component.textRuns);
+		}
+		// the layouts are checked against the state of the component
+		// before they are used so the copy can share them
+		this.layout = component.layout;
+		this.preparedLayout = component.preparedLayout;
 	}
 	
 	/* (non-Javadoc)
@@ -301,6 +337,12 @@ public class TextComponent extends AbstractPositionedComponent implements Positi
 	
 	/**
 	 * Renders the text to the given graphics object.
+	 * <p>
+	 * The fitted font size and the positioned lines are cached and only computed
+	 * again when the text, font, bounds or text settings change.
+	 * <p>
+	 * Outlined or shadowed text is expensive to rasterize so it's rendered to
+	 * an image that is kept with the cached layout and drawn on subsequent renders.
 	 * @param g the graphics object to render to
 	 * @param preview true if we are rending a preview
 	 */
@@ -327,58 +369,39 @@ public class TextComponent extends AbstractPositionedComponent implements Positi
 				Paint oPaint = g.getPaint();
 				Shape oClip = g.getClip();
 				
-				// make sure the line break characters are correct
-				text = text.replaceAll("(\\r\\n)|(\\r)", String.valueOf(TextRenderer.LINE_SEPARATOR));
-				// get the text metrics
-				TextMetrics metrics = null;
-				// check the font scaling method
-				if (this.textFontScaleType == FontScaleType.REDUCE_SIZE_ONLY) {
-					// check the wrap flag
-					if (this.textWrapped) {
-						// get a scaled font size to fit the width and height but is maxed at the current font size
-						metrics = TextRenderer.getFittingParagraphMetrics(font, g.getFontRenderContext(), text, rw, rh);
-					} else {
-						// get a scaled font size to fit the entire line on one line
-						metrics = TextRenderer.getFittingLineMetrics(font, g.getFontRenderContext(), text, rw, rh);
-					}
-				} else if (this.textFontScaleType == FontScaleType.BEST_FIT) {
-					// check the wrap flag
-					if (this.textWrapped) {
-						// get a scaled font size to fit the width and height but is maxed at the current font size
-						metrics = TextRenderer.getFittingParagraphMetrics(font, Float.MAX_VALUE, g.getFontRenderContext(), text, rw, rh);
-					} else {
-						// get a scaled font size to fit the entire line on one line
-						metrics = TextRenderer.getFittingLineMetrics(font, Float.MAX_VALUE, g.getFontRenderContext(), text, rw, rh);
-					}
-				} else {
-					// get the bounds without modifying the font size
-					TextBounds bounds = null;
-					if (this.textWrapped) {
-						bounds = TextRenderer.getParagraphBounds(text, font, g.getFontRenderContext(), rw, rh);
+				// save the old rendering hints
+				RenderingHints oHints = g.getRenderingHints();
+				
+				// the font size is fitted using the current font rendering context
+				FontRenderContext fitContext = g.getFontRenderContext();
+				
+				// enable anti-aliasing to make the preview look decent
+				if (this.textOutlineVisible && this.textOutlineFill != null && this.textOutlineStyle != null && preview) {
+					// turn on anti-aliasing so that the text outlines don't look terrible
+					g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+				}
+				
+				// the lines are laid out using the context they are drawn with
+				FontRenderContext lineContext = g.getFontRenderContext();
+				
+				// get the cached layout, the prepared layout or layout the text again
+				Layout layout = this.layout;
+				if (layout == null || !layout.isValid(this, text, font, fitContext, lineContext)) {
+					Layout prepared = this.preparedLayout;
+					if (prepared != null && prepared.isValid(this, text, font, fitContext, lineContext)) {
+						layout = prepared;
 					} else {
-						bounds = TextRenderer.getLineBounds(font, g.getFontRenderContext(), text, rw, rh);
+						layout = this.createLayout(text, font, fitContext, lineContext, rw, rh, layout != null ? layout : prepared);
+						this.layout = layout;
 					}
-					metrics = new TextMetrics(font.getSize2D(), bounds);
 				}
 				
-				// see if we need to derive the font
 				// the text renderer uses the font on the graphics object
-				if (font.getSize2D() != metrics.fontSize) {
-					g.setFont(font.deriveFont(metrics.fontSize));
-				} else {
-					g.setFont(font);
-				}
+				g.setFont(layout.font);
 				
-				// apply the text padding
-				float x = this.x + this.textPadding;
-				float y = this.y + this.textPadding;
-				
-				// setup the text properties
-				TextRenderProperties properties = new TextRenderProperties(metrics);
-				properties.setX(x);
-				properties.setY(y);
-				properties.setVerticalAlignment(this.verticalTextAlignment);
-				properties.setHorizontalAlignment(this.horizontalTextAlignment);
+				// setup the text properties (the fills can change without
+				// the text needing to be laid out again)
+				TextRenderProperties properties = new TextRenderProperties(layout.metrics);
 				properties.setTextFill(this.textFill);
 				properties.setOutlineEnabled(this.textOutlineVisible);
 				properties.setOutlineFill(this.textOutlineFill);
@@ -387,23 +410,16 @@ public class TextComponent extends AbstractPositionedComponent implements Positi
 				properties.setShadowFill(this.textShadowFill);
 				properties.setShadowOffset(this.textShadowOffset);
 				
-				// save the old rendering hints
-				RenderingHints oHints = g.getRenderingHints();
-				
-				// enable anti-aliasing to make the preview look decent
-				if (this.textOutlineVisible && this.textOutlineFill != null && this.textOutlineStyle != null && preview) {
-					// turn on anti-aliasing so that the text outlines don't look terrible
-					g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-				}
-				
-				// setup the clip region
-				g.clipRect(this.x, this.y, this.width, this.height);
-				if (this.textWrapped) {
-					// render the text as a paragraph
-					TextRenderer.renderParagraph(g, text, properties);
+				boolean renderOutline = this.textOutlineVisible && this.textOutlineFill != null && this.textOutlineStyle != null;
+				boolean renderShadow = this.textShadowVisible && this.textShadowFill != null;
+				if ((renderOutline || renderShadow) && this.isSpriteSupported(g)) {
+					// render the text using the sprite
+					this.renderSprite(g, layout, properties);
 				} else {
-					// render the text as a line
-					TextRenderer.renderLine(g, text, properties);
+					// setup the clip region
+					g.clipRect(this.x, this.y, this.width, this.height);
+					// render the laid out lines
+					TextRenderer.renderLines(g, layout.lines, properties);
 				}
 				
 				g.setRenderingHints(oHints);
@@ -414,6 +430,271 @@ public class TextComponent extends AbstractPositionedComponent implements Positi
 		}
 	}
 	
+	/**
+	 * Fits and lays out the text ahead of rendering.
+	 * <p>
+	 * The prepared layout is used when the component is rendered with the given font rendering
+	 * context.  It's kept separately from the layout of the last render so that rendering with
+	 * another context (a scaled preview for example) doesn't replace it.  Copies of this
+	 * component share the prepared layout.
+	 * <p>
+	 * Returns the fitted font size or zero if there's no visible text.
+	 * @param context the font rendering context the text will be rendered with
+	 * @return float
+	 * @since 2.0.4
+	 */
+	public float prepareLayout(FontRenderContext context) {
+		String text = this.getTextToRender();
+		int rw = this.getTextWidth();
+		int rh = this.getTextHeight();
+		if (!this.textVisible || text == null || text.length() == 0 || rw <= 0 || rh <= 0) {
+			return 0.0f;
+		}
+		
+		Font font = this.textFont;
+		if (font == null) {
+			font = FontManager.getDefaultFont();
+		}
+		
+		Layout layout = this.preparedLayout;
+		if (layout == null || !layout.isValid(this, text, font, context, context)) {
+			layout = this.createLayout(text, font, context, context, rw, rh, layout != null ? layout : this.layout);
+			this.preparedLayout = layout;
+		}
+		return layout.metrics.fontSize;
+	}
+	
+	/**
+	 * Fits and lays out the given text within the text bounds of this component.
+	 * <p>
+	 * The styled text of the previous layout is reused if the text and runs haven't changed.
+	 * @param text the text
+	 * @param font the font
+	 * @param fitContext the font rendering context used to fit the font size
+	 * @param lineContext the font rendering context used to layout the lines
+	 * @param rw the available width
+	 * @param rh the available height
+	 * @param previous the previous layout; can be null
+	 * @return {@link Layout}
+	 */
+	private Layout createLayout(String text, Font font, FontRenderContext fitContext, FontRenderContext lineContext, int rw, int rh, Layout previous) {
+		// get the generation before the fallback fonts are assigned so that a change
+		// while laying out the text invalidates this layout
+		int fallbackGeneration = FontManager.getFallbackGeneration();
+		// resolve the text runs (this also makes sure the line break characters are correct)
+		List<TextRun> runs = this.textRuns;
+		StyledText styledText = null;
+		if (previous != null && TextComponent.isEqual(previous.runs, runs) && previous.text.equals(text)) {
+			styledText = previous.styledText;
+		} else {
+			styledText = StyledText.create(text, runs);
+		}
+		// get the text metrics
+		TextMetrics metrics = null;
+		// check the font scaling method
+		if (this.textFontScaleType == FontScaleType.REDUCE_SIZE_ONLY) {
+			// check the wrap flag
+			if (this.textWrapped) {
+				// get a scaled font size to fit the width and height but is maxed at the current font size
+				metrics = TextFitter.getFittingParagraphMetrics(font, font.getSize2D(), fitContext, styledText, rw, rh, null);
+			} else {
+				// get a scaled font size to fit the entire line on one line
+				metrics = TextRenderer.getFittingLineMetrics(font, font.getSize2D(), fitContext, styledText, rw, rh);
+			}
+		} else if (this.textFontScaleType == FontScaleType.BEST_FIT) {
+			// check the wrap flag
+			if (this.textWrapped) {
+				// get a scaled font size to fit the width and height but is maxed at the current font size
+				metrics = TextFitter.getFittingParagraphMetrics(font, Float.MAX_VALUE, fitContext, styledText, rw, rh, null);
+			} else {
+				// get a scaled font size to fit the entire line on one line
+				metrics = TextRenderer.getFittingLineMetrics(font, Float.MAX_VALUE, fitContext, styledText, rw, rh);
+			}
+		} else {
+			// get the bounds without modifying the font size
+			TextBounds bounds = null;
+			if (this.textWrapped) {
+				bounds = TextRenderer.getParagraphBounds(styledText, font, fitContext, rw, rh, null);
+			} else {
+				bounds = TextRenderer.getLineBounds(font, fitContext, styledText, rw, rh);
+			}
+			metrics = new TextMetrics(font.getSize2D(), bounds);
+		}
+		
+		// see if we need to derive the font
+		Font rfont = font;
+		if (font.getSize2D() != metrics.fontSize) {
+			rfont = font.deriveFont(metrics.fontSize);
+		}
+		
+		// apply the text padding
+		float x = this.x + this.textPadding;
+		float y = this.y + this.textPadding;
+		
+		// setup the layout properties
+		TextRenderProperties properties = new TextRenderProperties(metrics);
+		properties.setX(x);
+		properties.setY(y);
+		properties.setVerticalAlignment(this.verticalTextAlignment);
+		properties.setHorizontalAlignment(this.horizontalTextAlignment);
+		
+		List<TextLine> lines = null;
+		if (this.textWrapped) {
+			// layout the text as a paragraph
+			lines = TextRenderer.getParagraphLines(styledText, rfont, lineContext, properties);
+		} else {
+			// layout the text as a line
+			lines = Collections.singletonList(TextRenderer.getLine(styledText, rfont, lineContext, properties));
+		}
+		
+		return new Layout(this, text, runs, styledText, font, fitContext, lineContext, metrics, rfont, lines, fallbackGeneration);
+	}
+	
+	/**
+	 * Returns true if the given text runs are the same.
+	 * <p>
+	 * Copies of a component have equal, but not the same, lists of runs.
+	 * @param runs1 the first runs; can be null
+	 * @param runs2 the second runs; can be null
+	 * @return boolean
+	 */
+	private static boolean isEqual(List<TextRun> runs1, List<TextRun> runs2) {
+		return runs1 == runs2 || (runs1 != null && runs1.equals(runs2));
+	}
+	
+	/**
+	 * Returns true if the text can be rendered to the given graphics object
+	 * using a sprite.
+	 * <p>
+	 * Sprites are only used when drawing the image is equivalent to drawing
+	 * the text directly, that is, when the composite is source over and the
+	 * text isn't rendered using sub-pixel anti-aliasing (which isn't supported
+	 * on translucent images).
+	 * @param g the graphics object
+	 * @return boolean
+	 */
+	private boolean isSpriteSupported(Graphics2D g) {
+		Composite composite = g.getComposite();
+		if (!(composite instanceof AlphaComposite) || ((AlphaComposite)composite).getRule() != AlphaComposite.SRC_OVER) {
+			return false;
+		}
+		Object aa = g.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING);
+		if (aa == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HRGB ||
+			aa == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HBGR ||
+			aa == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_VRGB ||
+			aa == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_VBGR) {
+			return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Renders the text of the given layout using its sprite, creating the sprite
+	 * if necessary.
+	 * <p>
+	 * The sprite is rendered in device space so that drawing it only requires an
+	 * integer translation.  This allows it to be reused when the component is drawn
+	 * at a different location, like when the whole slide is translated.
+	 * @param g the graphics object to render to
+	 * @param layout the text layout
+	 * @param properties the text properties
+	 */
+	private void renderSprite(Graphics2D g, Layout layout, TextRenderProperties properties) {
+		// split the transform into its whole pixel translation and the rest
+		AffineTransform transform = g.getTransform();
+		double tx = Math.floor(transform.getTranslateX());
+		double ty = Math.floor(transform.getTranslateY());
+		AffineTransform base = AffineTransform.getTranslateInstance(-tx, -ty);
+		base.concatenate(transform);
+		RenderingHints hints = g.getRenderingHints();
+		
+		// get the sprite stored with the layout
+		SoftReference<Sprite> reference = layout.sprite;
+		Sprite sprite = reference != null ? reference.get() : null;
+		if (sprite == null || !sprite.isValid(this, base, hints)) {
+			if (sprite != null) {
+				sprite.image.flush();
+			}
+			sprite = this.createSprite(g, layout, properties, base, hints);
+			layout.sprite = new SoftReference<Sprite>(sprite);
+		}
+		
+		// draw the sprite (if any of the text is visible)
+		if (sprite.image != null) {
+			g.setTransform(new AffineTransform());
+			g.drawImage(sprite.image, (int)tx + sprite.x, (int)ty + sprite.y, null);
+			g.setTransform(transform);
+		}
+	}
+	
+	/**
+	 * Renders the text of the given layout to a new sprite.
+	 * @param g the graphics object the sprite will be drawn to
+	 * @param layout the text layout
+	 * @param properties the text properties
+	 * @param base the transform without the whole pixel translation
+	 * @param hints the rendering hints
+	 * @return {@link Sprite}
+	 */
+	private Sprite createSprite(Graphics2D g, Layout layout, TextRenderProperties properties, AffineTransform base, RenderingHints hints) {
+		// get the bounds of the lines
+		Rectangle2D bounds = null;
+		for (TextLine line : layout.lines) {
+			Rectangle2D r = line.layout.getBounds();
+			r.setRect(r.getX() + line.x, r.getY() + line.y, r.getWidth(), r.getHeight());
+			if (bounds == null) {
+				bounds = r;
+			} else {
+				bounds.add(r);
+			}
+		}
+		
+		Sprite sprite = new Sprite(this, base, hints);
+		if (bounds == null) {
+			return sprite;
+		}
+		
+		// add the shadow
+		if (this.textShadowVisible && this.textShadowFill != null) {
+			bounds.add(new Rectangle2D.Double(
+					bounds.getX() + this.textShadowOffset.getX(), 
+					bounds.getY() + this.textShadowOffset.getY(), 
+					bounds.getWidth(), 
+					bounds.getHeight()));
+		}
+		// add the outline (the miter joins can extend up to 5 times the width of the line)
+		double grow = 1.0;
+		if (this.textOutlineVisible && this.textOutlineFill != null && this.textOutlineStyle != null) {
+			grow += this.textOutlineStyle.getWidth() * 5.0;
+		}
+		bounds.setRect(bounds.getX() - grow, bounds.getY() - grow, bounds.getWidth() + grow * 2.0, bounds.getHeight() + grow * 2.0);
+		// the text is always clipped to the component
+		Rectangle2D.intersect(bounds, new Rectangle(this.x, this.y, this.width, this.height), bounds);
+		if (bounds.isEmpty()) {
+			return sprite;
+		}
+		
+		// get the device bounds (with an extra pixel for anti-aliasing)
+		Rectangle device = base.createTransformedShape(bounds).getBounds();
+		device.grow(1, 1);
+		
+		// render the text to the sprite
+		BufferedImage image = g.getDeviceConfiguration().createCompatibleImage(device.width, device.height, Transparency.TRANSLUCENT);
+		Graphics2D ig2d = image.createGraphics();
+		ig2d.setRenderingHints(hints);
+		AffineTransform transform = AffineTransform.getTranslateInstance(-device.x, -device.y);
+		transform.concatenate(base);
+		ig2d.setTransform(transform);
+		ig2d.clipRect(this.x, this.y, this.width, this.height);
+		TextRenderer.renderLines(ig2d, layout.lines, properties);
+		ig2d.dispose();
+		
+		sprite.image = image;
+		sprite.x = device.x;
+		sprite.y = device.y;
+		return sprite;
+	}
+	
 	/**
 	 * This returns the available width to render the text.
 	 * @return int
@@ -467,6 +748,8 @@ public class TextComponent extends AbstractPositionedComponent implements Positi
 	 */
 	public void setText(String text) {
 		this.text = text;
+		this.layout = null;
+		this.preparedLayout = null;
 		if (this.text != null) {
 			this.text = this.text.trim();
 		}
@@ -502,6 +785,8 @@ public class TextComponent extends AbstractPositionedComponent implements Positi
 	 */
 	public void setTextFont(Font font) {
 		this.textFont = font;
+		this.layout = null;
+		this.preparedLayout = null;
 	}
 	
 	/**
@@ -518,6 +803,8 @@ public class TextComponent extends AbstractPositionedComponent implements Positi
 	 */
 	public void setHorizontalTextAlignment(HorizontalTextAlignment alignment) {
 		this.horizontalTextAlignment = alignment;
+		this.layout = null;
+		this.preparedLayout = null;
 	}
 
 	/**
@@ -534,6 +821,8 @@ public class TextComponent extends AbstractPositionedComponent implements Positi
 	 */
 	public void setVerticalTextAlignment(VerticalTextAlignment alignment) {
 		this.verticalTextAlignment = alignment;
+		this.layout = null;
+		this.preparedLayout = null;
 	}
 	
 	/**
@@ -550,6 +839,8 @@ public class TextComponent extends AbstractPositionedComponent implements Positi
 	 */
 	public void setTextPadding(int padding) {
 		this.textPadding = padding;
+		this.layout = null;
+		this.preparedLayout = null;
 	}
 	
 	/**
@@ -566,6 +857,8 @@ public class TextComponent extends AbstractPositionedComponent implements Positi
 	 */
 	public void setTextFontScaleType(FontScaleType fontScaleType) {
 		this.textFontScaleType = fontScaleType;
+		this.layout = null;
+		this.preparedLayout = null;
 	}
 	
 	/**
@@ -582,6 +875,8 @@ public class TextComponent extends AbstractPositionedComponent implements Positi
 	 */
 	public void setTextWrapped(boolean flag) {
 		this.textWrapped = flag;
+		this.layout = null;
+		this.preparedLayout = null;
 	}
 
 	/**
@@ -701,4 +996,283 @@ public class TextComponent extends AbstractPositionedComponent implements Positi
 	public void setTextShadowOffset(Point offset) {
 		this.textShadowOffset = offset;
 	}
+	
+	/**
+	 * Returns the styled runs of the text.
+	 * <p>
+	 * Returns an empty list if the text isn't styled.
+	 * @return List&lt;{@link TextRun}&gt;
+	 * @since 2.0.4
+	 */
+	public List<TextRun> getTextRuns() {
+		if (this.textRuns == null) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(this.textRuns);
+	}
+	
+	/**
+	 * Sets the styled runs of the text.
+	 * <p>
+	 * The offsets of the runs refer to the text of this component.  Runs later
+	 * in the list take precedence over earlier runs that overlap them.
+	 * @param runs the runs; null or empty to remove all styling
+	 * @since 2.0.4
+	 */
+	public void setTextRuns(List<TextRun> runs) {
+		if (runs == null || runs.isEmpty()) {
+			this.textRuns = null;
+		} else {
+			this.textRuns = new ArrayList<TextRun>(runs);
+		}
+		this.layout = null;
+		this.preparedLayout = null;
+	}
+	
+	/**
+	 * Represents a cached text layout.
+	 * <p>
+	 * Stores everything the layout was computed from so that it can be
+	 * checked against the current state of the component before reuse.
+	 * <p>
+	 * The sprite of outlined or shadowed text is stored with the layout
+	 * so that it's released along with it.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private static final class Layout {
+		/** The text as given by {@link TextComponent#getTextToRender()} */
+		private final String text;
+		
+		/** The text runs; can be null */
+		private final List<TextRun> runs;
+		
+		/** The text with the runs resolved */
+		private final StyledText styledText;
+		
+		/** The font before fitting */
+		private final Font requestedFont;
+		
+		/** The x coordinate of the component */
+		private final int x;
+		
+		/** The y coordinate of the component */
+		private final int y;
+		
+		/** The width of the component */
+		private final int width;
+		
+		/** The height of the component */
+		private final int height;
+		
+		/** The text padding */
+		private final int padding;
+		
+		/** The font scale type */
+		private final FontScaleType scaleType;
+		
+		/** True if the text was wrapped */
+		private final boolean wrapped;
+		
+		/** The horizontal text alignment */
+		private final HorizontalTextAlignment horizontalAlignment;
+		
+		/** The vertical text alignment */
+		private final VerticalTextAlignment verticalAlignment;
+		
+		/** The font rendering context used to fit the font size */
+		private final FontRenderContext fitContext;
+		
+		/** The font rendering context used to layout the lines */
+		private final FontRenderContext lineContext;
+		
+		/** The fitted text metrics */
+		private final TextMetrics metrics;
+		
+		/** The fitted font */
+		private final Font font;
+		
+		/** The positioned lines */
+		private final List<TextLine> lines;
+		
+		/** The fallback generation the fallback fonts were assigned with */
+		private final int fallbackGeneration;
+		
+		/** The rendered text; can be null */
+		private volatile SoftReference<Sprite> sprite;
+		
+		/**
+		 * Full constructor.
+		 * @param component the component the layout is for
+		 * @param text the text
+		 * @param runs the text runs; can be null
+		 * @param styledText the text with the runs resolved
+		 * @param requestedFont the font before fitting
+		 * @param fitContext the font rendering context used to fit the font size
+		 * @param lineContext the font rendering context used to layout the lines
+		 * @param metrics the fitted text metrics
+		 * @param font the fitted font
+		 * @param lines the positioned lines
+		 * @param fallbackGeneration the fallback generation the fallback fonts were assigned with
+		 */
+		public Layout(TextComponent component, String text, List<TextRun> runs, StyledText styledText, Font requestedFont, FontRenderContext fitContext, FontRenderContext lineContext, TextMetrics metrics, Font font, List<TextLine> lines, int fallbackGeneration) {
+			this.text = text;
+			this.runs = runs;
+			this.styledText = styledText;
+			this.requestedFont = requestedFont;
+			this.x = component.x;
+			this.y = component.y;
+			this.width = component.width;
+			this.height = component.height;
+			this.padding = component.textPadding;
+			this.scaleType = component.textFontScaleType;
+			this.wrapped = component.textWrapped;
+			this.horizontalAlignment = component.horizontalTextAlignment;
+			this.verticalAlignment = component.verticalTextAlignment;
+			this.fitContext = fitContext;
+			this.lineContext = lineContext;
+			this.metrics = metrics;
+			this.font = font;
+			this.lines = lines;
+			this.fallbackGeneration = fallbackGeneration;
+		}
+		
+		/**
+		 * Returns true if this layout can be used to render the given text.
+		 * <p>
+		 * A layout is not valid once the fallback font families have changed.
+		 * @param component the component
+		 * @param text the text to render
+		 * @param font the font before fitting
+		 * @param fitContext the font rendering context used to fit the font size
+		 * @param lineContext the font rendering context used to layout the lines
+		 * @return boolean
+		 */
+		public boolean isValid(TextComponent component, String text, Font font, FontRenderContext fitContext, FontRenderContext lineContext) {
+			return this.fallbackGeneration == FontManager.getFallbackGeneration() &&
+				   this.x == component.x &&
+				   this.y == component.y &&
+				   this.width == component.width &&
+				   this.height == component.height &&
+				   this.padding == component.textPadding &&
+				   this.scaleType == component.textFontScaleType &&
+				   this.wrapped == component.textWrapped &&
+				   this.horizontalAlignment == component.horizontalTextAlignment &&
+				   this.verticalAlignment == component.verticalTextAlignment &&
+				   this.requestedFont.equals(font) &&
+				   this.fitContext.equals(fitContext) &&
+				   this.lineContext.equals(lineContext) &&
+				   TextComponent.isEqual(this.runs, component.textRuns) &&
+				   this.text.equals(text);
+		}
+	}
+	
+	/**
+	 * Represents text that has been rendered to an image.
+	 * <p>
+	 * Stores the transform, rendering hints and text styles the image was 
+	 * rendered with so that it can be checked before reuse.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private static final class Sprite {
+		/** The transform (without the whole pixel translation) */
+		private final AffineTransform transform;
+		
+		/** The rendering hints */
+		private final RenderingHints hints;
+		
+		/** The text fill */
+		private final Fill textFill;
+		
+		/** True if the outline was rendered */
+		private final boolean outlineVisible;
+		
+		/** The outline style */
+		private final LineStyle outlineStyle;
+		
+		/** The outline fill */
+		private final Fill outlineFill;
+		
+		/** True if the shadow was rendered */
+		private final boolean shadowVisible;
+		
+		/** The shadow fill */
+		private final Fill shadowFill;
+		
+		/** The shadow offset */
+		private final Point shadowOffset;
+		
+		/** The image; null if none of the text is visible */
+		private BufferedImage image;
+		
+		/** The x coordinate of the image in device space */
+		private int x;
+		
+		/** The y coordinate of the image in device space */
+		private int y;
+		
+		/**
+		 * Full constructor.
+		 * @param component the component the sprite is for
+		 * @param transform the transform (without the whole pixel translation)
+		 * @param hints the rendering hints
+		 */
+		public Sprite(TextComponent component, AffineTransform transform, RenderingHints hints) {
+			this.transform = transform;
+			this.hints = hints;
+			this.textFill = component.textFill;
+			this.outlineVisible = component.textOutlineVisible;
+			this.outlineStyle = component.textOutlineStyle;
+			this.outlineFill = component.textOutlineFill;
+			this.shadowVisible = component.textShadowVisible;
+			this.shadowFill = component.textShadowFill;
+			this.shadowOffset = component.textShadowOffset;
+		}
+		
+		/**
+		 * Returns true if this sprite can be used to render the text of the given component.
+		 * @param component the component
+		 * @param transform the transform (without the whole pixel translation)
+		 * @param hints the rendering hints
+		 * @return boolean
+		 */
+		public boolean isValid(TextComponent component, AffineTransform transform, RenderingHints hints) {
+			return this.outlineVisible == component.textOutlineVisible &&
+				   this.shadowVisible == component.textShadowVisible &&
+				   Sprite.equals(this.textFill, component.textFill) &&
+				   Sprite.equals(this.outlineStyle, component.textOutlineStyle) &&
+				   Sprite.equals(this.outlineFill, component.textOutlineFill) &&
+				   Sprite.equals(this.shadowFill, component.textShadowFill) &&
+				   Sprite.equals(this.shadowOffset, component.textShadowOffset) &&
+				   this.transform.equals(transform) &&
+				   this.hints.equals(hints);
+		}
+		
+		/**
+		 * Returns true if the given objects are equal.
+		 * @param o1 the first object; can be null
+		 * @param o2 the second object; can be null
+		 * @return boolean
+		 */
+		private static final boolean equals(Object o1, Object o2) {
+			if (o1 == o2) return true;
+			if (o1 == null || o2 == null) return false;
+			return o1.equals(o2);
+		}
+		
+		/**
+		 * Returns true if the given points are equal.
+		 * @param p1 the first point; can be null
+		 * @param p2 the second point; can be null
+		 * @return boolean
+		 */
+		private static final boolean equals(Point p1, Point p2) {
+			if (p1 == p2) return true;
+			if (p1 == null || p2 == null) return false;
+			return p1.getX() == p2.getX() && p1.getY() == p2.getY();
+		}
+	}
 }
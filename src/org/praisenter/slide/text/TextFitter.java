@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.slide.text;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Class used to find the font size that fits a paragraph of text within a given area.
+ * <p>
+ * The font size is found using a safeguarded search that uses the measurements of the
+ * previous sizes to choose the next size.  The search relies on the number of lines only
+ * growing with the font size, which means that for the lines of a measured size, the text
+ * height is proportional to the font size:
+ * <ul>
+ * <li>No size larger than where the lines of a size that fits would fill the height can fit.</li>
+ * <li>Any size smaller than where the lines of a size that doesn't fit would fill the height should fit.</li>
+ * <li>The first estimate assumes the text covers an area proportional to the square of the font
+ * size when lines are wrapped, or that the lines don't change when they are only broken by new 
+ * lines.</li>
+ * <li>After that, the next size alternates between these two limits.  Once the line breaks
+ * stabilize, the limits are the same and the search stops.</li>
+ * <li>If a size doesn't at least halve the range of candidate sizes, the next size is bisected.</li>
+ * </ul>
+ * Each candidate size is measured once.  Like the previous binary search, the resulting
+ * size is a whole number unless the initial size fits.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public final class TextFitter {
+	/** The static logger */
+	private static final Logger LOGGER = Logger.getLogger(TextFitter.class);
+	
+	/** Hidden default constructor */
+	private TextFitter() {}
+	
+	/**
+	 * Returns the {@link TextMetrics} that fills the given width and height with the 
+	 * font size bounded by the given maximum.  Will always return a font size
+	 * of 1.0 or greater.
+	 * <p>
+	 * This method will break on new line characters specified by {@link TextRenderer#LINE_SEPARATOR}.
+	 * @param font the initial font
+	 * @param max the maximum font size; use Float.MAX_VALUE to specify no maximum size; use the font's current size for reduction only
+	 * @param fontRenderContext the font rendering context
+	 * @param text the text
+	 * @param width the width of the bounds
+	 * @param height the height of the bounds
+	 * @return {@link TextMetrics}
+	 */
+	public static final TextMetrics getFittingParagraphMetrics(Font font, float max, FontRenderContext fontRenderContext, String text, float width, float height) {
+		return TextFitter.getFittingParagraphMetrics(font, max, fontRenderContext, new StyledText(text), width, height, null);
+	}
+	
+	/**
+	 * Returns the {@link TextMetrics} that fills the given width and height with the 
+	 * font size bounded by the given maximum.
+	 * <p>
+	 * If the given array is not null, the number of sizes measured is stored in the
+	 * first element.
+	 * <p>
+	 * The fonts of the styled text are derived from the given font so the styled
+	 * runs are scaled along with the rest of the text.
+	 * @param font the initial font
+	 * @param max the maximum font size; use Float.MAX_VALUE to specify no maximum size; use the font's current size for reduction only
+	 * @param fontRenderContext the font rendering context
+	 * @param text the text
+	 * @param width the width of the bounds
+	 * @param height the height of the bounds
+	 * @param measurements the array to store the number of measurements in; can be null
+	 * @return {@link TextMetrics}
+	 */
+	static final TextMetrics getFittingParagraphMetrics(Font font, float max, FontRenderContext fontRenderContext, StyledText text, float width, float height, int[] measurements) {
+		// get the current font size
+		float size = font.getSize2D();
+		// clamp the beginning size to 1
+		if (size < 1.0f) {
+			size = 1.0f;
+			font = font.deriveFont(size);
+		}
+		
+		// measure the initial size
+		Measurement initial = new Measurement(text, font, fontRenderContext, width, height);
+		int n = 1;
+		
+		// the initial size fits and only reduction is allowed (or there's
+		// nothing to scale)
+		if ((initial.fits && max != Float.MAX_VALUE) || initial.bounds.textHeight <= 0.0f) {
+			TextFitter.done(measurements, n);
+			return new TextMetrics(size, initial.bounds);
+		}
+		
+		// the number of lines if none were wrapped
+		int paragraphs = TextFitter.getParagraphCount(text.text);
+		
+		// the largest size that fits and the smallest size that doesn't
+		Measurement lo = initial.fits ? initial : null;
+		Measurement hi = initial.fits ? null : initial;
+		// the upper limit when no size that doesn't fit is known
+		float limit = max != Float.MAX_VALUE ? (float)Math.floor(max) : Float.MAX_VALUE;
+		// true if the next size should be bisected
+		boolean bisect = false;
+		// true if the last size measured fits
+		boolean fits = initial.fits;
+		
+		while (true) {
+			// get the range of the candidate sizes
+			float a = lo != null ? (float)Math.floor(lo.size) + 1.0f : 1.0f;
+			float b = hi != null ? (float)Math.ceil(hi.size) - 1.0f : limit;
+			if (lo != null) {
+				// the number of lines can only grow with the size, so any larger size
+				// has a height at least proportional to the size; no size past this fits
+				b = Math.min(b, (float)Math.floor(lo.size * height / lo.bounds.textHeight));
+			}
+			if (a > b) {
+				break;
+			}
+			// likewise the number of lines can only shrink with the size, so
+			// any size up to this should fit
+			float c = a;
+			if (hi != null) {
+				c = Math.max(a, Math.min(b, (float)Math.floor(hi.size * height / hi.bounds.textHeight)));
+			}
+			
+			float next;
+			if (bisect) {
+				next = (float)Math.floor((c + b) * 0.5f);
+			} else if (lo != null && hi != null) {
+				// alternate between the largest size that fits assuming the
+				// lines of the last size that fit don't change and the smallest
+				// size that fits assuming the lines of the last size that 
+				// didn't fit don't change; when the line breaks are the
+				// same for both sizes these are the same size
+				next = fits ? b : c;
+			} else {
+				Measurement m = lo != null ? lo : hi;
+				if (m.isWrapped(paragraphs)) {
+					// estimate using the area the text covers (the text area grows
+					// with the square of the size)
+					double area = m.advance * (m.bounds.textHeight / m.lines);
+					next = (float)Math.floor(m.size * Math.sqrt(width * height / area));
+				} else {
+					// the lines are only broken by new lines so the number of
+					// lines shouldn't change
+					next = lo != null ? b : c;
+				}
+			}
+			
+			// clamp to the candidate range
+			if (next < c) next = c;
+			if (next > b) next = b;
+			
+			// measure the next size
+			Measurement m = new Measurement(text, font.deriveFont(next), fontRenderContext, width, height);
+			n++;
+			fits = m.fits;
+			if (m.fits) {
+				lo = m;
+			} else {
+				hi = m;
+			}
+			
+			// bisect the next size if the estimate didn't halve the range
+			if (bisect) {
+				bisect = false;
+			} else {
+				float a2 = lo != null ? (float)Math.floor(lo.size) + 1.0f : 1.0f;
+				float b2 = hi != null ? (float)Math.ceil(hi.size) - 1.0f : b;
+				bisect = b2 - a2 > (b - c) * 0.5f;
+			}
+		}
+		
+		if (n > 1) {
+			LOGGER.trace("Font fitting iterations: " + (n - 1));
+		}
+		TextFitter.done(measurements, n);
+		
+		if (lo == null) {
+			// nothing fits so use the minimum size
+			if (hi.size > 1.0f) {
+				hi = new Measurement(text, font.deriveFont(1.0f), fontRenderContext, width, height);
+				TextFitter.done(measurements, n + 1);
+			}
+			return new TextMetrics(hi.size, hi.bounds);
+		}
+		return new TextMetrics(lo.size, lo.bounds);
+	}
+	
+	/**
+	 * Returns the number of lines the given text would be laid out in if
+	 * none of the lines were wrapped.
+	 * <p>
+	 * This mirrors {@link TextRenderer#getParagraphBounds(String, Font, FontRenderContext, float, float)}
+	 * which ignores leading and trailing new line characters.
+	 * @param text the text
+	 * @return int
+	 */
+	private static final int getParagraphCount(String text) {
+		int s = 0;
+		int e = text.length();
+		while (s < e && text.charAt(s) == TextRenderer.LINE_SEPARATOR) s++;
+		while (e > s && text.charAt(e - 1) == TextRenderer.LINE_SEPARATOR) e--;
+		int n = 1;
+		for (int i = s; i < e; i++) {
+			if (text.charAt(i) == TextRenderer.LINE_SEPARATOR) {
+				n++;
+			}
+		}
+		return n;
+	}
+	
+	/**
+	 * Stores the number of measurements in the given array.
+	 * @param measurements the array; can be null
+	 * @param n the number of measurements
+	 */
+	private static final void done(int[] measurements, int n) {
+		if (measurements != null) {
+			measurements[0] = n;
+		}
+	}
+	
+	/**
+	 * Represents the measurement of the text at a font size.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private static final class Measurement {
+		/** The font size */
+		private final float size;
+		
+		/** The text bounds */
+		private final TextBounds bounds;
+		
+		/** The number of lines */
+		private final int lines;
+		
+		/** The sum of the line advances */
+		private final float advance;
+		
+		/** True if the text fits in the height */
+		private final boolean fits;
+		
+		/**
+		 * Full constructor.
+		 * @param text the text
+		 * @param font the font
+		 * @param fontRenderContext the font rendering context
+		 * @param width the width of the bounds
+		 * @param height the height of the bounds
+		 */
+		public Measurement(StyledText text, Font font, FontRenderContext fontRenderContext, float width, float height) {
+			float[] statistics = new float[2];
+			this.size = font.getSize2D();
+			this.bounds = TextRenderer.getParagraphBounds(text, font, fontRenderContext, width, height, statistics);
+			this.lines = Math.max(1, (int)statistics[0]);
+			this.advance = statistics[1];
+			this.fits = this.bounds.textHeight <= height;
+		}
+		
+		/**
+		 * Returns true if any of the lines were broken because they didn't fit
+		 * the width (rather than by new line characters).
+		 * @param paragraphs the number of lines when none are wrapped
+		 * @return boolean
+		 */
+		public boolean isWrapped(int paragraphs) {
+			return this.lines > paragraphs;
+		}
+	}
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.slide.text;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command line benchmark comparing the {@link TextFitter} to the binary search that
+ * was used to fit paragraphs before it.
+ * <p>
+ * Every entry of the corpus (song parts and verse ranges) is fitted to a set of common
+ * text component sizes using {@link FontScaleType#BEST_FIT} and {@link FontScaleType#REDUCE_SIZE_ONLY}.
+ * For each combination the report shows the average and maximum number of sizes measured,
+ * the average time and how often the fitted sizes differ.
+ * <p>
+ * The default corpus is public domain text stored with the slide resources.  Another 
+ * corpus can be given as the first argument; entries are separated by lines containing
+ * only "--" and lines beginning with "#" are ignored.
+ * <p>
+ * The benchmark exits with a non-zero status if the fitter returns a size at which the
+ * text doesn't fit.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public final class TextFittingBenchmark {
+	/** The default corpus */
+	private static final String CORPUS = "/org/praisenter/slide/resources/text-fitting-corpus.txt";
+	
+	/** The text bounds to fit to (width, height) */
+	private static final int[][] BOUNDS = new int[][] {
+		{ 1800, 900 },		// full screen 1080p
+		{ 1800, 280 },		// lower third 1080p
+		{ 1180, 600 },		// full screen 720p
+		{ 400, 200 }		// preview
+	};
+	
+	/** The initial font */
+	private static final Font FONT = new Font(Font.SERIF, Font.PLAIN, 72);
+	
+	/** The number of times each fit is timed */
+	private static final int REPEAT = 5;
+	
+	/** Hidden default constructor */
+	private TextFittingBenchmark() {}
+	
+	/**
+	 * Runs the benchmark.
+	 * @param args the command line arguments; the optional path of the corpus
+	 * @throws IOException if the corpus couldn't be read
+	 */
+	public static void main(String[] args) throws IOException {
+		List<String> corpus = null;
+		if (args.length > 0) {
+			try (InputStream stream = new FileInputStream(args[0])) {
+				corpus = read(stream);
+			}
+		} else {
+			try (InputStream stream = TextFittingBenchmark.class.getResourceAsStream(CORPUS)) {
+				corpus = read(stream);
+			}
+		}
+		
+		// anti-aliased text without fractional metrics (like the high render quality)
+		FontRenderContext context = new FontRenderContext(null, true, false);
+		
+		// warm up both
+		for (String text : corpus) {
+			for (int[] bounds : BOUNDS) {
+				fit(text, bounds, FontScaleType.BEST_FIT, context, false, null);
+				fit(text, bounds, FontScaleType.BEST_FIT, context, true, null);
+			}
+		}
+		
+		boolean valid = true;
+		System.out.println(String.format(Locale.ENGLISH, "%d entries", corpus.size()));
+		System.out.println(String.format(Locale.ENGLISH, "%-11s %-18s %8s %8s %8s %8s %10s %10s %9s %8s", 
+				"Bounds", "Scale", "Avg Old", "Avg New", "Max Old", "Max New", "Old us", "New us", "Differ", "Max Diff"));
+		for (int[] bounds : BOUNDS) {
+			for (FontScaleType type : new FontScaleType[] { FontScaleType.BEST_FIT, FontScaleType.REDUCE_SIZE_ONLY }) {
+				int[] om = new int[1];
+				int[] nm = new int[1];
+				long osum = 0, nsum = 0;
+				int omax = 0, nmax = 0;
+				long otime = 0, ntime = 0;
+				int differ = 0;
+				float maxDiff = 0;
+				for (String text : corpus) {
+					long t0 = System.nanoTime();
+					TextMetrics o = null;
+					for (int i = 0; i < REPEAT; i++) {
+						o = fit(text, bounds, type, context, false, om);
+					}
+					long t1 = System.nanoTime();
+					TextMetrics n = null;
+					for (int i = 0; i < REPEAT; i++) {
+						n = fit(text, bounds, type, context, true, nm);
+					}
+					long t2 = System.nanoTime();
+					otime += t1 - t0;
+					ntime += t2 - t1;
+					osum += om[0];
+					nsum += nm[0];
+					omax = Math.max(omax, om[0]);
+					nmax = Math.max(nmax, nm[0]);
+					float diff = Math.abs(o.fontSize - n.fontSize);
+					if (diff > 0) {
+						differ++;
+						maxDiff = Math.max(maxDiff, diff);
+					}
+					if (n.textHeight > bounds[1] && n.fontSize > 1.0f) {
+						valid = false;
+						System.out.println(String.format(Locale.ENGLISH, "DOES NOT FIT: %dx%d %s size %.1f: %s", 
+								bounds[0], bounds[1], type, n.fontSize, text.substring(0, Math.min(40, text.length()))));
+					}
+				}
+				int count = corpus.size();
+				System.out.println(String.format(Locale.ENGLISH, "%-11s %-18s %8.2f %8.2f %8d %8d %10.1f %10.1f %9d %8.1f", 
+						bounds[0] + "x" + bounds[1],
+						type,
+						osum / (double)count,
+						nsum / (double)count,
+						omax,
+						nmax,
+						otime / 1000.0 / count / REPEAT,
+						ntime / 1000.0 / count / REPEAT,
+						differ,
+						maxDiff));
+			}
+		}
+		if (!valid) {
+			System.exit(1);
+		}
+	}
+	
+	/**
+	 * Fits the given text to the given bounds.
+	 * @param text the text
+	 * @param bounds the bounds (width, height)
+	 * @param type the font scale type
+	 * @param context the font rendering context
+	 * @param fitter true to use the {@link TextFitter}; false to use the previous binary search
+	 * @param measurements the array to store the number of measurements in
+	 * @return {@link TextMetrics}
+	 */
+	private static final TextMetrics fit(String text, int[] bounds, FontScaleType type, FontRenderContext context, boolean fitter, int[] measurements) {
+		float max = type == FontScaleType.BEST_FIT ? Float.MAX_VALUE : FONT.getSize2D();
+		if (fitter) {
+			return TextFitter.getFittingParagraphMetrics(FONT, max, context, new StyledText(text), bounds[0], bounds[1], measurements);
+		}
+		return search(FONT, max, context, text, bounds[0], bounds[1], measurements);
+	}
+	
+	/**
+	 * The binary search used to fit paragraphs before the {@link TextFitter}.
+	 * @param font the initial font
+	 * @param max the maximum font size
+	 * @param fontRenderContext the font rendering context
+	 * @param text the text
+	 * @param width the width of the bounds
+	 * @param height the height of the bounds
+	 * @param measurements the array to store the number of measurements in; can be null
+	 * @return {@link TextMetrics}
+	 */
+	private static final TextMetrics search(Font font, float max, FontRenderContext fontRenderContext, String text, float width, float height, int[] measurements) {
+		// get the current font size
+		float cur = font.getSize2D();
+		// clamp the beginning size to 1
+		if (cur < 1.0f) cur = 1.0f;
+		// get the initial paragraph height
+		TextBounds bounds = TextRenderer.getParagraphBounds(text, font, fontRenderContext, width, height);
+		int n = 1;
+		// loop until the text fills the area
+		// the if condition allows REDUCE_FONT_ONLY to exit early
+		float min = (bounds.textHeight <= height && max != Float.MAX_VALUE) ? max : 1.0f;
+		while (bounds.textHeight > height || (int)Math.floor(max - min) > 1) {
+			// check the paragraph height against the maximum height
+			if (bounds.textHeight < height) {
+				// we need to binary search up
+				min = cur;
+				// compute an estimated next size if the maximum begins with Float.MAX_VALUE
+				// this is to help convergence to a safe maximum
+				float rmax = (max == Float.MAX_VALUE ? height * (cur / bounds.textHeight) : max);
+				cur = (float)Math.ceil((cur + rmax) * 0.5f);
+				font = font.deriveFont(cur);
+			} else {
+				// we need to binary search down
+				max = cur;
+				// get the next test font size
+				float temp = (float)Math.floor((min + cur) * 0.5f);
+				// do a check for minimum font size
+				if (temp <= 1.0f) break;
+				// its not the minimum so continue
+				cur = temp;
+				font = font.deriveFont(cur);
+			}
+			// get the new paragraph height for the new font size
+			bounds = TextRenderer.getParagraphBounds(text, font, fontRenderContext, width, height);
+			n++;
+		}
+		if (measurements != null) {
+			measurements[0] = n;
+		}
+		return new TextMetrics(cur, bounds);
+	}
+	
+	/**
+	 * Reads the entries of the given corpus.
+	 * @param stream the corpus
+	 * @return List&lt;String&gt;
+	 * @throws IOException if the corpus couldn't be read
+	 */
+	private static final List<String> read(InputStream stream) throws IOException {
+		List<String> entries = new ArrayList<String>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(stream, "UTF-8"));
+		StringBuilder sb = new StringBuilder();
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.startsWith("#")) {
+				continue;
+			}
+			if (line.equals("--")) {
+				if (sb.length() > 0) {
+					entries.add(sb.toString());
+				}
+				sb.setLength(0);
+				continue;
+			}
+			if (sb.length() > 0) {
+				sb.append(TextRenderer.LINE_SEPARATOR);
+			}
+			sb.append(line);
+		}
+		if (sb.length() > 0) {
+			entries.add(sb.toString());
+		}
+		return entries;
+	}
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.slide.text;
+
+import java.awt.Shape;
+import java.awt.font.TextLayout;
+import java.awt.geom.AffineTransform;
+
+import org.praisenter.slide.graphics.Fill;
+
+/**
+ * Represents a single line of text that has been laid out and positioned
+ * by the {@link TextRenderer}.
+ * <p>
+ * Lines are immutable so they can be cached and drawn any number of times.  The
+ * outline of the line is created on first use and kept with the line.
+ * <p>
+ * When the line contains {@link TextRun}s with their own fills, the line stores
+ * each fill with the area of the line it covers.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public final class TextLine {
+	/** The line's layout */
+	protected final TextLayout layout;
+	
+	/** The x coordinate to draw the layout at */
+	protected final float x;
+	
+	/** The y coordinate of the baseline to draw the layout at */
+	protected final float y;
+	
+	/** The x coordinate of the paint bounds */
+	protected final int paintX;
+	
+	/** The y coordinate of the paint bounds */
+	protected final int paintY;
+	
+	/** The width of the paint bounds */
+	protected final int paintWidth;
+	
+	/** The height of the paint bounds */
+	protected final int paintHeight;
+	
+	/** The fills of the line; null if the line only uses the text fill */
+	protected final Fill[] fills;
+	
+	/** The area covered by each fill; null elements cover the whole line */
+	protected final Shape[] fillAreas;
+	
+	/** The outline of the layout at the line's position; created on first use */
+	private volatile Shape outline;
+	
+	/**
+	 * Full constructor.
+	 * @param layout the line's layout
+	 * @param x the x coordinate to draw the layout at
+	 * @param y the y coordinate of the baseline
+	 * @param paintX the x coordinate of the paint bounds
+	 * @param paintY the y coordinate of the paint bounds
+	 * @param paintWidth the width of the paint bounds
+	 * @param paintHeight the height of the paint bounds
+	 */
+	public TextLine(TextLayout layout, float x, float y, int paintX, int paintY, int paintWidth, int paintHeight) {
+		this(layout, x, y, paintX, paintY, paintWidth, paintHeight, null, null);
+	}
+	
+	/**
+	 * Full constructor.
+	 * @param layout the line's layout
+	 * @param x the x coordinate to draw the layout at
+	 * @param y the y coordinate of the baseline
+	 * @param paintX the x coordinate of the paint bounds
+	 * @param paintY the y coordinate of the paint bounds
+	 * @param paintWidth the width of the paint bounds
+	 * @param paintHeight the height of the paint bounds
+	 * @param fills the fills of the line; null elements use the text fill; can be null
+	 * @param fillAreas the area covered by each fill at the line's position; null elements cover the whole line
+	 * @since 2.0.4
+	 */
+	public TextLine(TextLayout layout, float x, float y, int paintX, int paintY, int paintWidth, int paintHeight, Fill[] fills, Shape[] fillAreas) {
+		this.layout = layout;
+		this.x = x;
+		this.y = y;
+		this.paintX = paintX;
+		this.paintY = paintY;
+		this.paintWidth = paintWidth;
+		this.paintHeight = paintHeight;
+		this.fills = fills;
+		this.fillAreas = fillAreas;
+	}
+	
+	/**
+	 * Returns the line's layout.
+	 * @return TextLayout
+	 */
+	public TextLayout getLayout() {
+		return this.layout;
+	}
+	
+	/**
+	 * Returns the outline of the layout at this line's position.
+	 * <p>
+	 * The outline is created the first time this method is called.
+	 * @return Shape
+	 */
+	public Shape getOutline() {
+		Shape outline = this.outline;
+		if (outline == null) {
+			// this is safe to do concurrently since the result is always the same
+			outline = this.layout.getOutline(AffineTransform.getTranslateInstance(this.x, this.y));
+			this.outline = outline;
+		}
+		return outline;
+	}
+	
+	/**
+	 * Returns the x coordinate to draw the layout at.
+	 * @return float
+	 */
+	public float getX() {
+		return this.x;
+	}
+	
+	/**
+	 * Returns the y coordinate of the baseline to draw the layout at.
+	 * @return float
+	 */
+	public float getY() {
+		return this.y;
+	}
+	
+	/**
+	 * Returns the x coordinate of the bounds used to create the line's paints.
+	 * @return int
+	 */
+	public int getPaintX() {
+		return this.paintX;
+	}
+	
+	/**
+	 * Returns the y coordinate of the bounds used to create the line's paints.
+	 * @return int
+	 */
+	public int getPaintY() {
+		return this.paintY;
+	}
+	
+	/**
+	 * Returns the width of the bounds used to create the line's paints.
+	 * @return int
+	 */
+	public int getPaintWidth() {
+		return this.paintWidth;
+	}
+	
+	/**
+	 * Returns the height of the bounds used to create the line's paints.
+	 * @return int
+	 */
+	public int getPaintHeight() {
+		return this.paintHeight;
+	}
+}
@@ -31,18 +31,28 @@ import java.awt.Shape;
 import java.awt.Stroke;
 import java.awt.font.FontRenderContext;
 import java.awt.font.LineBreakMeasurer;
-import java.awt.font.TextAttribute;
+import java.awt.font.TextHitInfo;
 import java.awt.font.TextLayout;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Rectangle2D;
 import java.text.AttributedCharacterIterator;
-import java.text.AttributedString;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.apache.log4j.Logger;
+import org.praisenter.slide.graphics.Fill;
 
 /**
  * Class containing helper methods for rendering text.
+ * <p>
+ * Text styled with {@link TextRun}s is measured and laid out through the package
+ * private methods accepting {@link StyledText}.  The text is always laid out using a
+ * single {@link java.text.AttributedString} so styled text is laid out the same way
+ * as plain text.
  * @author William Bittle
- * @version 2.0.2
+ * @version 2.0.4
  * @since 2.0.0
  */
 public final class TextRenderer {
@@ -67,35 +77,54 @@ public final class TextRenderer {
 	 * @param properties the text properties
 	 */
 	public static final void renderParagraph(Graphics2D g2d, String text, TextRenderProperties properties) {
+		List<TextLine> lines = TextRenderer.getParagraphLines(text, g2d.getFont(), g2d.getFontRenderContext(), properties);
+		TextRenderer.renderLines(g2d, lines, properties);
+	}
+	
+	/**
+	 * Lays out a paragraph of text bounded by the given width and returns the positioned
+	 * lines.
+	 * <p>
+	 * The returned lines can be cached and rendered using {@link #renderLines(Graphics2D, List, TextRenderProperties)}
+	 * as long as the text, font, font rendering context, position and alignment do not change.
+	 * <p>
+	 * This method will also break on new line characters specified by {@link TextRenderer#LINE_SEPARATOR}.
+	 * @param text the text to layout
+	 * @param font the font
+	 * @param fontRenderContext the font rendering context
+	 * @param properties the text properties
+	 * @return List&lt;{@link TextLine}&gt;
+	 * @since 2.0.4
+	 */
+	public static final List<TextLine> getParagraphLines(String text, Font font, FontRenderContext fontRenderContext, TextRenderProperties properties) {
+		return TextRenderer.getParagraphLines(new StyledText(text), font, fontRenderContext, properties);
+	}
+	
+	/**
+	 * Lays out a paragraph of styled text bounded by the given width and returns the 
+	 * positioned lines.
+	 * @param styledText the text to layout
+	 * @param font the font; the fonts of the styled text are derived from this font
+	 * @param fontRenderContext the font rendering context
+	 * @param properties the text properties
+	 * @return List&lt;{@link TextLine}&gt;
+	 * @since 2.0.4
+	 */
+	static final List<TextLine> getParagraphLines(StyledText styledText, Font font, FontRenderContext fontRenderContext, TextRenderProperties properties) {
+		String text = styledText.text;
 		// set the render location
 		float x = properties.x;
-		float y = properties.y;
-		// get the text metrics
-		TextMetrics metrics = properties.textMetrics;
+		float y = properties.y + TextRenderer.getVerticalOffset(properties);
 		// set the bounded width
-		float width = metrics.width;
-		// offset the y by the vertical alignment
-		// (vertical align top is y = 0)
-		if (properties.verticalAlignment == VerticalTextAlignment.CENTER) {
-			y += ((float)metrics.height - metrics.textHeight) / 2.0f;
-		} else if (properties.verticalAlignment == VerticalTextAlignment.BOTTOM) {
-			y += (float)metrics.height - metrics.textHeight;
-		}
-		// set the horizontal alignment
-		HorizontalTextAlignment alignment = properties.horizontalAlignment;
-		// determine if we need to render the outline
-		boolean renderOutline = properties.outlineEnabled && properties.outlineFill != null && properties.outlineStyle != null;
-		Stroke outlineStroke = properties.outlineStyle.getStroke();
-		// determine if we need to render the shadow
-		boolean renderShadow = properties.shadowEnabled && properties.shadowFill != null;
+		float width = properties.textMetrics.width;
+		
+		List<TextLine> lines = new ArrayList<TextLine>();
 		
-		// create an attributed string and assign the font
-		AttributedString as = new AttributedString(text);
-		as.addAttribute(TextAttribute.FONT, g2d.getFont());
-		// get the character iterator
-		AttributedCharacterIterator it = as.getIterator();
+		// create an attributed string with the fonts assigned
+		// and get the character iterator
+		AttributedCharacterIterator it = styledText.getAttributedString(font).getIterator();
 		// create a line break measurer to measure out lines
-		LineBreakMeasurer measurer = new LineBreakMeasurer(it, g2d.getFontRenderContext());
+		LineBreakMeasurer measurer = new LineBreakMeasurer(it, fontRenderContext);
 	    
 		// compute the height by laying out the lines
 		boolean isLastLayoutNewLine = false;
@@ -119,7 +148,7 @@ public final class TextRenderer {
 	    		if (isLastLayoutNewLine) {
 		    		// this will happen if a new line is found and the last
 	    			// line was terminated by a new line
-		    		layout = new TextLayout(" ", g2d.getFont(), g2d.getFontRenderContext());
+		    		layout = new TextLayout(" ", font, fontRenderContext);
 		    		isLastLayoutNewLine = true;
 	    		} else {
 		    		isLastLayoutNewLine = true;
@@ -132,48 +161,63 @@ public final class TextRenderer {
 	    		isLastLayoutNewLine = false;
 	    	}
 	    	
-	    	float dx = 0; 
-	    	boolean leftToRight = layout.isLeftToRight();
-	    	if (alignment == HorizontalTextAlignment.LEFT) {
-	    		if (leftToRight) {
-	    			dx = 0;
-	    		} else {
-	    			dx = layout.getVisibleAdvance() - layout.getAdvance();
-	    		}
-	    	} else if (alignment == HorizontalTextAlignment.RIGHT) {
-	    		if (leftToRight) {
-	    			dx = width - layout.getVisibleAdvance();
-	    		} else {
-	    			dx = width - layout.getAdvance();
-	    		}
-	    	} else {
-	    		// default to center
-	    		if (leftToRight) {
-	    			dx = (width - layout.getVisibleAdvance()) * 0.5f;
-	    		} else {
-	    			dx = (width + layout.getAdvance()) * 0.5f - layout.getAdvance();
-	    		}
-	    	}
-
-	    	int ix = (int)Math.floor(x + dx);
-	    	int iy = (int)Math.floor(y);
-	    	int iw = (int)Math.floor(layout.getAdvance());
-	    	int ih = (int)Math.floor(layout.getAscent() + layout.getDescent());
-	    	
-	    	y += layout.getAscent();
-	    	
+	    	TextLine line = TextRenderer.getLine(layout, x, y, width, properties.horizontalAlignment, styledText, bindex);
+	    	lines.add(line);
+	        
+	    	// move to the top of the next line
+	        y = line.y + (layout.getDescent() + layout.getLeading());
+	    }
+	    
+	    return lines;
+	}
+	
+	/**
+	 * Renders the given lines to the given graphics object.
+	 * <p>
+	 * The fills, outline and shadow are taken from the given properties so
+	 * they can change without laying out the lines again.
+	 * @param g2d the graphics to render to
+	 * @param lines the lines to render
+	 * @param properties the text properties
+	 * @since 2.0.4
+	 */
+	public static final void renderLines(Graphics2D g2d, List<TextLine> lines, TextRenderProperties properties) {
+		// determine if we need to render the outline
+		boolean renderOutline = properties.outlineEnabled && properties.outlineFill != null && properties.outlineStyle != null;
+		Stroke outlineStroke = properties.outlineStyle.getStroke();
+		// determine if we need to render the shadow
+		boolean renderShadow = properties.shadowEnabled && properties.shadowFill != null;
+		
+		for (TextLine line : lines) {
+			TextLayout layout = line.layout;
 	    	// paint the shadow if necessary
 	    	if (renderShadow) {
-	    		Paint paint = properties.shadowFill.getPaint(ix, iy, iw, ih);
+	    		Paint paint = properties.shadowFill.getPaint(line.paintX, line.paintY, line.paintWidth, line.paintHeight);
 	    		g2d.setPaint(paint);
-	    		layout.draw(g2d, x + dx + properties.shadowOffset.getX(), y + properties.shadowOffset.getY());
+	    		layout.draw(g2d, line.x + properties.shadowOffset.getX(), line.y + properties.shadowOffset.getY());
 	    	}
 	    	
-	    	// get the paint for the text
-	    	Paint paint = properties.textFill.getPaint(ix, iy, iw, ih);
-	    	g2d.setPaint(paint);
-	    	// paint the text
-	    	layout.draw(g2d, x + dx, y);
+	    	Paint paint;
+	    	if (line.fills == null) {
+		    	// get the paint for the text
+		    	paint = properties.textFill.getPaint(line.paintX, line.paintY, line.paintWidth, line.paintHeight);
+		    	g2d.setPaint(paint);
+		    	// paint the text
+		    	layout.draw(g2d, line.x, line.y);
+	    	} else {
+	    		// paint the text with each fill clipped to the area it covers
+	    		Shape clip = g2d.getClip();
+	    		for (int i = 0; i < line.fills.length; i++) {
+	    			Fill fill = line.fills[i] != null ? line.fills[i] : properties.textFill;
+	    			paint = fill.getPaint(line.paintX, line.paintY, line.paintWidth, line.paintHeight);
+	    			g2d.setPaint(paint);
+	    			if (line.fillAreas[i] != null) {
+	    				g2d.clip(line.fillAreas[i]);
+	    			}
+	    			layout.draw(g2d, line.x, line.y);
+	    			g2d.setClip(clip);
+	    		}
+	    	}
 	    	
 	    	// paint the outline if necessary
 	    	// painting the outline after painting the text is what must
@@ -181,18 +225,138 @@ public final class TextRenderer {
 	    	if (renderOutline) {
 	    		Stroke oStroke = g2d.getStroke();
 	    		
-	    		paint = properties.outlineFill.getPaint(ix, iy, iw, ih);
+	    		paint = properties.outlineFill.getPaint(line.paintX, line.paintY, line.paintWidth, line.paintHeight);
 	    		g2d.setPaint(paint);
 	    		g2d.setStroke(outlineStroke);
 	    		
-	    		Shape shape = layout.getOutline(AffineTransform.getTranslateInstance(x + dx, y));
-	    		g2d.draw(shape);
+	    		g2d.draw(line.getOutline());
 	    		
 	    		g2d.setStroke(oStroke);
 	    	}
-	        
-	        y += layout.getDescent() + layout.getLeading();
-	    }
+		}
+	}
+	
+	/**
+	 * Returns the offset from the top of the bounds to the top of the text for
+	 * the vertical alignment in the given properties.
+	 * @param properties the text properties
+	 * @return float
+	 */
+	private static final float getVerticalOffset(TextRenderProperties properties) {
+		TextMetrics metrics = properties.textMetrics;
+		// (vertical align top is y = 0)
+		if (properties.verticalAlignment == VerticalTextAlignment.CENTER) {
+			return ((float)metrics.height - metrics.textHeight) / 2.0f;
+		} else if (properties.verticalAlignment == VerticalTextAlignment.BOTTOM) {
+			return (float)metrics.height - metrics.textHeight;
+		}
+		return 0.0f;
+	}
+	
+	/**
+	 * Positions the given layout horizontally within the given width.
+	 * <p>
+	 * If the styled text has fills, the areas of the line each fill covers are
+	 * stored with the line.
+	 * @param layout the layout
+	 * @param x the x coordinate of the bounds
+	 * @param y the y coordinate of the top of the line
+	 * @param width the bounded width
+	 * @param alignment the horizontal alignment
+	 * @param styledText the text the layout is for
+	 * @param start the offset of the layout's first character in the text
+	 * @return {@link TextLine}
+	 */
+	private static final TextLine getLine(TextLayout layout, float x, float y, float width, HorizontalTextAlignment alignment, StyledText styledText, int start) {
+		float dx = 0; 
+    	boolean leftToRight = layout.isLeftToRight();
+    	if (alignment == HorizontalTextAlignment.LEFT) {
+    		if (leftToRight) {
+    			dx = 0;
+    		} else {
+    			dx = layout.getVisibleAdvance() - layout.getAdvance();
+    		}
+    	} else if (alignment == HorizontalTextAlignment.RIGHT) {
+    		if (leftToRight) {
+    			dx = width - layout.getVisibleAdvance();
+    		} else {
+    			dx = width - layout.getAdvance();
+    		}
+    	} else {
+    		// default to center
+    		if (leftToRight) {
+    			dx = (width - layout.getVisibleAdvance()) * 0.5f;
+    		} else {
+    			dx = (width + layout.getAdvance()) * 0.5f - layout.getAdvance();
+    		}
+    	}
+    	
+    	int ix = (int)Math.floor(x + dx);
+    	int iy = (int)Math.floor(y);
+    	int iw = (int)Math.floor(layout.getAdvance());
+    	int ih = (int)Math.floor(layout.getAscent() + layout.getDescent());
+    	
+    	float lx = x + dx;
+    	float ly = y + layout.getAscent();
+    	if (!styledText.filled) {
+    		return new TextLine(layout, lx, ly, ix, iy, iw, ih);
+    	}
+    	
+    	List<Fill> fills = new ArrayList<Fill>();
+    	List<Shape> areas = new ArrayList<Shape>();
+    	// extend the areas past the line so that the glyphs aren't clipped
+    	Rectangle2D lb = layout.getBounds();
+    	double pad = layout.getAscent() + layout.getDescent();
+    	Rectangle2D bounds = new Rectangle2D.Double(lb.getX() - pad, lb.getY() - pad, lb.getWidth() + pad * 2.0, lb.getHeight() + pad * 2.0);
+    	int end = start + layout.getCharacterCount();
+    	int s = start;
+    	if (!styledText.bidirectional) {
+    		// the segments are in visual order so each one covers a rectangle bounded 
+    		// by the carets between the segments (rectangular clips are the cheapest)
+    		double x0 = bounds.getMinX();
+    		for (int i = styledText.getSegment(start); s < end && i < styledText.limits.length; i++) {
+    			int e = Math.min(end, styledText.limits[i]);
+    			Fill fill = styledText.fills[i];
+    			double x1 = e == end ? bounds.getMaxX() : layout.getCaretInfo(TextHitInfo.leading(e - start))[0];
+    			int j = fills.size() - 1;
+    			if (j >= 0 && fills.get(j) == fill) {
+    				// extend the previous segment
+    				Rectangle2D r = (Rectangle2D)areas.get(j);
+    				r.add(x1 + lx, r.getY());
+    			} else {
+    				fills.add(fill);
+    				areas.add(new Rectangle2D.Double(x0 + lx, bounds.getY() + ly, x1 - x0, bounds.getHeight()));
+    			}
+    			x0 = x1;
+    			s = e;
+    		}
+    	} else {
+	    	// group the segments by fill using the (possibly discontiguous) highlight shapes
+	    	AffineTransform tx = AffineTransform.getTranslateInstance(lx, ly);
+	    	for (int i = styledText.getSegment(start); s < end && i < styledText.limits.length; i++) {
+	    		int e = Math.min(end, styledText.limits[i]);
+	    		Fill fill = styledText.fills[i];
+	    		Shape area = tx.createTransformedShape(layout.getLogicalHighlightShape(s - start, e - start, bounds));
+	    		int j = fills.indexOf(fill);
+	    		if (j < 0) {
+	    			fills.add(fill);
+	    			areas.add(new GeneralPath(area));
+	    		} else {
+	    			((GeneralPath)areas.get(j)).append(area, false);
+	    		}
+	    		s = e;
+	    	}
+    	}
+    	
+    	if (fills.size() == 1) {
+    		// the whole line uses one fill
+    		Fill fill = fills.get(0);
+    		if (fill == null) {
+    			return new TextLine(layout, lx, ly, ix, iy, iw, ih);
+    		}
+    		return new TextLine(layout, lx, ly, ix, iy, iw, ih, new Fill[] { fill }, new Shape[1]);
+    	}
+    	return new TextLine(layout, lx, ly, ix, iy, iw, ih, fills.toArray(new Fill[fills.size()]), areas.toArray(new Shape[areas.size()]));
 	}
 	
 	/**
@@ -207,11 +371,28 @@ public final class TextRenderer {
 	 * @return {@link TextBounds}
 	 */
 	public static final TextBounds getParagraphBounds(String text, Font font, FontRenderContext fontRenderContext, float width, float height) {
-		// create an attributed string and assign the font
-		AttributedString as = new AttributedString(text);
-		as.addAttribute(TextAttribute.FONT, font);
-		// get the character iterator
-		AttributedCharacterIterator it = as.getIterator();
+		return TextRenderer.getParagraphBounds(new StyledText(text), font, fontRenderContext, width, height, null);
+	}
+	
+	/**
+	 * Returns the bounds of the given text laid out as a paragraph with a maximum width.
+	 * <p>
+	 * If the given statistics array is not null, the number of lines and the sum of
+	 * the line advances are stored in the first and second elements respectively.
+	 * @param styledText the text
+	 * @param font the font; the fonts of the styled text are derived from this font
+	 * @param fontRenderContext the font rendering context
+	 * @param width the maximum width
+	 * @param height the height of the text area; the text is not bounded by this
+	 * @param statistics the array to store the line count and total advance in; can be null
+	 * @return {@link TextBounds}
+	 * @since 2.0.4
+	 */
+	static final TextBounds getParagraphBounds(StyledText styledText, Font font, FontRenderContext fontRenderContext, float width, float height, float[] statistics) {
+		String text = styledText.text;
+		// create an attributed string with the fonts assigned
+		// and get the character iterator
+		AttributedCharacterIterator it = styledText.getAttributedString(font).getIterator();
 		// create a line break measurer to measure out lines
 		LineBreakMeasurer measurer = new LineBreakMeasurer(it, fontRenderContext);
 	    
@@ -219,6 +400,8 @@ public final class TextRenderer {
 	    float h = 0;
 	    float w = 0;
 	    float lh = 0;
+	    int lines = 0;
+	    float advance = 0;
 	    boolean isLastLayoutNewLine = false;
 	    while (measurer.getPosition() < text.length()) {
 	    	// get the expected ending character for this line
@@ -255,12 +438,19 @@ public final class TextRenderer {
 	    	// keep the maximum width
 	    	float tw = layout.getAdvance();
 	    	w = w < tw ? tw : w;
+	    	lines++;
+	    	advance += tw;
 	    	// keep the line height
 	    	if (lh <= 0) {
 	    		lh = layout.getAscent() + layout.getDescent();
 	    	}
 	    }
 	    
+	    if (statistics != null) {
+	    	statistics[0] = lines;
+	    	statistics[1] = advance;
+	    }
+	    
 	    // return the bounds
 	    return new TextBounds(width, height, w, h, lh);
 	}
@@ -290,6 +480,8 @@ public final class TextRenderer {
 	 * of 1.0 or greater.
 	 * <p>
 	 * This method will break on new line characters specified by {@link TextRenderer#LINE_SEPARATOR}.
+	 * <p>
+	 * The size is found by the {@link TextFitter}.
 	 * @param font the initial font
 	 * @param max the maximum font size; use Float.MAX_VALUE to specify no maximum size; use the font's current size for reduction only
 	 * @param fontRenderContext the font rendering context
@@ -299,45 +491,7 @@ public final class TextRenderer {
 	 * @return float
 	 */
 	public static final TextMetrics getFittingParagraphMetrics(Font font, float max, FontRenderContext fontRenderContext, String text, float width, float height) {
-		// get the current font size
-		float cur = font.getSize2D();
-		// clamp the beginning size to 1
-		if (cur < 1.0f) cur = 1.0f;
-		// get the initial paragraph height
-		TextBounds bounds = getParagraphBounds(text, font, fontRenderContext, width, height);
-		// loop until the text fills the area
-		// the if condition allows REDUCE_FONT_ONLY to exit early
-		float min = (bounds.textHeight <= height && max != Float.MAX_VALUE) ? max : 1.0f;
-		int i = 0;
-		while (bounds.textHeight > height || (int)Math.floor(max - min) > 1) {
-			// check the paragraph height against the maximum height
-			if (bounds.textHeight < height) {
-				// we need to binary search up
-				min = cur;
-				// compute an estimated next size if the maximum begins with Float.MAX_VALUE
-				// this is to help convergence to a safe maximum
-				float rmax = (max == Float.MAX_VALUE ? height * (cur / bounds.textHeight) : max);
-				cur = (float)Math.ceil((cur + rmax) * 0.5f);
-				font = font.deriveFont(cur);
-			} else {
-				// we need to binary search down
-				max = cur;
-				// get the next test font size
-				float temp = (float)Math.floor((min + cur) * 0.5f);
-				// do a check for minimum font size
-				if (temp <= 1.0f) break;
-				// its not the minimum so continue
-				cur = temp;
-				font = font.deriveFont(cur);
-			}
-			// get the new paragraph height for the new font size
-			bounds = getParagraphBounds(text, font, fontRenderContext, width, height);
-			i++;
-		}
-		if (i > 0) {
-			LOGGER.trace("Font fitting iterations: " + i);
-		}
-		return new TextMetrics(cur, bounds);
+		return TextFitter.getFittingParagraphMetrics(font, max, fontRenderContext, text, width, height);
 	}
 	
 	// line methods
@@ -350,93 +504,48 @@ public final class TextRenderer {
 	 * @param properties the text rendering properties
 	 */
 	public static final void renderLine(Graphics2D g2d, String text, TextRenderProperties properties) {
+		TextLine line = TextRenderer.getLine(text, g2d.getFont(), g2d.getFontRenderContext(), properties);
+		TextRenderer.renderLines(g2d, Collections.singletonList(line), properties);
+	}
+	
+	/**
+	 * Lays out a single line of text and returns it positioned within the bounds
+	 * in the given properties.
+	 * <p>
+	 * The returned line can be cached and rendered using {@link #renderLines(Graphics2D, List, TextRenderProperties)}
+	 * as long as the text, font, font rendering context, position and alignment do not change.
+	 * @param text the text to layout
+	 * @param font the font
+	 * @param fontRenderContext the font rendering context
+	 * @param properties the text rendering properties
+	 * @return {@link TextLine}
+	 * @since 2.0.4
+	 */
+	public static final TextLine getLine(String text, Font font, FontRenderContext fontRenderContext, TextRenderProperties properties) {
+		return TextRenderer.getLine(new StyledText(text), font, fontRenderContext, properties);
+	}
+	
+	/**
+	 * Lays out a single line of styled text and returns it positioned within the bounds
+	 * in the given properties.
+	 * @param styledText the text to layout
+	 * @param font the font; the fonts of the styled text are derived from this font
+	 * @param fontRenderContext the font rendering context
+	 * @param properties the text rendering properties
+	 * @return {@link TextLine}
+	 * @since 2.0.4
+	 */
+	static final TextLine getLine(StyledText styledText, Font font, FontRenderContext fontRenderContext, TextRenderProperties properties) {
 		// set the render location
 		float x = properties.x;
-		float y = properties.y;
-		// get the text metrics
-		TextMetrics metrics = properties.textMetrics;
-		// set the bounded width
-		float width = metrics.width;
-		// offset the y by the vertical alignment
-		// (vertical align top is y = 0)
-		if (properties.verticalAlignment == VerticalTextAlignment.CENTER) {
-			y += ((float)metrics.height - metrics.textHeight) / 2.0f;
-		} else if (properties.verticalAlignment == VerticalTextAlignment.BOTTOM) {
-			y += (float)metrics.height - metrics.textHeight;
-		}
-		// set the horizontal alignment
-		HorizontalTextAlignment alignment = properties.horizontalAlignment;
-		// determine if we need to render the outline
-		boolean renderOutline = properties.outlineEnabled && properties.outlineFill != null && properties.outlineStyle != null;
-		Stroke outlineStroke = properties.outlineStyle.getStroke();
-		// determine if we need to render the shadow
-		boolean renderShadow = properties.shadowEnabled && properties.shadowFill != null;
-		
-		// create an attributed string and assign the font
-		AttributedString as = new AttributedString(text);
-		as.addAttribute(TextAttribute.FONT, g2d.getFont());
-		// get the character iterator
-		AttributedCharacterIterator it = as.getIterator();
-		TextLayout layout = new TextLayout(it, g2d.getFontRenderContext());
+		float y = properties.y + TextRenderer.getVerticalOffset(properties);
 		
-		float dx = 0; 
-    	boolean leftToRight = layout.isLeftToRight();
-    	if (alignment == HorizontalTextAlignment.LEFT) {
-    		if (leftToRight) {
-    			dx = 0;
-    		} else {
-    			dx = layout.getVisibleAdvance() - layout.getAdvance();
-    		}
-    	} else if (alignment == HorizontalTextAlignment.RIGHT) {
-    		if (leftToRight) {
-    			dx = width - layout.getVisibleAdvance();
-    		} else {
-    			dx = width - layout.getAdvance();
-    		}
-    	} else {
-    		// default to center
-    		if (leftToRight) {
-    			dx = (width - layout.getVisibleAdvance()) * 0.5f;
-    		} else {
-    			dx = (width + layout.getAdvance()) * 0.5f - layout.getAdvance();
-    		}
-    	}
-        
-		int ix = (int)Math.floor(x + dx);
-    	int iy = (int)Math.floor(y);
-    	int iw = (int)Math.floor(layout.getAdvance());
-    	int ih = (int)Math.floor(layout.getAscent() + layout.getDescent());
+		// create an attributed string with the fonts assigned
+		// and get the character iterator
+		AttributedCharacterIterator it = styledText.getAttributedString(font).getIterator();
+		TextLayout layout = new TextLayout(it, fontRenderContext);
 		
-    	y += layout.getAscent();
-    	
-    	// paint the shadow if necessary
-    	if (renderShadow) {
-    		Paint paint = properties.shadowFill.getPaint(ix, iy, iw, ih);
-    		g2d.setPaint(paint);
-    		layout.draw(g2d, x + dx + properties.shadowOffset.getX(), y + properties.shadowOffset.getY());
-    	}
-    	
-    	// get the paint for the text
-    	Paint paint = properties.textFill.getPaint(ix, iy, iw, ih);
-    	g2d.setPaint(paint);
-    	// paint the text
-    	layout.draw(g2d, x + dx, y);
-    	
-    	// paint the outline if necessary
-    	// painting the outline after painting the text is what must
-    	// be done for good looking outlines
-    	if (renderOutline) {
-    		Stroke oStroke = g2d.getStroke();
-    		
-    		paint = properties.outlineFill.getPaint(ix, iy, iw, ih);
-    		g2d.setPaint(paint);
-    		g2d.setStroke(outlineStroke);
-    		
-    		Shape shape = layout.getOutline(AffineTransform.getTranslateInstance(x + dx, y));
-    		g2d.draw(shape);
-    		
-    		g2d.setStroke(oStroke);
-    	}
+		return TextRenderer.getLine(layout, x, y, properties.textMetrics.width, properties.horizontalAlignment, styledText, 0);
 	}
 	
 	/**
@@ -449,11 +558,23 @@ public final class TextRenderer {
 	 * @return {@link TextBounds}
 	 */
 	public static final TextBounds getLineBounds(Font font, FontRenderContext fontRenderContext, String text, float width, float height) {
-		// create an attributed string and assign the font
-		AttributedString as = new AttributedString(text);
-		as.addAttribute(TextAttribute.FONT, font);
-		// get the character iterator
-		AttributedCharacterIterator it = as.getIterator();
+		return TextRenderer.getLineBounds(font, fontRenderContext, new StyledText(text), width, height);
+	}
+	
+	/**
+	 * Returns the bounds of a single line of styled text.
+	 * @param font the text font; the fonts of the styled text are derived from this font
+	 * @param fontRenderContext the font rendering context
+	 * @param styledText the text
+	 * @param width the bounds width; the text is not bounded by this
+	 * @param height the bounds height; the text is not bounded by this
+	 * @return {@link TextBounds}
+	 * @since 2.0.4
+	 */
+	static final TextBounds getLineBounds(Font font, FontRenderContext fontRenderContext, StyledText styledText, float width, float height) {
+		// create an attributed string with the fonts assigned
+		// and get the character iterator
+		AttributedCharacterIterator it = styledText.getAttributedString(font).getIterator();
 		TextLayout layout = new TextLayout(it, fontRenderContext);
 		// get the single line text width
 		float tw = layout.getVisibleAdvance();
@@ -489,6 +610,22 @@ public final class TextRenderer {
 	 * @return {@link TextMetrics}
 	 */
 	public static final TextMetrics getFittingLineMetrics(Font font, float max, FontRenderContext fontRenderContext, String text, float width, float height) {
+		return TextRenderer.getFittingLineMetrics(font, max, fontRenderContext, new StyledText(text), width, height);
+	}
+	
+	/**
+	 * Returns the metrics of a single line of styled text reducing or increasing the text
+	 * to fit the given bounds if necessary.
+	 * @param font the text font; the fonts of the styled text are derived from this font
+	 * @param max the maximum; use Float.MAX_VALUE to specify no maximum size; use the current font size to allow only reduction
+	 * @param fontRenderContext the font rendering context
+	 * @param text the text
+	 * @param width the width to fit the text in
+	 * @param height the height to fit the text in
+	 * @return {@link TextMetrics}
+	 * @since 2.0.4
+	 */
+	static final TextMetrics getFittingLineMetrics(Font font, float max, FontRenderContext fontRenderContext, StyledText text, float width, float height) {
 		// get the line bounds
 		TextBounds bounds = getLineBounds(font, fontRenderContext, text, width, height);
 		// return the font size scaled by the difference in widths (or height)
@@ -0,0 +1,708 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.slide.text;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.praisenter.slide.graphics.CapType;
+import org.praisenter.slide.graphics.ColorFill;
+import org.praisenter.slide.graphics.DashPattern;
+import org.praisenter.slide.graphics.JoinType;
+import org.praisenter.slide.graphics.LineStyle;
+import org.praisenter.slide.graphics.Point;
+import org.praisenter.slide.graphics.RenderQualities;
+
+/**
+ * Benchmark used to measure the cost of laying out, fitting and rendering text.
+ * <p>
+ * The corpus is split into categories; by default song parts in several languages, long
+ * verse ranges and single line notifications.  Wrapped categories are measured using the
+ * {@link TextRenderingBenchmarkOperation#PARAGRAPH} path and the others using the
+ * {@link TextRenderingBenchmarkOperation#LINE} path.  Every category is also measured fitting
+ * the text and rendering a {@link TextComponent} with a cached layout.  The rendering operations
+ * are measured with every {@link TextRenderingBenchmarkEffect}.
+ * <p>
+ * Each case renders the entries of its category in turn for a fixed amount of time after
+ * warming up.  The results contain the number of operations, the average time per operation
+ * and the number of bytes allocated per operation.
+ * <p>
+ * The results can be saved and compared to the results of a later run (see
+ * {@link #compare(List, List, double)}) to check changes to the {@link TextRenderer}, the
+ * {@link TextFitter}, the {@link TextComponent} or the fonts for performance regressions.
+ * Compare runs made on the same machine with the same JVM.
+ * <p>
+ * The benchmark can be run from the command line (see {@link #main(String[])}).
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public class TextRenderingBenchmark {
+	/** The default corpus */
+	public static final String DEFAULT_CORPUS = "/org/praisenter/slide/resources/text-rendering-corpus.txt";
+	
+	/** The default time each case is measured for in milliseconds */
+	public static final int DEFAULT_MEASUREMENT_TIME = 250;
+	
+	/** The default time each case is run for before measuring in milliseconds */
+	public static final int DEFAULT_WARMUP_TIME = 100;
+	
+	/** The default increase in time or allocations per operation, in percent, considered a regression */
+	public static final double DEFAULT_REGRESSION_THRESHOLD = 10.0;
+	
+	/** The size of the image rendered to (1080p) */
+	private static final Rectangle IMAGE_BOUNDS = new Rectangle(0, 0, 1920, 1080);
+	
+	/** The bounds of wrapped text */
+	private static final Rectangle PARAGRAPH_BOUNDS = new Rectangle(60, 90, 1800, 900);
+	
+	/** The bounds of text on one line (lower third) */
+	private static final Rectangle LINE_BOUNDS = new Rectangle(60, 900, 1800, 150);
+	
+	/** The initial font */
+	private static final Font FONT = new Font(Font.SERIF, Font.PLAIN, 72);
+	
+	/** The corpus categories */
+	private final List<Category> corpus;
+	
+	/** The time each case is measured for in milliseconds */
+	protected int measurementTime;
+	
+	/** The time each case is run for before measuring in milliseconds */
+	protected int warmupTime;
+	
+	/** The rendering hints */
+	protected RenderingHints renderingHints;
+	
+	/**
+	 * Default constructor.
+	 * <p>
+	 * Uses the default corpus and the default render qualities.
+	 * @throws IOException if the default corpus couldn't be read
+	 */
+	public TextRenderingBenchmark() throws IOException {
+		this(TextRenderingBenchmark.class.getResourceAsStream(DEFAULT_CORPUS));
+	}
+	
+	/**
+	 * Creates a benchmark for the given corpus.
+	 * <p>
+	 * Entries are separated by lines containing only "--" and lines beginning with "#" are
+	 * ignored, except for lines beginning with "## " which start a category.  Category lines
+	 * contain the name of the category followed by "paragraph" if its text is wrapped or
+	 * "line" if its text is rendered on one line.  The stream is closed.
+	 * @param corpus the corpus
+	 * @throws IOException if the corpus couldn't be read
+	 */
+	public TextRenderingBenchmark(InputStream corpus) throws IOException {
+		try (InputStream stream = corpus) {
+			this.corpus = read(stream);
+		}
+		this.measurementTime = DEFAULT_MEASUREMENT_TIME;
+		this.warmupTime = DEFAULT_WARMUP_TIME;
+		this.renderingHints = new RenderQualities().getRenderingHints();
+	}
+	
+	/**
+	 * Runs the benchmark and returns the results.
+	 * <p>
+	 * This should not be called on the EDT.
+	 * @return List&lt;{@link TextRenderingBenchmarkResult}&gt;
+	 */
+	public List<TextRenderingBenchmarkResult> run() {
+		List<TextRenderingBenchmarkResult> results = new ArrayList<TextRenderingBenchmarkResult>();
+		BufferedImage image = new BufferedImage(IMAGE_BOUNDS.width, IMAGE_BOUNDS.height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g2d = image.createGraphics();
+		g2d.setRenderingHints(this.renderingHints);
+		FontRenderContext context = g2d.getFontRenderContext();
+		try {
+			for (Category category : this.corpus) {
+				TextRenderingBenchmarkOperation[] operations = new TextRenderingBenchmarkOperation[] {
+					category.wrapped ? TextRenderingBenchmarkOperation.PARAGRAPH : TextRenderingBenchmarkOperation.LINE,
+					TextRenderingBenchmarkOperation.FIT,
+					TextRenderingBenchmarkOperation.COMPONENT
+				};
+				for (TextRenderingBenchmarkOperation operation : operations) {
+					// effects don't change the fitted size
+					TextRenderingBenchmarkEffect[] effects = operation == TextRenderingBenchmarkOperation.FIT
+							? new TextRenderingBenchmarkEffect[] { TextRenderingBenchmarkEffect.NONE }
+							: TextRenderingBenchmarkEffect.values();
+					for (TextRenderingBenchmarkEffect effect : effects) {
+						Sample[] samples = createSamples(category, effect, context);
+						results.add(this.run(operation, category, effect, samples, g2d, context));
+					}
+				}
+			}
+		} finally {
+			g2d.dispose();
+		}
+		return results;
+	}
+	
+	/**
+	 * Benchmarks the given operation using the given samples.
+	 * @param operation the operation
+	 * @param category the category of the samples
+	 * @param effect the text effect of the samples
+	 * @param samples the samples
+	 * @param g2d the graphics to render to
+	 * @param context the font rendering context
+	 * @return {@link TextRenderingBenchmarkResult}
+	 */
+	private TextRenderingBenchmarkResult run(TextRenderingBenchmarkOperation operation, Category category, TextRenderingBenchmarkEffect effect, Sample[] samples, Graphics2D g2d, FontRenderContext context) {
+		// warm up
+		long end = System.nanoTime() + this.warmupTime * 1000000l;
+		do {
+			for (Sample sample : samples) {
+				execute(operation, sample, g2d, context);
+			}
+		} while (System.nanoTime() < end);
+		
+		// measure
+		long duration = Math.max(1, this.measurementTime) * 1000000l;
+		long iterations = 0;
+		long bytes = getAllocatedBytes();
+		long t0 = System.nanoTime();
+		long t1;
+		do {
+			for (Sample sample : samples) {
+				execute(operation, sample, g2d, context);
+			}
+			iterations += samples.length;
+			t1 = System.nanoTime();
+		} while (t1 - t0 < duration);
+		if (bytes >= 0) {
+			bytes = (getAllocatedBytes() - bytes) / iterations;
+		}
+		
+		return new TextRenderingBenchmarkResult(operation, category.name, effect, iterations, (t1 - t0) / (double)iterations, bytes);
+	}
+	
+	/**
+	 * Performs the given operation on the given sample.
+	 * @param operation the operation
+	 * @param sample the sample
+	 * @param g2d the graphics to render to
+	 * @param context the font rendering context
+	 */
+	private static final void execute(TextRenderingBenchmarkOperation operation, Sample sample, Graphics2D g2d, FontRenderContext context) {
+		switch (operation) {
+			case PARAGRAPH:
+				g2d.setFont(sample.font);
+				List<TextLine> lines = TextRenderer.getParagraphLines(sample.text, sample.font, context, sample.properties);
+				TextRenderer.renderLines(g2d, lines, sample.properties);
+				break;
+			case LINE:
+				g2d.setFont(sample.font);
+				TextLine line = TextRenderer.getLine(sample.text, sample.font, context, sample.properties);
+				TextRenderer.renderLines(g2d, Collections.singletonList(line), sample.properties);
+				break;
+			case FIT:
+				if (sample.wrapped) {
+					TextFitter.getFittingParagraphMetrics(FONT, Float.MAX_VALUE, context, sample.text, sample.bounds.width, sample.bounds.height);
+				} else {
+					TextRenderer.getFittingLineMetrics(FONT, Float.MAX_VALUE, context, sample.text, sample.bounds.width, sample.bounds.height);
+				}
+				break;
+			case COMPONENT:
+			default:
+				sample.component.render(g2d);
+				break;
+		}
+	}
+	
+	/**
+	 * Creates the samples for the entries of the given category.
+	 * @param category the category
+	 * @param effect the text effect
+	 * @param context the font rendering context
+	 * @return {@link Sample}[]
+	 */
+	private static final Sample[] createSamples(Category category, TextRenderingBenchmarkEffect effect, FontRenderContext context) {
+		Rectangle bounds = category.wrapped ? PARAGRAPH_BOUNDS : LINE_BOUNDS;
+		
+		ColorFill outlineFill = new ColorFill(Color.BLACK);
+		LineStyle outlineStyle = new LineStyle(3.0f, CapType.ROUND, JoinType.ROUND, DashPattern.SOLID);
+		ColorFill shadowFill = new ColorFill(0, 0, 0, 150);
+		Point shadowOffset = new Point(4, 4);
+		
+		Sample[] samples = new Sample[category.entries.size()];
+		for (int i = 0; i < samples.length; i++) {
+			String text = category.entries.get(i);
+			
+			// the layout operations use the fitted size
+			TextMetrics metrics = null;
+			if (category.wrapped) {
+				metrics = TextFitter.getFittingParagraphMetrics(FONT, Float.MAX_VALUE, context, text, bounds.width, bounds.height);
+			} else {
+				metrics = TextRenderer.getFittingLineMetrics(FONT, Float.MAX_VALUE, context, text, bounds.width, bounds.height);
+			}
+			TextRenderProperties properties = new TextRenderProperties(metrics);
+			properties.setX(bounds.x);
+			properties.setY(bounds.y);
+			properties.setVerticalAlignment(VerticalTextAlignment.CENTER);
+			properties.setHorizontalAlignment(HorizontalTextAlignment.CENTER);
+			properties.setOutlineEnabled(effect.isOutline());
+			properties.setOutlineFill(outlineFill);
+			properties.setOutlineStyle(outlineStyle);
+			properties.setShadowEnabled(effect.isShadow());
+			properties.setShadowFill(shadowFill);
+			properties.setShadowOffset(shadowOffset);
+			
+			TextComponent component = new TextComponent(category.name, bounds.x, bounds.y, bounds.width, bounds.height, text);
+			component.setTextFont(FONT);
+			component.setTextWrapped(category.wrapped);
+			component.setTextFontScaleType(FontScaleType.BEST_FIT);
+			component.setVerticalTextAlignment(VerticalTextAlignment.CENTER);
+			component.setHorizontalTextAlignment(HorizontalTextAlignment.CENTER);
+			component.setTextOutlineVisible(effect.isOutline());
+			component.setTextOutlineFill(outlineFill);
+			component.setTextOutlineStyle(outlineStyle);
+			component.setTextShadowVisible(effect.isShadow());
+			component.setTextShadowFill(shadowFill);
+			component.setTextShadowOffset(shadowOffset);
+			
+			samples[i] = new Sample(text, category.wrapped, bounds, FONT.deriveFont(metrics.fontSize), properties, component);
+		}
+		return samples;
+	}
+	
+	/**
+	 * Returns the number of bytes allocated by the current thread.
+	 * <p>
+	 * Returns -1 if the JVM doesn't support measuring allocations.
+	 * @return long
+	 */
+	private static final long getAllocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean tbean = (com.sun.management.ThreadMXBean)bean;
+			if (tbean.isThreadAllocatedMemorySupported() && tbean.isThreadAllocatedMemoryEnabled()) {
+				return tbean.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Compares the given results to the results of a previous run.
+	 * <p>
+	 * Returns a description of each case whose time per operation, or allocations per
+	 * operation, increased by more than the given percentage.  Cases that aren't in both
+	 * runs are ignored.  Allocations are only compared if both runs measured them.
+	 * @param baseline the results of the previous run
+	 * @param results the results
+	 * @param threshold the increase in percent considered a regression
+	 * @return List&lt;String&gt;
+	 */
+	public static final List<String> compare(List<TextRenderingBenchmarkResult> baseline, List<TextRenderingBenchmarkResult> results, double threshold) {
+		List<String> regressions = new ArrayList<String>();
+		for (TextRenderingBenchmarkResult result : results) {
+			TextRenderingBenchmarkResult base = find(baseline, result);
+			if (base == null) {
+				continue;
+			}
+			double time = getChange(base.timePerOperation, result.timePerOperation);
+			if (time > threshold) {
+				regressions.add(String.format(Locale.ENGLISH, "%s %s %s: %.1f ns/op -> %.1f ns/op (%+.1f%%)",
+						result.operation, result.category, result.effect,
+						base.timePerOperation, result.timePerOperation, time));
+			}
+			if (base.allocatedBytesPerOperation > 0 && result.allocatedBytesPerOperation >= 0) {
+				double bytes = getChange(base.allocatedBytesPerOperation, result.allocatedBytesPerOperation);
+				if (bytes > threshold) {
+					regressions.add(String.format(Locale.ENGLISH, "%s %s %s: %d B/op -> %d B/op (%+.1f%%)",
+							result.operation, result.category, result.effect,
+							base.allocatedBytesPerOperation, result.allocatedBytesPerOperation, bytes));
+				}
+			}
+		}
+		return regressions;
+	}
+	
+	/**
+	 * Returns the result in the given list for the same case as the given result.
+	 * <p>
+	 * Returns null if there isn't one.
+	 * @param results the results to search
+	 * @param result the result
+	 * @return {@link TextRenderingBenchmarkResult}
+	 */
+	private static final TextRenderingBenchmarkResult find(List<TextRenderingBenchmarkResult> results, TextRenderingBenchmarkResult result) {
+		if (results == null) {
+			return null;
+		}
+		for (TextRenderingBenchmarkResult r : results) {
+			if (r.isSameCase(result)) {
+				return r;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns the change from the given old value to the given new value in percent.
+	 * @param oldValue the old value
+	 * @param newValue the new value
+	 * @return double
+	 */
+	private static final double getChange(double oldValue, double newValue) {
+		if (oldValue <= 0) {
+			return 0;
+		}
+		return (newValue - oldValue) / oldValue * 100.0;
+	}
+	
+	/**
+	 * Writes the given results in CSV format to the given writer.
+	 * <p>
+	 * Times are written in nanoseconds.  The output can be read by {@link #readCsv(Reader)}.
+	 * @param results the results
+	 * @param writer the writer
+	 * @throws IOException if an IO error occurs
+	 */
+	public static final void writeCsv(List<TextRenderingBenchmarkResult> results, Writer writer) throws IOException {
+		writer.write("Operation,Category,Effect,Iterations,NsPerOp,BytesPerOp\n");
+		for (TextRenderingBenchmarkResult result : results) {
+			writer.write(String.format(Locale.ENGLISH, "%s,%s,%s,%d,%.1f,%d\n",
+					result.operation,
+					result.category,
+					result.effect,
+					result.iterations,
+					result.timePerOperation,
+					result.allocatedBytesPerOperation));
+		}
+		writer.flush();
+	}
+	
+	/**
+	 * Reads results written by {@link #writeCsv(List, Writer)}.
+	 * @param reader the reader
+	 * @return List&lt;{@link TextRenderingBenchmarkResult}&gt;
+	 * @throws IOException if an IO error occurs
+	 * @throws IllegalArgumentException if a line isn't a valid result
+	 */
+	public static final List<TextRenderingBenchmarkResult> readCsv(Reader reader) throws IOException {
+		List<TextRenderingBenchmarkResult> results = new ArrayList<TextRenderingBenchmarkResult>();
+		BufferedReader br = new BufferedReader(reader);
+		// skip the header
+		String line = br.readLine();
+		while ((line = br.readLine()) != null) {
+			if (line.trim().length() == 0) {
+				continue;
+			}
+			String[] values = line.split(",");
+			if (values.length != 6) {
+				throw new IllegalArgumentException("Invalid result: " + line);
+			}
+			results.add(new TextRenderingBenchmarkResult(
+					TextRenderingBenchmarkOperation.valueOf(values[0].trim()),
+					values[1].trim(),
+					TextRenderingBenchmarkEffect.valueOf(values[2].trim()),
+					Long.parseLong(values[3].trim()),
+					Double.parseDouble(values[4].trim()),
+					Long.parseLong(values[5].trim())));
+		}
+		return results;
+	}
+	
+	/**
+	 * Runs the benchmark from the command line.
+	 * <p>
+	 * Arguments (all optional, in order):
+	 * <ol>
+	 * <li>A file to write the results to in CSV format; "-" to not write them (default "-")</li>
+	 * <li>A file containing the results of a previous run to compare to; "-" to not compare (default "-")</li>
+	 * <li>The increase in percent considered a regression (default {@link #DEFAULT_REGRESSION_THRESHOLD})</li>
+	 * <li>The time each case is measured for in milliseconds (default {@link #DEFAULT_MEASUREMENT_TIME})</li>
+	 * <li>The corpus file (default {@link #DEFAULT_CORPUS})</li>
+	 * </ol>
+	 * The results are printed to standard out.  When comparing, the benchmark exits with a
+	 * non-zero status if any case regressed.  Use -Djava.awt.headless=true to run without a display.
+	 * @param args the command line arguments
+	 * @throws IOException if the corpus or results couldn't be read or written
+	 */
+	public static void main(String[] args) throws IOException {
+		String output = args.length > 0 ? args[0] : "-";
+		String input = args.length > 1 ? args[1] : "-";
+		double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_REGRESSION_THRESHOLD;
+		
+		TextRenderingBenchmark benchmark = null;
+		if (args.length > 4) {
+			benchmark = new TextRenderingBenchmark(new FileInputStream(args[4]));
+		} else {
+			benchmark = new TextRenderingBenchmark();
+		}
+		if (args.length > 3) {
+			benchmark.setMeasurementTime(Integer.parseInt(args[3]));
+		}
+		
+		// read the baseline first so that a bad file doesn't waste a run
+		List<TextRenderingBenchmarkResult> baseline = null;
+		if (!"-".equals(input)) {
+			try (FileReader reader = new FileReader(input)) {
+				baseline = readCsv(reader);
+			}
+		}
+		
+		List<TextRenderingBenchmarkResult> results = benchmark.run();
+		
+		System.out.println(String.format(Locale.ENGLISH, "%-10s %-14s %-15s %10s %12s %10s %10s %8s %8s", 
+				"Operation", "Category", "Effect", "Ops", "ns/op", "B/op", "MB/s", "Time", "Alloc"));
+		for (TextRenderingBenchmarkResult result : results) {
+			TextRenderingBenchmarkResult base = find(baseline, result);
+			String time = "";
+			String alloc = "";
+			if (base != null) {
+				time = String.format(Locale.ENGLISH, "%+.1f%%", getChange(base.timePerOperation, result.timePerOperation));
+				if (base.allocatedBytesPerOperation > 0 && result.allocatedBytesPerOperation >= 0) {
+					alloc = String.format(Locale.ENGLISH, "%+.1f%%", getChange(base.allocatedBytesPerOperation, result.allocatedBytesPerOperation));
+				}
+			}
+			System.out.println(String.format(Locale.ENGLISH, "%-10s %-14s %-15s %10d %12.1f %10d %10.1f %8s %8s", 
+					result.operation,
+					result.category,
+					result.effect,
+					result.iterations,
+					result.timePerOperation,
+					result.allocatedBytesPerOperation,
+					result.getAllocationRate() / 1.0e6,
+					time,
+					alloc));
+		}
+		
+		if (!"-".equals(output)) {
+			try (FileWriter writer = new FileWriter(output)) {
+				writeCsv(results, writer);
+			}
+			System.out.println("Wrote " + results.size() + " results to " + output + ".");
+		}
+		
+		if (baseline != null) {
+			List<String> regressions = compare(baseline, results, threshold);
+			if (regressions.size() > 0) {
+				System.out.println(String.format(Locale.ENGLISH, "%d regressions over %.1f%%:", regressions.size(), threshold));
+				for (String regression : regressions) {
+					System.out.println("  " + regression);
+				}
+				System.exit(1);
+			}
+			System.out.println(String.format(Locale.ENGLISH, "No regressions over %.1f%%.", threshold));
+		}
+	}
+	
+	/**
+	 * Reads the categories of the given corpus.
+	 * @param stream the corpus
+	 * @return List&lt;{@link Category}&gt;
+	 * @throws IOException if the corpus couldn't be read
+	 */
+	private static final List<Category> read(InputStream stream) throws IOException {
+		List<Category> categories = new ArrayList<Category>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(stream, "UTF-8"));
+		Category category = null;
+		StringBuilder sb = new StringBuilder();
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.startsWith("## ")) {
+				if (category != null && sb.length() > 0) {
+					category.entries.add(sb.toString());
+				}
+				sb.setLength(0);
+				String[] values = line.substring(3).trim().split("\\s+");
+				if (values.length != 2 || !(values[1].equals("paragraph") || values[1].equals("line"))) {
+					throw new IOException("Invalid category: " + line);
+				}
+				category = new Category(values[0], values[1].equals("paragraph"));
+				categories.add(category);
+				continue;
+			}
+			if (line.startsWith("#")) {
+				continue;
+			}
+			if (line.equals("--")) {
+				if (category != null && sb.length() > 0) {
+					category.entries.add(sb.toString());
+				}
+				sb.setLength(0);
+				continue;
+			}
+			if (sb.length() > 0) {
+				sb.append(TextRenderer.LINE_SEPARATOR);
+			}
+			sb.append(line);
+		}
+		if (category != null && sb.length() > 0) {
+			category.entries.add(sb.toString());
+		}
+		// remove empty categories
+		for (int i = categories.size() - 1; i >= 0; i--) {
+			if (categories.get(i).entries.isEmpty()) {
+				categories.remove(i);
+			}
+		}
+		return categories;
+	}
+	
+	/**
+	 * Returns the time each case is measured for.
+	 * @return int the time in milliseconds
+	 */
+	public int getMeasurementTime() {
+		return this.measurementTime;
+	}
+	
+	/**
+	 * Sets the time each case is measured for.
+	 * @param measurementTime the time in milliseconds
+	 */
+	public void setMeasurementTime(int measurementTime) {
+		this.measurementTime = measurementTime;
+	}
+	
+	/**
+	 * Returns the time each case is run for before measuring.
+	 * @return int the time in milliseconds
+	 */
+	public int getWarmupTime() {
+		return this.warmupTime;
+	}
+	
+	/**
+	 * Sets the time each case is run for before measuring.
+	 * @param warmupTime the time in milliseconds
+	 */
+	public void setWarmupTime(int warmupTime) {
+		this.warmupTime = warmupTime;
+	}
+	
+	/**
+	 * Returns the rendering hints used to render the text.
+	 * @return RenderingHints
+	 */
+	public RenderingHints getRenderingHints() {
+		return this.renderingHints;
+	}
+	
+	/**
+	 * Sets the rendering hints used to render the text.
+	 * @param hints the rendering hints
+	 */
+	public void setRenderingHints(RenderingHints hints) {
+		this.renderingHints = hints;
+	}
+	
+	/**
+	 * Represents a category of the corpus.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private static final class Category {
+		/** The category name */
+		private final String name;
+		
+		/** True if the text is wrapped */
+		private final boolean wrapped;
+		
+		/** The entries */
+		private final List<String> entries;
+		
+		/**
+		 * Full constructor.
+		 * @param name the category name
+		 * @param wrapped true if the text is wrapped
+		 */
+		public Category(String name, boolean wrapped) {
+			this.name = name;
+			this.wrapped = wrapped;
+			this.entries = new ArrayList<String>();
+		}
+	}
+	
+	/**
+	 * Represents one entry of the corpus set up for one text effect.
+	 * @author William Bittle
+	 * @version 2.0.4
+	 * @since 2.0.4
+	 */
+	private static final class Sample {
+		/** The text */
+		private final String text;
+		
+		/** True if the text is wrapped */
+		private final boolean wrapped;
+		
+		/** The text bounds */
+		private final Rectangle bounds;
+		
+		/** The fitted font */
+		private final Font font;
+		
+		/** The render properties at the fitted size */
+		private final TextRenderProperties properties;
+		
+		/** The component displaying the text */
+		private final TextComponent component;
+		
+		/**
+		 * Full constructor.
+		 * @param text the text
+		 * @param wrapped true if the text is wrapped
+		 * @param bounds the text bounds
+		 * @param font the fitted font
+		 * @param properties the render properties at the fitted size
+		 * @param component the component displaying the text
+		 */
+		public Sample(String text, boolean wrapped, Rectangle bounds, Font font, TextRenderProperties properties, TextComponent component) {
+			this.text = text;
+			this.wrapped = wrapped;
+			this.bounds = bounds;
+			this.font = font;
+			this.properties = properties;
+			this.component = component;
+		}
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.slide.text;
+
+/**
+ * Enumeration of the text effects used by the {@link TextRenderingBenchmark}.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public enum TextRenderingBenchmarkEffect {
+	/** Filled text only */
+	NONE(false, false),
+	
+	/** Outlined text */
+	OUTLINE(true, false),
+	
+	/** Shadowed text */
+	SHADOW(false, true),
+	
+	/** Outlined and shadowed text */
+	OUTLINE_SHADOW(true, true);
+	
+	/** True if the text is outlined */
+	private final boolean outline;
+	
+	/** True if the text is shadowed */
+	private final boolean shadow;
+	
+	/**
+	 * Full constructor.
+	 * @param outline true if the text is outlined
+	 * @param shadow true if the text is shadowed
+	 */
+	private TextRenderingBenchmarkEffect(boolean outline, boolean shadow) {
+		this.outline = outline;
+		this.shadow = shadow;
+	}
+	
+	/**
+	 * Returns true if the text is outlined.
+	 * @return boolean
+	 */
+	public boolean isOutline() {
+		return this.outline;
+	}
+	
+	/**
+	 * Returns true if the text is shadowed.
+	 * @return boolean
+	 */
+	public boolean isShadow() {
+		return this.shadow;
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.slide.text;
+
+/**
+ * Represents the result of benchmarking one operation with one text effect over
+ * the entries of one category of the corpus.
+ * <p>
+ * All times are in nanoseconds.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public class TextRenderingBenchmarkResult {
+	/** The operation */
+	protected final TextRenderingBenchmarkOperation operation;
+	
+	/** The corpus category */
+	protected final String category;
+	
+	/** The text effect */
+	protected final TextRenderingBenchmarkEffect effect;
+	
+	/** The number of operations measured */
+	protected final long iterations;
+	
+	/** The average time per operation */
+	protected final double timePerOperation;
+	
+	/** The average number of bytes allocated per operation; -1 if not supported */
+	protected final long allocatedBytesPerOperation;
+	
+	/**
+	 * Full constructor.
+	 * @param operation the operation
+	 * @param category the corpus category
+	 * @param effect the text effect
+	 * @param iterations the number of operations measured
+	 * @param timePerOperation the average time per operation
+	 * @param allocatedBytesPerOperation the average number of bytes allocated per operation; -1 if not supported
+	 */
+	public TextRenderingBenchmarkResult(TextRenderingBenchmarkOperation operation, String category, TextRenderingBenchmarkEffect effect, long iterations, double timePerOperation, long allocatedBytesPerOperation) {
+		this.operation = operation;
+		this.category = category;
+		this.effect = effect;
+		this.iterations = iterations;
+		this.timePerOperation = timePerOperation;
+		this.allocatedBytesPerOperation = allocatedBytesPerOperation;
+	}
+	
+	/**
+	 * Returns true if this result measured the same operation, category and effect
+	 * as the given result.
+	 * @param result the result
+	 * @return boolean
+	 */
+	public boolean isSameCase(TextRenderingBenchmarkResult result) {
+		return this.operation == result.operation &&
+			   this.effect == result.effect &&
+			   this.category.equals(result.category);
+	}
+	
+	/**
+	 * Returns the operation.
+	 * @return {@link TextRenderingBenchmarkOperation}
+	 */
+	public TextRenderingBenchmarkOperation getOperation() {
+		return this.operation;
+	}
+	
+	/**
+	 * Returns the corpus category.
+	 * @return String
+	 */
+	public String getCategory() {
+		return this.category;
+	}
+	
+	/**
+	 * Returns the text effect.
+	 * @return {@link TextRenderingBenchmarkEffect}
+	 */
+	public TextRenderingBenchmarkEffect getEffect() {
+		return this.effect;
+	}
+	
+	/**
+	 * Returns the number of operations measured.
+	 * @return long
+	 */
+	public long getIterations() {
+		return this.iterations;
+	}
+	
+	/**
+	 * Returns the average time per operation in nanoseconds.
+	 * @return double
+	 */
+	public double getTimePerOperation() {
+		return this.timePerOperation;
+	}
+	
+	/**
+	 * Returns the average number of bytes allocated per operation.
+	 * <p>
+	 * Returns -1 if the JVM doesn't support measuring allocations.
+	 * @return long
+	 */
+	public long getAllocatedBytesPerOperation() {
+		return this.allocatedBytesPerOperation;
+	}
+	
+	/**
+	 * Returns the allocation rate in bytes per second.
+	 * <p>
+	 * Returns -1 if the JVM doesn't support measuring allocations.
+	 * @return double
+	 */
+	public double getAllocationRate() {
+		if (this.allocatedBytesPerOperation < 0 || this.timePerOperation <= 0) {
+			return -1;
+		}
+		return this.allocatedBytesPerOperation / this.timePerOperation * 1.0e9;
+	}
+}
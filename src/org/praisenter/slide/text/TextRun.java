@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.slide.text;
+
+import java.awt.Font;
+import java.io.Serializable;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+
+import org.praisenter.slide.graphics.Fill;
+import org.praisenter.slide.graphics.FillTypeAdapter;
+
+/**
+ * Represents the style of a range of the text of a {@link TextComponent}.
+ * <p>
+ * The range is given by character offsets into the text of the component.  Runs
+ * can overlap in which case the runs later in the list take precedence.  Any
+ * text not covered by a run uses the font and fill of the component.
+ * <p>
+ * The font size of a run is a scale of the component's font size so that the
+ * run is scaled along with the rest of the text when the font size is fitted.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+@XmlRootElement(name = "TextRun")
+@XmlAccessorType(XmlAccessType.NONE)
+public class TextRun implements Serializable {
+	/** The version id */
+	private static final long serialVersionUID = -3021783622853416473L;
+
+	/** The font style to use the style of the component's font */
+	public static final int INHERIT_FONT_STYLE = -1;
+	
+	/** The offset of the first character of the run */
+	@XmlElement(name = "Start")
+	protected int start;
+	
+	/** The offset after the last character of the run */
+	@XmlElement(name = "End")
+	protected int end;
+	
+	/** The font style; one of the {@link Font} style constants or {@link #INHERIT_FONT_STYLE} */
+	@XmlElement(name = "FontStyle", required = false, nillable = true)
+	protected int fontStyle;
+	
+	/** The scale of the component's font size */
+	@XmlElement(name = "FontSizeScale", required = false, nillable = true)
+	protected float fontSizeScale;
+	
+	/** The text fill; null to use the component's text fill */
+	@XmlElement(name = "TextFill", required = false, nillable = true)
+	@XmlJavaTypeAdapter(value = FillTypeAdapter.class)
+	protected Fill textFill;
+	
+	/**
+	 * Default constructor.
+	 * <p>
+	 * This should only be used by JAXB.
+	 */
+	protected TextRun() {
+		this(0, 0, INHERIT_FONT_STYLE, 1.0f, null);
+	}
+	
+	/**
+	 * Optional constructor.
+	 * <p>
+	 * Creates a run that only changes the font style.
+	 * @param start the offset of the first character
+	 * @param end the offset after the last character
+	 * @param fontStyle the font style; one of the {@link Font} style constants
+	 */
+	public TextRun(int start, int end, int fontStyle) {
+		this(start, end, fontStyle, 1.0f, null);
+	}
+	
+	/**
+	 * Full constructor.
+	 * @param start the offset of the first character
+	 * @param end the offset after the last character
+	 * @param fontStyle the font style; one of the {@link Font} style constants or {@link #INHERIT_FONT_STYLE}
+	 * @param fontSizeScale the scale of the component's font size; values less than or equal to zero are ignored
+	 * @param textFill the text fill; null to use the component's text fill
+	 */
+	public TextRun(int start, int end, int fontStyle, float fontSizeScale, Fill textFill) {
+		this.start = start;
+		this.end = end;
+		this.fontStyle = fontStyle;
+		this.fontSizeScale = fontSizeScale;
+		this.textFill = textFill;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == null) return false;
+		if (obj == this) return true;
+		if (obj instanceof TextRun) {
+			TextRun r = (TextRun)obj;
+			if (r.start == this.start &&
+				r.end == this.end &&
+				r.fontStyle == this.fontStyle &&
+				r.fontSizeScale == this.fontSizeScale &&
+				(r.textFill == null ? this.textFill == null : r.textFill.equals(this.textFill))) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		int r = 37;
+		r = 37 * r + this.start;
+		r = 37 * r + this.end;
+		r = 37 * r + this.fontStyle;
+		r = 37 * r + Float.floatToIntBits(this.fontSizeScale);
+		r = 37 * r + (this.textFill != null ? this.textFill.hashCode() : 0);
+		return r;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("TextRun[Start=").append(this.start)
+		  .append("|End=").append(this.end)
+		  .append("|FontStyle=").append(this.fontStyle)
+		  .append("|FontSizeScale=").append(this.fontSizeScale)
+		  .append("|TextFill=").append(this.textFill)
+		  .append("]");
+		return sb.toString();
+	}
+	
+	/**
+	 * Returns the offset of the first character of the run.
+	 * @return int
+	 */
+	public int getStart() {
+		return this.start;
+	}
+	
+	/**
+	 * Returns the offset after the last character of the run.
+	 * @return int
+	 */
+	public int getEnd() {
+		return this.end;
+	}
+	
+	/**
+	 * Returns the font style.
+	 * <p>
+	 * Returns {@link #INHERIT_FONT_STYLE} if the style of the component's font is used.
+	 * @return int
+	 */
+	public int getFontStyle() {
+		return this.fontStyle;
+	}
+	
+	/**
+	 * Returns the scale of the component's font size.
+	 * @return float
+	 */
+	public float getFontSizeScale() {
+		return this.fontSizeScale;
+	}
+	
+	/**
+	 * Returns the text fill.
+	 * <p>
+	 * Returns null if the component's text fill is used.
+	 * @return {@link Fill}
+	 */
+	public Fill getTextFill() {
+		return this.textFill;
+	}
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2011-2013 William Bittle  http://www.praisenter.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of Praisenter nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.praisenter.slide.text;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+
+import org.praisenter.common.utilities.FontManager;
+
+/**
+ * Represents the text of a {@link TextComponent} rendered to a single line image.
+ * <p>
+ * The text is rendered once, including its fill, outline and shadow, so that it can be
+ * moved around (scrolled for example) by only drawing the image.  Line breaks in the
+ * text are replaced with spaces and the font is sized so that the line fills the text
+ * height of the component.
+ * @author William Bittle
+ * @version 2.0.4
+ * @since 2.0.4
+ */
+public final class TextStrip {
+	/** The text used in place of line breaks */
+	private static final String LINE_BREAK_REPLACEMENT = "     ";
+	
+	/** The image of the text; null if there isn't any text to show */
+	private final BufferedImage image;
+	
+	/** The y coordinate of the top of the image */
+	private final int y;
+	
+	/**
+	 * Full constructor.
+	 * @param image the image of the text
+	 * @param y the y coordinate of the top of the image
+	 */
+	private TextStrip(BufferedImage image, int y) {
+		this.image = image;
+		this.y = y;
+	}
+	
+	/**
+	 * Renders the text of the given component to a new strip.
+	 * <p>
+	 * The strip is positioned vertically within the component the same way the component
+	 * positions its text.  Horizontally the strip's image begins at zero.
+	 * @param component the text component
+	 * @param gc the graphics configuration the strip will be drawn to; can be null
+	 * @param hints the rendering hints to render the text with
+	 * @return {@link TextStrip}
+	 */
+	public static final TextStrip create(TextComponent component, GraphicsConfiguration gc, RenderingHints hints) {
+		String text = component.getTextToRender();
+		int rh = component.getTextHeight();
+		if (text == null || text.trim().length() == 0 || rh <= 0 || component.textFill == null) {
+			return new TextStrip(null, component.getY());
+		}
+		// put the text on one line
+		text = text.trim().replaceAll("\\s*((\\r\\n)|(\\r)|(\\n))\\s*", LINE_BREAK_REPLACEMENT);
+		
+		Font font = component.textFont;
+		if (font == null) {
+			font = FontManager.getDefaultFont();
+		}
+		
+		// get the font rendering context for the given hints
+		BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D sg2d = scratch.createGraphics();
+		sg2d.setRenderingHints(hints);
+		FontRenderContext frc = sg2d.getFontRenderContext();
+		sg2d.dispose();
+		
+		// size the font so that the line fills the text height (the width is unbounded)
+		TextBounds bounds = TextRenderer.getLineBounds(font, frc, text, 0, rh);
+		float size = font.getSize2D() * (float)rh / bounds.textHeight;
+		if (component.textFontScaleType != FontScaleType.BEST_FIT) {
+			size = Math.min(size, font.getSize2D());
+		}
+		size = Math.max(1.0f, (float)Math.floor(size));
+		if (size != font.getSize2D()) {
+			font = font.deriveFont(size);
+		}
+		bounds = TextRenderer.getLineBounds(font, frc, text, 0, rh);
+		
+		// layout the line
+		TextRenderProperties properties = new TextRenderProperties(new TextMetrics(size, bounds));
+		properties.setX(0);
+		properties.setY(component.getY() + component.textPadding);
+		properties.setHorizontalAlignment(HorizontalTextAlignment.LEFT);
+		properties.setVerticalAlignment(component.verticalTextAlignment);
+		properties.setTextFill(component.textFill);
+		properties.setOutlineEnabled(component.textOutlineVisible);
+		properties.setOutlineFill(component.textOutlineFill);
+		properties.setOutlineStyle(component.textOutlineStyle);
+		properties.setShadowEnabled(component.textShadowVisible);
+		properties.setShadowFill(component.textShadowFill);
+		properties.setShadowOffset(component.textShadowOffset);
+		TextLine line = TextRenderer.getLine(text, font, frc, properties);
+		
+		// get the bounds of the line including its shadow and outline
+		Rectangle2D r = line.layout.getBounds();
+		r.setRect(r.getX() + line.x, r.getY() + line.y, r.getWidth(), r.getHeight());
+		if (component.textShadowVisible && component.textShadowFill != null) {
+			r.add(new Rectangle2D.Double(
+					r.getX() + component.textShadowOffset.getX(), 
+					r.getY() + component.textShadowOffset.getY(), 
+					r.getWidth(), 
+					r.getHeight()));
+		}
+		// the miter joins of the outline can extend up to 5 times the width of the line
+		double grow = 1.0;
+		if (component.textOutlineVisible && component.textOutlineFill != null && component.textOutlineStyle != null) {
+			grow += component.textOutlineStyle.getWidth() * 5.0;
+		}
+		r.setRect(r.getX() - grow, r.getY() - grow, r.getWidth() + grow * 2.0, r.getHeight() + grow * 2.0);
+		
+		// the text is clipped to the component vertically
+		Rectangle area = r.getBounds();
+		area = area.intersection(new Rectangle(area.x, component.getY(), area.width, component.getHeight()));
+		if (area.isEmpty()) {
+			return new TextStrip(null, component.getY());
+		}
+		
+		// render the line
+		BufferedImage image = null;
+		if (gc != null) {
+			image = gc.createCompatibleImage(area.width, area.height, Transparency.TRANSLUCENT);
+		} else {
+			image = new BufferedImage(area.width, area.height, BufferedImage.TYPE_INT_ARGB_PRE);
+		}
+		Graphics2D g2d = image.createGraphics();
+		g2d.setRenderingHints(hints);
+		g2d.translate(-area.x, -area.y);
+		TextRenderer.renderLines(g2d, Collections.singletonList(line), properties);
+		g2d.dispose();
+		
+		return new TextStrip(image, area.y);
+	}
+	
+	/**
+	 * Returns the image of the text.
+	 * <p>
+	 * Returns null if there isn't any text to show.
+	 * @return BufferedImage
+	 */
+	public BufferedImage getImage() {
+		return this.image;
+	}
+	
+	/**
+	 * Returns the y coordinate of the top of the image.
+	 * @return int
+	 */
+	public int getY() {
+		return this.y;
+	}
+	
+	/**
+	 * Returns the width of the strip in pixels.
+	 * @return int
+	 */
+	public int getWidth() {
+		return this.image != null ? this.image.getWidth() : 0;
+	}
+}